@@ -12,6 +12,8 @@ import retrofit2.http.Path;
 import retrofit2.http.Query;
 import org.mifos.workflow.dto.fineract.office.OfficeDTO;
 import org.mifos.workflow.dto.fineract.code.CodeDataDTO;
+import org.mifos.workflow.dto.fineract.client.ClientActivationRequestDTO;
+import org.mifos.workflow.dto.fineract.client.ClientCreateRequestDTO;
 
 import java.util.List;
 import java.util.Map;
@@ -24,9 +26,15 @@ public interface ClientsApi {
     @POST("clients")
     Observable<PostClientsResponse> createClient(@Body Map<String, Object> request);
 
+    @POST("clients")
+    Observable<PostClientsResponse> createClient(@Body ClientCreateRequestDTO request);
+
     @GET("clients/{clientId}")
     Observable<GetClientsClientIdResponse> retrieveClient(@Path("clientId") Long clientId);
 
+    @GET("clients/external-id/{externalId}")
+    Observable<GetClientsClientIdResponse> retrieveClientByExternalId(@Path("externalId") String externalId);
+
     @GET("clients")
     Observable<GetClientsResponse> retrieveAllClients(
             @Query("officeId") Long officeId,
@@ -47,6 +55,13 @@ public interface ClientsApi {
             @Query("command") String command,
             @Body Map<String, Object> request);
 
+    @POST("clients/{clientId}")
+    @Headers("Content-Type: application/json")
+    Observable<PostClientsClientIdResponse> activateClient(
+            @Path("clientId") Long clientId,
+            @Query("command") String command,
+            @Body ClientActivationRequestDTO request);
+
     @GET("clients/{clientId}/transferproposaldate")
     Observable<GetClientTransferProposalDateResponse> retrieveTransferTemplate(@Path("clientId") Long clientId);
 
@@ -0,0 +1,213 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.exception.FineractCircuitOpenException;
+import org.mifos.workflow.exception.FineractThrottledException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Fails Fineract calls fast while Fineract is down instead of letting every caller wait out the
+ * read timeout. Each endpoint class (see {@link FineractEndpointClassifier}) has its own circuit:
+ * it opens when the failure rate over the last {@code sliding-window-size} calls reaches the
+ * threshold, rejects calls with {@link FineractCircuitOpenException} for {@code open-duration},
+ * then lets {@code half-open-calls} probes through and closes again only if all of them succeed.
+ * I/O errors and bad gateway, unavailable and gateway timeout responses count as failures. Other
+ * 5xx responses do not: Fineract answers 500 for unhandled domain errors, so a burst of rejected
+ * business rules must not cut off the endpoint. Calls throttled further down are not counted.
+ * State and outcomes are published under {@code fineract.circuitbreaker.*}.
+ */
+@Component
+@Slf4j
+public class FineractCircuitBreakerInterceptor implements Interceptor {
+
+    private final WorkflowConfig.CircuitBreaker settings;
+    private final MeterRegistry meterRegistry;
+    private final FineractEndpointClassifier endpointClassifier;
+    private final LongSupplier clock;
+    private final Map<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FineractCircuitBreakerInterceptor(WorkflowConfig properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    FineractCircuitBreakerInterceptor(WorkflowConfig properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.settings = properties.getFineract().getCircuitBreaker();
+        this.meterRegistry = meterRegistry;
+        this.endpointClassifier = new FineractEndpointClassifier(properties.getFineract().getBaseUrl());
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!settings.isEnabled()) {
+            return chain.proceed(chain.request());
+        }
+
+        String endpoint = endpointClassifier.classify(chain.request().url());
+        CircuitBreaker circuit = circuits.computeIfAbsent(endpoint, this::createCircuit);
+        long retryAfterMillis = circuit.tryAcquire(clock.getAsLong());
+        if (retryAfterMillis > 0) {
+            count(endpoint, "rejected");
+            throw new FineractCircuitOpenException(endpoint, retryAfterMillis);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (FineractThrottledException | RuntimeException e) {
+            circuit.release();
+            throw e;
+        } catch (IOException e) {
+            record(endpoint, circuit, false);
+            throw e;
+        }
+        record(endpoint, circuit, !FineractApiException.isUnavailableStatus(response.code()));
+        return response;
+    }
+
+    CircuitBreaker.State state(String endpoint) {
+        CircuitBreaker circuit = circuits.get(endpoint);
+        return circuit == null ? CircuitBreaker.State.CLOSED : circuit.state();
+    }
+
+    private CircuitBreaker createCircuit(String endpoint) {
+        CircuitBreaker circuit = new CircuitBreaker(endpoint, settings);
+        Gauge.builder("fineract.circuitbreaker.state", circuit, c -> c.state().ordinal())
+                .description("Circuit state of a Fineract endpoint: 0 closed, 1 open, 2 half-open").tag("endpoint", endpoint).register(meterRegistry);
+        return circuit;
+    }
+
+    private void record(String endpoint, CircuitBreaker circuit, boolean success) {
+        circuit.onResult(success, clock.getAsLong());
+        count(endpoint, success ? "success" : "failure");
+    }
+
+    private void count(String endpoint, String outcome) {
+        Counter.builder("fineract.circuitbreaker.calls").description("Fineract calls by circuit breaker outcome")
+                .tag("endpoint", endpoint).tag("outcome", outcome).register(meterRegistry).increment();
+    }
+
+    /**
+     * Count-based circuit breaker: a ring buffer of the last call outcomes while closed, a fixed
+     * number of probe permits while half-open.
+     */
+    static class CircuitBreaker {
+
+        enum State {
+            CLOSED, OPEN, HALF_OPEN
+        }
+
+        private final String endpoint;
+        private final WorkflowConfig.CircuitBreaker settings;
+        private final boolean[] window;
+        private int windowIndex;
+        private int windowCount;
+        private int windowFailures;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int halfOpenPermits;
+        private int halfOpenSuccesses;
+
+        CircuitBreaker(String endpoint, WorkflowConfig.CircuitBreaker settings) {
+            this.endpoint = endpoint;
+            this.settings = settings;
+            this.window = new boolean[Math.max(1, settings.getSlidingWindowSize())];
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        /**
+         * Lets a call through and returns 0, or returns how many milliseconds the caller should
+         * wait before trying again.
+         */
+        synchronized long tryAcquire(long now) {
+            if (state == State.OPEN) {
+                long openUntil = openedAt + settings.getOpenDuration();
+                if (now < openUntil) {
+                    return openUntil - now;
+                }
+                transition(State.HALF_OPEN);
+                halfOpenPermits = 0;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits >= settings.getHalfOpenCalls()) {
+                    return Math.max(1, settings.getOpenDuration() / Math.max(1, settings.getHalfOpenCalls()));
+                }
+                halfOpenPermits++;
+            }
+            return 0;
+        }
+
+        /**
+         * Gives back a permit whose call was not sent, so it is not counted as an outcome.
+         */
+        synchronized void release() {
+            if (state == State.HALF_OPEN && halfOpenPermits > halfOpenSuccesses) {
+                halfOpenPermits--;
+            }
+        }
+
+        synchronized void onResult(boolean success, long now) {
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (!success) {
+                        open(now);
+                    } else if (++halfOpenSuccesses >= settings.getHalfOpenCalls()) {
+                        resetWindow();
+                        transition(State.CLOSED);
+                    }
+                }
+                case CLOSED -> {
+                    if (windowCount == window.length) {
+                        windowFailures -= window[windowIndex] ? 0 : 1;
+                    } else {
+                        windowCount++;
+                    }
+                    window[windowIndex] = success;
+                    windowFailures += success ? 0 : 1;
+                    windowIndex = (windowIndex + 1) % window.length;
+                    if (windowCount >= settings.getMinimumCalls() && windowFailures * 100 >= settings.getFailureRateThreshold() * windowCount) {
+                        open(now);
+                    }
+                }
+                case OPEN -> {
+                }
+            }
+        }
+
+        private void open(long now) {
+            openedAt = now;
+            resetWindow();
+            transition(State.OPEN);
+        }
+
+        private void resetWindow() {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+
+        private void transition(State next) {
+            if (next != state) {
+                log.warn("Circuit for Fineract endpoint '{}' changed from {} to {}", endpoint, state, next);
+                state = next;
+            }
+        }
+    }
+}
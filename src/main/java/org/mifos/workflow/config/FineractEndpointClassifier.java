@@ -0,0 +1,38 @@
+package org.mifos.workflow.config;
+
+import okhttp3.HttpUrl;
+
+import java.util.List;
+
+/**
+ * Maps a Fineract request to its endpoint class, the first path segment after the configured
+ * base URL (e.g. {@code loans}, {@code clients}, {@code authentication}), which rate limits and
+ * circuit breakers are kept per.
+ */
+class FineractEndpointClassifier {
+
+    static final String DEFAULT_ENDPOINT = "default";
+
+    private final int baseUrlSegments;
+
+    FineractEndpointClassifier(String baseUrl) {
+        HttpUrl url = baseUrl == null ? null : HttpUrl.parse(baseUrl);
+        if (url == null) {
+            this.baseUrlSegments = 0;
+        } else {
+            List<String> segments = url.pathSegments();
+            this.baseUrlSegments = segments.get(segments.size() - 1).isEmpty() ? segments.size() - 1 : segments.size();
+        }
+    }
+
+    /**
+     * The first path segment after the base URL, or {@value #DEFAULT_ENDPOINT} for the base URL itself.
+     */
+    String classify(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        if (segments.size() <= baseUrlSegments || segments.get(baseUrlSegments).isEmpty()) {
+            return DEFAULT_ENDPOINT;
+        }
+        return segments.get(baseUrlSegments);
+    }
+}
@@ -0,0 +1,191 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Credentials;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.mifos.workflow.service.fineract.auth.FineractAuthService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and caches one OkHttpClient per Fineract tenant. Each client has its own connection
+ * pool and dispatcher, sized from {@link WorkflowConfig.Fineract}, so a busy tenant cannot
+ * starve the others. Pool and dispatcher state are published as gauges tagged by tenant.
+ * Identical GETs in flight are first coalesced by the {@link FineractRequestCoalescer}; calls
+ * then pass the shared {@link FineractCircuitBreakerInterceptor} and
+ * {@link FineractRateLimitInterceptor} and are then logged by the shared
+ * {@link FineractWireLoggingInterceptor}.
+ * <p>
+ * Calls carry the tenant's service-account key from {@link FineractAuthService} once it has one,
+ * and the configured Basic credentials until then. A 401 re-authenticates the tenant through
+ * {@link FineractAuthService#reauthenticate} and retries the call once with the new key.
+ */
+@Component
+@Slf4j
+public class FineractHttpClientFactory {
+
+    private static final TrustManager[] trustAllCerts = new TrustManager[]{
+            new X509TrustManager() {
+                @Override
+                public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+                }
+
+                @Override
+                public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+                }
+
+                @Override
+                public X509Certificate[] getAcceptedIssuers() {
+                    return new X509Certificate[0];
+                }
+            }
+    };
+
+    private static final SSLContext trustAllSslContext;
+
+    static {
+        try {
+            trustAllSslContext = SSLContext.getInstance("SSL");
+            trustAllSslContext.init(null, trustAllCerts, new java.security.SecureRandom());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SSL algorithm not available", e);
+        } catch (KeyManagementException e) {
+            throw new RuntimeException("Failed to initialize SSL key management", e);
+        }
+    }
+
+    private static final SSLSocketFactory trustAllSslSocketFactory = trustAllSslContext.getSocketFactory();
+
+    private final WorkflowConfig properties;
+    private final MeterRegistry meterRegistry;
+    private final FineractWireLoggingInterceptor wireLoggingInterceptor;
+    private final FineractRateLimitInterceptor rateLimitInterceptor;
+    private final FineractCircuitBreakerInterceptor circuitBreakerInterceptor;
+    private final FineractRequestCoalescer requestCoalescer;
+    private final ObjectProvider<FineractAuthService> authService;
+    private final Map<String, OkHttpClient> clients = new ConcurrentHashMap<>();
+
+    public FineractHttpClientFactory(WorkflowConfig properties, MeterRegistry meterRegistry, FineractWireLoggingInterceptor wireLoggingInterceptor,
+                                     FineractRateLimitInterceptor rateLimitInterceptor, FineractCircuitBreakerInterceptor circuitBreakerInterceptor,
+                                     FineractRequestCoalescer requestCoalescer, ObjectProvider<FineractAuthService> authService) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.wireLoggingInterceptor = wireLoggingInterceptor;
+        this.rateLimitInterceptor = rateLimitInterceptor;
+        this.circuitBreakerInterceptor = circuitBreakerInterceptor;
+        this.requestCoalescer = requestCoalescer;
+        this.authService = authService;
+    }
+
+    /**
+     * Returns the client for the tenant, creating it with its own pool and dispatcher on first use.
+     */
+    public OkHttpClient forTenant(String tenantId) {
+        return clients.computeIfAbsent(tenantId, this::createClient);
+    }
+
+    private OkHttpClient createClient(String tenantId) {
+        WorkflowConfig.Fineract fineract = properties.getFineract();
+        // OkHttp's HTTP/2 writer does socket I/O while holding a monitor, which would pin virtual threads
+        boolean http2 = fineract.isHttp2Enabled() && properties.getEngine().getExecutionMode() != WorkflowConfig.ExecutionMode.VIRTUAL_THREADS;
+        log.info("Creating OkHttpClient for tenant {}: max idle connections {}, max requests {}, max requests per host {}, HTTP/2 {}",
+                tenantId, fineract.getMaxIdleConnections(), fineract.getMaxRequests(), fineract.getMaxRequestsPerHost(), http2);
+
+        ConnectionPool connectionPool = new ConnectionPool(fineract.getMaxIdleConnections(), fineract.getKeepAliveDuration(), TimeUnit.MILLISECONDS);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(fineract.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(fineract.getMaxRequestsPerHost());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                .addInterceptor(requestCoalescer.forTenant(tenantId))
+                .addInterceptor(circuitBreakerInterceptor)
+                .addInterceptor(rateLimitInterceptor)
+                .addInterceptor(wireLoggingInterceptor)
+                .addInterceptor(chain -> {
+                    Request originalRequest = chain.request();
+                    Request modifiedRequest = originalRequest.newBuilder()
+                            .header(properties.getAuthentication().getAuthKeyHeader(), authorization(tenantId))
+                            .header("Fineract-Platform-TenantId", tenantId)
+                            .build();
+                    log.debug("Added auth header to request");
+                    return chain.proceed(modifiedRequest);
+                })
+                .authenticator((route, response) -> reauthenticate(tenantId, response))
+                .connectTimeout(fineract.getConnectionTimeout(), TimeUnit.MILLISECONDS)
+                .readTimeout(fineract.getReadTimeout(), TimeUnit.MILLISECONDS)
+                .writeTimeout(fineract.getReadTimeout(), TimeUnit.MILLISECONDS);
+
+        builder.sslSocketFactory(trustAllSslSocketFactory, (X509TrustManager) trustAllCerts[0])
+                .hostnameVerifier((hostname, session) -> true);
+
+        registerMetrics(tenantId, connectionPool, dispatcher);
+        return builder.build();
+    }
+
+    private String authorization(String tenantId) {
+        FineractAuthService auth = authService.getIfAvailable();
+        String authKey = auth != null ? auth.getServiceAuthKey(tenantId) : null;
+        if (authKey == null) {
+            return Credentials.basic(properties.getFineract().getUsername(), properties.getFineract().getPassword());
+        }
+        return properties.getAuthentication().getAuthKeyPrefix() + authKey;
+    }
+
+    /**
+     * Returns the rejected request with a fresh key, or null to hand the 401 to the caller if the
+     * call was the authentication itself, was already retried, or re-authentication failed.
+     */
+    private Request reauthenticate(String tenantId, Response response) {
+        FineractAuthService auth = authService.getIfAvailable();
+        List<String> segments = response.request().url().pathSegments();
+        if (auth == null || !properties.getAuthentication().isEnabled() || response.priorResponse() != null
+                || "authentication".equals(segments.get(segments.size() - 1))) {
+            return null;
+        }
+        String authKey;
+        try {
+            authKey = auth.reauthenticate(tenantId, response.sentRequestAtMillis());
+        } catch (RuntimeException e) {
+            log.warn("Re-authentication for tenant {} failed: {}", tenantId, e.getMessage());
+            return null;
+        }
+        log.info("Retrying {} for tenant {} with a renewed auth key", response.request().url().encodedPath(), tenantId);
+        return response.request().newBuilder()
+                .header(properties.getAuthentication().getAuthKeyHeader(), properties.getAuthentication().getAuthKeyPrefix() + authKey)
+                .build();
+    }
+
+    private void registerMetrics(String tenantId, ConnectionPool connectionPool, Dispatcher dispatcher) {
+        Gauge.builder("fineract.http.connections", connectionPool, pool -> pool.connectionCount() - pool.idleConnectionCount())
+                .description("Connections to Fineract currently carrying a call").tag("tenant", tenantId).tag("state", "active").register(meterRegistry);
+        Gauge.builder("fineract.http.connections", connectionPool, ConnectionPool::idleConnectionCount)
+                .description("Idle pooled connections to Fineract").tag("tenant", tenantId).tag("state", "idle").register(meterRegistry);
+        Gauge.builder("fineract.http.calls", dispatcher, Dispatcher::runningCallsCount)
+                .description("Fineract calls in flight").tag("tenant", tenantId).tag("state", "running").register(meterRegistry);
+        Gauge.builder("fineract.http.calls", dispatcher, Dispatcher::queuedCallsCount)
+                .description("Asynchronous Fineract calls waiting for a dispatcher slot").tag("tenant", tenantId).tag("state", "queued").register(meterRegistry);
+    }
+}
@@ -0,0 +1,162 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.mifos.workflow.exception.FineractThrottledException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits how hard the workflow engine hits Fineract: a token bucket per endpoint class (see
+ * {@link FineractEndpointClassifier}, e.g. {@code loans} or {@code clients}) caps permits per second,
+ * and a bulkhead caps calls in flight. Both are shared by every tenant client, since they protect
+ * the same Fineract instance. A call waits at most {@code max-wait} for a permit and a slot, then
+ * fails with {@link FineractThrottledException} without being sent, giving back any permit it took.
+ * Permits, waits and rejections are published under {@code fineract.ratelimit.*}.
+ */
+@Component
+@Slf4j
+public class FineractRateLimitInterceptor implements Interceptor {
+
+    private final WorkflowConfig.RateLimit settings;
+    private final MeterRegistry meterRegistry;
+    private final FineractEndpointClassifier endpointClassifier;
+    private final Semaphore bulkhead;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public FineractRateLimitInterceptor(WorkflowConfig properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getFineract().getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.endpointClassifier = new FineractEndpointClassifier(properties.getFineract().getBaseUrl());
+        this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls(), true);
+        Gauge.builder("fineract.ratelimit.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free bulkhead slots for Fineract calls").register(meterRegistry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!settings.isEnabled()) {
+            return chain.proceed(chain.request());
+        }
+
+        String endpoint = endpointClassifier.classify(chain.request().url());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getMaxWait());
+        long waitStart = System.nanoTime();
+
+        TokenBucket bucket = buckets.computeIfAbsent(endpoint, this::createBucket);
+        long delayNanos = bucket.reserve(TimeUnit.MILLISECONDS.toNanos(settings.getMaxWait()));
+        if (delayNanos < 0) {
+            throw reject(endpoint, FineractThrottledException.REASON_RATE_LIMIT);
+        }
+
+        // A call that is not sent gives its permit back, so the bucket only counts calls Fineract actually gets
+        boolean acquired = false;
+        try {
+            sleep(delayNanos);
+            acquired = bulkhead.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a Fineract bulkhead slot");
+        } finally {
+            if (!acquired) {
+                bucket.refund();
+            }
+        }
+        if (!acquired) {
+            throw reject(endpoint, FineractThrottledException.REASON_BULKHEAD);
+        }
+
+        try {
+            Timer.builder("fineract.ratelimit.wait").description("Time Fineract calls waited for a permit and a bulkhead slot")
+                    .tag("endpoint", endpoint).register(meterRegistry).record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            Counter.builder("fineract.ratelimit.permits").description("Fineract calls let through by the rate limiter")
+                    .tag("endpoint", endpoint).register(meterRegistry).increment();
+            return chain.proceed(chain.request());
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private TokenBucket createBucket(String endpoint) {
+        double permitsPerSecond = settings.getEndpointPermitsPerSecond().getOrDefault(endpoint, settings.getPermitsPerSecond());
+        log.info("Rate limiting Fineract endpoint '{}' to {} calls per second", endpoint, permitsPerSecond);
+        return new TokenBucket(permitsPerSecond);
+    }
+
+    private FineractThrottledException reject(String endpoint, String reason) {
+        Counter.builder("fineract.ratelimit.rejections").description("Fineract calls rejected after waiting max-wait")
+                .tag("endpoint", endpoint).tag("reason", reason).register(meterRegistry).increment();
+        log.warn("Throttled Fineract call to '{}' ({})", endpoint, reason);
+        return new FineractThrottledException(endpoint, reason);
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a Fineract rate-limit permit");
+            }
+        }
+    }
+
+    /**
+     * Token bucket holding up to one second of permits. A caller that finds it empty reserves the
+     * next token, taking the bucket into debt, and sleeps until the token is due outside the lock,
+     * so waiting callers are served in arrival order at the configured rate.
+     */
+    static class TokenBucket {
+
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double permitsPerSecond) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1.0, permitsPerSecond);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Takes one permit, returning how many nanoseconds the caller must wait before using it,
+         * or -1 without taking it if that would be longer than {@code maxWaitNanos}.
+         */
+        synchronized long reserve(long maxWaitNanos) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+            lastRefill = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0;
+            }
+            long waitNanos = permitsPerNano > 0 ? (long) Math.ceil((1.0 - tokens) / permitsPerNano) : Long.MAX_VALUE;
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            tokens -= 1.0;
+            return waitNanos;
+        }
+
+        /**
+         * Gives back a permit taken by {@link #reserve} for a call that was not sent.
+         */
+        synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1.0);
+        }
+    }
+}
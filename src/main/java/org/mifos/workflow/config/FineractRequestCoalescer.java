@@ -0,0 +1,153 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets concurrent identical Fineract GETs share one call. The first caller for a tenant and URL
+ * (path and query) sends the request; callers arriving while it is in flight wait for it and get
+ * a copy of the same response. A successful response can also be reused for {@code result-ttl}
+ * milliseconds, set per endpoint class (see {@link FineractEndpointClassifier}) through
+ * {@code endpoint-result-ttls}; the default of 0 only shares in-flight calls. Other methods and
+ * {@code excluded-endpoints} always go through. Outcomes are counted under
+ * {@code fineract.coalescing.calls}.
+ */
+@Component
+@Slf4j
+public class FineractRequestCoalescer {
+
+    private static final int MAX_RETAINED_RESULTS = 1024;
+
+    private final WorkflowConfig.Coalescing settings;
+    private final MeterRegistry meterRegistry;
+    private final FineractEndpointClassifier endpointClassifier;
+    private final LongSupplier clock;
+    private final Map<String, SharedCall> calls = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FineractRequestCoalescer(WorkflowConfig properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    FineractRequestCoalescer(WorkflowConfig properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.settings = properties.getFineract().getCoalescing();
+        this.meterRegistry = meterRegistry;
+        this.endpointClassifier = new FineractEndpointClassifier(properties.getFineract().getBaseUrl());
+        this.clock = clock;
+    }
+
+    /**
+     * Returns an interceptor that coalesces the GETs of one tenant's client.
+     */
+    public Interceptor forTenant(String tenantId) {
+        return chain -> intercept(tenantId, chain);
+    }
+
+    private Response intercept(String tenantId, Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!settings.isEnabled() || !"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+        String endpoint = endpointClassifier.classify(request.url());
+        if (settings.getExcludedEndpoints().contains(endpoint)) {
+            return chain.proceed(request);
+        }
+
+        String key = tenantId + " " + request.url();
+        SharedCall call = new SharedCall();
+        while (true) {
+            SharedCall existing = calls.get(key);
+            if (existing != null && existing.isReusable(clock.getAsLong())) {
+                count(endpoint, existing.result.isDone() ? "cached" : "joined");
+                return existing.await().toResponse(request);
+            }
+            if (existing == null ? calls.putIfAbsent(key, call) == null : calls.replace(key, existing, call)) {
+                break;
+            }
+        }
+
+        count(endpoint, "sent");
+        try {
+            Response response = chain.proceed(request);
+            BufferedResponse buffered = BufferedResponse.of(response);
+            long resultTtl = settings.getEndpointResultTtls().getOrDefault(endpoint, settings.getResultTtl());
+            call.expiresAt = response.isSuccessful() ? clock.getAsLong() + resultTtl : 0;
+            call.result.complete(buffered);
+            if (resultTtl <= 0 || !response.isSuccessful()) {
+                calls.remove(key, call);
+            } else if (calls.size() > MAX_RETAINED_RESULTS) {
+                long now = clock.getAsLong();
+                calls.values().removeIf(retained -> retained.result.isDone() && !retained.isReusable(now));
+            }
+            return buffered.toResponse(request);
+        } catch (IOException | RuntimeException e) {
+            call.result.completeExceptionally(e);
+            calls.remove(key, call);
+            throw e;
+        }
+    }
+
+    private void count(String endpoint, String outcome) {
+        Counter.builder("fineract.coalescing.calls").description("Fineract GETs by coalescing outcome")
+                .tag("endpoint", endpoint).tag("outcome", outcome).register(meterRegistry).increment();
+    }
+
+    /**
+     * A GET in flight, or its response while it may still be reused.
+     */
+    private static class SharedCall {
+
+        private final CompletableFuture<BufferedResponse> result = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        boolean isReusable(long now) {
+            return !result.isDone() || (!result.isCompletedExceptionally() && now < expiresAt);
+        }
+
+        BufferedResponse await() throws IOException {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a shared Fineract call", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Shared Fineract call failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * A response with its body read into memory, so every caller can get its own copy.
+     */
+    private record BufferedResponse(Response response, byte[] body, MediaType contentType) {
+
+        static BufferedResponse of(Response response) throws IOException {
+            try (ResponseBody body = response.body()) {
+                if (body == null) {
+                    return new BufferedResponse(response, null, null);
+                }
+                return new BufferedResponse(response.newBuilder().body(null).build(), body.bytes(), body.contentType());
+            }
+        }
+
+        Response toResponse(Request request) {
+            Response.Builder builder = response.newBuilder().request(request);
+            return body == null ? builder.build() : builder.body(ResponseBody.create(body, contentType)).build();
+        }
+    }
+}
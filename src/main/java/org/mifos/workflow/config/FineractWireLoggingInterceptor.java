@@ -0,0 +1,149 @@
+package org.mifos.workflow.config;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Logs Fineract HTTP exchanges as a single line each, at the level, sampling rate and body limit
+ * configured under {@code workflow.fineract.wire-logging}. Credentials and PII are redacted from
+ * headers, query parameters and JSON bodies. Below {@link Level#BODY}, or when an exchange is not
+ * sampled, no body is read or copied; at BODY only the first {@code maxBodyBytes} are peeked.
+ */
+@Component
+@Slf4j
+public class FineractWireLoggingInterceptor implements Interceptor {
+
+    public enum Level {
+        NONE, BASIC, HEADERS, BODY
+    }
+
+    private static final String REDACTED = "***";
+    private final WorkflowConfig.WireLogging settings;
+    private final Set<String> redactedHeaders;
+    private final Set<String> redactedFields;
+    private final Pattern redactedJsonFields;
+
+    public FineractWireLoggingInterceptor(WorkflowConfig properties) {
+        this.settings = properties.getFineract().getWireLogging();
+        this.redactedHeaders = settings.getRedactedHeaders().stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.redactedFields = settings.getRedactedFields().stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.redactedJsonFields = Pattern.compile("(\"(?:" + settings.getRedactedFields().stream().map(Pattern::quote).collect(Collectors.joining("|")) + ")\"\\s*:\\s*)(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}\\]\\s]+)", Pattern.CASE_INSENSITIVE);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Level level = settings.getLevel();
+        if (level == Level.NONE || !log.isInfoEnabled() || !isSampled(request.url())) {
+            return chain.proceed(request);
+        }
+
+        StringBuilder entry = new StringBuilder("--> ").append(request.method()).append(' ').append(redact(request.url()));
+        if (level.compareTo(Level.HEADERS) >= 0) {
+            appendHeaders(entry, request.headers());
+        }
+        if (level == Level.BODY && request.body() != null) {
+            appendBody(entry, request.body().contentType(), requestBody(request.body()));
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            log.info("{} <-- FAILED: {}", entry, e.getMessage());
+            throw e;
+        }
+
+        entry.append(" <-- ").append(response.code()).append(' ').append(response.message()).append(" (").append((System.nanoTime() - start) / 1_000_000).append(" ms)");
+        if (level.compareTo(Level.HEADERS) >= 0) {
+            appendHeaders(entry, response.headers());
+        }
+        if (level == Level.BODY && response.body() != null) {
+            appendBody(entry, response.body().contentType(), response.peekBody(settings.getMaxBodyBytes()).string());
+        }
+        log.info(entry.toString());
+        return response;
+    }
+
+    /**
+     * The first path segment with its own rate decides, e.g. {@code endpoint-sample-rates.loans=0.05};
+     * other requests use the default sample rate.
+     */
+    boolean isSampled(HttpUrl url) {
+        double rate = settings.getSampleRate();
+        Map<String, Double> endpointSampleRates = settings.getEndpointSampleRates();
+        for (String segment : url.pathSegments()) {
+            Double endpointRate = endpointSampleRates.get(segment);
+            if (endpointRate != null) {
+                rate = endpointRate;
+                break;
+            }
+        }
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    String redact(HttpUrl url) {
+        if (url.querySize() == 0) {
+            return url.toString();
+        }
+        HttpUrl.Builder builder = url.newBuilder().query(null);
+        for (int i = 0; i < url.querySize(); i++) {
+            String name = url.queryParameterName(i);
+            builder.addQueryParameter(name, redactedFields.contains(name.toLowerCase(Locale.ROOT)) ? REDACTED : url.queryParameterValue(i));
+        }
+        return builder.build().toString();
+    }
+
+    String redact(String body) {
+        Matcher matcher = redactedJsonFields.matcher(body);
+        return matcher.find() ? matcher.replaceAll("$1\"" + REDACTED + "\"") : body;
+    }
+
+    private void appendHeaders(StringBuilder entry, Headers headers) {
+        for (int i = 0; i < headers.size(); i++) {
+            String name = headers.name(i);
+            entry.append(" [").append(name).append(": ").append(redactedHeaders.contains(name.toLowerCase(Locale.ROOT)) ? REDACTED : headers.value(i)).append(']');
+        }
+    }
+
+    private void appendBody(StringBuilder entry, MediaType contentType, String body) {
+        if (body == null) {
+            return;
+        }
+        if (contentType != null && !"json".equals(contentType.subtype()) && !"text".equals(contentType.type())) {
+            entry.append(" (").append(contentType).append(" body omitted)");
+            return;
+        }
+        entry.append(' ').append(redact(body));
+    }
+
+    private String requestBody(RequestBody body) throws IOException {
+        if (body.isDuplex() || body.isOneShot()) {
+            return null;
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        boolean truncated = buffer.size() > settings.getMaxBodyBytes();
+        String content = buffer.readString(Math.min(buffer.size(), settings.getMaxBodyBytes()), StandardCharsets.UTF_8);
+        return truncated ? content + "…" : content;
+    }
+}
@@ -1,11 +1,31 @@
 package org.mifos.workflow.config;
 
+import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.spring.boot.EngineConfigurationConfigurer;
 import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.engine.parse.BpmnParseHandler;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+import org.flowable.variable.api.types.VariableType;
+import org.mifos.workflow.core.engine.delegates.FineractFutureDelegate;
+import org.mifos.workflow.engine.flowable.FineractCallJobHandler;
+import org.mifos.workflow.engine.flowable.FineractJobRetryHandler;
+import org.mifos.workflow.engine.flowable.FineractServiceTaskParseHandler;
+import org.mifos.workflow.engine.flowable.ProcessDefinitionCountMapper;
+import org.mifos.workflow.engine.flowable.ProcessHistoryLevelSettings;
+import org.mifos.workflow.engine.flowable.ProcessStatusMapper;
+import org.mifos.workflow.engine.flowable.ResultRecordVariableType;
+import org.mifos.workflow.engine.flowable.ThrottledJobBackoffHandler;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Configuration class for Flowable workflow engine integration with Spring.
  * This ensures that delegate classes can use Spring dependency injection.
@@ -16,6 +36,9 @@ public class FlowableConfig {
     @Autowired
     private WorkflowConfig workflowConfig;
 
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
 
     @Bean
     public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> engineConfigurationConfigurer() {
@@ -28,8 +51,66 @@ public class FlowableConfig {
 
 
             if (workflowConfig.getEngine().getFlowable().isHistoryEnabled()) {
-                engineConfiguration.setHistory("full");
+                engineConfiguration.setHistory(workflowConfig.getEngine().getFlowable().getHistoryLevel());
+            }
+            engineConfiguration.setEnableProcessDefinitionHistoryLevel(true);
+            engineConfiguration.setHistoryConfigurationSettings(
+                    new ProcessHistoryLevelSettings(engineConfiguration, workflowConfig.getEngine().getFlowable().getProcessHistoryLevels()));
+
+
+            Set<Class<?>> customMybatisMappers = new HashSet<>();
+            if (engineConfiguration.getCustomMybatisMappers() != null) {
+                customMybatisMappers.addAll(engineConfiguration.getCustomMybatisMappers());
+            }
+            customMybatisMappers.add(ProcessStatusMapper.class);
+            customMybatisMappers.add(ProcessDefinitionCountMapper.class);
+            engineConfiguration.setCustomMybatisMappers(customMybatisMappers);
+
+
+            // Jobs failing on Fineract are retried with exponential backoff, up to job-retry.max-attempts runs in all
+            engineConfiguration.setAsyncExecutorNumberOfRetries(workflowConfig.getEngine().getFlowable().getJobRetry().getMaxAttempts());
+            List<AsyncRunnableExecutionExceptionHandler> exceptionHandlers = new ArrayList<>();
+            exceptionHandlers.add(new ThrottledJobBackoffHandler(workflowConfig.getFineract().getRateLimit().getJobBackoff()));
+            exceptionHandlers.add(new FineractJobRetryHandler(workflowConfig.getEngine().getFlowable().getJobRetry()));
+            if (engineConfiguration.getCustomAsyncRunnableExecutionExceptionHandlers() != null) {
+                exceptionHandlers.addAll(engineConfiguration.getCustomAsyncRunnableExecutionExceptionHandlers());
             }
+            engineConfiguration.setCustomAsyncRunnableExecutionExceptionHandlers(exceptionHandlers);
+
+
+            // Delegates write their results as one ResultRecord variable instead of one variable per field
+            List<VariableType> variableTypes = new ArrayList<>();
+            if (engineConfiguration.getCustomPreVariableTypes() != null) {
+                variableTypes.addAll(engineConfiguration.getCustomPreVariableTypes());
+            }
+            variableTypes.add(new ResultRecordVariableType());
+            engineConfiguration.setCustomPreVariableTypes(variableTypes);
+
+
+            // Service tasks backed by a FineractFutureDelegate bean get an async boundary unless configured sync,
+            // and their Fineract call is applied by a fineract-call job after the first job has committed
+            List<BpmnParseHandler> preParseHandlers = new ArrayList<>();
+            if (engineConfiguration.getPreBpmnParseHandlers() != null) {
+                preParseHandlers.addAll(engineConfiguration.getPreBpmnParseHandlers());
+            }
+            Set<String> fineractDelegateBeans = Set.of(beanFactory.getBeanNamesForType(FineractFutureDelegate.class, true, false));
+            preParseHandlers.add(new FineractServiceTaskParseHandler(fineractDelegateBeans, workflowConfig.getEngine().getFlowable()));
+            engineConfiguration.setPreBpmnParseHandlers(preParseHandlers);
+            List<JobHandler> jobHandlers = new ArrayList<>();
+            if (engineConfiguration.getCustomJobHandlers() != null) {
+                jobHandlers.addAll(engineConfiguration.getCustomJobHandlers());
+            }
+            jobHandlers.add(new FineractCallJobHandler(workflowConfig.getEngine().getFlowable().getFineractCallRecoveryDelay()));
+            engineConfiguration.setCustomJobHandlers(jobHandlers);
+
+
+            // Fineract calls of async Fineract tasks run on the async task invoker pool
+            AsyncTaskExecutorConfiguration delegateCallPool = new AsyncTaskExecutorConfiguration();
+            delegateCallPool.setCorePoolSize(workflowConfig.getEngine().getFlowable().getDelegateCallPoolSize());
+            delegateCallPool.setMaxPoolSize(workflowConfig.getEngine().getFlowable().getDelegateCallPoolSize());
+            delegateCallPool.setQueueSize(workflowConfig.getEngine().getFlowable().getDelegateCallQueueSize());
+            delegateCallPool.setThreadNamePrefix("fineract-call-");
+            engineConfiguration.setAsyncTaskInvokerTaskExecutorConfiguration(delegateCallPool);
         };
     }
 } 
\ No newline at end of file
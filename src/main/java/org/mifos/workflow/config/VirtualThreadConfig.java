@@ -0,0 +1,139 @@
+package org.mifos.workflow.config;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.flowable.common.spring.async.SpringAsyncTaskExecutor;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs blocking work on virtual threads when {@code workflow.engine.execution-mode=virtual-threads}:
+ * Flowable async jobs, the Fineract calls of async Fineract tasks, the RxJava {@code io()} scheduler
+ * used by the Fineract services, and Tomcat request handling. Async jobs are capped at
+ * {@code virtual-thread-job-concurrency} since each one holds a database connection while it runs;
+ * the Fineract calls are not, as they run after their job has committed. A job over the cap waits
+ * for a permit on its own virtual thread: the thread handing it over is often committing the
+ * transaction that created it and still holds that transaction's connection, so blocking it there
+ * could leave every connection held by a thread waiting for a job to finish.
+ * Fineract clients fall back to HTTP/1.1 in this mode, see {@link FineractHttpClientFactory}.
+ * <p>
+ * The {@code io()} scheduler is a JVM-wide RxJava hook, so it is only installed while this
+ * configuration's lifecycle runs, before the engine starts executing jobs and until after it has
+ * stopped, and the handler found on start is put back on stop.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "workflow.engine", name = "execution-mode", havingValue = "virtual-threads")
+@Slf4j
+public class VirtualThreadConfig implements SmartLifecycle, DisposableBean {
+
+    private final SimpleAsyncTaskExecutor jobExecutor;
+    private final SimpleAsyncTaskExecutor delegateCallExecutor;
+    private final ExecutorService ioExecutor;
+    private final Scheduler ioScheduler;
+    private Function<? super Scheduler, ? extends Scheduler> previousIoSchedulerHandler;
+    private boolean running;
+
+    public VirtualThreadConfig(WorkflowConfig workflowConfig) {
+        this.jobExecutor = virtualThreadExecutor("flowable-job-");
+        this.jobExecutor.setTaskDecorator(permitted(new Semaphore(workflowConfig.getEngine().getVirtualThreadJobConcurrency())));
+        this.delegateCallExecutor = virtualThreadExecutor("fineract-call-");
+        this.ioExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fineract-io-", 0).factory());
+        this.ioScheduler = Schedulers.from(ioExecutor);
+        log.info("Virtual-thread execution mode enabled, async job concurrency {}", workflowConfig.getEngine().getVirtualThreadJobConcurrency());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        previousIoSchedulerHandler = RxJavaPlugins.getIoSchedulerHandler();
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> ioScheduler);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        RxJavaPlugins.setIoSchedulerHandler(previousIoSchedulerHandler);
+        previousIoSchedulerHandler = null;
+        running = false;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Lowest phase: started before and stopped after the lifecycle beans that run jobs
+        return Integer.MIN_VALUE;
+    }
+
+    @Bean
+    public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> virtualThreadEngineConfigurer() {
+        return engineConfiguration -> {
+            engineConfiguration.setAsyncTaskExecutor(new SpringAsyncTaskExecutor(jobExecutor));
+            engineConfiguration.setAsyncTaskInvokerTaskExecutor(new SpringAsyncTaskExecutor(delegateCallExecutor));
+        };
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return factory -> factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+        jobExecutor.close();
+        delegateCallExecutor.close();
+        ioExecutor.shutdown();
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Runs each task once it holds one of the permits. A task interrupted while waiting is
+     * dropped; the job it runs stays locked until its lock expires and is then acquired again.
+     */
+    private static TaskDecorator permitted(Semaphore permits) {
+        return task -> () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
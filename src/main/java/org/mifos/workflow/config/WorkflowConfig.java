@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for workflow engine settings.
  * Binds properties from application.properties under the 'workflow' prefix.
@@ -17,22 +22,52 @@ public class WorkflowConfig {
     private Fineract fineract = new Fineract();
     private Authentication authentication = new Authentication();
     private Process process = new Process();
+    private Pagination pagination = new Pagination();
 
     @Data
     public static class Engine {
         private String type = "FLOWABLE";
+        private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+        private int virtualThreadJobConcurrency = 8;
         private Flowable flowable = new Flowable();
     }
 
+    public enum ExecutionMode {
+        PLATFORM_THREADS, VIRTUAL_THREADS
+    }
+
+    public enum ContinuationMode {
+        SYNC, ASYNC
+    }
+
     @Data
     public static class Flowable {
         private boolean asyncExecutorEnabled = true;
         private boolean databaseSchemaUpdate = true;
         private boolean historyEnabled = true;
+        private String historyLevel = "full";
+        private Map<String, String> processHistoryLevels = new HashMap<>();
         private String databaseType = "mysql";
         private String databaseUrl;
         private String databaseUsername;
         private String databasePassword;
+        private int definitionCacheSize = 256;
+        private int delegateCallPoolSize = 32;
+        private int delegateCallQueueSize = 1024;
+        private long fineractCallRecoveryDelay = 300000;
+        private ContinuationMode fineractTaskContinuation = ContinuationMode.ASYNC;
+        private Map<String, ContinuationMode> processFineractTaskContinuations = new HashMap<>();
+        private Map<String, Boolean> processExclusiveJobs = new HashMap<>();
+        private JobRetry jobRetry = new JobRetry();
+    }
+
+    @Data
+    public static class JobRetry {
+        private int maxAttempts = 5;
+        private long initialBackoff = 5000;
+        private double multiplier = 2.0;
+        private long maxBackoff = 300000;
+        private double jitter = 0.2;
     }
 
     @Data
@@ -44,6 +79,67 @@ public class WorkflowConfig {
         private boolean testEnabled;
         private int connectionTimeout = 30000;
         private int readTimeout = 30000;
+        private int maxIdleConnections = 20;
+        private long keepAliveDuration = 300000;
+        private int maxRequests = 128;
+        private int maxRequestsPerHost = 32;
+        private boolean http2Enabled = true;
+        private WireLogging wireLogging = new WireLogging();
+        private RateLimit rateLimit = new RateLimit();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private ReferenceDataCache referenceDataCache = new ReferenceDataCache();
+        private Coalescing coalescing = new Coalescing();
+        private Idempotency idempotency = new Idempotency();
+    }
+
+    @Data
+    public static class Idempotency {
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+        private long resultTtl = 0;
+        private Map<String, Long> endpointResultTtls = new HashMap<>();
+        private List<String> excludedEndpoints = new ArrayList<>();
+    }
+
+    @Data
+    public static class ReferenceDataCache {
+        private boolean enabled = true;
+        private long ttl = 600000;
+        private int maxEntries = 256;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private long openDuration = 30000;
+        private int halfOpenCalls = 3;
+    }
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private double permitsPerSecond = 50.0;
+        private Map<String, Double> endpointPermitsPerSecond = new HashMap<>();
+        private int maxConcurrentCalls = 32;
+        private long maxWait = 5000;
+        private long jobBackoff = 10000;
+    }
+
+    @Data
+    public static class WireLogging {
+        private FineractWireLoggingInterceptor.Level level = FineractWireLoggingInterceptor.Level.BASIC;
+        private int maxBodyBytes = 4096;
+        private double sampleRate = 1.0;
+        private Map<String, Double> endpointSampleRates = new HashMap<>();
+        private List<String> redactedHeaders = new ArrayList<>(List.of("Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"));
+        private List<String> redactedFields = new ArrayList<>(List.of("password", "base64EncodedAuthenticationKey", "mobileNo", "emailAddress", "dateOfBirth", "accountNo", "accountNumber"));
     }
 
     @Data
@@ -63,5 +159,15 @@ public class WorkflowConfig {
         private boolean enableProcessHistory = true;
         private int maxProcessInstances = 1000;
         private int processTimeout = 86400;
+        private int bulkStartChunkSize = 100;
+        private int bulkStartParallelism = 4;
+        private int bulkStartQueueSize = 1000;
+        private int bulkStartMaxCommands = 10000;
+    }
+
+    @Data
+    public static class Pagination {
+        private int defaultPageSize = 50;
+        private int maxPageSize = 500;
     }
-}
\ No newline at end of file
+}
@@ -4,26 +4,35 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
+import org.mifos.workflow.core.model.PageQuery;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
 import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
+import org.mifos.workflow.core.model.StartCommand;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.TaskInfo;
 import org.mifos.workflow.dto.fineract.client.ClientCreateRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
 import org.mifos.workflow.util.ApiResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,37 +48,14 @@ import java.util.Map;
 public class ClientOnboardingController {
 
     private final WorkflowService workflowService;
+    private final ProcessHistoryExportService processHistoryExportService;
 
     @PostMapping("/start")
     public ResponseEntity<ProcessInstance> startClientOnboarding(@Valid @RequestBody ClientCreateRequestDTO clientRequest) {
 
         log.info("Starting client onboarding process for client: {} {}", clientRequest.getFirstName(), clientRequest.getLastName());
 
-        Map<String, Object> variables = new HashMap<>();
-        variables.put("legalFormId", clientRequest.getLegalFormId());
-        variables.put("firstName", clientRequest.getFirstName());
-        variables.put("lastName", clientRequest.getLastName());
-        variables.put("mobileNo", clientRequest.getMobileNo());
-        variables.put("dateOfBirth", clientRequest.getDateOfBirth());
-        variables.put("externalId", clientRequest.getExternalId());
-        variables.put("officeId", clientRequest.getOfficeId());
-        variables.put("active", clientRequest.getActive());
-        variables.put("dateFormat", clientRequest.getDateFormat());
-        variables.put("locale", clientRequest.getLocale());
-
-        if (clientRequest.getAddress() != null && !clientRequest.getAddress().isEmpty()) {
-            try {
-                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                String addressJson = mapper.writeValueAsString(clientRequest.getAddress());
-                variables.put("addressJson", addressJson);
-            } catch (Exception e) {
-                log.warn("Could not serialize address to JSON: {}", e.getMessage());
-            }
-        }
-
-        variables.put("assignee", "system");
-
-        variables.put("staffId", 1L);
+        Map<String, Object> variables = toProcessVariables(clientRequest);
 
         ProcessInstance processInstance = workflowService.startProcess("client-onboarding", variables);
 
@@ -77,12 +63,24 @@ public class ClientOnboardingController {
         return ResponseEntity.ok(processInstance);
     }
 
+    @PostMapping("/start/bulk")
+    public ResponseEntity<List<StartResult>> startClientOnboardings(@RequestBody List<@Valid ClientCreateRequestDTO> requests) {
+        log.info("Starting {} client onboarding processes in bulk", requests.size());
+
+        List<StartCommand> commands = requests.stream().map(request -> StartCommand.builder().processDefinitionKey("client-onboarding").variables(toProcessVariables(request)).build()).toList();
+        List<StartResult> results = workflowService.startProcesses(commands);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskInfo>> getClientOnboardingTasks() {
+    public ResponseEntity<CursorPage<TaskInfo>> getClientOnboardingTasks(@ModelAttribute PageQuery pageQuery) {
 
-        log.info("Retrieving all client onboarding tasks");
+        log.info("Retrieving client onboarding tasks page: {}", pageQuery);
 
-        List<TaskInfo> taskInfos = workflowService.getPendingTasks("system");
+        if (pageQuery.getAssignee() == null) {
+            pageQuery.setAssignee("system");
+        }
+        CursorPage<TaskInfo> taskInfos = workflowService.getPendingTasks(pageQuery);
         return ResponseEntity.ok(taskInfos);
     }
 
@@ -113,11 +111,11 @@ public class ClientOnboardingController {
     }
 
     @GetMapping("/processes")
-    public ResponseEntity<List<ActiveProcess>> getActiveProcesses() {
+    public ResponseEntity<CursorPage<ActiveProcess>> getActiveProcesses(@ModelAttribute PageQuery pageQuery) {
 
-        log.info("Retrieving active client onboarding processes");
+        log.info("Retrieving active client onboarding processes page: {}", pageQuery);
 
-        List<ActiveProcess> activeProcesses = workflowService.getActiveProcesses();
+        CursorPage<ActiveProcess> activeProcesses = workflowService.getActiveProcesses(pageQuery);
         return ResponseEntity.ok(activeProcesses);
     }
 
@@ -131,13 +129,13 @@ public class ClientOnboardingController {
     }
 
     @GetMapping("/history")
-    public ResponseEntity<List<ProcessHistoryInfo>> getProcessHistory() {
+    public ResponseEntity<CursorPage<ProcessHistoryInfo>> getProcessHistory(@ModelAttribute PageQuery pageQuery) {
 
-        log.info("Retrieving process history");
+        log.info("Retrieving process history page: {}", pageQuery);
 
         try {
-            List<ProcessHistoryInfo> historyInfos = workflowService.getProcessHistoryInfo();
-            log.info("Successfully retrieved {} history records", historyInfos.size());
+            CursorPage<ProcessHistoryInfo> historyInfos = workflowService.getProcessHistoryInfo(pageQuery);
+            log.info("Successfully retrieved {} history records", historyInfos.getItems().size());
             return ResponseEntity.ok(historyInfos);
         } catch (Exception e) {
             log.error("Error retrieving process history: {}", e.getMessage(), e);
@@ -145,6 +143,15 @@ public class ClientOnboardingController {
         }
     }
 
+    @GetMapping(value = "/history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProcessHistory(@ModelAttribute PageQuery pageQuery) {
+
+        log.info("Exporting process history: {}", pageQuery);
+
+        StreamingResponseBody body = outputStream -> processHistoryExportService.exportProcessHistory(pageQuery, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/history/{processInstanceId}/variables")
     public ResponseEntity<Map<String, Object>> getHistoricProcessVariables(@PathVariable String processInstanceId) {
 
@@ -185,11 +192,11 @@ public class ClientOnboardingController {
     }
 
     @GetMapping("/processes/{processInstanceId}/status")
-    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId) {
+    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId, @RequestParam(required = false) List<String> variables) {
 
         log.info("Getting status for process instance: {}", processInstanceId);
 
-        ProcessStatus status = workflowService.getProcessStatus(processInstanceId);
+        ProcessStatus status = workflowService.getProcessStatus(processInstanceId, variables);
         return ResponseEntity.ok(status);
     }
 
@@ -203,11 +210,11 @@ public class ClientOnboardingController {
     }
 
     @GetMapping("/deployments")
-    public ResponseEntity<List<DeploymentInfo>> getDeployments() {
+    public ResponseEntity<CursorPage<DeploymentInfo>> getDeployments(@ModelAttribute PageQuery pageQuery) {
 
-        log.info("Retrieving all deployments");
+        log.info("Retrieving deployments page: {}", pageQuery);
 
-        List<DeploymentInfo> deployments = workflowService.getDeployments();
+        CursorPage<DeploymentInfo> deployments = workflowService.getDeployments(pageQuery);
         return ResponseEntity.ok(deployments);
     }
 
@@ -230,13 +237,18 @@ public class ClientOnboardingController {
     }
 
     @GetMapping("/deployments/{deploymentId}/resources/{resourceName}")
-    public ResponseEntity<byte[]> getDeploymentResource(@PathVariable String deploymentId, @PathVariable String resourceName) {
+    public ResponseEntity<StreamingResponseBody> getDeploymentResource(@PathVariable String deploymentId, @PathVariable String resourceName) {
 
         log.info("Retrieving resource {} from deployment: {}", resourceName, deploymentId);
 
-        byte[] resourceBytes = workflowService.getDeploymentResource(deploymentId, resourceName);
+        DeploymentResourceContent resource = workflowService.openDeploymentResource(deploymentId, resourceName);
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream content = resource.getContent()) {
+                content.transferTo(outputStream);
+            }
+        };
 
-        return ResponseEntity.ok().header("Content-Type", "application/octet-stream").header("Content-Disposition", "attachment; filename=\"" + resourceName + "\"").body(resourceBytes);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(resource.getResource().getResourceType())).contentLength(resource.getResource().getResourceSize()).header("Content-Disposition", "attachment; filename=\"" + resourceName + "\"").body(body);
     }
 
     @DeleteMapping("/deployments/{deploymentId}")
@@ -262,4 +274,33 @@ public class ClientOnboardingController {
             throw new RuntimeException("Failed to read uploaded file", e);
         }
     }
+
+    private Map<String, Object> toProcessVariables(ClientCreateRequestDTO clientRequest) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("legalFormId", clientRequest.getLegalFormId());
+        variables.put("firstName", clientRequest.getFirstName());
+        variables.put("lastName", clientRequest.getLastName());
+        variables.put("mobileNo", clientRequest.getMobileNo());
+        variables.put("dateOfBirth", clientRequest.getDateOfBirth());
+        variables.put("externalId", clientRequest.getExternalId());
+        variables.put("officeId", clientRequest.getOfficeId());
+        variables.put("active", clientRequest.getActive());
+        variables.put("dateFormat", clientRequest.getDateFormat());
+        variables.put("locale", clientRequest.getLocale());
+
+        if (clientRequest.getAddress() != null && !clientRequest.getAddress().isEmpty()) {
+            try {
+                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
+                String addressJson = mapper.writeValueAsString(clientRequest.getAddress());
+                variables.put("addressJson", addressJson);
+            } catch (Exception e) {
+                log.warn("Could not serialize address to JSON: {}", e.getMessage());
+            }
+        }
+
+        variables.put("assignee", "system");
+
+        variables.put("staffId", 1L);
+        return variables;
+    }
 } 
\ No newline at end of file
@@ -3,10 +3,13 @@ package org.mifos.workflow.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
+import org.mifos.workflow.core.model.PageQuery;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
 import org.mifos.workflow.core.model.ProcessHistoryInfo;
@@ -14,13 +17,17 @@ import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.TaskInfo;
 import org.mifos.workflow.dto.fineract.client.ClientTransferRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.mifos.workflow.util.ApiResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +43,7 @@ import java.util.Map;
 public class ClientTransferController {
 
     private final WorkflowService workflowService;
+    private final ProcessHistoryExportService processHistoryExportService;
 
     @PostMapping("/start")
     public ResponseEntity<ProcessInstance> startClientTransfer(@Valid @RequestBody ClientTransferRequestDTO transferRequest) {
@@ -56,9 +64,12 @@ public class ClientTransferController {
     }
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskInfo>> getClientTransferTasks() {
-        log.info("Retrieving all client transfer tasks");
-        List<TaskInfo> taskInfos = workflowService.getPendingTasks("system");
+    public ResponseEntity<CursorPage<TaskInfo>> getClientTransferTasks(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving client transfer tasks page: {}", pageQuery);
+        if (pageQuery.getAssignee() == null) {
+            pageQuery.setAssignee("system");
+        }
+        CursorPage<TaskInfo> taskInfos = workflowService.getPendingTasks(pageQuery);
         return ResponseEntity.ok(taskInfos);
     }
 
@@ -78,9 +89,9 @@ public class ClientTransferController {
     }
 
     @GetMapping("/processes")
-    public ResponseEntity<List<ActiveProcess>> getActiveProcesses() {
-        log.info("Retrieving active client transfer processes");
-        List<ActiveProcess> activeProcesses = workflowService.getActiveProcesses();
+    public ResponseEntity<CursorPage<ActiveProcess>> getActiveProcesses(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving active client transfer processes page: {}", pageQuery);
+        CursorPage<ActiveProcess> activeProcesses = workflowService.getActiveProcesses(pageQuery);
         return ResponseEntity.ok(activeProcesses);
     }
 
@@ -92,11 +103,11 @@ public class ClientTransferController {
     }
 
     @GetMapping("/history")
-    public ResponseEntity<List<ProcessHistoryInfo>> getProcessHistory() {
-        log.info("Retrieving process history");
+    public ResponseEntity<CursorPage<ProcessHistoryInfo>> getProcessHistory(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving process history page: {}", pageQuery);
         try {
-            List<ProcessHistoryInfo> historyInfos = workflowService.getProcessHistoryInfo();
-            log.info("Successfully retrieved {} history records", historyInfos.size());
+            CursorPage<ProcessHistoryInfo> historyInfos = workflowService.getProcessHistoryInfo(pageQuery);
+            log.info("Successfully retrieved {} history records", historyInfos.getItems().size());
             return ResponseEntity.ok(historyInfos);
         } catch (Exception e) {
             log.error("Error retrieving process history: {}", e.getMessage(), e);
@@ -104,6 +115,13 @@ public class ClientTransferController {
         }
     }
 
+    @GetMapping(value = "/history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProcessHistory(@ModelAttribute PageQuery pageQuery) {
+        log.info("Exporting process history: {}", pageQuery);
+        StreamingResponseBody body = outputStream -> processHistoryExportService.exportProcessHistory(pageQuery, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/history/{processInstanceId}/variables")
     public ResponseEntity<Map<String, Object>> getHistoricProcessVariables(@PathVariable String processInstanceId) {
         log.info("Retrieving historic variables for process instance: {}", processInstanceId);
@@ -134,9 +152,9 @@ public class ClientTransferController {
     }
 
     @GetMapping("/processes/{processInstanceId}/status")
-    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId) {
+    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId, @RequestParam(required = false) List<String> variables) {
         log.info("Getting status for process instance: {}", processInstanceId);
-        ProcessStatus status = workflowService.getProcessStatus(processInstanceId);
+        ProcessStatus status = workflowService.getProcessStatus(processInstanceId, variables);
         return ResponseEntity.ok(status);
     }
 
@@ -148,9 +166,9 @@ public class ClientTransferController {
     }
 
     @GetMapping("/deployments")
-    public ResponseEntity<List<DeploymentInfo>> getDeployments() {
-        log.info("Retrieving all deployments");
-        List<DeploymentInfo> deployments = workflowService.getDeployments();
+    public ResponseEntity<CursorPage<DeploymentInfo>> getDeployments(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving deployments page: {}", pageQuery);
+        CursorPage<DeploymentInfo> deployments = workflowService.getDeployments(pageQuery);
         return ResponseEntity.ok(deployments);
     }
 
@@ -169,10 +187,15 @@ public class ClientTransferController {
     }
 
     @GetMapping("/deployments/{deploymentId}/resources/{resourceName}")
-    public ResponseEntity<byte[]> getDeploymentResource(@PathVariable String deploymentId, @PathVariable String resourceName) {
+    public ResponseEntity<StreamingResponseBody> getDeploymentResource(@PathVariable String deploymentId, @PathVariable String resourceName) {
         log.info("Retrieving resource {} from deployment: {}", resourceName, deploymentId);
-        byte[] resourceBytes = workflowService.getDeploymentResource(deploymentId, resourceName);
-        return ResponseEntity.ok().header("Content-Type", "application/octet-stream").header("Content-Disposition", "attachment; filename=\"" + resourceName + "\"").body(resourceBytes);
+        DeploymentResourceContent resource = workflowService.openDeploymentResource(deploymentId, resourceName);
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream content = resource.getContent()) {
+                content.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(resource.getResource().getResourceType())).contentLength(resource.getResource().getResourceSize()).header("Content-Disposition", "attachment; filename=\"" + resourceName + "\"").body(body);
     }
 
     @DeleteMapping("/deployments/{deploymentId}")
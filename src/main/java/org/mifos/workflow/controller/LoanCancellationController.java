@@ -90,10 +90,10 @@ public class LoanCancellationController {
 
 
     @GetMapping("/processes/{processInstanceId}/status")
-    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId) {
+    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId, @RequestParam(required = false) List<String> variables) {
         log.info("Getting status for process instance. Process Instance ID: {}", processInstanceId);
 
-        ProcessStatus processStatus = workflowService.getProcessStatus(processInstanceId);
+        ProcessStatus processStatus = workflowService.getProcessStatus(processInstanceId, variables);
         return ResponseEntity.ok(processStatus);
     }
 
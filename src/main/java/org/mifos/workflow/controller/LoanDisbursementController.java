@@ -4,15 +4,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mifos.workflow.core.model.*;
 import org.mifos.workflow.dto.fineract.loan.LoanDisbursementRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.mifos.workflow.util.ApiResponse;
+import org.mifos.workflow.util.DateFormatters;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,87 +31,13 @@ import java.util.Map;
 public class LoanDisbursementController {
 
     private final WorkflowService workflowService;
+    private final ProcessHistoryExportService processHistoryExportService;
 
     @PostMapping("/start")
     public ResponseEntity<ProcessInstance> startLoanDisbursement(@Valid @RequestBody LoanDisbursementRequestDTO disbursementRequest) {
         log.info("Starting loan disbursement process for loan: {}", disbursementRequest.getLoanId());
 
-        Map<String, Object> variables = new HashMap<>();
-
-        variables.put("loanId", disbursementRequest.getLoanId());
-        variables.put("externalId", disbursementRequest.getExternalId());
-        variables.put("actualDisbursementDate", disbursementRequest.getActualDisbursementDate());
-        variables.put("transactionAmount", disbursementRequest.getTransactionAmount());
-        variables.put("disbursementMethod", disbursementRequest.getDisbursementMethod());
-        variables.put("accountNumber", disbursementRequest.getAccountNumber());
-        variables.put("note", disbursementRequest.getNote());
-        variables.put("requestNotes", disbursementRequest.getRequestNotes());
-        variables.put("dateFormat", disbursementRequest.getDateFormat() != null ? disbursementRequest.getDateFormat() : "yyyy-MM-dd");
-        variables.put("locale", disbursementRequest.getLocale() != null ? disbursementRequest.getLocale() : "en");
-
-        variables.put("disbursementOfficer", disbursementRequest.getDisbursementOfficer() != null ? disbursementRequest.getDisbursementOfficer() : "system");
-        variables.put("manager", disbursementRequest.getManager() != null ? disbursementRequest.getManager() : "system");
-        variables.put("itSupport", disbursementRequest.getItSupport() != null ? disbursementRequest.getItSupport() : "system");
-
-        variables.put("complianceCheck", disbursementRequest.getComplianceCheck() != null ? disbursementRequest.getComplianceCheck() : false);
-        variables.put("complianceNotes", disbursementRequest.getComplianceNotes());
-        variables.put("requiresManagerApproval", disbursementRequest.getRequiresManagerApproval() != null ? disbursementRequest.getRequiresManagerApproval() : true);
-        variables.put("requiresComplianceReview", disbursementRequest.getRequiresComplianceReview() != null ? disbursementRequest.getRequiresComplianceReview() : false);
-
-        variables.put("clientNotificationMethod", disbursementRequest.getClientNotificationMethod());
-        variables.put("requireClientAcknowledgement", disbursementRequest.getRequireClientAcknowledgement() != null ? disbursementRequest.getRequireClientAcknowledgement() : false);
-
-        variables.put("priority", disbursementRequest.getPriority() != null ? disbursementRequest.getPriority() : "NORMAL");
-        variables.put("riskLevel", disbursementRequest.getRiskLevel() != null ? disbursementRequest.getRiskLevel() : "LOW");
-        variables.put("isUrgent", disbursementRequest.getIsUrgent() != null ? disbursementRequest.getIsUrgent() : false);
-        variables.put("urgencyReason", disbursementRequest.getUrgencyReason());
-
-        variables.put("disbursementChannel", disbursementRequest.getDisbursementChannel());
-        variables.put("bankCode", disbursementRequest.getBankCode());
-        variables.put("branchCode", disbursementRequest.getBranchCode());
-        variables.put("referenceNumber", disbursementRequest.getReferenceNumber());
-
-        variables.put("beneficiaryName", disbursementRequest.getBeneficiaryName());
-        variables.put("beneficiaryId", disbursementRequest.getBeneficiaryId());
-        variables.put("beneficiaryPhone", disbursementRequest.getBeneficiaryPhone());
-        variables.put("beneficiaryEmail", disbursementRequest.getBeneficiaryEmail());
-
-        variables.put("destinationAccount", disbursementRequest.getDestinationAccount());
-        variables.put("destinationBank", disbursementRequest.getDestinationBank());
-        variables.put("destinationBranch", disbursementRequest.getDestinationBranch());
-
-        variables.put("currencyCode", disbursementRequest.getCurrencyCode());
-        variables.put("exchangeRate", disbursementRequest.getExchangeRate());
-        variables.put("sourceOfFunds", disbursementRequest.getSourceOfFunds());
-        variables.put("purpose", disbursementRequest.getPurpose());
-
-        variables.put("autoRetryOnFailure", disbursementRequest.getAutoRetryOnFailure() != null ? disbursementRequest.getAutoRetryOnFailure() : true);
-        variables.put("maxRetryAttempts", disbursementRequest.getMaxRetryAttempts() != null ? disbursementRequest.getMaxRetryAttempts() : 3);
-        variables.put("escalationLevel", disbursementRequest.getEscalationLevel() != null ? disbursementRequest.getEscalationLevel() : "LEVEL1");
-
-        variables.put("processVersion", "2.0");
-        variables.put("correlationId", disbursementRequest.getCorrelationId());
-        variables.put("expectedCompletionDate", disbursementRequest.getExpectedCompletionDate());
-        variables.put("createdBy", disbursementRequest.getCreatedBy() != null ? disbursementRequest.getCreatedBy() : "system");
-        variables.put("createdDate", disbursementRequest.getCreatedDate() != null ? disbursementRequest.getCreatedDate() : LocalDate.now());
-
-        if (disbursementRequest.getDisbursementData() != null) {
-            variables.put("disbursementData", disbursementRequest.getDisbursementData());
-        }
-
-        if (disbursementRequest.getAdditionalProperties() != null) {
-            variables.putAll(disbursementRequest.getAdditionalProperties());
-        }
-
-        if (disbursementRequest.getMetadata() != null) {
-            variables.put("metadata", disbursementRequest.getMetadata());
-        }
-
-        if (disbursementRequest.getAttachments() != null) {
-            variables.put("attachments", disbursementRequest.getAttachments());
-        }
-
-        variables.put("assignee", "system");
+        Map<String, Object> variables = toProcessVariables(disbursementRequest);
 
         ProcessInstance processInstance = workflowService.startProcess("loan-disbursement", variables);
 
@@ -117,13 +46,22 @@ public class LoanDisbursementController {
         return ResponseEntity.ok(processInstance);
     }
 
+    @PostMapping("/start/bulk")
+    public ResponseEntity<List<StartResult>> startLoanDisbursements(@RequestBody List<@Valid LoanDisbursementRequestDTO> requests) {
+        log.info("Starting {} loan disbursement processes in bulk", requests.size());
+
+        List<StartCommand> commands = requests.stream().map(request -> StartCommand.builder().processDefinitionKey("loan-disbursement").variables(toProcessVariables(request)).build()).toList();
+        List<StartResult> results = workflowService.startProcesses(commands);
+        return ResponseEntity.ok(results);
+    }
+
     @PostMapping("/retry/{processInstanceId}")
     public ResponseEntity<ApiResponse<Void>> retryDisbursement(@PathVariable String processInstanceId,
                                                              @RequestBody Map<String, Object> retryVariables) {
         log.info("Retrying loan disbursement for process instance: {}", processInstanceId);
 
         retryVariables.put("retryAttempt", getRetryAttempt(processInstanceId) + 1);
-        retryVariables.put("retryDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        retryVariables.put("retryDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")));
         retryVariables.put("lastRetryBy", retryVariables.getOrDefault("retryBy", "system"));
 
         workflowService.setProcessVariables(processInstanceId, retryVariables);
@@ -142,7 +80,7 @@ public class LoanDisbursementController {
         log.info("Escalating loan disbursement for process instance: {}", processInstanceId);
 
         escalationVariables.put("escalated", true);
-        escalationVariables.put("escalationDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        escalationVariables.put("escalationDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")));
         escalationVariables.put("escalatedBy", escalationVariables.getOrDefault("escalatedBy", "system"));
 
         workflowService.setProcessVariables(processInstanceId, escalationVariables);
@@ -156,7 +94,7 @@ public class LoanDisbursementController {
         log.info("Approving loan disbursement for process instance: {}", processInstanceId);
 
         approvalVariables.put("managerApproved", true);
-        approvalVariables.put("approvedDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        approvalVariables.put("approvedDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")));
         approvalVariables.put("approvedBy", approvalVariables.getOrDefault("approvedBy", "system"));
 
         workflowService.setProcessVariables(processInstanceId, approvalVariables);
@@ -178,7 +116,7 @@ public class LoanDisbursementController {
         log.info("Rejecting loan disbursement for process instance: {}", processInstanceId);
 
         rejectionVariables.put("managerApproved", false);
-        rejectionVariables.put("rejectedDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        rejectionVariables.put("rejectedDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")));
         rejectionVariables.put("rejectedBy", rejectionVariables.getOrDefault("rejectedBy", "system"));
 
         workflowService.setProcessVariables(processInstanceId, rejectionVariables);
@@ -195,16 +133,20 @@ public class LoanDisbursementController {
     }
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskInfo>> getLoanDisbursementTasks() {
-        log.info("Retrieving all loan disbursement tasks");
-        List<TaskInfo> taskInfos = workflowService.getPendingTasks("system");
+    public ResponseEntity<CursorPage<TaskInfo>> getLoanDisbursementTasks(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving loan disbursement tasks page: {}", pageQuery);
+        if (pageQuery.getAssignee() == null) {
+            pageQuery.setAssignee("system");
+        }
+        CursorPage<TaskInfo> taskInfos = workflowService.getPendingTasks(pageQuery);
         return ResponseEntity.ok(taskInfos);
     }
 
     @GetMapping("/tasks/by-role/{role}")
-    public ResponseEntity<List<TaskInfo>> getTasksByRole(@PathVariable String role) {
-        log.info("Retrieving loan disbursement tasks for role: {}", role);
-        List<TaskInfo> taskInfos = workflowService.getPendingTasks(role);
+    public ResponseEntity<CursorPage<TaskInfo>> getTasksByRole(@PathVariable String role, @ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving loan disbursement tasks page for role: {}", role);
+        pageQuery.setAssignee(role);
+        CursorPage<TaskInfo> taskInfos = workflowService.getPendingTasks(pageQuery);
         return ResponseEntity.ok(taskInfos);
     }
 
@@ -231,9 +173,9 @@ public class LoanDisbursementController {
     }
 
     @GetMapping("/processes")
-    public ResponseEntity<List<ActiveProcess>> getActiveProcesses() {
-        log.info("Retrieving active loan disbursement processes");
-        List<ActiveProcess> activeProcesses = workflowService.getActiveProcesses();
+    public ResponseEntity<CursorPage<ActiveProcess>> getActiveProcesses(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving active loan disbursement processes page: {}", pageQuery);
+        CursorPage<ActiveProcess> activeProcesses = workflowService.getActiveProcesses(pageQuery);
         return ResponseEntity.ok(activeProcesses);
     }
 
@@ -253,9 +195,9 @@ public class LoanDisbursementController {
     }
 
     @GetMapping("/processes/{processInstanceId}/status")
-    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId) {
+    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId, @RequestParam(required = false) List<String> variables) {
         log.info("Getting status for process instance: {}", processInstanceId);
-        ProcessStatus status = workflowService.getProcessStatus(processInstanceId);
+        ProcessStatus status = workflowService.getProcessStatus(processInstanceId, variables);
         return ResponseEntity.ok(status);
     }
 
@@ -273,6 +215,13 @@ public class LoanDisbursementController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping(value = "/history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProcessHistory(@ModelAttribute PageQuery pageQuery) {
+        log.info("Exporting process history: {}", pageQuery);
+        StreamingResponseBody body = outputStream -> processHistoryExportService.exportProcessHistory(pageQuery, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getDisbursementStatistics() {
         log.info("Getting loan disbursement statistics");
@@ -303,5 +252,83 @@ public class LoanDisbursementController {
             return 0;
         }
     }
+
+    private Map<String, Object> toProcessVariables(LoanDisbursementRequestDTO disbursementRequest) {
+        Map<String, Object> variables = new HashMap<>();
+
+        variables.put("loanId", disbursementRequest.getLoanId());
+        variables.put("externalId", disbursementRequest.getExternalId());
+        variables.put("actualDisbursementDate", disbursementRequest.getActualDisbursementDate());
+        variables.put("transactionAmount", disbursementRequest.getTransactionAmount());
+        variables.put("disbursementMethod", disbursementRequest.getDisbursementMethod());
+        variables.put("accountNumber", disbursementRequest.getAccountNumber());
+        variables.put("note", disbursementRequest.getNote());
+        variables.put("requestNotes", disbursementRequest.getRequestNotes());
+        variables.put("dateFormat", disbursementRequest.getDateFormat() != null ? disbursementRequest.getDateFormat() : "yyyy-MM-dd");
+        variables.put("locale", disbursementRequest.getLocale() != null ? disbursementRequest.getLocale() : "en");
+
+        variables.put("disbursementOfficer", disbursementRequest.getDisbursementOfficer() != null ? disbursementRequest.getDisbursementOfficer() : "system");
+        variables.put("manager", disbursementRequest.getManager() != null ? disbursementRequest.getManager() : "system");
+        variables.put("itSupport", disbursementRequest.getItSupport() != null ? disbursementRequest.getItSupport() : "system");
+
+        variables.put("complianceCheck", disbursementRequest.getComplianceCheck() != null ? disbursementRequest.getComplianceCheck() : false);
+        variables.put("complianceNotes", disbursementRequest.getComplianceNotes());
+        variables.put("requiresManagerApproval", disbursementRequest.getRequiresManagerApproval() != null ? disbursementRequest.getRequiresManagerApproval() : true);
+        variables.put("requiresComplianceReview", disbursementRequest.getRequiresComplianceReview() != null ? disbursementRequest.getRequiresComplianceReview() : false);
+
+        variables.put("clientNotificationMethod", disbursementRequest.getClientNotificationMethod());
+        variables.put("requireClientAcknowledgement", disbursementRequest.getRequireClientAcknowledgement() != null ? disbursementRequest.getRequireClientAcknowledgement() : false);
+
+        variables.put("priority", disbursementRequest.getPriority() != null ? disbursementRequest.getPriority() : "NORMAL");
+        variables.put("riskLevel", disbursementRequest.getRiskLevel() != null ? disbursementRequest.getRiskLevel() : "LOW");
+        variables.put("isUrgent", disbursementRequest.getIsUrgent() != null ? disbursementRequest.getIsUrgent() : false);
+        variables.put("urgencyReason", disbursementRequest.getUrgencyReason());
+
+        variables.put("disbursementChannel", disbursementRequest.getDisbursementChannel());
+        variables.put("bankCode", disbursementRequest.getBankCode());
+        variables.put("branchCode", disbursementRequest.getBranchCode());
+        variables.put("referenceNumber", disbursementRequest.getReferenceNumber());
+
+        variables.put("beneficiaryName", disbursementRequest.getBeneficiaryName());
+        variables.put("beneficiaryId", disbursementRequest.getBeneficiaryId());
+        variables.put("beneficiaryPhone", disbursementRequest.getBeneficiaryPhone());
+        variables.put("beneficiaryEmail", disbursementRequest.getBeneficiaryEmail());
+
+        variables.put("destinationAccount", disbursementRequest.getDestinationAccount());
+        variables.put("destinationBank", disbursementRequest.getDestinationBank());
+        variables.put("destinationBranch", disbursementRequest.getDestinationBranch());
+
+        variables.put("currencyCode", disbursementRequest.getCurrencyCode());
+        variables.put("exchangeRate", disbursementRequest.getExchangeRate());
+        variables.put("sourceOfFunds", disbursementRequest.getSourceOfFunds());
+        variables.put("purpose", disbursementRequest.getPurpose());
+
+        variables.put("escalationLevel", disbursementRequest.getEscalationLevel() != null ? disbursementRequest.getEscalationLevel() : "LEVEL1");
+
+        variables.put("processVersion", "2.0");
+        variables.put("correlationId", disbursementRequest.getCorrelationId());
+        variables.put("expectedCompletionDate", disbursementRequest.getExpectedCompletionDate());
+        variables.put("createdBy", disbursementRequest.getCreatedBy() != null ? disbursementRequest.getCreatedBy() : "system");
+        variables.put("createdDate", disbursementRequest.getCreatedDate() != null ? disbursementRequest.getCreatedDate() : LocalDate.now());
+
+        if (disbursementRequest.getDisbursementData() != null) {
+            variables.put("disbursementData", disbursementRequest.getDisbursementData());
+        }
+
+        if (disbursementRequest.getAdditionalProperties() != null) {
+            variables.putAll(disbursementRequest.getAdditionalProperties());
+        }
+
+        if (disbursementRequest.getMetadata() != null) {
+            variables.put("metadata", disbursementRequest.getMetadata());
+        }
+
+        if (disbursementRequest.getAttachments() != null) {
+            variables.put("attachments", disbursementRequest.getAttachments());
+        }
+
+        variables.put("assignee", "system");
+        return variables;
+    }
 }
 
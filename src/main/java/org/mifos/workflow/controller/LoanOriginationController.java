@@ -151,9 +151,12 @@ public class LoanOriginationController {
     }
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskInfo>> getLoanOriginationTasks() {
-        log.info("Retrieving all loan origination tasks");
-        List<TaskInfo> taskInfos = workflowService.getPendingTasks("system");
+    public ResponseEntity<CursorPage<TaskInfo>> getLoanOriginationTasks(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving loan origination tasks page: {}", pageQuery);
+        if (pageQuery.getAssignee() == null) {
+            pageQuery.setAssignee("system");
+        }
+        CursorPage<TaskInfo> taskInfos = workflowService.getPendingTasks(pageQuery);
         return ResponseEntity.ok(taskInfos);
     }
 
@@ -181,9 +184,9 @@ public class LoanOriginationController {
     }
 
     @GetMapping("/processes")
-    public ResponseEntity<List<ActiveProcess>> getActiveProcesses() {
-        log.info("Retrieving active loan origination processes");
-        List<ActiveProcess> activeProcesses = workflowService.getActiveProcesses();
+    public ResponseEntity<CursorPage<ActiveProcess>> getActiveProcesses(@ModelAttribute PageQuery pageQuery) {
+        log.info("Retrieving active loan origination processes page: {}", pageQuery);
+        CursorPage<ActiveProcess> activeProcesses = workflowService.getActiveProcesses(pageQuery);
         return ResponseEntity.ok(activeProcesses);
     }
 
@@ -210,9 +213,9 @@ public class LoanOriginationController {
     }
 
     @GetMapping("/processes/{processInstanceId}/status")
-    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId) {
+    public ResponseEntity<ProcessStatus> getProcessStatus(@PathVariable String processInstanceId, @RequestParam(required = false) List<String> variables) {
         log.info("Getting status for process instance: {}", processInstanceId);
-        ProcessStatus status = workflowService.getProcessStatus(processInstanceId);
+        ProcessStatus status = workflowService.getProcessStatus(processInstanceId, variables);
         return ResponseEntity.ok(status);
     }
 
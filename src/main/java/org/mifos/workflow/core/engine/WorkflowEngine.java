@@ -2,10 +2,13 @@ package org.mifos.workflow.core.engine;
 
 import org.mifos.workflow.core.engine.enums.EngineType;
 import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
+import org.mifos.workflow.core.model.PageQuery;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
 import org.mifos.workflow.core.model.ProcessHistory;
@@ -14,6 +17,8 @@ import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.ProcessVariables;
 import org.mifos.workflow.core.model.ProcessDefinition;
 import org.mifos.workflow.core.model.ProcessInstance;
+import org.mifos.workflow.core.model.StartCommand;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.HistoricProcessInstance;
 import org.mifos.workflow.core.model.TaskInfo;
 
@@ -40,6 +45,8 @@ public interface WorkflowEngine {
     // Process Instance Operations
     // ProcessInstance startProcess(String processDefinitionKey, ProcessVariables variables);
 
+    List<StartResult> startProcesses(List<StartCommand> commands);
+
     List<ProcessInstance> getProcessInstances();
 
     ProcessVariables getProcessVariables(String processInstanceId);
@@ -77,6 +84,8 @@ public interface WorkflowEngine {
     // void terminateProcess(String processInstanceId, String reason);
     
     ProcessStatus getProcessStatus(String processInstanceId);
+
+    ProcessStatus getProcessStatus(String processInstanceId, List<String> variableNames);
     
     ProcessCompletionStatus getProcessCompletionStatus(String processInstanceId);
     
@@ -91,4 +100,17 @@ public interface WorkflowEngine {
     List<DeploymentResource> getDeploymentResources(String deploymentId);
     
     byte[] getDeploymentResource(String deploymentId, String resourceName);
+
+    DeploymentResourceContent openDeploymentResource(String deploymentId, String resourceName);
+
+    // Keyset-paginated listings
+    CursorPage<ActiveProcess> getActiveProcesses(PageQuery pageQuery);
+
+    CursorPage<ProcessInstance> getProcessInstances(PageQuery pageQuery);
+
+    CursorPage<ProcessHistoryInfo> getProcessHistoryInfo(PageQuery pageQuery);
+
+    CursorPage<TaskInfo> getPendingTasks(PageQuery pageQuery);
+
+    CursorPage<DeploymentInfo> getDeployments(PageQuery pageQuery);
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
+import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.client.FineractClientService;
 import org.slf4j.Logger;
@@ -15,7 +15,7 @@ import org.mifos.fineract.client.models.GetClientsClientIdAccountsResponse;
  * Delegate for verifying client accounts in the Fineract system.
  */
 @Component
-public class AccountVerificationDelegate implements JavaDelegate {
+public class AccountVerificationDelegate extends FineractFutureDelegate<Long, GetClientsClientIdAccountsResponse> {
 
     private static final Logger logger = LoggerFactory.getLogger(AccountVerificationDelegate.class);
     private final FineractClientService fineractClientService;
@@ -26,30 +26,41 @@ public class AccountVerificationDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Long prepare(DelegateExecution execution) {
         Long clientId = (Long) execution.getVariable("clientId");
-        try {
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            logger.info("Verifying accounts for client {}", clientId);
-            GetClientsClientIdAccountsResponse response = fineractClientService.retrieveClientAccounts(clientId).blockingFirst();
-            boolean hasActiveLoans = response.getLoanAccounts() != null &&
-                    response.getLoanAccounts().stream().anyMatch(loan ->
-                            loan.getStatus() != null && "active".equalsIgnoreCase(loan.getStatus().getCode())
-                    );
-            execution.setVariable("hasActiveLoans", hasActiveLoans);
-            execution.setVariable("accountsVerified", true);
-        } catch (org.mifos.workflow.exception.FineractApiException e) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        logger.info("Verifying accounts for client {}", clientId);
+        return clientId;
+    }
+
+    @Override
+    protected GetClientsClientIdAccountsResponse call(Long clientId) {
+        return fineractClientService.retrieveClientAccounts(clientId).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Long clientId, GetClientsClientIdAccountsResponse response) {
+        boolean hasActiveLoans = response.getLoanAccounts() != null &&
+                response.getLoanAccounts().stream().anyMatch(loan ->
+                        loan.getStatus() != null && "active".equalsIgnoreCase(loan.getStatus().getCode())
+                );
+        execution.setVariable("hasActiveLoans", hasActiveLoans);
+        execution.setVariable("accountsVerified", true);
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Long clientId, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during account verification: {}", e.getMessage());
             execution.setVariable("accountsVerified", false);
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error during account verification: {}", e.getMessage(), e);
-            execution.setVariable("accountsVerified", false);
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Account verification failed", e, "account verification", "ERROR_ACCOUNT_VERIFICATION_FAILED");
+            throw fineractApiException;
         }
+        logger.error("Error during account verification: {}", e.getMessage(), e);
+        execution.setVariable("accountsVerified", false);
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Account verification failed", e, "account verification", "ERROR_ACCOUNT_VERIFICATION_FAILED");
     }
 } 
\ No newline at end of file
@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostClientsClientIdResponse;
 import org.mifos.workflow.service.fineract.client.FineractClientService;
 import org.mifos.workflow.exception.FineractApiException;
@@ -19,7 +18,7 @@ import org.mifos.workflow.util.ProcessVariableUtil;
  * Activates a previously created inactive client.
  */
 @Component
-public class ClientActivationDelegate implements JavaDelegate {
+public class ClientActivationDelegate extends FineractFutureDelegate<ClientActivationDelegate.Activation, PostClientsClientIdResponse> {
     private static final Logger logger = LoggerFactory.getLogger(ClientActivationDelegate.class);
     private static final String DEFAULT_DATE_FORMAT = "dd MMMM yyyy";
     private static final String DEFAULT_LOCALE = "en";
@@ -32,38 +31,52 @@ public class ClientActivationDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Activation prepare(DelegateExecution execution) {
         logger.info("ClientActivationDelegate.execute() called for process instance: {}", execution.getProcessInstanceId());
-        try {
-            Long clientId = (Long) execution.getVariable("clientId");
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            Object activationDateObj = execution.getVariable("activationDate");
-            LocalDate activationDate = ProcessVariableUtil.getLocalDate(activationDateObj);
-            if (activationDate == null) {
-                activationDate = LocalDate.now();
-            }
-            logger.info("Activating client with ID: {} on date: {}", clientId, activationDate);
-            PostClientsClientIdResponse response = fineractClientService.activateClient(clientId, activationDate, DEFAULT_DATE_FORMAT, DEFAULT_LOCALE).blockingFirst();
-            if (response.getResourceId() != null) {
-                execution.setVariable("clientActivated", true);
-                execution.setVariable("clientStatus", "ACTIVE");
-                execution.setVariable("activationDate", activationDate);
-                logger.info("Successfully activated client with ID: {}", clientId);
-            } else {
-                throw new RuntimeException("Failed to activate client: No response received");
-            }
-        } catch (FineractApiException e) {
+        Long clientId = (Long) execution.getVariable("clientId");
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        Object activationDateObj = execution.getVariable("activationDate");
+        LocalDate activationDate = ProcessVariableUtil.getLocalDate(activationDateObj);
+        if (activationDate == null) {
+            activationDate = LocalDate.now();
+        }
+        logger.info("Activating client with ID: {} on date: {}", clientId, activationDate);
+        return new Activation(clientId, activationDate, idempotencyKey(execution));
+    }
+
+    @Override
+    protected PostClientsClientIdResponse call(Activation activation) {
+        return fineractClientService.activateClient(activation.clientId(), activation.activationDate(), DEFAULT_DATE_FORMAT, DEFAULT_LOCALE, activation.idempotencyKey()).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Activation activation, PostClientsClientIdResponse response) {
+        if (response.getResourceId() != null) {
+            execution.setVariable("clientActivated", true);
+            execution.setVariable("clientStatus", "ACTIVE");
+            execution.setVariable("activationDate", activation.activationDate());
+            logger.info("Successfully activated client with ID: {}", activation.clientId());
+        } else {
+            throw new RuntimeException("Failed to activate client: No response received");
+        }
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Activation activation, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during client activation: {}", e.getMessage());
             execution.setVariable("clientActivated", false);
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error activating client: {}", e.getMessage(), e);
-            execution.setVariable("clientActivated", false);
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Client activation failed", e, "client activation", WorkflowException.ERROR_CLIENT_ACTIVATION_FAILED);
+            throw fineractApiException;
         }
+        logger.error("Error activating client: {}", e.getMessage(), e);
+        execution.setVariable("clientActivated", false);
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Client activation failed", e, "client activation", WorkflowException.ERROR_CLIENT_ACTIVATION_FAILED);
+    }
+
+    record Activation(Long clientId, LocalDate activationDate, String idempotencyKey) {
     }
 } 
\ No newline at end of file
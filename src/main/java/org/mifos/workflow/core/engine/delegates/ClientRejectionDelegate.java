@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostClientsClientIdResponse;
 import org.mifos.workflow.dto.fineract.client.ClientRejectRequestDTO;
 import org.mifos.workflow.service.fineract.client.FineractClientService;
@@ -20,7 +19,7 @@ import org.mifos.workflow.util.ProcessVariableUtil;
  * Rejects a client application with a specified reason.
  */
 @Component
-public class ClientRejectionDelegate implements JavaDelegate {
+public class ClientRejectionDelegate extends FineractFutureDelegate<ClientRejectionDelegate.Rejection, PostClientsClientIdResponse> {
     private static final Logger logger = LoggerFactory.getLogger(ClientRejectionDelegate.class);
     private static final String REJECT_COMMAND = "reject";
     private static final Long DEFAULT_REJECTION_REASON_ID = 1L;
@@ -35,7 +34,7 @@ public class ClientRejectionDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Rejection prepare(DelegateExecution execution) {
         logger.info("ClientRejectionDelegate.execute() called for process instance: {}", execution.getProcessInstanceId());
         Long clientId = (Long) execution.getVariable("clientId");
         if (clientId == null) {
@@ -61,55 +60,70 @@ public class ClientRejectionDelegate implements JavaDelegate {
             logger.warn("No rejection reason ID provided, using default: {}", rejectionReasonId);
         }
         logger.info("Rejecting client with ID: {} for reason: {}", clientId, rejectionReason);
-        try {
-            ClientRejectRequestDTO rejectRequest = ClientRejectRequestDTO.builder()
-                    .rejectionDate(rejectionDate)
-                    .rejectionReasonId(rejectionReasonId)
-                    .dateFormat(DEFAULT_DATE_FORMAT)
-                    .locale(DEFAULT_LOCALE)
-                    .build();
-            PostClientsClientIdResponse response = fineractClientService.rejectClient(
-                    clientId,
-                    REJECT_COMMAND,
-                    rejectRequest
-            ).blockingFirst();
-            if (response != null && response.getResourceId() != null) {
-                execution.setVariable("clientRejected", true);
-                execution.setVariable("clientStatus", "REJECTED");
-                execution.setVariable("rejectionDate", rejectionDate);
-                execution.setVariable("rejectionReason", rejectionReason);
-                logger.info("Successfully rejected client with ID: {}", clientId);
-            } else {
-                throw new RuntimeException("Failed to reject client: No response received");
-            }
-        } catch (FineractApiException e) {
-            if (e.isNotFound() && (e.getErrorBody() != null && (e.getErrorBody().contains("ClientRejectReason") || e.getErrorBody().contains("does not exist")))) {
-                logger.warn("Rejection reason ID {} does not exist. Marking client as rejected without Fineract API call.", rejectionReasonId);
-                execution.setVariable("clientRejected", true);
-                execution.setVariable("clientStatus", "REJECTED");
-                execution.setVariable("rejectionDate", rejectionDate);
-                execution.setVariable("rejectionReason", rejectionReason);
-                execution.setVariable("errorMessage", "Rejection reason ID " + rejectionReasonId + " does not exist, but client marked as rejected");
+        return new Rejection(clientId, rejectionReason, rejectionDate, rejectionReasonId);
+    }
+
+    @Override
+    protected PostClientsClientIdResponse call(Rejection rejection) {
+        ClientRejectRequestDTO rejectRequest = ClientRejectRequestDTO.builder()
+                .rejectionDate(rejection.rejectionDate())
+                .rejectionReasonId(rejection.rejectionReasonId())
+                .dateFormat(DEFAULT_DATE_FORMAT)
+                .locale(DEFAULT_LOCALE)
+                .build();
+        return fineractClientService.rejectClient(
+                rejection.clientId(),
+                REJECT_COMMAND,
+                rejectRequest
+        ).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Rejection rejection, PostClientsClientIdResponse response) {
+        if (response != null && response.getResourceId() != null) {
+            markRejected(execution, rejection);
+            logger.info("Successfully rejected client with ID: {}", rejection.clientId());
+        } else {
+            throw new RuntimeException("Failed to reject client: No response received");
+        }
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Rejection rejection, Exception e) {
+        if (rejection == null && e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e instanceof FineractApiException fineractApiException) {
+            if (fineractApiException.isNotFound() && (fineractApiException.getErrorBody() != null && (fineractApiException.getErrorBody().contains("ClientRejectReason") || fineractApiException.getErrorBody().contains("does not exist")))) {
+                logger.warn("Rejection reason ID {} does not exist. Marking client as rejected without Fineract API call.", rejection.rejectionReasonId());
+                markRejected(execution, rejection);
+                execution.setVariable("errorMessage", "Rejection reason ID " + rejection.rejectionReasonId() + " does not exist, but client marked as rejected");
                 return;
             }
             logger.error("Fineract API error during client rejection: {}", e.getMessage());
             execution.setVariable("clientRejected", false);
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error rejecting client: {}", e.getMessage(), e);
-            if (e.getMessage() != null && e.getMessage().contains("ClientRejectReason")) {
-                logger.warn("Rejection reason not found. Marking client as rejected without Fineract API call.");
-                execution.setVariable("clientRejected", true);
-                execution.setVariable("clientStatus", "REJECTED");
-                execution.setVariable("rejectionDate", rejectionDate);
-                execution.setVariable("rejectionReason", rejectionReason);
-                execution.setVariable("errorMessage", "Rejection reason not found, but client marked as rejected");
-                return;
-            }
-            execution.setVariable("clientRejected", false);
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Client rejection failed", e, "client rejection", WorkflowException.ERROR_CLIENT_REJECTION_FAILED);
+            throw fineractApiException;
         }
+        logger.error("Error rejecting client: {}", e.getMessage(), e);
+        if (e.getMessage() != null && e.getMessage().contains("ClientRejectReason")) {
+            logger.warn("Rejection reason not found. Marking client as rejected without Fineract API call.");
+            markRejected(execution, rejection);
+            execution.setVariable("errorMessage", "Rejection reason not found, but client marked as rejected");
+            return;
+        }
+        execution.setVariable("clientRejected", false);
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Client rejection failed", e, "client rejection", WorkflowException.ERROR_CLIENT_REJECTION_FAILED);
+    }
+
+    private void markRejected(DelegateExecution execution, Rejection rejection) {
+        execution.setVariable("clientRejected", true);
+        execution.setVariable("clientStatus", "REJECTED");
+        execution.setVariable("rejectionDate", rejection.rejectionDate());
+        execution.setVariable("rejectionReason", rejection.rejectionReason());
+    }
+
+    record Rejection(Long clientId, String rejectionReason, LocalDate rejectionDate, Long rejectionReasonId) {
     }
 } 
\ No newline at end of file
@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.mifos.workflow.dto.fineract.client.ClientTransferRequestDTO;
@@ -17,7 +16,7 @@ import java.time.LocalDate;
  * Delegate for transferring a client in the Fineract system.
  */
 @Component
-public class ClientTransferDelegate implements JavaDelegate {
+public class ClientTransferDelegate extends FineractFutureDelegate<ClientTransferDelegate.Transfer, Object> {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientTransferDelegate.class);
 
@@ -29,44 +28,58 @@ public class ClientTransferDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Transfer prepare(DelegateExecution execution) {
         Long clientId = (Long) execution.getVariable("clientId");
         Long destinationOfficeId = (Long) execution.getVariable("destinationOfficeId");
         LocalDate effectiveDate = (LocalDate) execution.getVariable("effectiveDate");
         String dateFormat = (String) execution.getVariable("dateFormat");
         String locale = (String) execution.getVariable("locale");
-        try {
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            if (destinationOfficeId == null) {
-                throw new IllegalArgumentException("destinationOfficeId is missing from process variables");
-            }
-            if (effectiveDate == null) {
-                throw new IllegalArgumentException("effectiveDate is missing from process variables");
-            }
-            logger.info("Proposing transfer for client {} to office {} with effective date {}", clientId, destinationOfficeId, effectiveDate);
-            ClientTransferRequestDTO transferRequest = ClientTransferRequestDTO.builder()
-                    .destinationOfficeId(destinationOfficeId)
-                    .transferDate(effectiveDate)
-                    .dateFormat(dateFormat)
-                    .locale(locale)
-                    .build();
-            fineractClientService.proposeClientTransfer(clientId, transferRequest).blockingFirst();
-            execution.setVariable("transferProposed", true);
-            execution.setVariable("transferStatus", "PROPOSED");
-        } catch (FineractApiException e) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        if (destinationOfficeId == null) {
+            throw new IllegalArgumentException("destinationOfficeId is missing from process variables");
+        }
+        if (effectiveDate == null) {
+            throw new IllegalArgumentException("effectiveDate is missing from process variables");
+        }
+        logger.info("Proposing transfer for client {} to office {} with effective date {}", clientId, destinationOfficeId, effectiveDate);
+        ClientTransferRequestDTO transferRequest = ClientTransferRequestDTO.builder()
+                .destinationOfficeId(destinationOfficeId)
+                .transferDate(effectiveDate)
+                .dateFormat(dateFormat)
+                .locale(locale)
+                .build();
+        return new Transfer(clientId, transferRequest);
+    }
+
+    @Override
+    protected Object call(Transfer transfer) {
+        return fineractClientService.proposeClientTransfer(transfer.clientId(), transfer.request()).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Transfer transfer, Object response) {
+        execution.setVariable("transferProposed", true);
+        execution.setVariable("transferStatus", "PROPOSED");
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Transfer transfer, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during client transfer proposal: {}", e.getMessage());
             execution.setVariable("transferProposed", false);
             execution.setVariable("transferStatus", "ERROR");
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error during client transfer proposal: {}", e.getMessage(), e);
-            execution.setVariable("transferProposed", false);
-            execution.setVariable("transferStatus", "ERROR");
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Client transfer proposal failed", e, "client transfer proposal", "ERROR_CLIENT_TRANSFER_PROPOSAL_FAILED");
+            throw fineractApiException;
         }
+        logger.error("Error during client transfer proposal: {}", e.getMessage(), e);
+        execution.setVariable("transferProposed", false);
+        execution.setVariable("transferStatus", "ERROR");
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Client transfer proposal failed", e, "client transfer proposal", "ERROR_CLIENT_TRANSFER_PROPOSAL_FAILED");
+    }
+
+    record Transfer(Long clientId, ClientTransferRequestDTO request) {
     }
 } 
\ No newline at end of file
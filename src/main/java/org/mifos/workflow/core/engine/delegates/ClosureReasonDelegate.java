@@ -1,7 +1,8 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
+import org.mifos.fineract.client.models.CodeValueData;
+import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.client.FineractClientService;
 import org.slf4j.Logger;
@@ -18,7 +19,7 @@ import java.util.Map;
  * Delegate for retrieving closure reasons in the Fineract system.
  */
 @Component
-public class ClosureReasonDelegate implements JavaDelegate {
+public class ClosureReasonDelegate extends FineractFutureDelegate<Void, List<CodeValueData>> {
 
     private static final Logger logger = LoggerFactory.getLogger(ClosureReasonDelegate.class);
     private final FineractClientService fineractClientService;
@@ -29,31 +30,42 @@ public class ClosureReasonDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
-        try {
-            logger.info("Retrieving available closure reasons");
-            var reasons = fineractClientService.retrieveClientClosureReasons().blockingFirst();
-            List<Map<String, Object>> closureReasonsList = new ArrayList<>();
-            for (var reason : reasons) {
-                Map<String, Object> map = new java.util.HashMap<>();
-                map.put("id", reason.getId());
-                map.put("name", reason.getName());
-                map.put("description", reason.getDescription());
-                map.put("position", reason.getPosition());
-                closureReasonsList.add(map);
-            }
-            execution.setVariable("closureReasons", closureReasonsList);
-            execution.setVariable("closureReasonsFetched", true);
-        } catch (org.mifos.workflow.exception.FineractApiException e) {
+    protected Void prepare(DelegateExecution execution) {
+        logger.info("Retrieving available closure reasons");
+        return null;
+    }
+
+    @Override
+    protected List<CodeValueData> call(Void input) {
+        return fineractClientService.retrieveClientClosureReasons().blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Void input, List<CodeValueData> reasons) {
+        List<Map<String, Object>> closureReasonsList = new ArrayList<>();
+        for (var reason : reasons) {
+            Map<String, Object> map = new java.util.HashMap<>();
+            map.put("id", reason.getId());
+            map.put("name", reason.getName());
+            map.put("description", reason.getDescription());
+            map.put("position", reason.getPosition());
+            closureReasonsList.add(map);
+        }
+        execution.setVariable("closureReasons", closureReasonsList);
+        execution.setVariable("closureReasonsFetched", true);
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Void input, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during closure reason retrieval: {}", e.getMessage());
             execution.setVariable("closureReasonsFetched", false);
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error during closure reason retrieval: {}", e.getMessage(), e);
-            execution.setVariable("closureReasonsFetched", false);
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Closure reason retrieval failed", e, "closure reason retrieval", "ERROR_CLOSURE_REASON_RETRIEVAL_FAILED");
+            throw fineractApiException;
         }
+        logger.error("Error during closure reason retrieval: {}", e.getMessage(), e);
+        execution.setVariable("closureReasonsFetched", false);
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Closure reason retrieval failed", e, "closure reason retrieval", "ERROR_CLOSURE_REASON_RETRIEVAL_FAILED");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,201 @@
+package org.mifos.workflow.core.engine.delegates;
+
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.delegate.TriggerableJavaDelegate;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.mifos.workflow.engine.flowable.FineractCallJobHandler;
+
+/**
+ * Base class for delegates that make one Fineract round trip. Process variables are read by
+ * {@link #prepare}, the Fineract call is made by {@link #call}, and {@link #apply} writes the
+ * result back. A failure in any phase is passed to {@link #handleFailure}, so error variables are
+ * set and exceptions reach the engine exactly as from a plain {@link JavaDelegate}.
+ * <p>
+ * On a service task marked triggerable, as {@code FineractServiceTaskParseHandler} marks async
+ * Fineract tasks, the call is made outside the engine transaction: {@link #execute} only prepares
+ * the request and leaves the execution waiting, the job commits and releases its database
+ * connection, and the call runs on the engine's async task invoker. Its outcome is applied by a
+ * {@link FineractCallJobHandler} job whose trigger runs {@link #apply} or {@link #handleFailure}
+ * in a short transaction of its own, so job retries and backoff apply to that job. On any other
+ * task the three phases run in the caller's transaction.
+ *
+ * @param <I> the request data read from the execution
+ * @param <O> the Fineract response
+ */
+public abstract class FineractFutureDelegate<I, O> implements JavaDelegate, TriggerableJavaDelegate {
+
+    @Override
+    public void execute(DelegateExecution execution) {
+        if (!isTriggerable(execution)) {
+            I input;
+            try {
+                input = prepare(execution);
+            } catch (RuntimeException e) {
+                handleFailure(execution, null, e);
+                return;
+            }
+            complete(execution, attempt(input));
+            return;
+        }
+        ProcessEngineConfigurationImpl configuration = CommandContextUtil.getProcessEngineConfiguration();
+        if (!dispatch(execution, configuration.getAsyncExecutorNumberOfRetries())) {
+            // Nothing to wait for; a trigger without an outcome to apply leaves the task
+            execution.setTransientVariableLocal(FineractCallJobHandler.OUTCOME_VARIABLE, Outcome.skipped());
+            CommandContextUtil.getAgenda().planTriggerExecutionOperation((ExecutionEntity) execution);
+        }
+    }
+
+    @Override
+    public void trigger(TriggerableJavaDelegate.Context context) {
+        DelegateExecution execution = context.getExecution();
+        Object value = execution.getTransientVariableLocal(FineractCallJobHandler.OUTCOME_VARIABLE);
+        execution.removeTransientVariableLocal(FineractCallJobHandler.OUTCOME_VARIABLE);
+        if (!(value instanceof Outcome<?, ?>)) {
+            // The outcome was lost with a failed run or another node; call again under the same key
+            Object retries = execution.getTransientVariableLocal(FineractCallJobHandler.RETRIES_VARIABLE);
+            if (dispatch(execution, retries instanceof Integer jobRetries ? jobRetries
+                    : CommandContextUtil.getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries())) {
+                context.doNotLeave();
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Outcome<I, O> outcome = (Outcome<I, O>) value;
+        complete(execution, outcome);
+    }
+
+    /**
+     * Returns the idempotency key for a mutating Fineract call made by this visit of the current
+     * activity: {@code <processInstanceId>:<activityId>:<visit>}, where visit counts the times the
+     * process instance has reached the activity. Every retry of the visit's jobs gets the same key,
+     * since the activity instance stays open until the task leaves, while looping back to the
+     * activity gets a new one. Returns null outside an engine command, where there is no process
+     * state to derive it from. Call it from {@link #prepare}.
+     */
+    protected String idempotencyKey(DelegateExecution execution) {
+        CommandContext commandContext = CommandContextUtil.getCommandContext();
+        if (commandContext == null) {
+            return null;
+        }
+        long visit = CommandContextUtil.getProcessEngineConfiguration(commandContext).getRuntimeService().createActivityInstanceQuery()
+                .processInstanceId(execution.getProcessInstanceId())
+                .activityId(execution.getCurrentActivityId())
+                .finished()
+                .count() + 1;
+        return execution.getProcessInstanceId() + ":" + execution.getCurrentActivityId() + ":" + visit;
+    }
+
+    /**
+     * Returns true while the outcome is applied by the last try of its job, when a rethrown
+     * transient failure would move the job to the dead letter jobs rather than retry it, so
+     * {@link #handleFailure} can record the failure and let the process continue instead. Always
+     * false on tasks that are not triggerable.
+     */
+    protected boolean isLastAttempt(DelegateExecution execution) {
+        return execution.getTransientVariableLocal(FineractCallJobHandler.RETRIES_VARIABLE) instanceof Integer retries && retries <= 1;
+    }
+
+    /**
+     * Reads and validates the request data inside the engine transaction.
+     */
+    protected abstract I prepare(DelegateExecution execution);
+
+    /**
+     * Makes the Fineract call, outside the engine transaction on triggerable tasks; must not
+     * touch the execution.
+     */
+    protected abstract O call(I input);
+
+    /**
+     * Writes the Fineract response to the execution.
+     */
+    protected abstract void apply(DelegateExecution execution, I input, O output);
+
+    /**
+     * Records a failure on the execution and throws, or returns normally if the delegate can
+     * continue the process despite it.
+     *
+     * @param input the request data, or null if preparing it failed
+     */
+    protected abstract void handleFailure(DelegateExecution execution, I input, Exception e);
+
+    /**
+     * Prepares the request and hands the call off to run after the current transaction commits.
+     * Returns false if preparing failed and {@link #handleFailure} let the process continue.
+     */
+    private boolean dispatch(DelegateExecution execution, int retries) {
+        I input;
+        try {
+            input = prepare(execution);
+        } catch (RuntimeException e) {
+            handleFailure(execution, null, e);
+            return false;
+        }
+        FineractCallJobHandler.of(CommandContextUtil.getProcessEngineConfiguration())
+                .dispatch((ExecutionEntity) execution, retries, () -> attempt(input));
+        return true;
+    }
+
+    private Outcome<I, O> attempt(I input) {
+        try {
+            return Outcome.completed(input, call(input));
+        } catch (Exception e) {
+            return Outcome.failed(input, e);
+        }
+    }
+
+    private void complete(DelegateExecution execution, Outcome<I, O> outcome) {
+        if (outcome.skipped) {
+            return;
+        }
+        if (outcome.failure != null) {
+            handleFailure(execution, outcome.input, outcome.failure);
+            return;
+        }
+        try {
+            apply(execution, outcome.input, outcome.output);
+        } catch (RuntimeException e) {
+            handleFailure(execution, outcome.input, e);
+        }
+    }
+
+    private static boolean isTriggerable(DelegateExecution execution) {
+        return execution.getCurrentFlowElement() instanceof ServiceTask serviceTask && serviceTask.isTriggerable();
+    }
+
+    /**
+     * Result of the Fineract call, carried to the trigger that applies it; failures are carried
+     * rather than thrown so they are always handled by {@link #handleFailure}.
+     */
+    public static final class Outcome<I, O> {
+
+        private final I input;
+        private final O output;
+        private final Exception failure;
+        private final boolean skipped;
+
+        private Outcome(I input, O output, Exception failure, boolean skipped) {
+            this.input = input;
+            this.output = output;
+            this.failure = failure;
+            this.skipped = skipped;
+        }
+
+        static <I, O> Outcome<I, O> completed(I input, O output) {
+            return new Outcome<>(input, output, null, false);
+        }
+
+        static <I, O> Outcome<I, O> failed(I input, Exception failure) {
+            return new Outcome<>(input, null, failure, false);
+        }
+
+        static <I, O> Outcome<I, O> skipped() {
+            return new Outcome<>(null, null, null, true);
+        }
+    }
+}
@@ -2,17 +2,16 @@ package org.mifos.workflow.core.engine.delegates;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,7 +22,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class LoanApprovalDelegate implements JavaDelegate {
+public class LoanApprovalDelegate extends FineractFutureDelegate<LoanApprovalDelegate.StateTransition, PostLoansLoanIdResponse> {
 
     private final FineractLoanService fineractLoanService;
 
@@ -33,39 +32,48 @@ public class LoanApprovalDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected StateTransition prepare(DelegateExecution execution) {
         log.info("Executing LoanApprovalDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            Map<String, Object> approvalRequest = buildApprovalRequest(execution);
+        Map<String, Object> approvalRequest = buildApprovalRequest(execution);
 
-            Long loanId = (Long) execution.getVariable("loanId");
+        Long loanId = (Long) execution.getVariable("loanId");
 
-            PostLoansLoanIdResponse response = fineractLoanService.performStateTransition(loanId, approvalRequest, "approve");
+        return new StateTransition(loanId, approvalRequest, idempotencyKey(execution));
+    }
 
-            execution.setVariable("loanApprovalSuccess", true);
-            execution.setVariable("loanApprovalMessage", "Loan approved successfully");
-            execution.setVariable("loanStatus", "APPROVED");
+    @Override
+    protected PostLoansLoanIdResponse call(StateTransition transition) {
+        return fineractLoanService.performStateTransition(transition.loanId(), transition.request(), "approve", transition.idempotencyKey());
+    }
 
-            log.info("Loan approved successfully with ID: {} for process instance: {}", loanId, execution.getProcessInstanceId());
+    @Override
+    protected void apply(DelegateExecution execution, StateTransition transition, PostLoansLoanIdResponse response) {
+        execution.setVariable("loanApprovalSuccess", true);
+        execution.setVariable("loanApprovalMessage", "Loan approved successfully");
+        execution.setVariable("loanStatus", "APPROVED");
 
-        } catch (FineractApiException e) {
+        log.info("Loan approved successfully with ID: {} for process instance: {}", transition.loanId(), execution.getProcessInstanceId());
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, StateTransition transition, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             log.error("Fineract API error during loan approval: {}", e.getMessage());
             execution.setVariable("loanApprovalSuccess", false);
             execution.setVariable("loanApprovalError", e.getMessage());
             execution.setVariable("loanApprovalMessage", "Failed to approve loan: " + e.getMessage());
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to approve loan for process instance: {}", execution.getProcessInstanceId(), e);
+            throw fineractApiException;
+        }
+        log.error("Failed to approve loan for process instance: {}", execution.getProcessInstanceId(), e);
 
-            execution.setVariable("loanApprovalSuccess", false);
-            execution.setVariable("loanApprovalError", e.getMessage());
-            execution.setVariable("loanApprovalMessage", "Failed to approve loan: " + e.getMessage());
-            execution.setVariable("errorMessage", e.getMessage());
+        execution.setVariable("loanApprovalSuccess", false);
+        execution.setVariable("loanApprovalError", e.getMessage());
+        execution.setVariable("loanApprovalMessage", "Failed to approve loan: " + e.getMessage());
+        execution.setVariable("errorMessage", e.getMessage());
 
-            throw new WorkflowException("Loan approval failed", e, "loan approval", WorkflowException.ERROR_LOAN_APPROVAL_FAILED);
-        }
+        throw new WorkflowException("Loan approval failed", e, "loan approval", WorkflowException.ERROR_LOAN_APPROVAL_FAILED);
     }
 
     private Map<String, Object> buildApprovalRequest(DelegateExecution execution) {
@@ -77,7 +85,7 @@ public class LoanApprovalDelegate implements JavaDelegate {
 
         String approvedOnDateStr = formatDateVariable(approvedOnDateVar, dateFormat);
         if (approvedOnDateStr == null || approvedOnDateStr.isEmpty()) {
-            approvedOnDateStr = LocalDate.now().format(DateTimeFormatter.ofPattern(dateFormat));
+            approvedOnDateStr = LocalDate.now().format(DateFormatters.forPattern(dateFormat));
         }
         request.put("approvedOnDate", approvedOnDateStr);
 
@@ -102,11 +110,11 @@ public class LoanApprovalDelegate implements JavaDelegate {
                 return (String) dateVar;
             }
             if (dateVar instanceof LocalDate) {
-                return ((LocalDate) dateVar).format(DateTimeFormatter.ofPattern(dateFormat));
+                return ((LocalDate) dateVar).format(DateFormatters.forPattern(dateFormat));
             }
             if (dateVar instanceof Date) {
                 LocalDate ld = ((Date) dateVar).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                return ld.format(DateTimeFormatter.ofPattern(dateFormat));
+                return ld.format(DateFormatters.forPattern(dateFormat));
             }
             return dateVar.toString();
         } catch (Exception e) {
@@ -114,5 +122,8 @@ public class LoanApprovalDelegate implements JavaDelegate {
             return null;
         }
     }
+
+    record StateTransition(Long loanId, Map<String, Object> request, String idempotencyKey) {
+    }
 }
 
@@ -2,7 +2,6 @@ package org.mifos.workflow.core.engine.delegates;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.DeleteLoansLoanIdResponse;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
@@ -16,7 +15,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Slf4j
-public class LoanCancellationDelegate implements JavaDelegate {
+public class LoanCancellationDelegate extends FineractFutureDelegate<Long, DeleteLoansLoanIdResponse> {
 
     private final FineractLoanService fineractLoanService;
 
@@ -26,48 +25,56 @@ public class LoanCancellationDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Long prepare(DelegateExecution execution) {
         log.info("Executing LoanCancellationDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            Object loanIdObj = execution.getVariable("loanId");
-            Long loanId = null;
+        Object loanIdObj = execution.getVariable("loanId");
+        Long loanId = null;
 
-            if (loanIdObj instanceof Integer) {
-                loanId = ((Integer) loanIdObj).longValue();
-            } else if (loanIdObj instanceof Long) {
-                loanId = (Long) loanIdObj;
-            } else if (loanIdObj instanceof String) {
-                loanId = Long.parseLong((String) loanIdObj);
-            } else if (loanIdObj != null) {
-                loanId = Long.valueOf(loanIdObj.toString());
-            }
+        if (loanIdObj instanceof Integer) {
+            loanId = ((Integer) loanIdObj).longValue();
+        } else if (loanIdObj instanceof Long) {
+            loanId = (Long) loanIdObj;
+        } else if (loanIdObj instanceof String) {
+            loanId = Long.parseLong((String) loanIdObj);
+        } else if (loanIdObj != null) {
+            loanId = Long.valueOf(loanIdObj.toString());
+        }
+        return loanId;
+    }
 
-            DeleteLoansLoanIdResponse response = fineractLoanService.deleteLoan(loanId);
+    @Override
+    protected DeleteLoansLoanIdResponse call(Long loanId) {
+        return fineractLoanService.deleteLoan(loanId);
+    }
 
-            execution.setVariable("cancellationSuccessful", true);
-            execution.setVariable("cancelledLoanId", loanId);
-            execution.setVariable("cancelledResourceId", response.getResourceId());
-            execution.setVariable("cancelledClientId", response.getClientId());
-            execution.setVariable("cancelledOfficeId", response.getOfficeId());
-            execution.setVariable("cancellationTimestamp", System.currentTimeMillis());
+    @Override
+    protected void apply(DelegateExecution execution, Long loanId, DeleteLoansLoanIdResponse response) {
+        execution.setVariable("cancellationSuccessful", true);
+        execution.setVariable("cancelledLoanId", loanId);
+        execution.setVariable("cancelledResourceId", response.getResourceId());
+        execution.setVariable("cancelledClientId", response.getClientId());
+        execution.setVariable("cancelledOfficeId", response.getOfficeId());
+        execution.setVariable("cancellationTimestamp", System.currentTimeMillis());
 
-            log.info("Loan cancellation completed successfully. Loan ID: {}, Response ID: {}",
-                    loanId, response.getResourceId());
+        log.info("Loan cancellation completed successfully. Loan ID: {}, Response ID: {}",
+                loanId, response.getResourceId());
+    }
 
-        } catch (FineractApiException e) {
+    @Override
+    protected void handleFailure(DelegateExecution execution, Long loanId, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             log.error("Fineract API error during loan cancellation: {}", e.getMessage());
             execution.setVariable("cancellationSuccessful", false);
             execution.setVariable("cancellationError", e.getMessage());
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Error during loan cancellation for process instance: {}",
-                    execution.getProcessInstanceId(), e);
-            execution.setVariable("cancellationSuccessful", false);
-            execution.setVariable("cancellationError", e.getMessage());
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Loan cancellation failed", e, "loan cancellation", WorkflowException.ERROR_LOAN_CANCELLATION_FAILED);
+            throw fineractApiException;
         }
+        log.error("Error during loan cancellation for process instance: {}",
+                execution.getProcessInstanceId(), e);
+        execution.setVariable("cancellationSuccessful", false);
+        execution.setVariable("cancellationError", e.getMessage());
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Loan cancellation failed", e, "loan cancellation", WorkflowException.ERROR_LOAN_CANCELLATION_FAILED);
     }
 }
@@ -2,13 +2,13 @@ package org.mifos.workflow.core.engine.delegates;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostLoansResponse;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,7 +22,7 @@ import java.time.format.DateTimeParseException;
  */
 @Component
 @Slf4j
-public class LoanCreationDelegate implements JavaDelegate {
+public class LoanCreationDelegate extends FineractFutureDelegate<LoanCreationDelegate.LoanApplication, PostLoansResponse> {
 
     private final FineractLoanService fineractLoanService;
 
@@ -32,41 +32,48 @@ public class LoanCreationDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected LoanApplication prepare(DelegateExecution execution) {
         log.info("Executing LoanCreationDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            log.info("All workflow variables: {}", execution.getVariables());
-
-            Map<String, Object> loanRequest = buildLoanRequest(execution);
+        log.info("All workflow variables: {}", execution.getVariables());
 
-            PostLoansResponse response = fineractLoanService.createLoan(loanRequest, "submitLoanApplication");
+        return new LoanApplication(buildLoanRequest(execution), idempotencyKey(execution));
+    }
 
-            execution.setVariable("loanId", response.getResourceId());
-            execution.setVariable("loanAccountNo", response.getResourceId());
-            execution.setVariable("loanCreationSuccess", true);
-            execution.setVariable("loanCreationMessage", "Loan created successfully");
+    @Override
+    protected PostLoansResponse call(LoanApplication application) {
+        return fineractLoanService.createLoan(application.request(), "submitLoanApplication", application.idempotencyKey());
+    }
 
-            log.info("Loan created successfully with ID: {} for process instance: {}",
-                    response.getResourceId(), execution.getProcessInstanceId());
+    @Override
+    protected void apply(DelegateExecution execution, LoanApplication application, PostLoansResponse response) {
+        execution.setVariable("loanId", response.getResourceId());
+        execution.setVariable("loanAccountNo", response.getResourceId());
+        execution.setVariable("loanCreationSuccess", true);
+        execution.setVariable("loanCreationMessage", "Loan created successfully");
+
+        log.info("Loan created successfully with ID: {} for process instance: {}",
+                response.getResourceId(), execution.getProcessInstanceId());
+    }
 
-        } catch (FineractApiException e) {
+    @Override
+    protected void handleFailure(DelegateExecution execution, LoanApplication application, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             log.error("Fineract API error during loan creation: {}", e.getMessage());
             execution.setVariable("loanCreationSuccess", false);
             execution.setVariable("loanCreationError", e.getMessage());
             execution.setVariable("loanCreationMessage", "Failed to create loan: " + e.getMessage());
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to create loan for process instance: {}", execution.getProcessInstanceId(), e);
+            throw fineractApiException;
+        }
+        log.error("Failed to create loan for process instance: {}", execution.getProcessInstanceId(), e);
 
-            execution.setVariable("loanCreationSuccess", false);
-            execution.setVariable("loanCreationError", e.getMessage());
-            execution.setVariable("loanCreationMessage", "Failed to create loan: " + e.getMessage());
-            execution.setVariable("errorMessage", e.getMessage());
+        execution.setVariable("loanCreationSuccess", false);
+        execution.setVariable("loanCreationError", e.getMessage());
+        execution.setVariable("loanCreationMessage", "Failed to create loan: " + e.getMessage());
+        execution.setVariable("errorMessage", e.getMessage());
 
-            throw new WorkflowException("Loan creation failed", e, "loan creation", WorkflowException.ERROR_LOAN_CREATION_FAILED);
-        }
+        throw new WorkflowException("Loan creation failed", e, "loan creation", WorkflowException.ERROR_LOAN_CREATION_FAILED);
     }
 
     private Map<String, Object> buildLoanRequest(DelegateExecution execution) {
@@ -187,18 +194,18 @@ public class LoanCreationDelegate implements JavaDelegate {
         }
 
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
+            DateTimeFormatter formatter = DateFormatters.forPattern("dd MMM yyyy");
             LocalDate date = LocalDate.parse(dateString, formatter);
-            return date.format(DateTimeFormatter.ofPattern("dd MMMM yyyy"));
+            return date.format(DateFormatters.forPattern("dd MMMM yyyy"));
         } catch (DateTimeParseException e1) {
             try {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMMM yyyy");
+                DateTimeFormatter formatter = DateFormatters.forPattern("dd MMMM yyyy");
                 LocalDate date = LocalDate.parse(dateString, formatter);
-                return date.format(DateTimeFormatter.ofPattern("dd MMMM yyyy"));
+                return date.format(DateFormatters.forPattern("dd MMMM yyyy"));
             } catch (DateTimeParseException e2) {
                 try {
                     LocalDate date = LocalDate.parse(dateString);
-                    return date.format(DateTimeFormatter.ofPattern("dd MMMM yyyy"));
+                    return date.format(DateFormatters.forPattern("dd MMMM yyyy"));
                 } catch (DateTimeParseException e3) {
                     log.warn("Could not parse date string '{}', using as-is. Expected format: 'dd MMM yyyy' or 'dd MMMM yyyy' or ISO format", dateString);
                     return dateString;
@@ -206,4 +213,7 @@ public class LoanCreationDelegate implements JavaDelegate {
             }
         }
     }
+
+    record LoanApplication(Map<String, Object> request, String idempotencyKey) {
+    }
 }
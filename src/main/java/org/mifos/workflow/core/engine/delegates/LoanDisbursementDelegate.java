@@ -2,25 +2,35 @@ package org.mifos.workflow.core.engine.delegates;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.workflow.core.model.ResultRecord;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Delegate for disbursing loans in the Fineract system during workflow execution.
+ * The outcome is written as the {@code loanDisbursementSuccess} flag read by the process gateway
+ * and one {@link ResultRecord} variable, {@value #RESULT_VARIABLE}. A transient Fineract error is
+ * rethrown without writing anything so the async job is retried, unless the job has no retries
+ * left; that, like a fatal error, is recorded as a failed disbursement for the failure handling
+ * task.
  */
 @Component
 @Slf4j
-public class LoanDisbursementDelegate implements JavaDelegate {
+public class LoanDisbursementDelegate extends FineractFutureDelegate<LoanDisbursementDelegate.StateTransition, PostLoansLoanIdResponse> {
+
+    /**
+     * Process variable holding the disbursement outcome as a {@link ResultRecord}.
+     */
+    public static final String RESULT_VARIABLE = "loanDisbursement";
 
     private final FineractLoanService fineractLoanService;
 
@@ -30,85 +40,88 @@ public class LoanDisbursementDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected StateTransition prepare(DelegateExecution execution) {
         log.info("Executing LoanDisbursementDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            int retryAttempt = getRetryAttempt(execution);
-            int maxRetryAttempts = getMaxRetryAttempts(execution);
-            log.info("Disbursement attempt {} of {} for process instance: {}", retryAttempt, maxRetryAttempts, execution.getProcessInstanceId());
-
-            Map<String, Object> disbursementRequest = buildDisbursementRequest(execution);
+        Map<String, Object> disbursementRequest = buildDisbursementRequest(execution);
 
-            Long loanId = (Long) execution.getVariable("loanId");
-            if (loanId == null) {
-                throw new IllegalArgumentException("Loan ID is required for disbursement");
-            }
-
-            Object disbursementDate = execution.getVariable("actualDisbursementDate");
-            if (disbursementDate == null) {
-                throw new IllegalArgumentException("Disbursement date is required");
-            }
+        Long loanId = (Long) execution.getVariable("loanId");
+        if (loanId == null) {
+            throw new IllegalArgumentException("Loan ID is required for disbursement");
+        }
 
-            log.info("Attempting to disburse loan {} with amount: {}, date: {}", loanId, disbursementRequest.get("transactionAmount"), disbursementRequest.get("actualDisbursementDate"));
+        Object disbursementDate = execution.getVariable("actualDisbursementDate");
+        if (disbursementDate == null) {
+            throw new IllegalArgumentException("Disbursement date is required");
+        }
 
-            PostLoansLoanIdResponse response = fineractLoanService.performStateTransition(loanId, disbursementRequest, "disburse");
+        log.info("Attempting to disburse loan {} with amount: {}, date: {}", loanId, disbursementRequest.get("transactionAmount"), disbursementRequest.get("actualDisbursementDate"));
 
-            execution.setVariable("loanDisbursementSuccess", true);
-            execution.setVariable("loanDisbursementMessage", "Loan disbursed successfully");
-            execution.setVariable("loanStatus", "DISBURSED");
-            execution.setVariable("disbursementTransactionId", response.getResourceId());
-            execution.setVariable("disbursementCompletedDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            execution.setVariable("disbursementCompletedBy", execution.getVariable("disbursementOfficer"));
+        return new StateTransition(loanId, disbursementRequest, idempotencyKey(execution));
+    }
 
-            execution.setVariable("actualDisbursementAmount", disbursementRequest.get("transactionAmount"));
+    @Override
+    protected PostLoansLoanIdResponse call(StateTransition transition) {
+        return fineractLoanService.performStateTransition(transition.loanId(), transition.request(), "disburse", transition.idempotencyKey());
+    }
 
+    @Override
+    protected void apply(DelegateExecution execution, StateTransition transition, PostLoansLoanIdResponse response) {
+        execution.setVariable("loanDisbursementSuccess", true);
+        execution.setVariable(RESULT_VARIABLE, ResultRecord.builder()
+                .put("loanDisbursementMessage", "Loan disbursed successfully")
+                .put("loanStatus", "DISBURSED")
+                .put("disbursementTransactionId", response.getResourceId())
+                .put("disbursementCompletedDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")))
+                .put("disbursementCompletedBy", execution.getVariable("disbursementOfficer"))
+                .put("actualDisbursementAmount", transition.request().get("transactionAmount"))
+                .build());
+
+        // Manual retry and escalation state is only written back when a previous attempt changed it
+        if (getRetryAttempt(execution) != 0) {
             execution.setVariable("retryAttempt", 0);
-            execution.setVariable("lastError", null);
+        }
+        if (Boolean.TRUE.equals(execution.getVariable("escalated"))) {
             execution.setVariable("escalated", false);
+        }
 
-            log.info("Loan disbursed successfully with ID: {} for process instance: {}", loanId, execution.getProcessInstanceId());
+        log.info("Loan disbursed successfully with ID: {} for process instance: {}", transition.loanId(), execution.getProcessInstanceId());
+    }
 
-        } catch (FineractApiException e) {
+    @Override
+    protected void handleFailure(DelegateExecution execution, StateTransition transition, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
+            if (fineractApiException.isTransient() && !isLastAttempt(execution)) {
+                // Nothing is recorded; the async job is retried with backoff by FineractJobRetryHandler
+                log.warn("Transient Fineract error during loan disbursement for process instance {}: {}", execution.getProcessInstanceId(), e.getMessage());
+                throw fineractApiException;
+            }
             log.error("Fineract API error during loan disbursement: {}", e.getMessage());
-            handleDisbursementFailure(execution, e, "Fineract API Error");
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to disburse loan for process instance: {}", execution.getProcessInstanceId(), e);
-            handleDisbursementFailure(execution, e, "System Error");
-            throw new WorkflowException("Loan disbursement failed", e, "loan disbursement", WorkflowException.ERROR_LOAN_DISBURSEMENT_FAILED);
+            recordDisbursementFailure(execution, e, "Fineract API Error");
+            return;
         }
+        log.error("Failed to disburse loan for process instance: {}", execution.getProcessInstanceId(), e);
+        throw new WorkflowException("Loan disbursement failed", e, "loan disbursement", WorkflowException.ERROR_LOAN_DISBURSEMENT_FAILED);
     }
 
-    private void handleDisbursementFailure(DelegateExecution execution, Exception e, String errorType) {
-        int retryAttempt = getRetryAttempt(execution);
-        int maxRetryAttempts = getMaxRetryAttempts(execution);
-        boolean autoRetry = getAutoRetryOnFailure(execution);
-
+    /**
+     * Records a fatal Fineract error, or a transient one with no retries left, so the process
+     * continues to the failure handling task instead of retrying the disbursement.
+     */
+    private void recordDisbursementFailure(DelegateExecution execution, Exception e, String errorType) {
         execution.setVariable("loanDisbursementSuccess", false);
-        execution.setVariable("loanDisbursementError", e.getMessage());
-        execution.setVariable("loanDisbursementMessage", "Failed to disburse loan: " + e.getMessage());
-        execution.setVariable("errorMessage", e.getMessage());
-        execution.setVariable("errorType", errorType);
-        execution.setVariable("lastError", e.getMessage());
-        execution.setVariable("lastErrorDate", LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-
-        retryAttempt++;
-        execution.setVariable("retryAttempt", retryAttempt);
-
-        if (autoRetry && retryAttempt < maxRetryAttempts) {
-            execution.setVariable("shouldRetry", true);
-            execution.setVariable("retryReason", "Automatic retry after failure");
-            log.info("Scheduling automatic retry {} of {} for process instance: {}", retryAttempt, maxRetryAttempts, execution.getProcessInstanceId());
-        } else {
-            execution.setVariable("shouldRetry", false);
-            execution.setVariable("maxRetriesExceeded", retryAttempt >= maxRetryAttempts);
-            execution.setVariable("escalationRequired", true);
-        }
-
-        execution.setVariable("failureReason", e.getMessage());
-        execution.setVariable("failureType", errorType);
-        execution.setVariable("failureTimestamp", System.currentTimeMillis());
+        execution.setVariable(RESULT_VARIABLE, ResultRecord.builder()
+                .put("loanDisbursementError", e.getMessage())
+                .put("loanDisbursementMessage", "Failed to disburse loan: " + e.getMessage())
+                .put("errorMessage", e.getMessage())
+                .put("errorType", errorType)
+                .put("lastError", e.getMessage())
+                .put("lastErrorDate", LocalDate.now().format(DateFormatters.forPattern("yyyy-MM-dd")))
+                .put("failureReason", e.getMessage())
+                .put("failureType", errorType)
+                .put("failureTimestamp", System.currentTimeMillis())
+                .put("escalationRequired", true)
+                .build());
     }
 
     private Map<String, Object> buildDisbursementRequest(DelegateExecution execution) {
@@ -119,7 +132,7 @@ public class LoanDisbursementDelegate implements JavaDelegate {
 
         String disbursementDateStr = formatDateVariable(disbursementDate, dateFormat);
         if (disbursementDateStr == null || disbursementDateStr.isEmpty()) {
-            disbursementDateStr = LocalDate.now().format(DateTimeFormatter.ofPattern(dateFormat));
+            disbursementDateStr = LocalDate.now().format(DateFormatters.forPattern(dateFormat));
         }
         request.put("actualDisbursementDate", disbursementDateStr);
 
@@ -154,7 +167,7 @@ public class LoanDisbursementDelegate implements JavaDelegate {
                 return (String) dateVar;
             }
             if (dateVar instanceof LocalDate) {
-                return ((LocalDate) dateVar).format(DateTimeFormatter.ofPattern(dateFormat));
+                return ((LocalDate) dateVar).format(DateFormatters.forPattern(dateFormat));
             }
             return dateVar.toString();
         } catch (Exception e) {
@@ -168,14 +181,7 @@ public class LoanDisbursementDelegate implements JavaDelegate {
         return retryAttempt != null ? (Integer) retryAttempt : 0;
     }
 
-    private int getMaxRetryAttempts(DelegateExecution execution) {
-        Object maxRetryAttempts = execution.getVariable("maxRetryAttempts");
-        return maxRetryAttempts != null ? (Integer) maxRetryAttempts : 3;
-    }
-
-    private boolean getAutoRetryOnFailure(DelegateExecution execution) {
-        Object autoRetry = execution.getVariable("autoRetryOnFailure");
-        return autoRetry != null ? (Boolean) autoRetry : true;
+    record StateTransition(Long loanId, Map<String, Object> request, String idempotencyKey) {
     }
 }
 
@@ -2,17 +2,16 @@ package org.mifos.workflow.core.engine.delegates;
 
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,7 +22,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class LoanRejectionDelegate implements JavaDelegate {
+public class LoanRejectionDelegate extends FineractFutureDelegate<LoanRejectionDelegate.StateTransition, PostLoansLoanIdResponse> {
 
     private final FineractLoanService fineractLoanService;
 
@@ -33,39 +32,48 @@ public class LoanRejectionDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected StateTransition prepare(DelegateExecution execution) {
         log.info("Executing LoanRejectionDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            Map<String, Object> rejectionRequest = buildRejectionRequest(execution);
+        Map<String, Object> rejectionRequest = buildRejectionRequest(execution);
 
-            Long loanId = (Long) execution.getVariable("loanId");
+        Long loanId = (Long) execution.getVariable("loanId");
 
-            PostLoansLoanIdResponse response = fineractLoanService.performStateTransition(loanId, rejectionRequest, "reject");
+        return new StateTransition(loanId, rejectionRequest, idempotencyKey(execution));
+    }
 
-            execution.setVariable("loanRejectionSuccess", true);
-            execution.setVariable("loanRejectionMessage", "Loan rejected successfully");
-            execution.setVariable("loanStatus", "REJECTED");
+    @Override
+    protected PostLoansLoanIdResponse call(StateTransition transition) {
+        return fineractLoanService.performStateTransition(transition.loanId(), transition.request(), "reject", transition.idempotencyKey());
+    }
 
-            log.info("Loan rejected successfully with ID: {} for process instance: {}", loanId, execution.getProcessInstanceId());
+    @Override
+    protected void apply(DelegateExecution execution, StateTransition transition, PostLoansLoanIdResponse response) {
+        execution.setVariable("loanRejectionSuccess", true);
+        execution.setVariable("loanRejectionMessage", "Loan rejected successfully");
+        execution.setVariable("loanStatus", "REJECTED");
 
-        } catch (FineractApiException e) {
+        log.info("Loan rejected successfully with ID: {} for process instance: {}", transition.loanId(), execution.getProcessInstanceId());
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, StateTransition transition, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             log.error("Fineract API error during loan rejection: {}", e.getMessage());
             execution.setVariable("loanRejectionSuccess", false);
             execution.setVariable("loanRejectionError", e.getMessage());
             execution.setVariable("loanRejectionMessage", "Failed to reject loan: " + e.getMessage());
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to reject loan for process instance: {}", execution.getProcessInstanceId(), e);
+            throw fineractApiException;
+        }
+        log.error("Failed to reject loan for process instance: {}", execution.getProcessInstanceId(), e);
 
-            execution.setVariable("loanRejectionSuccess", false);
-            execution.setVariable("loanRejectionError", e.getMessage());
-            execution.setVariable("loanRejectionMessage", "Failed to reject loan: " + e.getMessage());
-            execution.setVariable("errorMessage", e.getMessage());
+        execution.setVariable("loanRejectionSuccess", false);
+        execution.setVariable("loanRejectionError", e.getMessage());
+        execution.setVariable("loanRejectionMessage", "Failed to reject loan: " + e.getMessage());
+        execution.setVariable("errorMessage", e.getMessage());
 
-            throw new WorkflowException("Loan rejection failed", e, "loan rejection", WorkflowException.ERROR_LOAN_REJECTION_FAILED);
-        }
+        throw new WorkflowException("Loan rejection failed", e, "loan rejection", WorkflowException.ERROR_LOAN_REJECTION_FAILED);
     }
 
     private Map<String, Object> buildRejectionRequest(DelegateExecution execution) {
@@ -77,7 +85,7 @@ public class LoanRejectionDelegate implements JavaDelegate {
 
         String rejectedOnDateStr = formatDateVariable(rejectedOnDateVar, dateFormat);
         if (rejectedOnDateStr == null || rejectedOnDateStr.isEmpty()) {
-            rejectedOnDateStr = LocalDate.now().format(DateTimeFormatter.ofPattern(dateFormat));
+            rejectedOnDateStr = LocalDate.now().format(DateFormatters.forPattern(dateFormat));
         }
         request.put("rejectedOnDate", rejectedOnDateStr);
 
@@ -103,11 +111,11 @@ public class LoanRejectionDelegate implements JavaDelegate {
                 return (String) dateVar;
             }
             if (dateVar instanceof LocalDate) {
-                return ((LocalDate) dateVar).format(DateTimeFormatter.ofPattern(dateFormat));
+                return ((LocalDate) dateVar).format(DateFormatters.forPattern(dateFormat));
             }
             if (dateVar instanceof Date) {
                 LocalDate ld = ((Date) dateVar).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                return ld.format(DateTimeFormatter.ofPattern(dateFormat));
+                return ld.format(DateFormatters.forPattern(dateFormat));
             }
             return dateVar.toString();
         } catch (Exception e) {
@@ -115,5 +123,8 @@ public class LoanRejectionDelegate implements JavaDelegate {
             return null;
         }
     }
+
+    record StateTransition(Long loanId, Map<String, Object> request, String idempotencyKey) {
+    }
 }
 
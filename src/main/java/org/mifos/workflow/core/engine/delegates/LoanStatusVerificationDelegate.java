@@ -3,8 +3,8 @@ package org.mifos.workflow.core.engine.delegates;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.GetLoansLoanIdResponse;
+import org.mifos.workflow.core.model.ResultRecord;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
@@ -18,11 +18,18 @@ import java.util.List;
 
 /**
  * Delegate for verifying loan status in the Fineract system during workflow execution.
- * This delegate checks if a loan is approved and ready for disbursement.
+ * This delegate checks if a loan is approved and ready for disbursement. The outcome is written as
+ * the {@code loanReadyForDisbursement} flag read by the process gateway plus one
+ * {@link ResultRecord} variable, {@value #RESULT_VARIABLE}, holding the verification details.
  */
 @Component
 @Slf4j
-public class LoanStatusVerificationDelegate implements JavaDelegate {
+public class LoanStatusVerificationDelegate extends FineractFutureDelegate<LoanStatusVerificationDelegate.LoanQuery, GetLoansLoanIdResponse> {
+
+    /**
+     * Process variable holding the verification details as a {@link ResultRecord}.
+     */
+    public static final String RESULT_VARIABLE = "loanStatusVerification";
 
     private final FineractLoanService fineractLoanService;
 
@@ -32,83 +39,86 @@ public class LoanStatusVerificationDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected LoanQuery prepare(DelegateExecution execution) {
         log.info("Executing LoanStatusVerificationDelegate for process instance: {}", execution.getProcessInstanceId());
 
-        try {
-            Long loanId = (Long) execution.getVariable("loanId");
-
-            if (loanId == null) {
-                throw new IllegalArgumentException("Loan ID is required for status verification");
-            }
-
-            log.info("Verifying loan status for loan ID: {}", loanId);
-
-            String associations = determineAssociations(execution);
-            String fields = determineFields(execution);
+        Long loanId = (Long) execution.getVariable("loanId");
 
-            GetLoansLoanIdResponse loanResponse;
-            if (associations != null || fields != null) {
-                loanResponse = fineractLoanService.getLoan(loanId, null, associations, null, fields);
-            } else {
-                loanResponse = fineractLoanService.getLoan(loanId, null, null, null, null);
-            }
-
-            if (loanResponse == null) {
-                throw new RuntimeException("Could not retrieve loan from Fineract");
-            }
+        if (loanId == null) {
+            throw new IllegalArgumentException("Loan ID is required for status verification");
+        }
 
-            LoanVerificationResult verificationResult = performComprehensiveVerification(loanResponse, execution);
-
-            execution.setVariable("loanStatus", verificationResult.getLoanStatus());
-            execution.setVariable("loanStatusVerified", true);
-            execution.setVariable("loanReadyForDisbursement", verificationResult.isReadyForDisbursement());
-            execution.setVariable("loanStatusMessage", verificationResult.getStatusMessage());
-            execution.setVariable("verificationDate", LocalDate.now().toString());
-            execution.setVariable("verificationPerformedBy", execution.getVariable("disbursementOfficer"));
-
-            execution.setVariable("loanAccountNo", verificationResult.getAccountNo());
-            execution.setVariable("loanPrincipal", verificationResult.getPrincipal());
-            execution.setVariable("loanOutstandingBalance", verificationResult.getOutstandingBalance());
-            execution.setVariable("loanProductId", verificationResult.getProductId());
-            execution.setVariable("loanClientId", verificationResult.getClientId());
-            execution.setVariable("loanOfficeId", verificationResult.getOfficeId());
-            execution.setVariable("loanCurrencyCode", verificationResult.getCurrencyCode());
-            execution.setVariable("loanTermFrequency", verificationResult.getTermFrequency());
-            execution.setVariable("loanInterestRate", verificationResult.getInterestRate());
-
-            if (!verificationResult.getIssues().isEmpty()) {
-                execution.setVariable("verificationIssues", verificationResult.getIssues());
-                execution.setVariable("hasVerificationIssues", true);
-                execution.setVariable("issueCount", verificationResult.getIssues().size());
-            } else {
-                execution.setVariable("hasVerificationIssues", false);
-                execution.setVariable("issueCount", 0);
-            }
+        log.info("Verifying loan status for loan ID: {}", loanId);
 
-            execution.setVariable("complianceCheckRequired", verificationResult.isComplianceCheckRequired());
-            execution.setVariable("riskLevel", verificationResult.getRiskLevel());
-            execution.setVariable("approvalLevel", verificationResult.getApprovalLevel());
+        return new LoanQuery(loanId, determineAssociations(execution), determineFields(execution));
+    }
 
-            if (!verificationResult.isReadyForDisbursement()) {
-                execution.setVariable("loanStatusError", verificationResult.getStatusMessage());
-                execution.setVariable("blockingIssues", verificationResult.getBlockingIssues());
-                execution.setVariable("escalationRequired", verificationResult.isEscalationRequired());
-            }
+    @Override
+    protected GetLoansLoanIdResponse call(LoanQuery query) {
+        if (query.associations() != null || query.fields() != null) {
+            return fineractLoanService.getLoan(query.loanId(), null, query.associations(), null, query.fields());
+        }
+        return fineractLoanService.getLoan(query.loanId(), null, null, null, null);
+    }
 
-            log.info("Loan status verification completed for ID: {} - Status: {}, Ready for disbursement: {}, Issues: {}",
-                    loanId, verificationResult.getLoanStatus(), verificationResult.isReadyForDisbursement(),
-                    verificationResult.getIssues().size());
+    @Override
+    protected void apply(DelegateExecution execution, LoanQuery query, GetLoansLoanIdResponse loanResponse) {
+        if (loanResponse == null) {
+            throw new RuntimeException("Could not retrieve loan from Fineract");
+        }
+
+        LoanVerificationResult verificationResult = performComprehensiveVerification(loanResponse, execution);
+
+        ResultRecord.Builder result = ResultRecord.builder()
+                .put("loanStatusVerified", true)
+                .put("loanStatus", verificationResult.getLoanStatus())
+                .put("loanStatusMessage", verificationResult.getStatusMessage())
+                .put("verificationDate", LocalDate.now().toString())
+                .put("verificationPerformedBy", execution.getVariable("disbursementOfficer"))
+                .put("loanAccountNo", verificationResult.getAccountNo())
+                .put("loanPrincipal", verificationResult.getPrincipal())
+                .put("loanOutstandingBalance", verificationResult.getOutstandingBalance())
+                .put("loanProductId", verificationResult.getProductId())
+                .put("loanClientId", verificationResult.getClientId())
+                .put("loanOfficeId", verificationResult.getOfficeId())
+                .put("loanCurrencyCode", verificationResult.getCurrencyCode())
+                .put("loanTermFrequency", verificationResult.getTermFrequency())
+                .put("loanInterestRate", verificationResult.getInterestRate())
+                .put("hasVerificationIssues", !verificationResult.getIssues().isEmpty())
+                .put("issueCount", verificationResult.getIssues().size())
+                .put("complianceCheckRequired", verificationResult.isComplianceCheckRequired())
+                .put("riskLevel", verificationResult.getRiskLevel())
+                .put("approvalLevel", verificationResult.getApprovalLevel());
+
+        if (!verificationResult.getIssues().isEmpty()) {
+            result.put("verificationIssues", verificationResult.getIssues());
+        }
+
+        if (!verificationResult.isReadyForDisbursement()) {
+            result.put("loanStatusError", verificationResult.getStatusMessage())
+                    .put("blockingIssues", verificationResult.getBlockingIssues())
+                    .put("escalationRequired", verificationResult.isEscalationRequired());
+        }
+
+        // The gateway reads loanReadyForDisbursement directly, everything else is one record
+        execution.setVariable("loanReadyForDisbursement", verificationResult.isReadyForDisbursement());
+        execution.setVariable(RESULT_VARIABLE, result.build());
+
+        log.info("Loan status verification completed for ID: {} - Status: {}, Ready for disbursement: {}, Issues: {}",
+                query.loanId(), verificationResult.getLoanStatus(), verificationResult.isReadyForDisbursement(),
+                verificationResult.getIssues().size());
+    }
 
-        } catch (FineractApiException e) {
+    @Override
+    protected void handleFailure(DelegateExecution execution, LoanQuery query, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             log.error("Fineract API error during loan status verification: {}", e.getMessage());
             handleVerificationFailure(execution, e, "Fineract API Error");
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to verify loan status for process instance: {}", execution.getProcessInstanceId(), e);
-            handleVerificationFailure(execution, e, "System Error");
-            throw new WorkflowException("Loan status verification failed", e, "loan status verification", WorkflowException.ERROR_LOAN_STATUS_VERIFICATION_FAILED);
+            throw fineractApiException;
         }
+        log.error("Failed to verify loan status for process instance: {}", execution.getProcessInstanceId(), e);
+        handleVerificationFailure(execution, e, "System Error");
+        throw new WorkflowException("Loan status verification failed", e, "loan status verification", WorkflowException.ERROR_LOAN_STATUS_VERIFICATION_FAILED);
     }
 
     private String determineAssociations(DelegateExecution execution) {
@@ -247,15 +257,20 @@ public class LoanStatusVerificationDelegate implements JavaDelegate {
     }
 
     private void handleVerificationFailure(DelegateExecution execution, Exception e, String errorType) {
-        execution.setVariable("loanStatusVerified", false);
-        execution.setVariable("loanStatusError", e.getMessage());
-        execution.setVariable("loanStatusMessage", "Failed to verify loan status: " + e.getMessage());
         execution.setVariable("loanReadyForDisbursement", false);
-        execution.setVariable("errorMessage", e.getMessage());
-        execution.setVariable("errorType", errorType);
-        execution.setVariable("verificationFailed", true);
-        execution.setVariable("verificationFailureDate", LocalDate.now().toString());
-        execution.setVariable("verificationFailureReason", e.getMessage());
+        execution.setVariable(RESULT_VARIABLE, ResultRecord.builder()
+                .put("loanStatusVerified", false)
+                .put("loanStatusError", e.getMessage())
+                .put("loanStatusMessage", "Failed to verify loan status: " + e.getMessage())
+                .put("errorMessage", e.getMessage())
+                .put("errorType", errorType)
+                .put("verificationFailed", true)
+                .put("verificationFailureDate", LocalDate.now().toString())
+                .put("verificationFailureReason", e.getMessage())
+                .build());
+    }
+
+    record LoanQuery(Long loanId, String associations, String fields) {
     }
 
     private static class LoanVerificationResult {
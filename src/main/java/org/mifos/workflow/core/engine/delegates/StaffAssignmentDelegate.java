@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.mifos.fineract.client.models.PostClientsClientIdResponse;
 import org.mifos.workflow.dto.fineract.client.ClientAssignStaffRequestDTO;
 import org.mifos.workflow.service.fineract.client.FineractClientService;
@@ -20,7 +19,7 @@ import org.mifos.workflow.util.ProcessVariableUtil;
  * Assigns a loan officer or staff member to the client.
  */
 @Component
-public class StaffAssignmentDelegate implements JavaDelegate {
+public class StaffAssignmentDelegate extends FineractFutureDelegate<StaffAssignmentDelegate.Assignment, PostClientsClientIdResponse> {
     private static final Logger logger = LoggerFactory.getLogger(StaffAssignmentDelegate.class);
     private static final String ASSIGN_STAFF_COMMAND = "assignStaff";
     
@@ -32,38 +31,56 @@ public class StaffAssignmentDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Assignment prepare(DelegateExecution execution) {
         logger.info("StaffAssignmentDelegate.execute() called for process instance: {}", execution.getProcessInstanceId());
-        try {
-            Long clientId = (Long) execution.getVariable("clientId");
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            Object staffIdObj = execution.getVariable("staffId");
-            Long staffId = ProcessVariableUtil.getLong(staffIdObj, null);
-            if (staffId == null) {
-                logger.info("No staffId provided, skipping staff assignment for client: {}", clientId);
-                execution.setVariable("staffAssigned", false);
-                return;
-            }
-            Object assignmentDateObj = execution.getVariable("assignmentDate");
-            LocalDate assignmentDate = ProcessVariableUtil.getLocalDate(assignmentDateObj);
-            if (assignmentDate == null) {
-                assignmentDate = LocalDate.now();
-            }
-            logger.info("Assigning staff {} to client {} on date: {}", staffId, clientId, assignmentDate);
-            ClientAssignStaffRequestDTO assignStaffRequest = ClientAssignStaffRequestDTO.builder().staffId(staffId).build();
-            PostClientsClientIdResponse response = fineractClientService.assignStaff(clientId, ASSIGN_STAFF_COMMAND, assignStaffRequest).blockingFirst();
-            if (response != null && response.getResourceId() != null) {
-                execution.setVariable("staffAssigned", true);
-                execution.setVariable("assignedStaffId", staffId);
-                execution.setVariable("assignmentDate", assignmentDate);
-                logger.info("Successfully assigned staff {} to client {}", staffId, clientId);
-            } else {
-                throw new RuntimeException("Failed to assign staff: No response received");
-            }
-        } catch (FineractApiException e) {
-            if (e.isNotFound() && (e.getErrorBody() != null && (e.getErrorBody().contains("staff.id.invalid") || e.getErrorBody().contains("does not exist")))) {
+        Long clientId = (Long) execution.getVariable("clientId");
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        Object staffIdObj = execution.getVariable("staffId");
+        Long staffId = ProcessVariableUtil.getLong(staffIdObj, null);
+        if (staffId == null) {
+            logger.info("No staffId provided, skipping staff assignment for client: {}", clientId);
+            execution.setVariable("staffAssigned", false);
+            return new Assignment(clientId, null, null);
+        }
+        Object assignmentDateObj = execution.getVariable("assignmentDate");
+        LocalDate assignmentDate = ProcessVariableUtil.getLocalDate(assignmentDateObj);
+        if (assignmentDate == null) {
+            assignmentDate = LocalDate.now();
+        }
+        logger.info("Assigning staff {} to client {} on date: {}", staffId, clientId, assignmentDate);
+        return new Assignment(clientId, staffId, assignmentDate);
+    }
+
+    @Override
+    protected PostClientsClientIdResponse call(Assignment assignment) {
+        if (assignment.staffId() == null) {
+            return null;
+        }
+        ClientAssignStaffRequestDTO assignStaffRequest = ClientAssignStaffRequestDTO.builder().staffId(assignment.staffId()).build();
+        return fineractClientService.assignStaff(assignment.clientId(), ASSIGN_STAFF_COMMAND, assignStaffRequest).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Assignment assignment, PostClientsClientIdResponse response) {
+        if (assignment.staffId() == null) {
+            return;
+        }
+        if (response != null && response.getResourceId() != null) {
+            execution.setVariable("staffAssigned", true);
+            execution.setVariable("assignedStaffId", assignment.staffId());
+            execution.setVariable("assignmentDate", assignment.assignmentDate());
+            logger.info("Successfully assigned staff {} to client {}", assignment.staffId(), assignment.clientId());
+        } else {
+            throw new RuntimeException("Failed to assign staff: No response received");
+        }
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Assignment assignment, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
+            if (fineractApiException.isNotFound() && (fineractApiException.getErrorBody() != null && (fineractApiException.getErrorBody().contains("staff.id.invalid") || fineractApiException.getErrorBody().contains("does not exist")))) {
                 Object currentStaffIdObj = execution.getVariable("staffId");
                 Long currentStaffId = null;
                 if (currentStaffIdObj instanceof Long) {
@@ -73,7 +90,7 @@ public class StaffAssignmentDelegate implements JavaDelegate {
                 } else if (currentStaffIdObj instanceof Number) {
                     currentStaffId = ((Number) currentStaffIdObj).longValue();
                 }
-                logger.warn("Staff with ID {} does not exist. Skipping staff assignment for client: {}", currentStaffId, e.getResourceId());
+                logger.warn("Staff with ID {} does not exist. Skipping staff assignment for client: {}", currentStaffId, fineractApiException.getResourceId());
                 execution.setVariable("staffAssigned", false);
                 execution.setVariable("staffAssignmentError", "Staff with ID " + currentStaffId + " does not exist");
                 execution.setVariable("errorMessage", "Staff assignment skipped - staff not found");
@@ -82,12 +99,17 @@ public class StaffAssignmentDelegate implements JavaDelegate {
             logger.error("Fineract API error during staff assignment: {}", e.getMessage());
             execution.setVariable("staffAssigned", false);
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error assigning staff: {}", e.getMessage(), e);
-            execution.setVariable("staffAssigned", false);
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Staff assignment failed", e, "staff assignment", WorkflowException.ERROR_STAFF_ASSIGNMENT_FAILED);
+            throw fineractApiException;
         }
+        logger.error("Error assigning staff: {}", e.getMessage(), e);
+        execution.setVariable("staffAssigned", false);
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Staff assignment failed", e, "staff assignment", WorkflowException.ERROR_STAFF_ASSIGNMENT_FAILED);
+    }
+
+    /**
+     * Staff assignment request; staffId and assignmentDate are null when there is no staff to assign.
+     */
+    record Assignment(Long clientId, Long staffId, LocalDate assignmentDate) {
     }
 } 
\ No newline at end of file
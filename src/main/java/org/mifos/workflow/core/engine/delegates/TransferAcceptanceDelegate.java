@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.mifos.workflow.dto.fineract.client.ClientAcceptTransferRequestDTO;
@@ -17,7 +16,7 @@ import java.time.LocalDate;
  * Delegate for accepting a client transfer in the Fineract system.
  */
 @Component
-public class TransferAcceptanceDelegate implements JavaDelegate {
+public class TransferAcceptanceDelegate extends FineractFutureDelegate<TransferAcceptanceDelegate.Acceptance, Object> {
 
     private static final Logger logger = LoggerFactory.getLogger(TransferAcceptanceDelegate.class);
 
@@ -29,33 +28,47 @@ public class TransferAcceptanceDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected Acceptance prepare(DelegateExecution execution) {
         Long clientId = (Long) execution.getVariable("clientId");
         LocalDate transferDate = (LocalDate) execution.getVariable("effectiveDate");
-        try {
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            if (transferDate == null) {
-                throw new IllegalArgumentException("effectiveDate is missing from process variables");
-            }
-            logger.info("Accepting transfer for client {} with effective date {}", clientId, transferDate);
-            ClientAcceptTransferRequestDTO acceptRequest = ClientAcceptTransferRequestDTO.builder().transferDate(transferDate).build();
-            fineractClientService.acceptClientTransfer(clientId, "acceptTransfer", acceptRequest).blockingFirst();
-            execution.setVariable("transferAccepted", true);
-            execution.setVariable("transferStatus", "ACCEPTED");
-        } catch (FineractApiException e) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        if (transferDate == null) {
+            throw new IllegalArgumentException("effectiveDate is missing from process variables");
+        }
+        logger.info("Accepting transfer for client {} with effective date {}", clientId, transferDate);
+        ClientAcceptTransferRequestDTO acceptRequest = ClientAcceptTransferRequestDTO.builder().transferDate(transferDate).build();
+        return new Acceptance(clientId, acceptRequest);
+    }
+
+    @Override
+    protected Object call(Acceptance acceptance) {
+        return fineractClientService.acceptClientTransfer(acceptance.clientId(), "acceptTransfer", acceptance.request()).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, Acceptance acceptance, Object response) {
+        execution.setVariable("transferAccepted", true);
+        execution.setVariable("transferStatus", "ACCEPTED");
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, Acceptance acceptance, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during client transfer acceptance: {}", e.getMessage());
             execution.setVariable("transferAccepted", false);
             execution.setVariable("transferStatus", "ERROR");
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error during client transfer acceptance: {}", e.getMessage(), e);
-            execution.setVariable("transferAccepted", false);
-            execution.setVariable("transferStatus", "ERROR");
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Client transfer acceptance failed", e, "client transfer acceptance", "ERROR_CLIENT_TRANSFER_ACCEPTANCE_FAILED");
+            throw fineractApiException;
         }
+        logger.error("Error during client transfer acceptance: {}", e.getMessage(), e);
+        execution.setVariable("transferAccepted", false);
+        execution.setVariable("transferStatus", "ERROR");
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Client transfer acceptance failed", e, "client transfer acceptance", "ERROR_CLIENT_TRANSFER_ACCEPTANCE_FAILED");
+    }
+
+    record Acceptance(Long clientId, ClientAcceptTransferRequestDTO request) {
     }
 } 
\ No newline at end of file
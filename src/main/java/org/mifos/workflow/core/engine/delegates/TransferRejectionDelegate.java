@@ -1,7 +1,6 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
-import org.flowable.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.mifos.workflow.dto.fineract.client.ClientRejectTransferRequestDTO;
@@ -16,7 +15,7 @@ import org.springframework.stereotype.Component;
  * This is a placeholder implementation.
  */
 @Component
-public class TransferRejectionDelegate implements JavaDelegate {
+public class TransferRejectionDelegate extends FineractFutureDelegate<TransferRejectionDelegate.TransferRejection, Object> {
 
     private static final Logger logger = LoggerFactory.getLogger(TransferRejectionDelegate.class);
 
@@ -28,35 +27,49 @@ public class TransferRejectionDelegate implements JavaDelegate {
     }
 
     @Override
-    public void execute(DelegateExecution execution) {
+    protected TransferRejection prepare(DelegateExecution execution) {
         Long clientId = (Long) execution.getVariable("clientId");
         String rejectionReason = (String) execution.getVariable("rejectionReason");
-        try {
-            if (clientId == null) {
-                throw new IllegalArgumentException("clientId is missing from process variables");
-            }
-            if (rejectionReason == null) {
-                throw new IllegalArgumentException("rejectionReason is missing from process variables");
-            }
-            logger.info("Rejecting transfer for client {} with reason '{}'", clientId, rejectionReason);
-            ClientRejectTransferRequestDTO rejectRequest = ClientRejectTransferRequestDTO.builder()
-                .note(rejectionReason)
-                .build();
-            fineractClientService.rejectClientTransfer(clientId, "rejectTransfer", rejectRequest).blockingFirst();
-            execution.setVariable("transferRejected", true);
-            execution.setVariable("transferStatus", "REJECTED");
-        } catch (FineractApiException e) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("clientId is missing from process variables");
+        }
+        if (rejectionReason == null) {
+            throw new IllegalArgumentException("rejectionReason is missing from process variables");
+        }
+        logger.info("Rejecting transfer for client {} with reason '{}'", clientId, rejectionReason);
+        ClientRejectTransferRequestDTO rejectRequest = ClientRejectTransferRequestDTO.builder()
+            .note(rejectionReason)
+            .build();
+        return new TransferRejection(clientId, rejectRequest);
+    }
+
+    @Override
+    protected Object call(TransferRejection rejection) {
+        return fineractClientService.rejectClientTransfer(rejection.clientId(), "rejectTransfer", rejection.request()).blockingFirst();
+    }
+
+    @Override
+    protected void apply(DelegateExecution execution, TransferRejection rejection, Object response) {
+        execution.setVariable("transferRejected", true);
+        execution.setVariable("transferStatus", "REJECTED");
+    }
+
+    @Override
+    protected void handleFailure(DelegateExecution execution, TransferRejection rejection, Exception e) {
+        if (e instanceof FineractApiException fineractApiException) {
             logger.error("Fineract API error during client transfer rejection: {}", e.getMessage());
             execution.setVariable("transferRejected", false);
             execution.setVariable("transferStatus", "ERROR");
             execution.setVariable("errorMessage", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error during client transfer rejection: {}", e.getMessage(), e);
-            execution.setVariable("transferRejected", false);
-            execution.setVariable("transferStatus", "ERROR");
-            execution.setVariable("errorMessage", e.getMessage());
-            throw new WorkflowException("Client transfer rejection failed", e, "client transfer rejection", "ERROR_CLIENT_TRANSFER_REJECTION_FAILED");
+            throw fineractApiException;
         }
+        logger.error("Error during client transfer rejection: {}", e.getMessage(), e);
+        execution.setVariable("transferRejected", false);
+        execution.setVariable("transferStatus", "ERROR");
+        execution.setVariable("errorMessage", e.getMessage());
+        throw new WorkflowException("Client transfer rejection failed", e, "client transfer rejection", "ERROR_CLIENT_TRANSFER_REJECTION_FAILED");
+    }
+
+    record TransferRejection(Long clientId, ClientRejectTransferRequestDTO request) {
     }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.mifos.workflow.core.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.InputStream;
+
+/**
+ * An open deployment resource: its metadata and a stream over its content.
+ * The caller owns the stream and must close it once the content has been written out.
+ */
+@Data
+@Builder
+public class DeploymentResourceContent {
+    private DeploymentResource resource;
+    private InputStream content;
+}
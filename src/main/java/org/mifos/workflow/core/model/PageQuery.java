@@ -0,0 +1,44 @@
+package org.mifos.workflow.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents a keyset page request with optional server-side filters.
+ * The cursor is the opaque value returned as {@link CursorPage#getNextCursor()} by the previous page;
+ * the date range applies to the time column the listing is ordered by.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageQuery {
+
+    private String cursor;
+
+    private Integer size;
+
+    private String processDefinitionKey;
+
+    private String businessKey;
+
+    private String assignee;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    /**
+     * Names of the process variables to include in each item; null includes all variables
+     * and an empty list ({@code ?variables=}) omits them.
+     */
+    private List<String> variables;
+}
@@ -0,0 +1,146 @@
+package org.mifos.workflow.core.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of named results written by a delegate as one process variable instead of one
+ * variable per field. Values are normalized on the way in so a record reads back the same after
+ * it has been persisted: strings and booleans are kept, integral numbers become {@link Long},
+ * other numbers become {@link BigDecimal}, collections become lists of strings and anything else
+ * is stored as its string form. Null values are left out.
+ * <p>
+ * The record is a read-only {@link Map}, so expressions can read fields directly, e.g.
+ * {@code ${loanStatusVerification.riskLevel}}, and the REST API renders it as a JSON object.
+ */
+public final class ResultRecord extends AbstractMap<String, Object> {
+
+    /**
+     * Version of the stored form, written with every record.
+     */
+    public static final int VERSION = 1;
+
+    private final Map<String, Object> fields;
+
+    private ResultRecord(Map<String, Object> fields) {
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return fields.entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return fields.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return fields.containsKey(key);
+    }
+
+    public String getString(String field) {
+        Object value = fields.get(field);
+        return value != null ? value.toString() : null;
+    }
+
+    public Boolean getBoolean(String field) {
+        Object value = fields.get(field);
+        return value instanceof Boolean bool ? bool : null;
+    }
+
+    /**
+     * Returns true only if the field is present and true, for gateway-style checks.
+     */
+    public boolean isTrue(String field) {
+        return Boolean.TRUE.equals(fields.get(field));
+    }
+
+    public Long getLong(String field) {
+        Object value = fields.get(field);
+        return value instanceof Number number ? Long.valueOf(number.longValue()) : null;
+    }
+
+    public BigDecimal getBigDecimal(String field) {
+        Object value = fields.get(field);
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value instanceof Long number ? BigDecimal.valueOf(number) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getStringList(String field) {
+        Object value = fields.get(field);
+        return value instanceof List<?> ? (List<String>) value : null;
+    }
+
+    /**
+     * Reads a record stored in a process variable, or returns null if the variable is not a record.
+     */
+    public static ResultRecord from(Object variable) {
+        return variable instanceof ResultRecord record ? record : null;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder put(String field, Object value) {
+            Object normalized = normalize(value);
+            if (normalized != null) {
+                fields.put(field, normalized);
+            }
+            return this;
+        }
+
+        public Builder putAll(Map<String, ?> values) {
+            values.forEach(this::put);
+            return this;
+        }
+
+        public ResultRecord build() {
+            return new ResultRecord(new LinkedHashMap<>(fields));
+        }
+
+        private static Object normalize(Object value) {
+            if (value == null || value instanceof String || value instanceof Boolean || value instanceof Long || value instanceof BigDecimal) {
+                return value;
+            }
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            }
+            if (value instanceof BigInteger bigInteger) {
+                return new BigDecimal(bigInteger);
+            }
+            if (value instanceof Number number) {
+                return new BigDecimal(number.toString());
+            }
+            if (value instanceof Collection<?> collection) {
+                List<String> values = new ArrayList<>(collection.size());
+                for (Object element : collection) {
+                    values.add(String.valueOf(element));
+                }
+                return Collections.unmodifiableList(values);
+            }
+            return value.toString();
+        }
+    }
+}
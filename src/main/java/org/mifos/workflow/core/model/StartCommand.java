@@ -0,0 +1,21 @@
+package org.mifos.workflow.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A single process start within a bulk start request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartCommand {
+    private String processDefinitionKey;
+    private String businessKey;
+    private Map<String, Object> variables;
+}
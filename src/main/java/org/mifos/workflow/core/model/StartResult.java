@@ -0,0 +1,27 @@
+package org.mifos.workflow.core.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one {@link StartCommand} of a bulk start, at the same index as the command.
+ * Either the started process instance id or the error that prevented the start is set.
+ */
+@Data
+@Builder
+public class StartResult {
+    private int index;
+    private String processDefinitionKey;
+    private String businessKey;
+    private String processInstanceId;
+    private boolean success;
+    private String error;
+
+    public static StartResult started(int index, StartCommand command, String processInstanceId) {
+        return StartResult.builder().index(index).processDefinitionKey(command.getProcessDefinitionKey()).businessKey(command.getBusinessKey()).processInstanceId(processInstanceId).success(true).build();
+    }
+
+    public static StartResult failed(int index, StartCommand command, String error) {
+        return StartResult.builder().index(index).processDefinitionKey(command != null ? command.getProcessDefinitionKey() : null).businessKey(command != null ? command.getBusinessKey() : null).success(false).error(error).build();
+    }
+}
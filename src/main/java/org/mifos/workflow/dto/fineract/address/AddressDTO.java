@@ -1,7 +1,12 @@
 package org.mifos.workflow.dto.fineract.address;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import lombok.Builder;
 import lombok.Data;
+
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,4 +35,28 @@ public class AddressDTO {
         map.put("postalCode", postalCode);
         return map;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Writes an address with the keys of {@link #toMap()} straight to the request body.
+     */
+    public static class GsonAdapter extends TypeAdapter<AddressDTO> {
+
+        @Override
+        public void write(JsonWriter out, AddressDTO value) throws IOException {
+            out.beginObject();
+            out.name("addressTypeId").value(value.addressTypeId);
+            out.name("addressLine1").value(value.addressLine1);
+            out.name("addressLine2").value(value.addressLine2);
+            out.name("city").value(value.city);
+            out.name("stateProvinceId").value(value.stateProvinceId);
+            out.name("countryId").value(value.countryId);
+            out.name("postalCode").value(value.postalCode);
+            out.endObject();
+        }
+
+        @Override
+        public AddressDTO read(JsonReader in) {
+            throw new UnsupportedOperationException("Addresses are only written to Fineract");
+        }
+    }
+}
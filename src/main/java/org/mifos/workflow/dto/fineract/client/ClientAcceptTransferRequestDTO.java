@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -27,7 +28,7 @@ public class ClientAcceptTransferRequestDTO {
         map.put("dateFormat", dateFormat);
         map.put("locale", locale);
         if (transferDate != null && dateFormat != null) {
-            map.put("transferDate", transferDate.format(java.time.format.DateTimeFormatter.ofPattern(dateFormat)));
+            map.put("transferDate", transferDate.format(DateFormatters.forPattern(dateFormat)));
         }
         map.put("note", note);
         return map;
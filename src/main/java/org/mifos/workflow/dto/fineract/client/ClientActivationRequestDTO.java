@@ -1,11 +1,15 @@
 package org.mifos.workflow.dto.fineract.client;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import lombok.Builder;
 import lombok.Data;
 import jakarta.validation.constraints.NotNull;
+import org.mifos.workflow.util.DateFormatters;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,8 +31,32 @@ public class ClientActivationRequestDTO {
         if (this.dateFormat != null) map.put("dateFormat", this.dateFormat);
         if (locale != null) map.put("locale", locale);
         if (activationDate != null) {
-            map.put("activationDate", activationDate.format(DateTimeFormatter.ofPattern(dateFormat)));
+            map.put("activationDate", activationDate.format(DateFormatters.forPattern(dateFormat)));
         }
         return map;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Writes the request as {@link #toMap(String)} does with the request's own date format,
+     * straight to the request body.
+     */
+    public static class GsonAdapter extends TypeAdapter<ClientActivationRequestDTO> {
+
+        @Override
+        public void write(JsonWriter out, ClientActivationRequestDTO value) throws IOException {
+            out.beginObject();
+            out.name("dateFormat").value(value.dateFormat);
+            out.name("locale").value(value.locale);
+            if (value.activationDate != null) {
+                String pattern = value.dateFormat != null ? value.dateFormat : DateFormatters.FINERACT_DATE_FORMAT;
+                out.name("activationDate").value(DateFormatters.forPattern(pattern).format(value.activationDate));
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ClientActivationRequestDTO read(JsonReader in) {
+            throw new UnsupportedOperationException("Client activation requests are only written to Fineract");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.mifos.workflow.dto.fineract.client;
 import lombok.Builder;
 import lombok.Data;
 import jakarta.validation.constraints.NotNull;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,7 +32,7 @@ public class ClientCloseRequestDTO {
         if (locale != null) map.put("locale", locale);
         if (closureDate != null) {
             String format = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
-            map.put("closureDate", closureDate.format(java.time.format.DateTimeFormatter.ofPattern(format)));
+            map.put("closureDate", closureDate.format(DateFormatters.forPattern(format)));
         }
         if (closureReasonId != null) map.put("closureReasonId", closureReasonId);
         return map;
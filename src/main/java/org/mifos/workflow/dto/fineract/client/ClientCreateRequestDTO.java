@@ -1,11 +1,16 @@
 package org.mifos.workflow.dto.fineract.client;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
 import org.mifos.workflow.dto.fineract.address.AddressDTO;
 import jakarta.validation.constraints.NotNull;
+import org.mifos.workflow.util.DateFormatters;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -18,7 +23,7 @@ import java.util.stream.Collectors;
  * Contains necessary details such as name, office ID, date format, locale, and active status.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ClientCreateRequestDTO {
     private static final String DEFAULT_DATE_FORMAT = "dd MMMM yyyy";
     @NotBlank(message = "First name is required and cannot be blank")
@@ -73,11 +78,11 @@ public class ClientCreateRequestDTO {
         map.put("mobileNo", mobileNo);
         if (dateOfBirth != null) {
             String format = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
-            map.put("dateOfBirth", dateOfBirth.format(DateTimeFormatter.ofPattern(format)));
+            map.put("dateOfBirth", dateOfBirth.format(DateFormatters.forPattern(format)));
         }
         if (submissionDate != null) {
             String format = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
-            map.put("submittedOnDate", submissionDate.format(DateTimeFormatter.ofPattern(format)));
+            map.put("submittedOnDate", submissionDate.format(DateFormatters.forPattern(format)));
         }
         map.put("clientClassificationId", clientClassificationId);
         map.put("familyMembers", familyMembers);
@@ -100,4 +105,61 @@ public class ClientCreateRequestDTO {
 
         return map;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the request with the keys and values of {@link #toMap()} straight to the request
+     * body, without building the map or the address maps first.
+     */
+    public static class GsonAdapter extends TypeAdapter<ClientCreateRequestDTO> {
+
+        private final AddressDTO.GsonAdapter addressAdapter = new AddressDTO.GsonAdapter();
+
+        @Override
+        public void write(JsonWriter out, ClientCreateRequestDTO value) throws IOException {
+            DateTimeFormatter formatter = DateFormatters.forPattern(value.dateFormat != null ? value.dateFormat : DEFAULT_DATE_FORMAT);
+            out.beginObject();
+            out.name("firstname").value(value.firstName);
+            out.name("lastname").value(value.lastName);
+            out.name("officeId").value(value.officeId);
+            out.name("dateFormat").value(value.dateFormat);
+            out.name("locale").value(value.locale);
+            out.name("active").value(value.active);
+            out.name("legalFormId").value(value.legalFormId);
+            out.name("externalId").value(value.externalId);
+            out.name("mobileNo").value(value.mobileNo);
+            if (value.dateOfBirth != null) {
+                out.name("dateOfBirth").value(formatter.format(value.dateOfBirth));
+            }
+            if (value.submissionDate != null) {
+                out.name("submittedOnDate").value(formatter.format(value.submissionDate));
+            }
+            out.name("clientClassificationId").value(value.clientClassificationId);
+            out.name("familyMembers").value(value.familyMembers);
+
+            if (value.address != null && !value.address.isEmpty()) {
+                out.name("address").beginArray();
+                for (AddressDTO address : value.address) {
+                    addressAdapter.write(out, address);
+                }
+                out.endArray();
+            } else if (value.addressLine1 != null || value.addressLine2 != null || value.city != null) {
+                out.name("address").beginArray();
+                addressAdapter.write(out, AddressDTO.builder()
+                        .addressLine1(value.addressLine1)
+                        .addressLine2(value.addressLine2)
+                        .city(value.city)
+                        .stateProvinceId(value.stateProvinceId != null ? Long.parseLong(value.stateProvinceId) : null)
+                        .countryId(value.countryId != null ? Long.parseLong(value.countryId) : null)
+                        .postalCode(value.postalCode)
+                        .build());
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ClientCreateRequestDTO read(JsonReader in) {
+            throw new UnsupportedOperationException("Client create requests are only written to Fineract");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.mifos.workflow.dto.fineract.client;
 import lombok.Builder;
 import lombok.Data;
 import jakarta.validation.constraints.NotNull;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -30,7 +31,7 @@ public class ClientRejectRequestDTO {
         if (locale != null) map.put("locale", locale);
         if (rejectionDate != null) {
             String format = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
-            map.put("rejectionDate", rejectionDate.format(java.time.format.DateTimeFormatter.ofPattern(format)));
+            map.put("rejectionDate", rejectionDate.format(DateFormatters.forPattern(format)));
         }
         if (rejectionReasonId != null) map.put("rejectionReasonId", rejectionReasonId);
         return map;
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -28,7 +29,7 @@ public class ClientRejectTransferRequestDTO {
         map.put("dateFormat", dateFormat);
         map.put("locale", locale);
         if (rejectionDate != null && dateFormat != null) {
-            map.put("rejectionDate", rejectionDate.format(java.time.format.DateTimeFormatter.ofPattern(dateFormat)));
+            map.put("rejectionDate", rejectionDate.format(DateFormatters.forPattern(dateFormat)));
         }
         map.put("rejectionReasonId", rejectionReasonId);
         map.put("note", note);
@@ -2,6 +2,7 @@ package org.mifos.workflow.dto.fineract.client;
 
 import lombok.Builder;
 import lombok.Data;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,7 +27,7 @@ public class ClientTransferRequestDTO {
         if (locale != null) map.put("locale", locale);
         if (transferDate != null) {
             String format = dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT;
-            map.put("transferDate", transferDate.format(java.time.format.DateTimeFormatter.ofPattern(format)));
+            map.put("transferDate", transferDate.format(DateFormatters.forPattern(format)));
         }
         if (destinationOfficeId != null) {
             map.put("destinationOfficeId", destinationOfficeId);
@@ -2,9 +2,9 @@ package org.mifos.workflow.dto.fineract.client;
 
 import lombok.Builder;
 import lombok.Data;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,7 +20,7 @@ public class ClientUndoWithdrawRequestDTO {
 
     public Map<String, Object> toMap() {
         Map<String, Object> map = new HashMap<>();
-        map.put("reopenedDate", reopenedDate.format(DateTimeFormatter.ofPattern(dateFormat)));
+        map.put("reopenedDate", reopenedDate.format(DateFormatters.forPattern(dateFormat)));
         map.put("dateFormat", dateFormat);
         map.put("locale", locale);
         return map;
@@ -2,9 +2,9 @@ package org.mifos.workflow.dto.fineract.client;
 
 import lombok.Builder;
 import lombok.Data;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,7 +20,7 @@ public class ClientWithdrawTransferRequestDTO {
 
     public Map<String, Object> toMap() {
         Map<String, Object> map = new HashMap<>();
-        map.put("withdrawalDate", withdrawalDate.format(DateTimeFormatter.ofPattern(dateFormat)));
+        map.put("withdrawalDate", withdrawalDate.format(DateFormatters.forPattern(dateFormat)));
         map.put("dateFormat", dateFormat);
         map.put("locale", locale);
         return map;
@@ -66,8 +66,16 @@ public class LoanDisbursementRequestDTO {
     
     private String escalationLevel;
     
+    /**
+     * Ignored; failed disbursement jobs are retried as configured by {@code workflow.engine.flowable.job-retry}.
+     */
+    @Deprecated
     private Boolean autoRetryOnFailure;
     
+    /**
+     * Ignored; failed disbursement jobs are retried as configured by {@code workflow.engine.flowable.job-retry}.
+     */
+    @Deprecated
     private Integer maxRetryAttempts;
     
     private String priority;
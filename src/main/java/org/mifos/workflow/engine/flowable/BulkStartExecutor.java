@@ -0,0 +1,61 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.mifos.workflow.config.WorkflowConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool shared by all bulk starts that runs their chunks, so concurrent bulk requests together
+ * never start more than {@code bulk-start-parallelism} chunks at once. Up to
+ * {@code bulk-start-queue-size} chunks wait for a thread; beyond that the requesting thread runs
+ * the chunk itself, which slows the caller down instead of failing the request. Idle threads
+ * are released, so the pool costs nothing between bulk starts.
+ * <p>
+ * Deliberately not a {@link java.util.concurrent.Executor} bean, which would make Spring Boot
+ * back off from its own application task executor.
+ */
+@Component
+public class BulkStartExecutor implements DisposableBean {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public BulkStartExecutor(WorkflowConfig properties) {
+        this(properties.getProcess().getBulkStartParallelism(), properties.getProcess().getBulkStartQueueSize());
+    }
+
+    BulkStartExecutor(int parallelism, int queueSize) {
+        int threads = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), threadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public Future<?> submit(Runnable chunk) {
+        return executor.submit(chunk);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-start-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the process definition metadata needed by status and listing
+ * lookups, including the activity names resolved from the definition's BPMN model.
+ */
+@Value
+@Builder
+public class CachedProcessDefinition {
+
+    String id;
+    String key;
+    String name;
+    int version;
+    String category;
+    String description;
+    String deploymentId;
+    Map<String, String> activityNames;
+
+    public String getActivityName(String activityId) {
+        return activityId != null ? activityNames.get(activityId) : null;
+    }
+}
@@ -0,0 +1,129 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.Value;
+import org.flowable.common.engine.api.repository.EngineResource;
+import org.flowable.engine.RepositoryService;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of deployment resource metadata keyed by deployment id.
+ * Deployment resources are immutable, so size, SHA-256 digest and content type are computed once
+ * per deployment, from the in-memory resources at deploy time or by streaming each resource
+ * through a digest on the first listing, and never hold a resource's bytes afterwards.
+ */
+class DeploymentResourceCache {
+
+    private static final String BPMN_EXTENSION = ".bpmn";
+    private static final int BUFFER_SIZE = 8192;
+    private final RepositoryService repositoryService;
+    private final Map<String, Map<String, ResourceMetadata>> deployments;
+
+    DeploymentResourceCache(RepositoryService repositoryService, int maxSize) {
+        this.repositoryService = repositoryService;
+        this.deployments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, ResourceMetadata>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the metadata of every resource of the deployment keyed by resource name, in
+     * repository order, computing it on a miss; empty if the deployment has no resources.
+     */
+    Map<String, ResourceMetadata> get(String deploymentId) {
+        synchronized (deployments) {
+            Map<String, ResourceMetadata> cached = deployments.get(deploymentId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Map<String, ResourceMetadata> resources = new LinkedHashMap<>();
+        for (String resourceName : repositoryService.getDeploymentResourceNames(deploymentId)) {
+            try (InputStream resourceStream = repositoryService.getResourceAsStream(deploymentId, resourceName)) {
+                resources.put(resourceName, digest(resourceName, resourceStream));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read deployment resource: " + resourceName, e);
+            }
+        }
+        return store(deploymentId, resources);
+    }
+
+    /**
+     * Records the metadata of a deployment from the resources the engine still holds in memory
+     * right after deploying it, so the first listing does not read them back from the database.
+     */
+    void put(String deploymentId, Collection<? extends EngineResource> engineResources) {
+        Map<String, ResourceMetadata> resources = new LinkedHashMap<>();
+        for (EngineResource engineResource : engineResources) {
+            byte[] bytes = engineResource.getBytes();
+            resources.put(engineResource.getName(), new ResourceMetadata(engineResource.getName(), bytes.length, HexFormat.of().formatHex(sha256().digest(bytes)), contentType(engineResource.getName())));
+        }
+        store(deploymentId, resources);
+    }
+
+    void evict(String deploymentId) {
+        synchronized (deployments) {
+            deployments.remove(deploymentId);
+        }
+    }
+
+    static String contentType(String resourceName) {
+        if (resourceName.toLowerCase().endsWith(BPMN_EXTENSION)) {
+            return MediaType.APPLICATION_XML_VALUE;
+        }
+        return MediaTypeFactory.getMediaType(resourceName).map(MediaType::toString).orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    private Map<String, ResourceMetadata> store(String deploymentId, Map<String, ResourceMetadata> resources) {
+        Map<String, ResourceMetadata> unmodifiable = Collections.unmodifiableMap(resources);
+        synchronized (deployments) {
+            deployments.put(deploymentId, unmodifiable);
+        }
+        return unmodifiable;
+    }
+
+    private static ResourceMetadata digest(String resourceName, InputStream resourceStream) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        if (resourceStream != null) {
+            DigestInputStream digestStream = new DigestInputStream(resourceStream, digest);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = digestStream.read(buffer); read != -1; read = digestStream.read(buffer)) {
+                size += read;
+            }
+        }
+        return new ResourceMetadata(resourceName, size, HexFormat.of().formatHex(digest.digest()), contentType(resourceName));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Value
+    static class ResourceMetadata {
+        String name;
+        long size;
+        String sha256;
+        String contentType;
+    }
+}
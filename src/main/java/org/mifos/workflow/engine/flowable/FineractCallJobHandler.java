@@ -0,0 +1,191 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.async.AsyncTaskInvoker;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.ManagementService;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.TimerJobService;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Completes a triggerable Fineract service task in a short transaction of its own once the
+ * Fineract call made for it has returned, so no job holds a transaction or database connection
+ * while the call is in flight.
+ * <p>
+ * {@link #dispatch} adds a job of this type to the current transaction as a timer due after the
+ * recovery delay, and makes the call on the engine's async task invoker once the transaction has
+ * committed. The call never runs on the committing thread, which still holds the job's connection,
+ * so transactions the call opens itself, such as the idempotency bookkeeping, take the only
+ * connection their thread holds. When the call returns, its outcome is kept in memory and the timer is moved to the
+ * executable jobs, so the async executor runs it at once and triggers the execution with the
+ * outcome in the transient variable {@value #OUTCOME_VARIABLE}. A job that finds no outcome,
+ * because it is the retry of a failed run, ran on another node, or came due before the call
+ * returned, triggers the execution without one and the delegate makes the call again under the
+ * same idempotency key.
+ */
+@Slf4j
+public class FineractCallJobHandler implements JobHandler {
+
+    public static final String TYPE = "fineract-call";
+
+    /**
+     * Transient execution variable carrying the outcome of the call to the delegate's trigger.
+     */
+    public static final String OUTCOME_VARIABLE = "fineractCallOutcome";
+
+    /**
+     * Transient execution variable carrying the retries left of the job that triggered the delegate.
+     */
+    public static final String RETRIES_VARIABLE = "fineractCallJobRetries";
+
+    private final long recoveryDelay;
+    private final LongSupplier clock;
+    private final Map<String, CompletedCall> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public FineractCallJobHandler(long recoveryDelay) {
+        this(recoveryDelay, System::currentTimeMillis);
+    }
+
+    FineractCallJobHandler(long recoveryDelay, LongSupplier clock) {
+        this.recoveryDelay = recoveryDelay;
+        this.clock = clock;
+        this.lastPurge.set(clock.getAsLong());
+    }
+
+    /**
+     * Returns the handler registered with the given engine.
+     */
+    public static FineractCallJobHandler of(ProcessEngineConfigurationImpl configuration) {
+        if (configuration.getJobHandlers() != null && configuration.getJobHandlers().get(TYPE) instanceof FineractCallJobHandler handler) {
+            return handler;
+        }
+        throw new FlowableException("No " + TYPE + " job handler is registered with the process engine");
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        ExecutionEntity execution = (ExecutionEntity) variableScope;
+        CompletedCall completed = outcomes.remove(configuration);
+        if (completed != null) {
+            execution.setTransientVariableLocal(OUTCOME_VARIABLE, completed.outcome());
+        } else {
+            log.debug("No outcome of the Fineract call for execution {} on this node; its delegate calls again", execution.getId());
+        }
+        execution.setTransientVariableLocal(RETRIES_VARIABLE, job.getRetries());
+        // A failed run leaves the execution inactive, which would keep its activity instance open on leave
+        execution.setActive(true);
+        CommandContextUtil.getAgenda(commandContext).planTriggerExecutionOperation(execution);
+    }
+
+    /**
+     * Makes the call once the current transaction has committed and completes the execution's
+     * task with its outcome. Must be called inside an engine command, with the execution waiting
+     * at the triggerable task.
+     *
+     * @param retries the retries the completing job starts with
+     * @param call    makes the Fineract call; must not throw or touch the execution
+     */
+    public void dispatch(ExecutionEntity execution, int retries, Supplier<?> call) {
+        CommandContext commandContext = CommandContextUtil.getCommandContext();
+        ProcessEngineConfigurationImpl configuration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        String jobId = scheduleRecoveryJob(execution, retries, configuration, commandContext);
+        String executionId = execution.getId();
+        ManagementService managementService = configuration.getManagementService();
+        AsyncTaskInvoker taskInvoker = configuration.getAsyncTaskInvoker();
+        Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, committed -> {
+            Thread committingThread = Thread.currentThread();
+            try {
+                taskInvoker.submit(() -> {
+                    // A full pool may run the task on the committing thread, which still holds its connection
+                    if (Thread.currentThread() == committingThread) {
+                        log.warn("Fineract call pool is full; the call for execution {} is made when job {} comes due", executionId, jobId);
+                        return null;
+                    }
+                    complete(managementService, jobId, executionId, call.get());
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not submit the Fineract call for execution {}; it is made when job {} comes due", executionId, jobId, e);
+            }
+        });
+    }
+
+    private String scheduleRecoveryJob(ExecutionEntity execution, int retries, ProcessEngineConfigurationImpl configuration, CommandContext commandContext) {
+        FlowElement element = execution.getCurrentFlowElement();
+        TimerJobService timerJobService = CommandContextUtil.getTimerJobService(commandContext);
+        TimerJobEntity job = timerJobService.createTimerJob();
+        // The id is the lookup key of the outcome, carried as the configuration once the job moves
+        job.setId(configuration.getIdGenerator().getNextId());
+        job.setJobType(Job.JOB_TYPE_MESSAGE);
+        job.setJobHandlerType(TYPE);
+        job.setJobHandlerConfiguration(job.getId());
+        job.setExclusive(!(element instanceof FlowNode flowNode) || flowNode.isExclusive());
+        job.setRetries(retries);
+        job.setDuedate(new Date(configuration.getClock().getCurrentTime().getTime() + recoveryDelay));
+        job.setExecutionId(execution.getId());
+        job.setProcessInstanceId(execution.getProcessInstanceId());
+        job.setProcessDefinitionId(execution.getProcessDefinitionId());
+        job.setElementId(element != null ? element.getId() : null);
+        job.setElementName(element != null ? element.getName() : null);
+        job.setTenantId(execution.getTenantId());
+        timerJobService.scheduleTimerJob(job);
+        return job.getId();
+    }
+
+    private void complete(ManagementService managementService, String jobId, String executionId, Object outcome) {
+        purgeStaleOutcomes();
+        outcomes.put(jobId, new CompletedCall(outcome, clock.getAsLong()));
+        try {
+            managementService.moveTimerToExecutableJob(jobId);
+        } catch (RuntimeException e) {
+            // The job already came due, or the process instance has moved on or been deleted
+            outcomes.remove(jobId);
+            log.debug("Dropped the outcome of the Fineract call for execution {}: {}", executionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops outcomes whose job was deleted with its process instance before it ran; a job that
+     * still runs after this finds no outcome and has the call made again.
+     */
+    private void purgeStaleOutcomes() {
+        long now = clock.getAsLong();
+        long last = lastPurge.get();
+        if (now - last < recoveryDelay || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        outcomes.values().removeIf(completed -> now - completed.completedAt() > recoveryDelay);
+    }
+
+    int pendingOutcomes() {
+        return outcomes.size();
+    }
+
+    private record CompletedCall(Object outcome, long completedAt) {
+    }
+}
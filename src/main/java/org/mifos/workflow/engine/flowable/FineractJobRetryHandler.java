@@ -0,0 +1,97 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+import org.flowable.job.service.impl.persistence.entity.AbstractRuntimeJobEntity;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.exception.FineractApiException;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Retries async jobs that failed on a Fineract call with exponential backoff instead of the
+ * engine's fixed wait, so delegates can simply throw and leave retrying to the job executor.
+ * <p>
+ * A job whose failure has a {@link FineractApiException} in its cause chain that
+ * {@linkplain FineractApiException#isTransient() is transient} is moved to a timer job with one
+ * retry less, due after {@code initial-backoff * multiplier^(attempt - 1)} ms, capped at
+ * {@code max-backoff} and spread by {@code jitter} either way so jobs that failed together do not
+ * retry together. A fatal failure, or a transient one on its last retry, goes straight to the dead
+ * letter table rather than repeating a call that will fail again; delegates that route failures
+ * to a failure task record them on the last retry instead of throwing (see
+ * {@code FineractFutureDelegate#isLastAttempt}). Failures without a Fineract error are left to the
+ * engine's default handling.
+ */
+@Slf4j
+public class FineractJobRetryHandler implements AsyncRunnableExecutionExceptionHandler {
+
+    private final WorkflowConfig.JobRetry settings;
+    private final DoubleSupplier random;
+
+    public FineractJobRetryHandler(WorkflowConfig.JobRetry settings) {
+        this(settings, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    FineractJobRetryHandler(WorkflowConfig.JobRetry settings, DoubleSupplier random) {
+        this.settings = settings;
+        this.random = random;
+    }
+
+    @Override
+    public boolean handleException(JobServiceConfiguration jobServiceConfiguration, JobInfo job, Throwable exception) {
+        FineractApiException fineractApiException = FineractApiException.findIn(exception);
+        if (fineractApiException == null) {
+            return false;
+        }
+
+        return jobServiceConfiguration.getCommandExecutor().execute(commandContext -> {
+            JobEntity jobEntity = jobServiceConfiguration.getJobEntityManager().findById(job.getId());
+            if (jobEntity == null) {
+                return false;
+            }
+            int retriesLeft = jobEntity.getRetries() - 1;
+            if (!fineractApiException.isTransient() || retriesLeft <= 0) {
+                AbstractRuntimeJobEntity deadLetterJob = jobServiceConfiguration.getJobManager().moveJobToDeadLetterJob(jobEntity);
+                recordFailure(deadLetterJob, exception);
+                log.warn("{} Fineract error for job {} of process instance {}, moved to dead letter jobs: {}",
+                        fineractApiException.isTransient() ? "Retries exhausted on transient" : "Fatal", job.getId(), jobEntity.getProcessInstanceId(), exception.getMessage());
+                return true;
+            }
+
+            long delayMillis = backoffMillis(settings.getMaxAttempts() - retriesLeft);
+            TimerJobEntity timerJob = jobServiceConfiguration.getJobManager().moveJobToTimerJob(jobEntity);
+            Date duedate = new Date(jobServiceConfiguration.getClock().getCurrentTime().getTime() + delayMillis);
+            timerJob.setDuedate(duedate);
+            timerJob.setRetries(retriesLeft);
+            recordFailure(timerJob, exception);
+            log.info("Transient Fineract error for job {} of process instance {}, retrying at {} with {} retries left: {}",
+                    job.getId(), jobEntity.getProcessInstanceId(), duedate, retriesLeft, exception.getMessage());
+            return true;
+        });
+    }
+
+    /**
+     * Returns the delay before the given retry, counting from 1 for the retry after the first failure.
+     */
+    long backoffMillis(int attempt) {
+        double delay = settings.getInitialBackoff() * Math.pow(settings.getMultiplier(), Math.max(0, attempt - 1));
+        delay = Math.min(delay, settings.getMaxBackoff());
+        double spread = 1 + settings.getJitter() * (2 * random.getAsDouble() - 1);
+        return Math.max(0, Math.round(delay * spread));
+    }
+
+    private static void recordFailure(AbstractRuntimeJobEntity job, Throwable exception) {
+        job.setExceptionMessage(exception.getMessage());
+        StringWriter stacktrace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stacktrace));
+        job.setExceptionStacktrace(stacktrace.toString());
+    }
+}
@@ -0,0 +1,81 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.bpmn.model.BaseElement;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.bpmn.parser.handler.AbstractBpmnParseHandler;
+import org.mifos.workflow.config.WorkflowConfig;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Puts an async boundary in front of every service task that calls Fineract, so starting a
+ * process or completing a task commits and returns without waiting for Fineract; the call then
+ * runs as an async job and a failure is retried as a job instead of failing the caller's request.
+ * Async Fineract tasks are also marked triggerable, so their job commits before the call is made
+ * and a {@link FineractCallJobHandler} job applies the result (see {@code FineractFutureDelegate}).
+ * <p>
+ * A service task calls Fineract when its delegate expression is {@code ${beanName}} for one of
+ * the given Fineract delegate beans. Whether such tasks run async is set by
+ * {@code fineract-task-continuation} and per process definition key by
+ * {@code process-fineract-task-continuations}; whether their jobs are exclusive (never run in
+ * parallel with other jobs of the same process instance) is set per key by
+ * {@code process-exclusive-jobs} and defaults to true. Tasks already marked
+ * {@code flowable:async} in the BPMN keep their async settings and are only marked triggerable.
+ */
+@Slf4j
+public class FineractServiceTaskParseHandler extends AbstractBpmnParseHandler<ServiceTask> {
+
+    private static final Pattern BEAN_EXPRESSION = Pattern.compile("^\\$\\{\\s*([A-Za-z_$][\\w$]*)\\s*}$");
+
+    private final Set<String> fineractDelegateBeans;
+    private final WorkflowConfig.ContinuationMode defaultMode;
+    private final Map<String, WorkflowConfig.ContinuationMode> modesByProcessKey;
+    private final Map<String, Boolean> exclusiveByProcessKey;
+
+    public FineractServiceTaskParseHandler(Set<String> fineractDelegateBeans, WorkflowConfig.Flowable settings) {
+        this.fineractDelegateBeans = Set.copyOf(fineractDelegateBeans);
+        this.defaultMode = settings.getFineractTaskContinuation();
+        this.modesByProcessKey = Map.copyOf(settings.getProcessFineractTaskContinuations());
+        this.exclusiveByProcessKey = Map.copyOf(settings.getProcessExclusiveJobs());
+    }
+
+    @Override
+    protected Class<? extends BaseElement> getHandledType() {
+        return ServiceTask.class;
+    }
+
+    @Override
+    protected void executeParse(BpmnParse bpmnParse, ServiceTask serviceTask) {
+        if (!callsFineract(serviceTask)) {
+            return;
+        }
+        if (serviceTask.isAsynchronous()) {
+            serviceTask.setTriggerable(true);
+            return;
+        }
+        String processKey = bpmnParse.getCurrentProcess() != null ? bpmnParse.getCurrentProcess().getId() : null;
+        if (modesByProcessKey.getOrDefault(processKey, defaultMode) != WorkflowConfig.ContinuationMode.ASYNC) {
+            return;
+        }
+        boolean exclusive = exclusiveByProcessKey.getOrDefault(processKey, true);
+        serviceTask.setAsynchronous(true);
+        serviceTask.setExclusive(exclusive);
+        serviceTask.setNotExclusive(!exclusive);
+        serviceTask.setTriggerable(true);
+        log.debug("Service task '{}' of process '{}' runs as an {} async job", serviceTask.getId(), processKey, exclusive ? "exclusive" : "non-exclusive");
+    }
+
+    private boolean callsFineract(ServiceTask serviceTask) {
+        if (!ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(serviceTask.getImplementationType()) || serviceTask.getImplementation() == null) {
+            return false;
+        }
+        Matcher matcher = BEAN_EXPRESSION.matcher(serviceTask.getImplementation().trim());
+        return matcher.matches() && fineractDelegateBeans.contains(matcher.group(1));
+    }
+}
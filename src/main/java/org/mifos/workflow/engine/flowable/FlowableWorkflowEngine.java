@@ -1,22 +1,36 @@
 package org.mifos.workflow.engine.flowable;
 
+import org.apache.ibatis.session.RowBounds;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
 import org.flowable.engine.TaskService;
 import org.flowable.engine.HistoryService;
+import org.flowable.engine.ManagementService;
+import org.flowable.engine.impl.cmd.AbstractCustomSqlExecution;
+import org.flowable.common.engine.impl.db.SuspensionState;
+import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.runtime.NativeExecutionQuery;
 import org.flowable.task.api.Task;
-import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.flowable.task.service.impl.persistence.entity.HistoricTaskInstanceEntity;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.core.engine.WorkflowEngine;
 import org.mifos.workflow.core.engine.enums.EngineType;
 import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
 import org.mifos.workflow.core.model.HistoricProcessInstance;
+import org.mifos.workflow.core.model.PageCursor;
+import org.mifos.workflow.core.model.PageQuery;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinition;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
@@ -25,6 +39,8 @@ import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.ProcessVariables;
+import org.mifos.workflow.core.model.StartCommand;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.TaskInfo;
 import org.mifos.workflow.util.WorkflowErrorHandler;
 import org.slf4j.Logger;
@@ -36,6 +52,9 @@ import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -48,23 +67,35 @@ import java.util.stream.Collectors;
 public class FlowableWorkflowEngine implements WorkflowEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(FlowableWorkflowEngine.class);
+    private static final int ENRICHMENT_BATCH_SIZE = 500;
+    private static final int DEPLOYMENT_RESOURCE_CACHE_SIZE = 256;
     private final WorkflowConfig properties;
     private final FlowableMapper flowableMapper;
+    private final ProcessDefinitionCache processDefinitionCache;
+    private final VariableLoader variableLoader;
+    private final DeploymentResourceCache deploymentResourceCache;
+    private final BulkStartExecutor bulkStartExecutor;
     private ProcessEngine processEngine;
     private RepositoryService repositoryService;
     private RuntimeService runtimeService;
     private TaskService taskService;
     private HistoryService historyService;
+    private ManagementService managementService;
 
     @Autowired
-    public FlowableWorkflowEngine(WorkflowConfig properties, org.flowable.engine.ProcessEngine processEngine, FlowableMapper flowableMapper) {
+    public FlowableWorkflowEngine(WorkflowConfig properties, org.flowable.engine.ProcessEngine processEngine, FlowableMapper flowableMapper, ProcessDefinitionCache processDefinitionCache, BulkStartExecutor bulkStartExecutor) {
         this.properties = properties;
         this.flowableMapper = flowableMapper;
+        this.processDefinitionCache = processDefinitionCache;
+        this.bulkStartExecutor = bulkStartExecutor;
         this.processEngine = processEngine;
         this.repositoryService = processEngine.getRepositoryService();
         this.runtimeService = processEngine.getRuntimeService();
         this.taskService = processEngine.getTaskService();
         this.historyService = processEngine.getHistoryService();
+        this.managementService = processEngine.getManagementService();
+        this.variableLoader = new VariableLoader(runtimeService, historyService, managementService);
+        this.deploymentResourceCache = new DeploymentResourceCache(repositoryService, DEPLOYMENT_RESOURCE_CACHE_SIZE);
 
         logger.info("FlowableWorkflowEngine initialized successfully with Spring-managed ProcessEngine");
     }
@@ -82,6 +113,10 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
     public DeploymentResult deployProcess(InputStream processDefinition, String filename) {
         return WorkflowErrorHandler.executeWithExceptionHandling("process deployment", filename, () -> {
             Deployment deployment = repositoryService.createDeployment().addInputStream(filename, processDefinition).name(filename).deploy();
+            processDefinitionCache.clear();
+            if (deployment instanceof DeploymentEntity deploymentEntity) {
+                deploymentResourceCache.put(deployment.getId(), deploymentEntity.getResources().values());
+            }
 
             logger.info("Successfully deployed process: {} with deployment ID: {}", filename, deployment.getId());
 
@@ -93,6 +128,8 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
     public void deleteDeployment(String deploymentId) {
         WorkflowErrorHandler.executeWithExceptionHandling("deployment deletion", deploymentId, () -> {
             repositoryService.deleteDeployment(deploymentId, true);
+            processDefinitionCache.evictDeployment(deploymentId);
+            deploymentResourceCache.evict(deploymentId);
             logger.info("Successfully deleted deployment: {}", deploymentId);
         });
     }
@@ -119,6 +156,107 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
         });
     }
 
+    @Override
+    public List<StartResult> startProcesses(List<StartCommand> commands) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("bulk process start", commands.size() + " commands", () -> {
+            WorkflowConfig.Process settings = properties.getProcess();
+            if (commands.size() > settings.getBulkStartMaxCommands()) {
+                throw new IllegalArgumentException("Bulk start accepts at most " + settings.getBulkStartMaxCommands() + " commands, got " + commands.size());
+            }
+
+            StartResult[] results = new StartResult[commands.size()];
+            int chunkSize = Math.max(1, settings.getBulkStartChunkSize());
+            List<Runnable> chunks = new ArrayList<>();
+            for (int from = 0; from < commands.size(); from += chunkSize) {
+                int chunkStart = from;
+                int chunkEnd = Math.min(from + chunkSize, commands.size());
+                chunks.add(() -> startChunk(commands, chunkStart, chunkEnd, results));
+            }
+
+            if (chunks.size() == 1 || settings.getBulkStartParallelism() <= 1) {
+                chunks.forEach(Runnable::run);
+            } else {
+                List<Future<?>> futures = chunks.stream().map(bulkStartExecutor::submit).collect(Collectors.toList());
+                try {
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } catch (InterruptedException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Bulk process start interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Bulk process start failed", e.getCause());
+                }
+            }
+
+            long started = Arrays.stream(results).filter(StartResult::isSuccess).count();
+            logger.info("Bulk start finished: {} of {} process instances started in {} chunks", started, commands.size(), chunks.size());
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * Starts the commands in [from, to) inside a single engine command, so the whole chunk
+     * shares one transaction and one flush. If anything in the chunk fails the transaction is
+     * rolled back and the commands are retried one by one to report a result for each.
+     * <p>
+     * Commands for processes whose Fineract tasks continue synchronously are refused: their
+     * Fineract calls would run inside the chunk transaction, holding it open across every round
+     * trip, and a rolled back chunk would repeat the calls that already took effect when its
+     * commands are retried. With async continuation starting a process only creates jobs, so a
+     * chunk makes no Fineract calls and retrying its commands is safe.
+     */
+    private void startChunk(List<StartCommand> commands, int from, int to, StartResult[] results) {
+        List<Integer> valid = new ArrayList<>();
+        for (int index = from; index < to; index++) {
+            StartCommand command = commands.get(index);
+            if (command == null || command.getProcessDefinitionKey() == null || command.getProcessDefinitionKey().isBlank()) {
+                results[index] = StartResult.failed(index, command, "Process definition key is required");
+            } else if (continuesFineractTasksSynchronously(command.getProcessDefinitionKey())) {
+                results[index] = StartResult.failed(index, command, "Bulk start requires async Fineract task continuation, process '" + command.getProcessDefinitionKey() + "' is configured sync");
+            } else {
+                valid.add(index);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> processInstanceIds = managementService.executeCommand(commandContext -> {
+                List<String> ids = new ArrayList<>(valid.size());
+                for (Integer index : valid) {
+                    ids.add(start(commands.get(index)).getId());
+                }
+                return ids;
+            });
+            for (int i = 0; i < valid.size(); i++) {
+                int index = valid.get(i);
+                results[index] = StartResult.started(index, commands.get(index), processInstanceIds.get(i));
+            }
+        } catch (RuntimeException chunkFailure) {
+            logger.warn("Bulk start chunk [{}, {}) rolled back, starting its commands individually: {}", from, to, chunkFailure.getMessage());
+            for (Integer index : valid) {
+                StartCommand command = commands.get(index);
+                try {
+                    results[index] = StartResult.started(index, command, start(command).getId());
+                } catch (RuntimeException e) {
+                    results[index] = StartResult.failed(index, command, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean continuesFineractTasksSynchronously(String processDefinitionKey) {
+        WorkflowConfig.Flowable flowable = properties.getEngine().getFlowable();
+        return flowable.getProcessFineractTaskContinuations().getOrDefault(processDefinitionKey, flowable.getFineractTaskContinuation()) == WorkflowConfig.ContinuationMode.SYNC;
+    }
+
+    private org.flowable.engine.runtime.ProcessInstance start(StartCommand command) {
+        return runtimeService.createProcessInstanceBuilder().processDefinitionKey(command.getProcessDefinitionKey()).businessKey(command.getBusinessKey()).variables(command.getVariables() != null ? command.getVariables() : new HashMap<>()).start();
+    }
+
     @Override
     public List<ProcessInstance> getProcessInstances() {
         return WorkflowErrorHandler.executeWithExceptionHandling("retrieving process instances", "all", () -> {
@@ -198,16 +336,8 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
                 throw new RuntimeException("Historic process instance not found: " + processInstanceId);
             }
 
-            List<HistoricVariableInstance> variables = historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list();
-
-            Map<String, Object> variableMap = new HashMap<>();
-            for (HistoricVariableInstance variable : variables) {
-                if (variable != null && variable.getVariableName() != null) {
-                    String variableName = variable.getVariableName();
-                    Object variableValue = variable.getValue() != null ? variable.getValue() : "null";
-                    variableMap.put(variableName, variableValue);
-                }
-            }
+            Map<String, Object> variableMap = variableLoader.loadHistoric(List.of(processInstanceId), null).get(processInstanceId);
+            variableMap.replaceAll((variableName, variableValue) -> variableValue != null ? variableValue : "null");
 
             return ProcessVariables.builder().variables(variableMap).build();
         });
@@ -282,55 +412,104 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
 
     @Override
     public ProcessStatus getProcessStatus(String processInstanceId) {
+        return getProcessStatus(processInstanceId, null);
+    }
+
+    @Override
+    public ProcessStatus getProcessStatus(String processInstanceId, List<String> variableNames) {
         return WorkflowErrorHandler.executeWithExceptionHandling("getting process status", processInstanceId, () -> {
-            org.flowable.engine.runtime.ProcessInstance flowableInstance = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+            ProcessStatus processStatus = queryProcessStatus(processInstanceId, variableNames);
+            return processStatus != null ? processStatus : loadProcessStatus(processInstanceId, variableNames);
+        });
+    }
 
-            if (flowableInstance == null) {
-                org.flowable.engine.history.HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+    /**
+     * Resolves the status projection with one joined query through {@link ProcessStatusMapper}.
+     * Variables of an active instance are still read through the runtime service so that
+     * serialized and JSON variable types are deserialized by the engine.
+     * Returns null when the instance has no historic record, e.g. with history disabled.
+     */
+    ProcessStatus queryProcessStatus(String processInstanceId, List<String> variableNames) {
+        List<ProcessStatusRow> rows = managementService.executeCustomSql(new AbstractCustomSqlExecution<ProcessStatusMapper, List<ProcessStatusRow>>(ProcessStatusMapper.class) {
+            @Override
+            public List<ProcessStatusRow> execute(ProcessStatusMapper mapper) {
+                return mapper.selectProcessStatus(processInstanceId, new RowBounds(0, 1));
+            }
+        });
+        if (rows == null || rows.isEmpty()) {
+            return null;
+        }
 
-                if (historicInstance == null) {
-                    throw new RuntimeException("Process instance not found: " + processInstanceId);
-                }
+        ProcessStatusRow row = rows.get(0);
+        LocalDateTime startTime = LocalDateTime.ofInstant(row.getStartTime().toInstant(), ZoneId.systemDefault());
 
-                org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(historicInstance.getProcessDefinitionId()).singleResult();
+        if (row.getRuntimeInstanceId() == null) {
+            return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(row.getProcessDefinitionKey()).processDefinitionName(row.getProcessDefinitionName()).status("COMPLETED").currentActivityName(null).currentActivityId(null).startTime(startTime).endTime(row.getEndTime() != null ? LocalDateTime.ofInstant(row.getEndTime().toInstant(), ZoneId.systemDefault()) : null).businessKey(row.getBusinessKey()).duration(row.getDuration()).startedBy(row.getStartedBy()).variables(new HashMap<>()).assignee(null).suspended(false).ended(true).build();
+        }
 
-                return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("COMPLETED").currentActivityName(null).currentActivityId(null).startTime(LocalDateTime.ofInstant(historicInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(historicInstance.getEndTime() != null ? LocalDateTime.ofInstant(historicInstance.getEndTime().toInstant(), ZoneId.systemDefault()) : null).businessKey(historicInstance.getBusinessKey()).duration(historicInstance.getDurationInMillis()).startedBy(historicInstance.getStartUserId()).variables(new HashMap<>()).assignee(null).suspended(false).ended(true).build();
-            }
+        String currentActivityName = null;
+        if (row.getCurrentActivityId() != null) {
+            CachedProcessDefinition processDefinition = processDefinitionCache.get(row.getProcessDefinitionId());
+            currentActivityName = processDefinition != null ? processDefinition.getActivityName(row.getCurrentActivityId()) : null;
+        }
 
-            org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(flowableInstance.getProcessDefinitionId()).singleResult();
-
-            String currentActivityId = null;
-            String currentActivityName = null;
-            List<org.flowable.engine.runtime.Execution> executions = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).list();
-
-            if (!executions.isEmpty()) {
-                for (org.flowable.engine.runtime.Execution execution : executions) {
-                    if (execution.getActivityId() != null) {
-                        currentActivityId = execution.getActivityId();
-                        try {
-                            org.flowable.bpmn.model.BpmnModel bpmnModel = repositoryService.getBpmnModel(flowableInstance.getProcessDefinitionId());
-                            org.flowable.bpmn.model.FlowElement flowElement = bpmnModel.getFlowElement(currentActivityId);
-                            if (flowElement != null) {
-                                currentActivityName = flowElement.getName();
-                            }
-                        } catch (Exception e) {
-                            logger.debug("Could not get activity name for activity ID: {}", currentActivityId);
-                        }
-                        break;
-                    }
-                }
+        Map<String, Object> variables = runtimeVariables(processInstanceId, variableNames);
+
+        return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(row.getProcessDefinitionKey()).processDefinitionName(row.getProcessDefinitionName()).status("ACTIVE").currentActivityName(currentActivityName).currentActivityId(row.getCurrentActivityId()).startTime(startTime).endTime(null).businessKey(row.getBusinessKey()).duration(System.currentTimeMillis() - row.getStartTime().getTime()).startedBy(row.getStartedBy()).variables(variables).assignee(row.getAssignee()).suspended(row.getSuspensionState() != null && row.getSuspensionState() == SuspensionState.SUSPENDED.getStateCode()).ended(false).build();
+    }
+
+    /**
+     * Reads the variables of an active process instance, restricted to the given names.
+     *
+     * @param variableNames names to read, or null for all variables; an empty list reads none
+     */
+    private Map<String, Object> runtimeVariables(String processInstanceId, List<String> variableNames) {
+        if (variableNames == null) {
+            return runtimeService.getVariables(processInstanceId);
+        }
+        return variableNames.isEmpty() ? new HashMap<>() : runtimeService.getVariables(processInstanceId, variableNames);
+    }
+
+    /**
+     * Resolves the status with separate runtime, history, execution and task queries.
+     */
+    ProcessStatus loadProcessStatus(String processInstanceId, List<String> variableNames) {
+        org.flowable.engine.runtime.ProcessInstance flowableInstance = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+
+        if (flowableInstance == null) {
+            org.flowable.engine.history.HistoricProcessInstance historicInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+
+            if (historicInstance == null) {
+                throw new RuntimeException("Process instance not found: " + processInstanceId);
             }
 
-            String assignee = null;
-            List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
-            if (!tasks.isEmpty()) {
-                assignee = tasks.get(0).getAssignee();
+            CachedProcessDefinition processDefinition = processDefinitionCache.get(historicInstance.getProcessDefinitionId());
+
+            return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("COMPLETED").currentActivityName(null).currentActivityId(null).startTime(LocalDateTime.ofInstant(historicInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(historicInstance.getEndTime() != null ? LocalDateTime.ofInstant(historicInstance.getEndTime().toInstant(), ZoneId.systemDefault()) : null).businessKey(historicInstance.getBusinessKey()).duration(historicInstance.getDurationInMillis()).startedBy(historicInstance.getStartUserId()).variables(new HashMap<>()).assignee(null).suspended(false).ended(true).build();
+        }
+
+        CachedProcessDefinition processDefinition = processDefinitionCache.get(flowableInstance.getProcessDefinitionId());
+
+        String currentActivityId = null;
+        List<org.flowable.engine.runtime.Execution> executions = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).list();
+
+        for (org.flowable.engine.runtime.Execution execution : executions) {
+            if (execution.getActivityId() != null) {
+                currentActivityId = execution.getActivityId();
+                break;
             }
+        }
+        String currentActivityName = processDefinition != null ? processDefinition.getActivityName(currentActivityId) : null;
 
-            Map<String, Object> variables = runtimeService.getVariables(processInstanceId);
+        String assignee = null;
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+        if (!tasks.isEmpty()) {
+            assignee = tasks.get(0).getAssignee();
+        }
 
-            return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("ACTIVE").currentActivityName(currentActivityName).currentActivityId(currentActivityId).startTime(LocalDateTime.ofInstant(flowableInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(null).businessKey(flowableInstance.getBusinessKey()).duration(System.currentTimeMillis() - flowableInstance.getStartTime().getTime()).startedBy(flowableInstance.getStartUserId()).variables(variables).assignee(assignee).suspended(flowableInstance.isSuspended()).ended(flowableInstance.isEnded()).build();
-        });
+        Map<String, Object> variables = runtimeVariables(processInstanceId, variableNames);
+
+        return ProcessStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("ACTIVE").currentActivityName(currentActivityName).currentActivityId(currentActivityId).startTime(LocalDateTime.ofInstant(flowableInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(null).businessKey(flowableInstance.getBusinessKey()).duration(System.currentTimeMillis() - flowableInstance.getStartTime().getTime()).startedBy(flowableInstance.getStartUserId()).variables(variables).assignee(assignee).suspended(flowableInstance.isSuspended()).ended(flowableInstance.isEnded()).build();
     }
 
     @Override
@@ -343,30 +522,16 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
             }
 
             if (historicInstance.getEndTime() == null) {
-                org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(historicInstance.getProcessDefinitionId()).singleResult();
+                CachedProcessDefinition processDefinition = processDefinitionCache.get(historicInstance.getProcessDefinitionId());
 
-                Map<String, Object> variables = new HashMap<>();
-                List<HistoricVariableInstance> variableInstances = historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list();
-
-                for (HistoricVariableInstance variable : variableInstances) {
-                    if (variable != null && variable.getVariableName() != null) {
-                        variables.put(variable.getVariableName(), variable.getValue());
-                    }
-                }
+                Map<String, Object> variables = variableLoader.loadHistoric(List.of(processInstanceId), null).get(processInstanceId);
 
                 return ProcessCompletionStatus.builder().processInstanceId(processInstanceId).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).outcome("IN_PROGRESS").completionReason(null).startTime(LocalDateTime.ofInstant(historicInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(null).businessKey(historicInstance.getBusinessKey()).duration(System.currentTimeMillis() - historicInstance.getStartTime().getTime()).startedBy(historicInstance.getStartUserId()).variables(variables).completedBy(null).errorMessage(null).stackTrace(null).successful(null).build();
             }
 
-            org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(historicInstance.getProcessDefinitionId()).singleResult();
+            CachedProcessDefinition processDefinition = processDefinitionCache.get(historicInstance.getProcessDefinitionId());
 
-            Map<String, Object> variables = new HashMap<>();
-            List<HistoricVariableInstance> variableInstances = historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list();
-
-            for (HistoricVariableInstance variable : variableInstances) {
-                if (variable != null && variable.getVariableName() != null) {
-                    variables.put(variable.getVariableName(), variable.getValue());
-                }
-            }
+            Map<String, Object> variables = variableLoader.loadHistoric(List.of(processInstanceId), null).get(processInstanceId);
 
             String completionReason = historicInstance.getDeleteReason();
             String outcome = completionReason != null ? "TERMINATED" : "SUCCESS";
@@ -379,89 +544,261 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
     @Override
     public List<ActiveProcess> getActiveProcesses() {
         return WorkflowErrorHandler.executeWithExceptionHandling("getting active processes", "all", () -> {
-            List<org.flowable.engine.runtime.ProcessInstance> flowableInstances = runtimeService.createProcessInstanceQuery().active().list();
+            List<ActiveProcess> activeProcesses = new ArrayList<>();
+            int firstResult = 0;
+            List<org.flowable.engine.runtime.ProcessInstance> page;
+            do {
+                page = runtimeService.createProcessInstanceQuery().active().orderByProcessInstanceId().asc().listPage(firstResult, ENRICHMENT_BATCH_SIZE);
+                activeProcesses.addAll(enrichActiveProcesses(page, null));
+                firstResult += page.size();
+            } while (page.size() == ENRICHMENT_BATCH_SIZE);
+            return activeProcesses;
+        });
+    }
 
-            return flowableInstances.stream().map(flowableInstance -> {
-                org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(flowableInstance.getProcessDefinitionId()).singleResult();
-
-                String currentActivityId = null;
-                String currentActivityName = null;
-                List<org.flowable.engine.runtime.Execution> executions = runtimeService.createExecutionQuery().processInstanceId(flowableInstance.getId()).list();
-
-                if (!executions.isEmpty()) {
-                    for (org.flowable.engine.runtime.Execution execution : executions) {
-                        if (execution.getActivityId() != null) {
-                            currentActivityId = execution.getActivityId();
-                            try {
-                                org.flowable.bpmn.model.BpmnModel bpmnModel = repositoryService.getBpmnModel(flowableInstance.getProcessDefinitionId());
-                                org.flowable.bpmn.model.FlowElement flowElement = bpmnModel.getFlowElement(currentActivityId);
-                                if (flowElement != null) {
-                                    currentActivityName = flowElement.getName();
-                                }
-                            } catch (Exception e) {
-                                logger.debug("Could not get activity name for activity ID: {}", currentActivityId);
-                            }
-                            break;
-                        }
-                    }
-                }
+    /**
+     * Enriches a page of active process instances using one set-based query per entity type
+     * (executions, tasks, variables) instead of one query per instance; definition metadata
+     * and activity names come from the {@link ProcessDefinitionCache}.
+     */
+    private List<ActiveProcess> enrichActiveProcesses(List<org.flowable.engine.runtime.ProcessInstance> instances, List<String> variableNames) {
+        if (instances.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> processInstanceIds = instances.stream().map(org.flowable.engine.runtime.ProcessInstance::getId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> processDefinitionIds = instances.stream().map(org.flowable.engine.runtime.ProcessInstance::getProcessDefinitionId).collect(Collectors.toSet());
+
+        Map<String, CachedProcessDefinition> definitionsById = processDefinitionCache.getAll(processDefinitionIds);
+
+        Map<String, String> activityIdsByInstance = new HashMap<>();
+        for (org.flowable.engine.runtime.Execution execution : findActiveExecutions(processInstanceIds)) {
+            if (execution.getActivityId() != null) {
+                activityIdsByInstance.putIfAbsent(execution.getProcessInstanceId(), execution.getActivityId());
+            }
+        }
 
-                String assignee = null;
-                List<Task> tasks = taskService.createTaskQuery().processInstanceId(flowableInstance.getId()).list();
-                if (!tasks.isEmpty()) {
-                    assignee = tasks.get(0).getAssignee();
-                }
+        Map<String, Task> firstTaskByInstance = new HashMap<>();
+        for (Task task : taskService.createTaskQuery().processInstanceIdIn(processInstanceIds).list()) {
+            firstTaskByInstance.putIfAbsent(task.getProcessInstanceId(), task);
+        }
 
-                Map<String, Object> variables = runtimeService.getVariables(flowableInstance.getId());
+        Map<String, Map<String, Object>> variablesByInstance = variableLoader.loadRuntime(processInstanceIds, variableNames);
 
-                return ActiveProcess.builder().processInstanceId(flowableInstance.getId()).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("ACTIVE").currentActivityName(currentActivityName).currentActivityId(currentActivityId).startTime(LocalDateTime.ofInstant(flowableInstance.getStartTime().toInstant(), ZoneId.systemDefault())).businessKey(flowableInstance.getBusinessKey()).duration(System.currentTimeMillis() - flowableInstance.getStartTime().getTime()).startedBy(flowableInstance.getStartUserId()).variables(variables).assignee(assignee).build();
-            }).collect(Collectors.toList());
-        });
+        return instances.stream().map(flowableInstance -> {
+            CachedProcessDefinition processDefinition = definitionsById.get(flowableInstance.getProcessDefinitionId());
+
+            String currentActivityId = activityIdsByInstance.get(flowableInstance.getId());
+            String currentActivityName = processDefinition != null ? processDefinition.getActivityName(currentActivityId) : null;
+
+            Task task = firstTaskByInstance.get(flowableInstance.getId());
+            String assignee = task != null ? task.getAssignee() : null;
+
+            Map<String, Object> variables = variablesByInstance.getOrDefault(flowableInstance.getId(), new HashMap<>());
+
+            return ActiveProcess.builder().processInstanceId(flowableInstance.getId()).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).status("ACTIVE").currentActivityName(currentActivityName).currentActivityId(currentActivityId).startTime(LocalDateTime.ofInstant(flowableInstance.getStartTime().toInstant(), ZoneId.systemDefault())).businessKey(flowableInstance.getBusinessKey()).duration(System.currentTimeMillis() - flowableInstance.getStartTime().getTime()).startedBy(flowableInstance.getStartUserId()).variables(variables).assignee(assignee).build();
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the executions of all given process instances in a single native query,
+     * since the execution query API has no process-instance IN filter.
+     */
+    private List<org.flowable.engine.runtime.Execution> findActiveExecutions(Collection<String> processInstanceIds) {
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(managementService.getTableName(ExecutionEntity.class)).append(" RES WHERE RES.ACT_ID_ IS NOT NULL AND RES.PROC_INST_ID_ IN (");
+        Map<String, Object> parameters = new HashMap<>();
+        int index = 0;
+        for (String processInstanceId : processInstanceIds) {
+            String parameterName = "processInstanceId" + index;
+            sql.append(index > 0 ? ", " : "").append("#{").append(parameterName).append("}");
+            parameters.put(parameterName, processInstanceId);
+            index++;
+        }
+        sql.append(") ORDER BY RES.ID_");
+
+        NativeExecutionQuery query = runtimeService.createNativeExecutionQuery().sql(sql.toString());
+        parameters.forEach(query::parameter);
+        return query.list();
     }
 
     @Override
     public List<ProcessDefinitionInfo> getProcessDefinitionsInfo() {
         return WorkflowErrorHandler.executeWithExceptionHandling("getting process definitions info", "all", () -> {
             List<org.flowable.engine.repository.ProcessDefinition> flowableDefinitions = repositoryService.createProcessDefinitionQuery().active().orderByProcessDefinitionKey().asc().list();
+            if (flowableDefinitions.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            List<String> deploymentIds = flowableDefinitions.stream().map(org.flowable.engine.repository.ProcessDefinition::getDeploymentId).distinct().collect(Collectors.toList());
+            Map<String, Deployment> deploymentsById = repositoryService.createDeploymentQuery().deploymentIds(deploymentIds).list().stream().collect(Collectors.toMap(Deployment::getId, deployment -> deployment, (first, second) -> first));
+
+            Map<String, Long> activeInstancesByDefinition = countProcessInstances(ProcessDefinitionCountMapper::countActiveProcessInstances);
+            Map<String, Long> totalInstancesByDefinition = countProcessInstances(ProcessDefinitionCountMapper::countHistoricProcessInstances);
 
             return flowableDefinitions.stream().map(flowableDefinition -> {
-                org.flowable.engine.repository.Deployment deployment = repositoryService.createDeploymentQuery().deploymentId(flowableDefinition.getDeploymentId()).singleResult();
+                Deployment deployment = deploymentsById.get(flowableDefinition.getDeploymentId());
 
-                long activeInstances = runtimeService.createProcessInstanceQuery().processDefinitionId(flowableDefinition.getId()).active().count();
+                long activeInstances = activeInstancesByDefinition.getOrDefault(flowableDefinition.getId(), 0L);
 
-                long totalInstances = historyService.createHistoricProcessInstanceQuery().processDefinitionId(flowableDefinition.getId()).count();
+                long totalInstances = totalInstancesByDefinition.getOrDefault(flowableDefinition.getId(), 0L);
 
                 return ProcessDefinitionInfo.builder().processDefinitionId(flowableDefinition.getId()).processDefinitionKey(flowableDefinition.getKey()).processDefinitionName(flowableDefinition.getName()).version(flowableDefinition.getVersion()).deploymentId(flowableDefinition.getDeploymentId()).deploymentName(deployment != null ? deployment.getName() : null).deploymentTime(deployment != null ? LocalDateTime.ofInstant(deployment.getDeploymentTime().toInstant(), ZoneId.systemDefault()) : null).resourceName(flowableDefinition.getResourceName()).diagramResourceName(flowableDefinition.getDiagramResourceName()).description(flowableDefinition.getDescription()).suspended(flowableDefinition.isSuspended()).category(flowableDefinition.getCategory()).properties(new HashMap<>()).engineType("FLOWABLE").activeInstances((int) activeInstances).totalInstances((int) totalInstances).build();
             }).collect(Collectors.toList());
         });
     }
 
+    /**
+     * Runs one grouped count query of {@link ProcessDefinitionCountMapper} and indexes it by definition id.
+     */
+    private Map<String, Long> countProcessInstances(Function<ProcessDefinitionCountMapper, List<ProcessDefinitionCountRow>> countQuery) {
+        List<ProcessDefinitionCountRow> rows = managementService.executeCustomSql(new AbstractCustomSqlExecution<ProcessDefinitionCountMapper, List<ProcessDefinitionCountRow>>(ProcessDefinitionCountMapper.class) {
+            @Override
+            public List<ProcessDefinitionCountRow> execute(ProcessDefinitionCountMapper mapper) {
+                return countQuery.apply(mapper);
+            }
+        });
+        Map<String, Long> countsByDefinition = new HashMap<>();
+        if (rows != null) {
+            for (ProcessDefinitionCountRow row : rows) {
+                countsByDefinition.put(row.getProcessDefinitionId(), row.getInstanceCount());
+            }
+        }
+        return countsByDefinition;
+    }
+
     @Override
     public List<ProcessHistoryInfo> getProcessHistoryInfo() {
         return WorkflowErrorHandler.executeWithExceptionHandling("getting process history info", "all", () -> {
             List<org.flowable.engine.history.HistoricProcessInstance> historicInstances = historyService.createHistoricProcessInstanceQuery().finished().orderByProcessInstanceEndTime().desc().list();
 
-            return historicInstances.stream().map(historicInstance -> {
-                org.flowable.engine.repository.ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionId(historicInstance.getProcessDefinitionId()).singleResult();
+            return toProcessHistoryInfos(historicInstances, null);
+        });
+    }
 
-                Map<String, Object> variables = new HashMap<>();
-                List<HistoricVariableInstance> variableInstances = historyService.createHistoricVariableInstanceQuery().processInstanceId(historicInstance.getId()).list();
+    /**
+     * Maps historic instances to history infos, loading the variables of all instances in bulk.
+     *
+     * @param variableNames variables to include, or null for all
+     */
+    private List<ProcessHistoryInfo> toProcessHistoryInfos(List<org.flowable.engine.history.HistoricProcessInstance> historicInstances, Collection<String> variableNames) {
+        Map<String, Map<String, Object>> variablesByInstance = variableLoader.loadHistoric(historicInstances.stream().map(org.flowable.engine.history.HistoricProcessInstance::getId).collect(Collectors.toList()), variableNames);
+        return historicInstances.stream().map(historicInstance -> toProcessHistoryInfo(historicInstance, variablesByInstance.get(historicInstance.getId()))).collect(Collectors.toList());
+    }
 
-                for (HistoricVariableInstance variable : variableInstances) {
-                    if (variable != null && variable.getVariableName() != null) {
-                        variables.put(variable.getVariableName(), variable.getValue());
-                    }
-                }
+    private ProcessHistoryInfo toProcessHistoryInfo(org.flowable.engine.history.HistoricProcessInstance historicInstance, Map<String, Object> variables) {
+        CachedProcessDefinition processDefinition = processDefinitionCache.get(historicInstance.getProcessDefinitionId());
 
-                String completionReason = historicInstance.getDeleteReason();
-                String status = completionReason != null ? "TERMINATED" : "COMPLETED";
-                Boolean successful = completionReason == null;
+        String completionReason = historicInstance.getDeleteReason();
+        String status = completionReason != null ? "TERMINATED" : "COMPLETED";
+        Boolean successful = completionReason == null;
 
-                return ProcessHistoryInfo.builder().historicProcessInstanceId(historicInstance.getId()).processInstanceId(historicInstance.getId()).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).processDefinitionVersion(processDefinition != null ? processDefinition.getVersion() : null).startTime(LocalDateTime.ofInstant(historicInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(LocalDateTime.ofInstant(historicInstance.getEndTime().toInstant(), ZoneId.systemDefault())).duration(historicInstance.getDurationInMillis()).startedBy(historicInstance.getStartUserId()).completedBy(null).status(status).completionReason(completionReason).businessKey(historicInstance.getBusinessKey()).variables(variables).deploymentId(historicInstance.getDeploymentId()).successful(successful).errorMessage(null).stackTrace(null).category(processDefinition != null ? processDefinition.getCategory() : null).description(processDefinition != null ? processDefinition.getDescription() : null).build();
-            }).collect(Collectors.toList());
+        return ProcessHistoryInfo.builder().historicProcessInstanceId(historicInstance.getId()).processInstanceId(historicInstance.getId()).processDefinitionKey(processDefinition != null ? processDefinition.getKey() : null).processDefinitionName(processDefinition != null ? processDefinition.getName() : null).processDefinitionVersion(processDefinition != null ? processDefinition.getVersion() : null).startTime(LocalDateTime.ofInstant(historicInstance.getStartTime().toInstant(), ZoneId.systemDefault())).endTime(LocalDateTime.ofInstant(historicInstance.getEndTime().toInstant(), ZoneId.systemDefault())).duration(historicInstance.getDurationInMillis()).startedBy(historicInstance.getStartUserId()).completedBy(null).status(status).completionReason(completionReason).businessKey(historicInstance.getBusinessKey()).variables(variables).deploymentId(historicInstance.getDeploymentId()).successful(successful).errorMessage(null).stackTrace(null).category(processDefinition != null ? processDefinition.getCategory() : null).description(processDefinition != null ? processDefinition.getDescription() : null).build();
+    }
+
+    @Override
+    public CursorPage<ActiveProcess> getActiveProcesses(PageQuery pageQuery) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting active processes page", "page", () -> {
+            List<org.flowable.engine.runtime.ProcessInstance> rows = activeProcessInstanceQuery(pageQuery).fetch(runtimeService.createNativeProcessInstanceQuery(), pageQuery.getSize());
+
+            return toCursorPage(rows, pageQuery.getSize(), org.flowable.engine.runtime.ProcessInstance::getStartTime, org.flowable.engine.runtime.ProcessInstance::getId, page -> enrichActiveProcesses(page, pageQuery.getVariables()));
+        });
+    }
+
+    @Override
+    public CursorPage<ProcessInstance> getProcessInstances(PageQuery pageQuery) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("retrieving process instances page", "page", () -> {
+            List<org.flowable.engine.runtime.ProcessInstance> rows = activeProcessInstanceQuery(pageQuery).fetch(runtimeService.createNativeProcessInstanceQuery(), pageQuery.getSize());
+
+            return toCursorPage(rows, pageQuery.getSize(), org.flowable.engine.runtime.ProcessInstance::getStartTime, org.flowable.engine.runtime.ProcessInstance::getId, page -> page.stream().map(flowableMapper::mapToProcessInstance).collect(Collectors.toList()));
+        });
+    }
+
+    @Override
+    public CursorPage<ProcessHistoryInfo> getProcessHistoryInfo(PageQuery pageQuery) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting process history info page", "page", () -> {
+            NativeKeysetQuery query = new NativeKeysetQuery(tableName(HistoricProcessInstanceEntity.class), "END_TIME_")
+                    .where("RES.END_TIME_ IS NOT NULL")
+                    .where("RES.PROC_DEF_ID_ IN (SELECT D.ID_ FROM " + tableName(ProcessDefinitionEntity.class) + " D WHERE D.KEY_ = #{processDefinitionKey})", "processDefinitionKey", pageQuery.getProcessDefinitionKey())
+                    .where("RES.BUSINESS_KEY_ = #{businessKey}", "businessKey", pageQuery.getBusinessKey())
+                    .where("EXISTS (SELECT 1 FROM " + tableName(HistoricTaskInstanceEntity.class) + " T WHERE T.PROC_INST_ID_ = RES.PROC_INST_ID_ AND T.ASSIGNEE_ = #{assignee})", "assignee", pageQuery.getAssignee())
+                    .where("RES.END_TIME_ >= #{from}", "from", toDate(pageQuery.getFrom()))
+                    .where("RES.END_TIME_ < #{to}", "to", toDate(pageQuery.getTo()))
+                    .after(PageCursor.decode(pageQuery.getCursor()));
+            List<org.flowable.engine.history.HistoricProcessInstance> rows = query.fetch(historyService.createNativeHistoricProcessInstanceQuery(), pageQuery.getSize());
+
+            return toCursorPage(rows, pageQuery.getSize(), org.flowable.engine.history.HistoricProcessInstance::getEndTime, org.flowable.engine.history.HistoricProcessInstance::getId, page -> toProcessHistoryInfos(page, pageQuery.getVariables()));
         });
     }
 
+    @Override
+    public CursorPage<TaskInfo> getPendingTasks(PageQuery pageQuery) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("retrieving pending tasks page", String.valueOf(pageQuery.getAssignee()), () -> {
+            NativeKeysetQuery query = new NativeKeysetQuery(tableName(TaskEntity.class), "CREATE_TIME_")
+                    .where("RES.ASSIGNEE_ = #{assignee}", "assignee", pageQuery.getAssignee())
+                    .where("RES.PROC_DEF_ID_ IN (SELECT D.ID_ FROM " + tableName(ProcessDefinitionEntity.class) + " D WHERE D.KEY_ = #{processDefinitionKey})", "processDefinitionKey", pageQuery.getProcessDefinitionKey())
+                    .where("RES.PROC_INST_ID_ IN (SELECT E.ID_ FROM " + tableName(ExecutionEntity.class) + " E WHERE E.BUSINESS_KEY_ = #{businessKey})", "businessKey", pageQuery.getBusinessKey())
+                    .where("RES.CREATE_TIME_ >= #{from}", "from", toDate(pageQuery.getFrom()))
+                    .where("RES.CREATE_TIME_ < #{to}", "to", toDate(pageQuery.getTo()))
+                    .after(PageCursor.decode(pageQuery.getCursor()));
+            List<Task> rows = query.fetch(taskService.createNativeTaskQuery(), pageQuery.getSize());
+
+            return toCursorPage(rows, pageQuery.getSize(), Task::getCreateTime, Task::getId, page -> page.stream().map(flowableMapper::mapToTaskInfo).collect(Collectors.toList()));
+        });
+    }
+
+    @Override
+    public CursorPage<DeploymentInfo> getDeployments(PageQuery pageQuery) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("retrieving deployments page", "page", () -> {
+            NativeKeysetQuery query = new NativeKeysetQuery(tableName(DeploymentEntity.class), "DEPLOY_TIME_")
+                    .where("RES.ID_ IN (SELECT D.DEPLOYMENT_ID_ FROM " + tableName(ProcessDefinitionEntity.class) + " D WHERE D.KEY_ = #{processDefinitionKey})", "processDefinitionKey", pageQuery.getProcessDefinitionKey())
+                    .where("RES.DEPLOY_TIME_ >= #{from}", "from", toDate(pageQuery.getFrom()))
+                    .where("RES.DEPLOY_TIME_ < #{to}", "to", toDate(pageQuery.getTo()))
+                    .after(PageCursor.decode(pageQuery.getCursor()));
+            List<Deployment> rows = query.fetch(repositoryService.createNativeDeploymentQuery(), pageQuery.getSize());
+
+            return toCursorPage(rows, pageQuery.getSize(), Deployment::getDeploymentTime, Deployment::getId, page -> page.stream().map(flowableMapper::mapToDeploymentInfo).collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * Active process instances are the root executions that are not suspended.
+     */
+    private NativeKeysetQuery activeProcessInstanceQuery(PageQuery pageQuery) {
+        return new NativeKeysetQuery(tableName(ExecutionEntity.class), "START_TIME_")
+                .where("RES.PARENT_ID_ IS NULL")
+                .where("RES.SUSPENSION_STATE_ = 1")
+                .where("RES.PROC_DEF_ID_ IN (SELECT D.ID_ FROM " + tableName(ProcessDefinitionEntity.class) + " D WHERE D.KEY_ = #{processDefinitionKey})", "processDefinitionKey", pageQuery.getProcessDefinitionKey())
+                .where("RES.BUSINESS_KEY_ = #{businessKey}", "businessKey", pageQuery.getBusinessKey())
+                .where("EXISTS (SELECT 1 FROM " + tableName(TaskEntity.class) + " T WHERE T.PROC_INST_ID_ = RES.ID_ AND T.ASSIGNEE_ = #{assignee})", "assignee", pageQuery.getAssignee())
+                .where("RES.START_TIME_ >= #{from}", "from", toDate(pageQuery.getFrom()))
+                .where("RES.START_TIME_ < #{to}", "to", toDate(pageQuery.getTo()))
+                .after(PageCursor.decode(pageQuery.getCursor()));
+    }
+
+    /**
+     * Trims the look-ahead row fetched by {@link NativeKeysetQuery#fetch} and derives the next cursor from the last row kept.
+     */
+    private <S, T> CursorPage<T> toCursorPage(List<S> rows, int pageSize, Function<S, Date> timestamp, Function<S, String> id, Function<List<S>, List<T>> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<S> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            S last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new PageCursor(timestamp.apply(last).toInstant(), id.apply(last)).encode();
+        }
+
+        return CursorPage.<T>builder().items(mapper.apply(pageRows)).nextCursor(nextCursor).hasMore(hasMore).size(pageSize).build();
+    }
+
+    private String tableName(Class<?> entityClass) {
+        return managementService.getTableName(entityClass);
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime != null ? Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
     @Override
     public DeploymentInfoEnhanced getDeploymentInfo(String deploymentId) {
         return WorkflowErrorHandler.executeWithExceptionHandling("getting deployment info", deploymentId, () -> {
@@ -477,21 +814,7 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
 
     @Override
     public List<DeploymentResource> getDeploymentResources(String deploymentId) {
-        return WorkflowErrorHandler.executeWithExceptionHandling("getting deployment resources", deploymentId, () -> {
-            List<String> resourceNames = repositoryService.getDeploymentResourceNames(deploymentId);
-
-            return resourceNames.stream().map(resourceName -> {
-                InputStream resourceStream = repositoryService.getResourceAsStream(deploymentId, resourceName);
-                byte[] resourceBytes = new byte[0];
-                try {
-                    resourceBytes = resourceStream.readAllBytes();
-                } catch (Exception e) {
-                    logger.warn("Could not read resource: {}", resourceName, e);
-                }
-
-                return DeploymentResource.builder().deploymentId(deploymentId).name(resourceName).resourceType("application/octet-stream").resourceSize((long) resourceBytes.length).checksum(String.valueOf(Arrays.hashCode(resourceBytes))).properties(new HashMap<>()).metadata(new HashMap<>()).build();
-            }).collect(Collectors.toList());
-        });
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting deployment resources", deploymentId, () -> deploymentResourceCache.get(deploymentId).values().stream().map(metadata -> toDeploymentResource(deploymentId, metadata)).collect(Collectors.toList()));
     }
 
     @Override
@@ -510,4 +833,22 @@ public class FlowableWorkflowEngine implements WorkflowEngine {
             }
         });
     }
+
+    @Override
+    public DeploymentResourceContent openDeploymentResource(String deploymentId, String resourceName) {
+        return WorkflowErrorHandler.executeWithExceptionHandling("opening deployment resource", deploymentId + "/" + resourceName, () -> {
+            DeploymentResourceCache.ResourceMetadata metadata = deploymentResourceCache.get(deploymentId).get(resourceName);
+            InputStream resourceStream = metadata != null ? repositoryService.getResourceAsStream(deploymentId, resourceName) : null;
+
+            if (resourceStream == null) {
+                throw new IllegalArgumentException("Resource not found: " + resourceName + " in deployment: " + deploymentId);
+            }
+
+            return DeploymentResourceContent.builder().resource(toDeploymentResource(deploymentId, metadata)).content(resourceStream).build();
+        });
+    }
+
+    private DeploymentResource toDeploymentResource(String deploymentId, DeploymentResourceCache.ResourceMetadata metadata) {
+        return DeploymentResource.builder().deploymentId(deploymentId).name(metadata.getName()).resourceType(metadata.getContentType()).resourceSize(metadata.getSize()).checksum(metadata.getSha256()).properties(new HashMap<>()).metadata(new HashMap<>()).build();
+    }
 }
\ No newline at end of file
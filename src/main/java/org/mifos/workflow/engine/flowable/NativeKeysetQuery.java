@@ -0,0 +1,70 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.query.NativeQuery;
+import org.mifos.workflow.core.model.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds keyset-paginated native SQL over a single Flowable table aliased as {@code RES}.
+ * Rows are ordered by a timestamp column and then by id, both descending, so a page
+ * continues strictly after the cursor row without an OFFSET scan.
+ */
+class NativeKeysetQuery {
+
+    private final String tableName;
+    private final String timeColumn;
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    NativeKeysetQuery(String tableName, String timeColumn) {
+        this.tableName = tableName;
+        this.timeColumn = timeColumn;
+    }
+
+    NativeKeysetQuery where(String condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * Adds a condition bound to {@code #{parameterName}}; skipped when the value is null.
+     */
+    NativeKeysetQuery where(String condition, String parameterName, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(parameterName, value);
+        }
+        return this;
+    }
+
+    NativeKeysetQuery after(PageCursor cursor) {
+        if (cursor != null) {
+            conditions.add("(RES." + timeColumn + " < #{cursorTime} OR (RES." + timeColumn + " = #{cursorTime} AND RES.ID_ < #{cursorId}))");
+            parameters.put("cursorTime", Date.from(cursor.getTimestamp()));
+            parameters.put("cursorId", cursor.getId());
+        }
+        return this;
+    }
+
+    String sql() {
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(tableName).append(" RES");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY RES.").append(timeColumn).append(" DESC, RES.ID_ DESC").toString();
+    }
+
+    /**
+     * Fetches one row more than the page size so the caller can tell whether another page exists.
+     */
+    <U> List<U> fetch(NativeQuery<?, U> query, int pageSize) {
+        query.sql(sql());
+        parameters.forEach(query::parameter);
+        return query.listPage(0, pageSize + 1);
+    }
+}
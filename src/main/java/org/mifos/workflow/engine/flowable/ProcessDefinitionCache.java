@@ -0,0 +1,121 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.RepositoryService;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded, least-recently-used cache of process definition metadata keyed by definition id.
+ * A deployed definition never changes, so entries are only dropped when the cache is full or
+ * when deployments change; the BPMN model is parsed once per definition when it is loaded.
+ */
+@Component
+public class ProcessDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessDefinitionCache.class);
+    private final RepositoryService repositoryService;
+    private final Map<String, CachedProcessDefinition> definitions;
+
+    @Autowired
+    public ProcessDefinitionCache(WorkflowConfig properties, ProcessEngine processEngine) {
+        this(processEngine.getRepositoryService(), properties.getEngine().getFlowable().getDefinitionCacheSize());
+    }
+
+    ProcessDefinitionCache(RepositoryService repositoryService, int maxSize) {
+        this.repositoryService = repositoryService;
+        this.definitions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProcessDefinition> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached definition, loading it on a miss; null if no such definition exists.
+     */
+    public CachedProcessDefinition get(String processDefinitionId) {
+        if (processDefinitionId == null) {
+            return null;
+        }
+        return getAll(Collections.singleton(processDefinitionId)).get(processDefinitionId);
+    }
+
+    /**
+     * Returns the cached definitions for the given ids, loading all misses with a single query.
+     * Ids that do not resolve to a definition are absent from the result.
+     */
+    public Map<String, CachedProcessDefinition> getAll(Collection<String> processDefinitionIds) {
+        Map<String, CachedProcessDefinition> result = new HashMap<>();
+        Set<String> missingIds = new HashSet<>();
+        synchronized (definitions) {
+            for (String processDefinitionId : processDefinitionIds) {
+                CachedProcessDefinition cached = definitions.get(processDefinitionId);
+                if (cached != null) {
+                    result.put(processDefinitionId, cached);
+                } else if (processDefinitionId != null) {
+                    missingIds.add(processDefinitionId);
+                }
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().processDefinitionIds(missingIds).list()) {
+                CachedProcessDefinition loaded = load(processDefinition);
+                result.put(loaded.getId(), loaded);
+                synchronized (definitions) {
+                    definitions.put(loaded.getId(), loaded);
+                }
+            }
+        }
+        return result;
+    }
+
+    public void evictDeployment(String deploymentId) {
+        synchronized (definitions) {
+            definitions.values().removeIf(definition -> deploymentId.equals(definition.getDeploymentId()));
+        }
+    }
+
+    public void clear() {
+        synchronized (definitions) {
+            definitions.clear();
+        }
+    }
+
+    private CachedProcessDefinition load(ProcessDefinition processDefinition) {
+        return CachedProcessDefinition.builder().id(processDefinition.getId()).key(processDefinition.getKey()).name(processDefinition.getName()).version(processDefinition.getVersion()).category(processDefinition.getCategory()).description(processDefinition.getDescription()).deploymentId(processDefinition.getDeploymentId()).activityNames(loadActivityNames(processDefinition.getId())).build();
+    }
+
+    private Map<String, String> loadActivityNames(String processDefinitionId) {
+        Map<String, String> activityNames = new HashMap<>();
+        try {
+            BpmnModel bpmnModel = repositoryService.getBpmnModel(processDefinitionId);
+            for (org.flowable.bpmn.model.Process process : bpmnModel.getProcesses()) {
+                for (FlowElement flowElement : process.findFlowElementsOfType(FlowElement.class, true)) {
+                    if (flowElement.getName() != null) {
+                        activityNames.put(flowElement.getId(), flowElement.getName());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not resolve activity names for process definition: {}", processDefinitionId);
+        }
+        return Collections.unmodifiableMap(activityNames);
+    }
+}
@@ -0,0 +1,20 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * Custom MyBatis mapper registered with the Flowable engine (see FlowableConfig) that
+ * counts process instances for every definition version in one grouped query.
+ * Definitions without instances have no row.
+ */
+public interface ProcessDefinitionCountMapper {
+
+    @Select("SELECT RES.PROC_DEF_ID_ AS processDefinitionId, COUNT(*) AS instanceCount FROM ${prefix}ACT_RU_EXECUTION RES "
+            + "WHERE RES.PARENT_ID_ IS NULL AND RES.SUSPENSION_STATE_ = 1 GROUP BY RES.PROC_DEF_ID_")
+    List<ProcessDefinitionCountRow> countActiveProcessInstances();
+
+    @Select("SELECT RES.PROC_DEF_ID_ AS processDefinitionId, COUNT(*) AS instanceCount FROM ${prefix}ACT_HI_PROCINST RES GROUP BY RES.PROC_DEF_ID_")
+    List<ProcessDefinitionCountRow> countHistoricProcessInstances();
+}
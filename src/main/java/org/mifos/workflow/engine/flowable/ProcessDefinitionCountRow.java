@@ -0,0 +1,14 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.Data;
+
+/**
+ * Number of process instances of one process definition, as returned by
+ * {@link ProcessDefinitionCountMapper}.
+ */
+@Data
+public class ProcessDefinitionCountRow {
+
+    private String processDefinitionId;
+    private Long instanceCount;
+}
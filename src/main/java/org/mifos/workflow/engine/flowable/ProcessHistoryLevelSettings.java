@@ -0,0 +1,59 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.DefaultHistoryConfigurationSettings;
+import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.repository.ProcessDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * History settings that let each process definition use its own history level instead of the
+ * engine-wide one. The level of a definition comes from, in order: the configured level for its
+ * key ({@code workflow.engine.flowable.process-history-levels.<key>}), a
+ * {@code <flowable:historyLevel>} extension element on the BPMN process, and the engine default.
+ * <p>
+ * {@code audit} keeps process, activity, task and last-value variable history but writes no
+ * per-update rows to ACT_HI_DETAIL, which {@code full} writes for every variable change.
+ * Levels are resolved once per definition id, since deployed definitions never change.
+ */
+public class ProcessHistoryLevelSettings extends DefaultHistoryConfigurationSettings {
+
+    private final Map<String, HistoryLevel> levelsByKey;
+    private final Map<String, HistoryLevel> levelsByDefinitionId = new ConcurrentHashMap<>();
+
+    public ProcessHistoryLevelSettings(ProcessEngineConfigurationImpl processEngineConfiguration, Map<String, String> levelsByKey) {
+        super(processEngineConfiguration);
+        this.levelsByKey = parse(levelsByKey);
+    }
+
+    @Override
+    protected boolean isEnableProcessDefinitionHistoryLevel() {
+        return true;
+    }
+
+    @Override
+    protected HistoryLevel getProcessDefinitionHistoryLevel(String processDefinitionId) {
+        if (processDefinitionId == null) {
+            return processEngineConfiguration.getHistoryLevel();
+        }
+        return levelsByDefinitionId.computeIfAbsent(processDefinitionId, this::resolve);
+    }
+
+    private HistoryLevel resolve(String processDefinitionId) {
+        ProcessDefinition processDefinition = ProcessDefinitionUtil.getProcessDefinition(processDefinitionId);
+        HistoryLevel configured = processDefinition != null ? levelsByKey.get(processDefinition.getKey()) : null;
+        return configured != null ? configured : super.getProcessDefinitionHistoryLevel(processDefinitionId);
+    }
+
+    private static Map<String, HistoryLevel> parse(Map<String, String> levelsByKey) {
+        Map<String, HistoryLevel> levels = new HashMap<>();
+        if (levelsByKey != null) {
+            levelsByKey.forEach((key, level) -> levels.put(key, HistoryLevel.getHistoryLevelForKey(level.trim().toLowerCase())));
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,28 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+
+/**
+ * Custom MyBatis mapper registered with the Flowable engine (see FlowableConfig) and
+ * executed through {@code ManagementService.executeCustomSql}.
+ * Rows are ordered like the execution and task queries it replaces, so the first row
+ * carries the same current activity and assignee.
+ */
+public interface ProcessStatusMapper {
+
+    @Select("SELECT HPI.PROC_INST_ID_ AS processInstanceId, HPI.PROC_DEF_ID_ AS processDefinitionId, PD.KEY_ AS processDefinitionKey, PD.NAME_ AS processDefinitionName, "
+            + "HPI.BUSINESS_KEY_ AS businessKey, HPI.START_TIME_ AS startTime, HPI.END_TIME_ AS endTime, HPI.DURATION_ AS duration, HPI.START_USER_ID_ AS startedBy, "
+            + "PI.ID_ AS runtimeInstanceId, PI.SUSPENSION_STATE_ AS suspensionState, E.ACT_ID_ AS currentActivityId, T.ASSIGNEE_ AS assignee "
+            + "FROM ${prefix}ACT_HI_PROCINST HPI "
+            + "LEFT JOIN ${prefix}ACT_RE_PROCDEF PD ON PD.ID_ = HPI.PROC_DEF_ID_ "
+            + "LEFT JOIN ${prefix}ACT_RU_EXECUTION PI ON PI.ID_ = HPI.PROC_INST_ID_ "
+            + "LEFT JOIN ${prefix}ACT_RU_EXECUTION E ON E.PROC_INST_ID_ = HPI.PROC_INST_ID_ AND E.ACT_ID_ IS NOT NULL "
+            + "LEFT JOIN ${prefix}ACT_RU_TASK T ON T.PROC_INST_ID_ = HPI.PROC_INST_ID_ "
+            + "WHERE HPI.PROC_INST_ID_ = #{processInstanceId} "
+            + "ORDER BY E.ID_, T.ID_")
+    List<ProcessStatusRow> selectProcessStatus(@Param("processInstanceId") String processInstanceId, RowBounds rowBounds);
+}
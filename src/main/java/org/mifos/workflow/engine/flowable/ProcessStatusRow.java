@@ -0,0 +1,27 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Flat result row of {@link ProcessStatusMapper#selectProcessStatus}.
+ * Runtime columns are null once the process instance has ended.
+ */
+@Data
+public class ProcessStatusRow {
+
+    private String processInstanceId;
+    private String processDefinitionId;
+    private String processDefinitionKey;
+    private String processDefinitionName;
+    private String businessKey;
+    private Date startTime;
+    private Date endTime;
+    private Long duration;
+    private String startedBy;
+    private String runtimeInstanceId;
+    private Integer suspensionState;
+    private String currentActivityId;
+    private String assignee;
+}
@@ -0,0 +1,156 @@
+package org.mifos.workflow.engine.flowable;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.api.types.VariableType;
+import org.mifos.workflow.core.model.ResultRecord;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flowable variable type that stores a {@link ResultRecord} as one compact JSON document,
+ * {@code {"v":1,"f":{...},"d":[...]}}, where {@code d} names the decimal fields (written as
+ * strings so their scale survives). Records that fit the text column are stored inline; larger
+ * ones go to a byte array. Reading a document with an unknown version fails instead of
+ * returning a partial record.
+ */
+public class ResultRecordVariableType implements VariableType {
+
+    public static final String TYPE_NAME = "resultRecord";
+
+    static final int MAX_TEXT_LENGTH = 4000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public boolean isAbleToStore(Object value) {
+        return value instanceof ResultRecord;
+    }
+
+    @Override
+    public void setValue(Object value, ValueFields valueFields) {
+        if (value == null) {
+            valueFields.setTextValue(null);
+            valueFields.setBytes(null);
+            return;
+        }
+        String json = encode((ResultRecord) value);
+        if (json.length() <= MAX_TEXT_LENGTH) {
+            valueFields.setTextValue(json);
+            valueFields.setBytes(null);
+        } else {
+            valueFields.setTextValue(null);
+            valueFields.setBytes(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public Object getValue(ValueFields valueFields) {
+        String json = valueFields.getTextValue();
+        if (json == null && valueFields.getBytes() != null) {
+            json = new String(valueFields.getBytes(), StandardCharsets.UTF_8);
+        }
+        return json != null ? decode(json) : null;
+    }
+
+    static String encode(ResultRecord record) {
+        StringWriter writer = new StringWriter(256);
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(writer)) {
+            List<String> decimalFields = new ArrayList<>();
+            generator.writeStartObject();
+            generator.writeNumberField("v", ResultRecord.VERSION);
+            generator.writeObjectFieldStart("f");
+            for (Map.Entry<String, Object> field : record.entrySet()) {
+                Object value = field.getValue();
+                generator.writeFieldName(field.getKey());
+                if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeString(decimal.toString());
+                    decimalFields.add(field.getKey());
+                } else if (value instanceof List<?> list) {
+                    generator.writeStartArray();
+                    for (Object element : list) {
+                        generator.writeString((String) element);
+                    }
+                    generator.writeEndArray();
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            if (!decimalFields.isEmpty()) {
+                generator.writeArrayFieldStart("d");
+                for (String decimalField : decimalFields) {
+                    generator.writeString(decimalField);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new FlowableException("Could not serialize result record", e);
+        }
+        return writer.toString();
+    }
+
+    static ResultRecord decode(String json) {
+        JsonNode document;
+        try {
+            document = OBJECT_MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new FlowableException("Could not deserialize result record", e);
+        }
+        int version = document.path("v").asInt(-1);
+        if (version != ResultRecord.VERSION) {
+            throw new FlowableException("Unsupported result record version " + version);
+        }
+
+        Set<String> decimalFields = new HashSet<>();
+        document.path("d").forEach(name -> decimalFields.add(name.asText()));
+
+        ResultRecord.Builder builder = ResultRecord.builder();
+        Iterator<Map.Entry<String, JsonNode>> fields = document.path("f").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (decimalFields.contains(field.getKey())) {
+                builder.put(field.getKey(), new BigDecimal(value.asText()));
+            } else if (value.isBoolean()) {
+                builder.put(field.getKey(), value.booleanValue());
+            } else if (value.isIntegralNumber()) {
+                builder.put(field.getKey(), value.longValue());
+            } else if (value.isArray()) {
+                List<String> elements = new ArrayList<>(value.size());
+                value.forEach(element -> elements.add(element.asText()));
+                builder.put(field.getKey(), elements);
+            } else {
+                builder.put(field.getKey(), value.asText());
+            }
+        }
+        return builder.build();
+    }
+}
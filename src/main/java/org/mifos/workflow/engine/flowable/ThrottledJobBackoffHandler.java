@@ -0,0 +1,52 @@
+package org.mifos.workflow.engine.flowable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.job.api.JobInfo;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
+import org.mifos.workflow.exception.FineractThrottledException;
+
+import java.util.Date;
+
+/**
+ * Backs the async executor off when Fineract calls are throttled instead of failing the job:
+ * a job whose failure was caused by a {@link FineractThrottledException}, including an open circuit,
+ * is moved to a timer job due after the configured backoff, or when the circuit will let a probe
+ * through if that is later, with its retries untouched, so a drained backlog is spread
+ * over time rather than burning retries and landing in the dead letter table.
+ * Any other failure is left to the engine's default handling.
+ */
+@Slf4j
+public class ThrottledJobBackoffHandler implements AsyncRunnableExecutionExceptionHandler {
+
+    private final long backoffMillis;
+
+    public ThrottledJobBackoffHandler(long backoffMillis) {
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Override
+    public boolean handleException(JobServiceConfiguration jobServiceConfiguration, JobInfo job, Throwable exception) {
+        FineractThrottledException throttled = FineractThrottledException.findIn(exception);
+        if (throttled == null) {
+            return false;
+        }
+        long delayMillis = Math.max(backoffMillis, throttled.getRetryAfterMillis());
+
+        return jobServiceConfiguration.getCommandExecutor().execute(commandContext -> {
+            JobEntity jobEntity = jobServiceConfiguration.getJobEntityManager().findById(job.getId());
+            if (jobEntity == null) {
+                return false;
+            }
+            TimerJobEntity timerJob = jobServiceConfiguration.getJobManager().moveJobToTimerJob(jobEntity);
+            Date duedate = new Date(jobServiceConfiguration.getClock().getCurrentTime().getTime() + delayMillis);
+            timerJob.setDuedate(duedate);
+            timerJob.setExceptionMessage(exception.getMessage());
+            log.info("Fineract {} for job {} of process instance {}, rescheduled for {} with {} retries left",
+                    throttled.getReason(), job.getId(), jobEntity.getProcessInstanceId(), duedate, timerJob.getRetries());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.query.NativeQuery;
+import org.flowable.engine.HistoryService;
+import org.flowable.engine.ManagementService;
+import org.flowable.engine.RuntimeService;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads the variables of many process instances with one native query per batch of
+ * instance ids, since the variable query APIs have neither a process-instance IN filter
+ * nor a variable-name IN filter.
+ * An optional whitelist of variable names restricts the rows read, so values nobody reads
+ * are never fetched or deserialized.
+ */
+class VariableLoader {
+
+    private static final int BATCH_SIZE = 500;
+    private final RuntimeService runtimeService;
+    private final HistoryService historyService;
+    private final ManagementService managementService;
+
+    VariableLoader(RuntimeService runtimeService, HistoryService historyService, ManagementService managementService) {
+        this.runtimeService = runtimeService;
+        this.historyService = historyService;
+        this.managementService = managementService;
+    }
+
+    /**
+     * Returns the process-instance scoped runtime variables of every given active process instance,
+     * keyed by process instance id; instances without variables map to an empty map.
+     *
+     * @param variableNames names to load, or null for all variables; an empty collection loads none
+     */
+    Map<String, Map<String, Object>> loadRuntime(Collection<String> processInstanceIds, Collection<String> variableNames) {
+        return load(processInstanceIds, variableNames, (ids, names) -> query(runtimeService.createNativeVariableInstanceQuery(), managementService.getTableName(VariableInstanceEntity.class), "RES.TASK_ID_ IS NULL AND RES.EXECUTION_ID_", ids, names),
+                VariableInstance::getExecutionId, VariableInstance::getName, VariableInstance::getValue);
+    }
+
+    /**
+     * Returns the historic variables of every given process instance, keyed by process instance id;
+     * instances without variables map to an empty map.
+     *
+     * @param variableNames names to load, or null for all variables; an empty collection loads none
+     */
+    Map<String, Map<String, Object>> loadHistoric(Collection<String> processInstanceIds, Collection<String> variableNames) {
+        return load(processInstanceIds, variableNames, (ids, names) -> query(historyService.createNativeHistoricVariableInstanceQuery(), managementService.getTableName(HistoricVariableInstanceEntity.class), "RES.PROC_INST_ID_", ids, names),
+                HistoricVariableInstance::getProcessInstanceId, HistoricVariableInstance::getVariableName, HistoricVariableInstance::getValue);
+    }
+
+    private <V> Map<String, Map<String, Object>> load(Collection<String> processInstanceIds, Collection<String> variableNames, BatchQuery<V> batchQuery,
+                                                      Function<V, String> processInstanceId, Function<V, String> name, Function<V, Object> value) {
+        Map<String, Map<String, Object>> variablesByInstance = new HashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(processInstanceIds));
+        ids.forEach(id -> variablesByInstance.put(id, new HashMap<>()));
+        if (ids.isEmpty() || (variableNames != null && variableNames.isEmpty())) {
+            return variablesByInstance;
+        }
+
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            for (V variable : batchQuery.list(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())), variableNames)) {
+                if (variable != null && name.apply(variable) != null) {
+                    variablesByInstance.get(processInstanceId.apply(variable)).put(name.apply(variable), value.apply(variable));
+                }
+            }
+        }
+        return variablesByInstance;
+    }
+
+    private <U> List<U> query(NativeQuery<?, U> query, String tableName, String idColumn, List<String> processInstanceIds, Collection<String> variableNames) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(tableName).append(" RES WHERE ").append(idColumn).append(" IN (");
+        appendParameters(sql, "processInstanceId", processInstanceIds, parameters);
+        sql.append(")");
+        if (variableNames != null) {
+            sql.append(" AND RES.NAME_ IN (");
+            appendParameters(sql, "variableName", variableNames, parameters);
+            sql.append(")");
+        }
+        sql.append(" ORDER BY RES.ID_");
+
+        query.sql(sql.toString());
+        parameters.forEach(query::parameter);
+        return query.list();
+    }
+
+    private static void appendParameters(StringBuilder sql, String prefix, Collection<String> values, Map<String, Object> parameters) {
+        int index = 0;
+        for (String value : values) {
+            String parameterName = prefix + index;
+            sql.append(index > 0 ? ", " : "").append("#{").append(parameterName).append("}");
+            parameters.put(parameterName, value);
+            index++;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchQuery<V> {
+        List<V> list(List<String> processInstanceIds, Collection<String> variableNames);
+    }
+}
@@ -3,6 +3,9 @@ package org.mifos.workflow.exception;
 import lombok.Getter;
 import retrofit2.HttpException;
 
+import java.io.IOException;
+import java.util.Set;
+
 /**
  * Custom exception for Fineract API errors.
  * Provides detailed error information including HTTP status, error body, and operation context.
@@ -17,6 +20,7 @@ public class FineractApiException extends RuntimeException {
     private final String errorBody;
     private final String operation;
     private final String resourceId;
+    private final boolean retryable;
 
     public static final int STATUS_BAD_REQUEST = 400;
     public static final int STATUS_UNAUTHORIZED = 401;
@@ -25,12 +29,16 @@ public class FineractApiException extends RuntimeException {
     public static final int STATUS_CONFLICT = 409;
     public static final int STATUS_INTERNAL_SERVER_ERROR = 500;
 
+    private static final Set<Integer> UNAVAILABLE_STATUSES = Set.of(502, 503, 504);
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(408, 429, 502, 503, 504);
+
     public FineractApiException(String message, HttpException httpException, String operation, String resourceId, String errorBody) {
         super(message, httpException);
         this.httpStatus = httpException.code();
         this.operation = operation;
         this.resourceId = resourceId;
         this.errorBody = errorBody;
+        this.retryable = false;
     }
 
 
@@ -40,6 +48,7 @@ public class FineractApiException extends RuntimeException {
         this.operation = operation;
         this.resourceId = null;
         this.errorBody = cause.getMessage();
+        this.retryable = FineractThrottledException.isCauseOf(cause);
     }
 
     public FineractApiException(String message, Throwable cause, String operation, String resourceId) {
@@ -48,6 +57,7 @@ public class FineractApiException extends RuntimeException {
         this.operation = operation;
         this.resourceId = resourceId;
         this.errorBody = cause.getMessage();
+        this.retryable = FineractThrottledException.isCauseOf(cause);
     }
 
 
@@ -85,6 +95,51 @@ public class FineractApiException extends RuntimeException {
     }
 
 
+    /**
+     * True if the call was never sent because it was throttled or its circuit was open, so the
+     * same call can be retried later without side effects.
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+
+    /**
+     * True if the failure is expected to clear up by itself, so the same call is worth repeating
+     * after a backoff: a throttled call, a call that got no response because of an I/O failure
+     * such as a refused connection or a timeout, or a request timeout, too many requests, bad
+     * gateway, unavailable or gateway timeout response. Anything else, including validation and
+     * business rule errors and a 500, which Fineract also returns for unhandled domain errors,
+     * fails the same way every time and is fatal.
+     */
+    public boolean isTransient() {
+        if (retryable || TRANSIENT_STATUSES.contains(httpStatus)) {
+            return true;
+        }
+        return !hasHttpStatus() && getCause() instanceof IOException;
+    }
+
+    /**
+     * True for a bad gateway, unavailable or gateway timeout status, which says Fineract or the
+     * way to it is down rather than that the request was wrong.
+     */
+    public static boolean isUnavailableStatus(int httpStatus) {
+        return UNAVAILABLE_STATUSES.contains(httpStatus);
+    }
+
+    /**
+     * Returns the Fineract API failure in the throwable's cause chain, or null if there is none.
+     */
+    public static FineractApiException findIn(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FineractApiException fineractApiException) {
+                return fineractApiException;
+            }
+        }
+        return null;
+    }
+
+
     public boolean hasHttpStatus() {
         return httpStatus > 0;
     }
@@ -0,0 +1,12 @@
+package org.mifos.workflow.exception;
+
+/**
+ * Thrown by the Fineract client without sending the call while the circuit of its endpoint is
+ * open. {@link #getRetryAfterMillis()} tells when the circuit will let a probe through.
+ */
+public class FineractCircuitOpenException extends FineractThrottledException {
+
+    public FineractCircuitOpenException(String endpoint, long retryAfterMillis) {
+        super("Circuit for Fineract endpoint '" + endpoint + "' is open, retry after " + retryAfterMillis + " ms", endpoint, REASON_CIRCUIT_OPEN, retryAfterMillis);
+    }
+}
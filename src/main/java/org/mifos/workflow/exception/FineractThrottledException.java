@@ -0,0 +1,52 @@
+package org.mifos.workflow.exception;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the Fineract client when a call could not obtain a rate-limit permit or a bulkhead
+ * slot within the configured wait, or its endpoint's circuit is open. The call was never sent,
+ * so it is always safe to retry later.
+ */
+@Getter
+public class FineractThrottledException extends IOException {
+
+    public static final String REASON_RATE_LIMIT = "rate-limit";
+    public static final String REASON_BULKHEAD = "bulkhead";
+    public static final String REASON_CIRCUIT_OPEN = "circuit-open";
+
+    private final String endpoint;
+    private final String reason;
+    private final long retryAfterMillis;
+
+    public FineractThrottledException(String endpoint, String reason) {
+        this("Fineract call to '" + endpoint + "' throttled by " + reason, endpoint, reason, 0);
+    }
+
+    protected FineractThrottledException(String message, String endpoint, String reason, long retryAfterMillis) {
+        super(message);
+        this.endpoint = endpoint;
+        this.reason = reason;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Returns true if the throwable or any of its causes is a throttled Fineract call.
+     */
+    public static boolean isCauseOf(Throwable throwable) {
+        return findIn(throwable) != null;
+    }
+
+    /**
+     * Returns the throttled call in the throwable's cause chain, or null if there is none.
+     */
+    public static FineractThrottledException findIn(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FineractThrottledException throttled) {
+                return throttled;
+            }
+        }
+        return null;
+    }
+}
@@ -211,7 +211,7 @@ public class GlobalExceptionHandler {
                     HttpStatus.NOT_FOUND;
             case WorkflowException.ERROR_INVALID_PROCESS_STATE, WorkflowException.ERROR_INVALID_TASK_STATE ->
                     HttpStatus.CONFLICT;
-            case "VALIDATION_FAILED" -> HttpStatus.BAD_REQUEST;
+            case WorkflowException.ERROR_VALIDATION_FAILED -> HttpStatus.BAD_REQUEST;
             case "AUTHENTICATION_REQUIRED" -> HttpStatus.UNAUTHORIZED;
             case "PERMISSION_DENIED" -> HttpStatus.FORBIDDEN;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
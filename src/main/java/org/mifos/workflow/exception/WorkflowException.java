@@ -35,6 +35,7 @@ public class WorkflowException extends RuntimeException {
     public static final String ERROR_LOAN_CANCELLATION_FAILED = "LOAN_CANCELLATION_FAILED";
     public static final String ERROR_LOAN_DISBURSEMENT_FAILED = "LOAN_DISBURSEMENT_FAILED";
     public static final String ERROR_LOAN_STATUS_VERIFICATION_FAILED = "LOAN_STATUS_VERIFICATION_FAILED";
+    public static final String ERROR_VALIDATION_FAILED = "VALIDATION_FAILED";
 
 
     public WorkflowException(String message, String operation, String errorCode, String processId, String taskId) {
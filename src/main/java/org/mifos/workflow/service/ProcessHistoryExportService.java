@@ -0,0 +1,51 @@
+package org.mifos.workflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mifos.workflow.core.model.CursorPage;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.ProcessHistoryInfo;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service for exporting process history as newline-delimited JSON.
+ * Walks the history one keyset page at a time and writes each page as it is read,
+ * so heap usage is bounded by the page size rather than by the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessHistoryExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final WorkflowService workflowService;
+    private final ObjectMapper objectMapper;
+
+    public long exportProcessHistory(PageQuery filters, OutputStream outputStream) throws IOException {
+        PageQuery pageQuery = (filters != null ? filters.toBuilder() : PageQuery.builder())
+                .size(workflowService.getWorkflowConfig().getPagination().getMaxPageSize())
+                .build();
+        log.info("Exporting process history with filters: {}", pageQuery);
+
+        long exported = 0;
+        CursorPage<ProcessHistoryInfo> page;
+        do {
+            page = workflowService.getProcessHistoryInfo(pageQuery);
+            for (ProcessHistoryInfo historyInfo : page.getItems()) {
+                outputStream.write(objectMapper.writeValueAsBytes(historyInfo));
+                outputStream.write(NEWLINE);
+            }
+            outputStream.flush();
+            exported += page.getItems().size();
+            pageQuery.setCursor(page.getNextCursor());
+        } while (page.isHasMore());
+
+        log.info("Exported {} historic process instances", exported);
+        return exported;
+    }
+}
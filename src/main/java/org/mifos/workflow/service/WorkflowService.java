@@ -6,10 +6,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.core.engine.WorkflowEngine;
 import org.mifos.workflow.core.engine.WorkflowEngineFactory;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentResult;
+import org.mifos.workflow.core.model.PageCursor;
+import org.mifos.workflow.core.model.PageQuery;
 import org.mifos.workflow.core.model.ProcessDefinition;
 import org.mifos.workflow.core.model.ProcessInstance;
+import org.mifos.workflow.core.model.StartCommand;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.ProcessVariables;
 import org.mifos.workflow.core.model.TaskInfo;
 import org.mifos.workflow.core.model.ActiveProcess;
@@ -19,6 +24,8 @@ import org.mifos.workflow.core.model.ProcessDefinitionInfo;
 import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
+import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.auth.FineractAuthService;
 import org.mifos.workflow.util.WorkflowErrorHandler;
 import org.springframework.stereotype.Service;
@@ -63,7 +70,8 @@ public class WorkflowService {
 
 
     public ProcessInstance startProcess(String processDefinitionKey, Map<String, Object> variables) {
-        log.info("Starting process: {} with variables: {}", processDefinitionKey, variables);
+        log.info("Starting process: {}", processDefinitionKey);
+        log.debug("Starting process: {} with variables: {}", processDefinitionKey, variables);
 
         ensureAuthentication();
 
@@ -76,6 +84,18 @@ public class WorkflowService {
         });
     }
 
+    public List<StartResult> startProcesses(List<StartCommand> commands) {
+        log.info("Starting {} processes in bulk", commands.size());
+
+        ensureAuthentication();
+
+        return WorkflowErrorHandler.executeWithExceptionHandling("bulk process start", commands.size() + " commands", () -> {
+            List<StartResult> results = getWorkflowEngine().startProcesses(commands);
+            log.info("Bulk start completed: {} started, {} failed", results.stream().filter(StartResult::isSuccess).count(), results.stream().filter(result -> !result.isSuccess()).count());
+            return results;
+        });
+    }
+
 
     public void completeTask(String taskId, Map<String, Object> variables) {
         log.info("Completing task: {} with variables: {}", taskId, variables);
@@ -231,6 +251,16 @@ public class WorkflowService {
         });
     }
 
+    public ProcessStatus getProcessStatus(String processInstanceId, List<String> variableNames) {
+        log.debug("Getting status for process instance: {} with variables: {}", processInstanceId, variableNames);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting process status", processInstanceId, () -> {
+            ProcessStatus status = getWorkflowEngine().getProcessStatus(processInstanceId, variableNames);
+            log.debug("Retrieved status for process instance: {}", processInstanceId);
+            return status;
+        });
+    }
+
     public ProcessCompletionStatus getProcessCompletionStatus(String processInstanceId) {
         log.debug("Getting completion status for process instance: {}", processInstanceId);
         ensureAuthentication();
@@ -251,6 +281,61 @@ public class WorkflowService {
         });
     }
 
+    public CursorPage<ActiveProcess> getActiveProcesses(PageQuery pageQuery) {
+        log.debug("Getting active processes page: {}", pageQuery);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting active processes page", "page", () -> {
+            PageQuery query = normalizePageQuery(pageQuery);
+            CursorPage<ActiveProcess> page = getWorkflowEngine().getActiveProcesses(query);
+            log.debug("Found {} active processes in page, hasMore: {}", page.getItems().size(), page.isHasMore());
+            return page;
+        });
+    }
+
+    public CursorPage<ProcessInstance> getProcessInstances(PageQuery pageQuery) {
+        log.debug("Getting process instances page: {}", pageQuery);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting process instances page", "page", () -> {
+            PageQuery query = normalizePageQuery(pageQuery);
+            CursorPage<ProcessInstance> page = getWorkflowEngine().getProcessInstances(query);
+            log.debug("Found {} process instances in page, hasMore: {}", page.getItems().size(), page.isHasMore());
+            return page;
+        });
+    }
+
+    public CursorPage<TaskInfo> getPendingTasks(PageQuery pageQuery) {
+        log.debug("Getting pending tasks page: {}", pageQuery);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting pending tasks page", "page", () -> {
+            PageQuery query = normalizePageQuery(pageQuery);
+            CursorPage<TaskInfo> page = getWorkflowEngine().getPendingTasks(query);
+            log.debug("Found {} pending tasks in page, hasMore: {}", page.getItems().size(), page.isHasMore());
+            return page;
+        });
+    }
+
+    public CursorPage<DeploymentInfo> getDeployments(PageQuery pageQuery) {
+        log.debug("Getting deployments page: {}", pageQuery);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting deployments page", "page", () -> {
+            PageQuery query = normalizePageQuery(pageQuery);
+            CursorPage<DeploymentInfo> page = getWorkflowEngine().getDeployments(query);
+            log.debug("Found {} deployments in page, hasMore: {}", page.getItems().size(), page.isHasMore());
+            return page;
+        });
+    }
+
+    public CursorPage<ProcessHistoryInfo> getProcessHistoryInfo(PageQuery pageQuery) {
+        log.debug("Getting process history info page: {}", pageQuery);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("getting process history info page", "page", () -> {
+            PageQuery query = normalizePageQuery(pageQuery);
+            CursorPage<ProcessHistoryInfo> page = getWorkflowEngine().getProcessHistoryInfo(query);
+            log.debug("Found {} historic process instances in page, hasMore: {}", page.getItems().size(), page.isHasMore());
+            return page;
+        });
+    }
+
     public List<ProcessDefinitionInfo> getProcessDefinitionsInfo() {
         log.debug("Getting process definitions info");
         ensureAuthentication();
@@ -301,6 +386,12 @@ public class WorkflowService {
         });
     }
 
+    public DeploymentResourceContent openDeploymentResource(String deploymentId, String resourceName) {
+        log.debug("Opening deployment resource: {} from deployment: {}", resourceName, deploymentId);
+        ensureAuthentication();
+        return WorkflowErrorHandler.executeWithExceptionHandling("opening deployment resource", deploymentId + "/" + resourceName, () -> getWorkflowEngine().openDeploymentResource(deploymentId, resourceName));
+    }
+
     public void deleteDeployment(String deploymentId) {
         log.info("Deleting deployment: {}", deploymentId);
         ensureAuthentication();
@@ -311,6 +402,26 @@ public class WorkflowService {
     }
 
 
+    /**
+     * Applies the configured default page size, caps it at the configured maximum and rejects a
+     * cursor that was not issued by a previous page as a validation failure.
+     */
+    private PageQuery normalizePageQuery(PageQuery pageQuery) {
+        WorkflowConfig.Pagination pagination = workflowConfig.getPagination();
+        PageQuery query = pageQuery != null ? pageQuery.toBuilder().build() : new PageQuery();
+        if (query.getSize() == null || query.getSize() <= 0) {
+            query.setSize(pagination.getDefaultPageSize());
+        } else if (query.getSize() > pagination.getMaxPageSize()) {
+            query.setSize(pagination.getMaxPageSize());
+        }
+        try {
+            PageCursor.decode(query.getCursor());
+        } catch (IllegalArgumentException e) {
+            throw new WorkflowException("Invalid page cursor: " + query.getCursor(), e, "page query validation", WorkflowException.ERROR_VALIDATION_FAILED);
+        }
+        return query;
+    }
+
     private void ensureAuthentication() {
         if (!workflowConfig.getAuthentication().isEnabled()) {
             log.debug("Authentication is disabled, skipping auth check");
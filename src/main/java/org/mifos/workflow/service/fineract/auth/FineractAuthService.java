@@ -3,35 +3,79 @@ package org.mifos.workflow.service.fineract.auth;
 
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mifos.fineract.client.models.PostAuthenticationRequest;
 import org.mifos.workflow.api.auth.AuthenticationApi;
+import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.dto.fineract.auth.AuthenticationRequest;
 import org.mifos.workflow.dto.fineract.auth.AuthenticationResponse;
 import org.mifos.workflow.util.FineractErrorHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 /**
  * Service for handling authentication with the Fineract API.
  * This service provides methods to authenticate users and manage authentication state.
+ * <p>
+ * Besides the user session key, it holds one service-account credential per tenant for outbound
+ * Fineract calls. With {@code workflow.authentication.auto-refresh} the credential is renewed in
+ * the background once 90% of {@code token-refresh-interval} has passed, and a rejected credential
+ * is renewed by a single authentication call whose result every waiting caller shares. Each tenant
+ * has at most one pending background refresh; a new login replaces it.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class FineractAuthService {
 
+    private static final long REFRESH_RETRY_MILLIS = 30000;
+
     private final AuthenticationApi authenticationApi;
-    @Getter
-    private String cachedAuthKey;
+    private final WorkflowConfig workflowConfig;
+    private final LongSupplier clock;
+    private final AtomicReference<String> cachedAuthKey = new AtomicReference<>();
+    private final Map<String, AtomicReference<Credential>> credentials = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Credential>> reauthentications = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refreshScheduler;
+
+    @Autowired
+    public FineractAuthService(AuthenticationApi authenticationApi, WorkflowConfig workflowConfig) {
+        this(authenticationApi, workflowConfig, System::currentTimeMillis);
+    }
+
+    FineractAuthService(AuthenticationApi authenticationApi, WorkflowConfig workflowConfig, LongSupplier clock) {
+        this.authenticationApi = authenticationApi;
+        this.workflowConfig = workflowConfig;
+        this.clock = clock;
+    }
 
     @PostConstruct
     public void init() {
         log.info("Initializing FineractAuthService");
+        if (workflowConfig.getAuthentication().isAutoRefresh()) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("fineract-auth-refresh").daemon().factory());
+            refreshScheduler.execute(() -> refreshInBackground(defaultTenant()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
     }
 
     private <T> Observable<T> handleError(Observable<T> observable, String operation, String resourceId) {
@@ -41,6 +85,10 @@ public class FineractAuthService {
     }
 
     public Observable<AuthenticationResponse> authenticate(AuthenticationRequest request) {
+        return requestAuthentication(request).doOnNext(response -> cachedAuthKey.set(response.getBase64EncodedAuthenticationKey()));
+    }
+
+    private Observable<AuthenticationResponse> requestAuthentication(AuthenticationRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Authentication request cannot be null");
         }
@@ -65,7 +113,6 @@ public class FineractAuthService {
                                 throw new RuntimeException("Invalid authentication response");
                             }
                             log.info("Authentication successful for user: {}", request.getUsername());
-                            cachedAuthKey = response.getBase64EncodedAuthenticationKey();
                             return AuthenticationResponse.from(response);
                         })
                         .doOnComplete(() -> log.info("Authentication request completed for user: {}", request.getUsername()))
@@ -75,13 +122,108 @@ public class FineractAuthService {
         );
     }
 
+    public String getCachedAuthKey() {
+        return cachedAuthKey.get();
+    }
+
     public void clearCachedAuthKey() {
-        cachedAuthKey = null;
+        cachedAuthKey.set(null);
         log.info("Cached authentication key cleared");
     }
 
 
     public boolean isAuthenticated() {
-        return cachedAuthKey != null && !cachedAuthKey.isEmpty();
+        String authKey = cachedAuthKey.get();
+        return authKey != null && !authKey.isEmpty();
+    }
+
+    /**
+     * Returns the unexpired service-account key for the tenant, or null if there is none yet.
+     */
+    public String getServiceAuthKey(String tenantId) {
+        Credential credential = credential(tenantId).get();
+        return credential != null && !credential.isExpired(clock.getAsLong()) ? credential.authKey() : null;
+    }
+
+    /**
+     * Authenticates the service account for the tenant again, unless a credential was issued at
+     * or after {@code staleBefore}, e.g. because another caller already did so for the same
+     * rejected request. Concurrent callers share a single authentication call.
+     *
+     * @return the new service-account key
+     */
+    public String reauthenticate(String tenantId, long staleBefore) {
+        Credential current = credential(tenantId).get();
+        if (current != null && current.issuedAt() >= staleBefore) {
+            return current.authKey();
+        }
+        CompletableFuture<Credential> reauthentication = new CompletableFuture<>();
+        CompletableFuture<Credential> running = reauthentications.putIfAbsent(tenantId, reauthentication);
+        if (running != null) {
+            try {
+                return running.join().authKey();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+        try {
+            current = credential(tenantId).get();
+            Credential refreshed = current != null && current.issuedAt() >= staleBefore ? current : login(tenantId);
+            reauthentication.complete(refreshed);
+            return refreshed.authKey();
+        } catch (RuntimeException e) {
+            reauthentication.completeExceptionally(e);
+            throw e;
+        } finally {
+            reauthentications.remove(tenantId, reauthentication);
+        }
+    }
+
+    private Credential login(String tenantId) {
+        WorkflowConfig.Fineract fineract = workflowConfig.getFineract();
+        AuthenticationRequest request = AuthenticationRequest.builder().username(fineract.getUsername()).password(fineract.getPassword()).build();
+        AuthenticationResponse response = requestAuthentication(request).blockingFirst();
+        long now = clock.getAsLong();
+        long lifetimeMillis = TimeUnit.SECONDS.toMillis(workflowConfig.getAuthentication().getTokenRefreshInterval());
+        Credential credential = new Credential(response.getBase64EncodedAuthenticationKey(), now, lifetimeMillis > 0 ? now + lifetimeMillis : Long.MAX_VALUE);
+        credential(tenantId).set(credential);
+        log.info("Service account authenticated for tenant {}", tenantId);
+        scheduleRefresh(tenantId, lifetimeMillis > 0 ? lifetimeMillis * 9 / 10 : -1);
+        return credential;
+    }
+
+    private void scheduleRefresh(String tenantId, long delayMillis) {
+        if (refreshScheduler != null && delayMillis >= 0) {
+            refreshes.compute(tenantId, (id, pending) -> {
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+                return refreshScheduler.schedule(() -> refreshInBackground(tenantId), delayMillis, TimeUnit.MILLISECONDS);
+            });
+        }
+    }
+
+    private void refreshInBackground(String tenantId) {
+        try {
+            reauthenticate(tenantId, clock.getAsLong());
+        } catch (RuntimeException e) {
+            log.warn("Background authentication refresh for tenant {} failed, retrying in {} ms: {}", tenantId, REFRESH_RETRY_MILLIS, e.getMessage());
+            scheduleRefresh(tenantId, REFRESH_RETRY_MILLIS);
+        }
+    }
+
+    private AtomicReference<Credential> credential(String tenantId) {
+        return credentials.computeIfAbsent(tenantId, id -> new AtomicReference<>());
+    }
+
+    private String defaultTenant() {
+        return workflowConfig.getFineract().getTenantId();
+    }
+
+    private record Credential(String authKey, long issuedAt, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
     }
 }
\ No newline at end of file
@@ -36,14 +36,17 @@ import org.mifos.workflow.dto.fineract.client.ClientWithdrawTransferRequestDTO;
 import org.mifos.workflow.dto.fineract.client.ClientReactivateRequestDTO;
 import org.mifos.workflow.dto.fineract.client.CodeValueCreateRequestDTO;
 import org.mifos.workflow.dto.fineract.code.CodeDataDTO;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyService;
 import org.springframework.stereotype.Service;
+import org.mifos.workflow.util.DateFormatters;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.mifos.workflow.dto.fineract.office.OfficeDTO;
@@ -56,6 +59,7 @@ import org.mifos.workflow.util.FineractErrorHandler;
 /**
  * Service class for handling client-related operations in the Fineract system.
  * Provides methods for creating, updating, and managing clients.
+ * Offices, staff, codes and code values are read through the {@link FineractReferenceDataCache}.
  */
 @Service
 @Validated
@@ -67,8 +71,16 @@ public class FineractClientService {
     private static final String ACTIVATE_COMMAND = "activate";
     private static final String PROPOSE_TRANSFER_COMMAND = "proposeTransfer";
     private static final String ACCEPT_TRANSFER_COMMAND = "acceptTransfer";
+    private static final String REJECTION_REASON_CODE = "ClientRejectReason";
+    private static final String CLOSURE_REASON_CODE = "ClientClosureReason";
+    private static final String OFFICES_REGION = "offices";
+    private static final String STAFF_REGION = "staff";
+    private static final String CODES_REGION = "codes";
+    private static final String CODE_VALUES_REGION = "codevalues";
 
     public final ClientsApi clientsApi;
+    private final FineractReferenceDataCache referenceDataCache;
+    private final FineractIdempotencyService idempotencyService;
 
 
     @PostConstruct
@@ -141,9 +153,27 @@ public class FineractClientService {
                     .submissionDate(LocalDate.now())
                     .build();
 
-        log.info("Sending request to Fineract: {}", clientRequest.toMap());
+        log.info("Sending request to Fineract: {}", clientRequest);
 
-        return handleError(clientsApi.createClient(clientRequest.toMap()), "client creation", "new");
+        return handleError(clientsApi.createClient(clientRequest), "client creation", "new");
+    }
+
+    /**
+     * Creates a client at most once per idempotency key. The key becomes the client's external id
+     * unless the request has one, so a retry whose earlier attempt's outcome is unknown finds the
+     * client by external id instead of creating a second one.
+     */
+    public Observable<PostClientsResponse> createClient(@Valid @NotNull ClientCreateRequestDTO request, @NotNull String dateFormat, @NotNull String locale, @NotNull Long addressTypeId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createClient(request, dateFormat, locale, addressTypeId);
+        }
+        ClientCreateRequestDTO keyedRequest = request.getExternalId() != null ? request : request.toBuilder().externalId(idempotencyKey).build();
+
+        return Observable.fromCallable(() -> idempotencyService.execute(idempotencyKey, "client creation",
+                () -> createClient(keyedRequest, dateFormat, locale, addressTypeId).blockingFirst(),
+                PostClientsResponse::getClientId,
+                FineractClientService::createdClient,
+                () -> findClientIdByExternalId(keyedRequest.getExternalId())));
     }
 
     public Observable<PostClientsResponse> createBasicClient(@NotNull String firstname, @NotNull String lastname, String mobileNo, @NotNull Long officeId, @NotNull String dateFormat, @NotNull String locale, @NotNull Long legalFormId) {
@@ -162,7 +192,7 @@ public class FineractClientService {
                 .officeId(officeId)
                 .active(false)
                 .legalFormId(legalFormId)
-                .submittedOnDate(LocalDate.now().format(DateTimeFormatter.ofPattern(dateFormat)))
+                .submittedOnDate(LocalDate.now().format(DateFormatters.forPattern(dateFormat)))
                 .build();
 
         log.info("Creating basic client with request: {}", basicClientRequest.toMap());
@@ -190,7 +220,22 @@ public class FineractClientService {
                 .activationDate(activationDate)
                 .build();
 
-        return handleError(clientsApi.activateClient(clientId, ACTIVATE_COMMAND, activationRequest.toMap(dateFormat)), "client activation", clientId.toString());
+        return handleError(clientsApi.activateClient(clientId, ACTIVATE_COMMAND, activationRequest), "client activation", clientId.toString());
+    }
+
+    /**
+     * Activates a client at most once per idempotency key; a retry whose earlier attempt's outcome
+     * is unknown checks whether the client is already active before activating it again.
+     */
+    public Observable<PostClientsClientIdResponse> activateClient(@NotNull Long clientId, @NotNull LocalDate activationDate, @NotNull String dateFormat, @NotNull String locale, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return activateClient(clientId, activationDate, dateFormat, locale);
+        }
+        return Observable.fromCallable(() -> idempotencyService.execute(idempotencyKey, "client activation",
+                () -> activateClient(clientId, activationDate, dateFormat, locale).blockingFirst(),
+                PostClientsClientIdResponse::getResourceId,
+                FineractClientService::changedClient,
+                () -> Boolean.TRUE.equals(retrieveClient(clientId).blockingFirst().getActive()) ? Optional.of(clientId) : Optional.empty()));
     }
 
     public Observable<GetClientsClientIdResponse> retrieveClient(@NotNull Long clientId) {
@@ -249,13 +294,13 @@ public class FineractClientService {
     public Observable<List<OfficeDTO>> retrieveAllOffices() {
         log.info("Retrieving all offices");
 
-        return handleError(clientsApi.retrieveAllOffices(), "office retrieval", "all");
+        return handleError(referenceDataCache.get(OFFICES_REGION, null, clientsApi::retrieveAllOffices), "office retrieval", "all");
     }
 
     public Observable<List<StaffData>> retrieveAllStaff() {
         log.info("Retrieving all staff");
 
-        return handleError(clientsApi.retrieveAllStaff(), "staff retrieval", "all");
+        return handleError(referenceDataCache.get(STAFF_REGION, null, clientsApi::retrieveAllStaff), "staff retrieval", "all");
     }
 
     public Observable<GetClientsClientIdAccountsResponse> retrieveClientAccounts(@NotNull Long clientId) {
@@ -268,20 +313,8 @@ public class FineractClientService {
     public Observable<List<CodeValueData>> retrieveClientRejectionReasons() {
         log.info("Retrieving client rejection reasons");
 
-        return handleError(clientsApi.retrieveCodes().subscribeOn(Schedulers.io()).doOnNext(codes -> {
-            log.info("Retrieved {} codes from the system", codes.size());
-            codes.forEach(code -> log.info("Found code: {} (ID: {})", code.getName(), code.getId()));
-        }).flatMap(codes -> {
-            Long rejectionCodeId = codes.stream().filter(code -> "ClientRejectReason".equals(code.getName())).findFirst().map(code -> code.getId()).orElse(null);
-
-            if (rejectionCodeId == null) {
-                log.error("Code 'ClientRejectReason' not found in the system. Available codes: {}", codes.stream().map(CodeDataDTO::getName).collect(Collectors.joining(", ")));
-                return Observable.error(new IllegalStateException("Client rejection reason code not found in the system"));
-            }
-
-            log.info("Found client rejection reason code ID: {}", rejectionCodeId);
-            return clientsApi.retrieveAllCodeValues(rejectionCodeId);
-        }).doOnNext(response -> {
+        return handleError(findCodeId(REJECTION_REASON_CODE, "Client rejection reason code not found in the system")
+                .flatMap(this::retrieveCodeValues).doOnNext(response -> {
             if (response != null && !response.isEmpty()) {
                 log.info("Retrieved {} rejection reasons successfully", response.size());
                 response.forEach(reason -> log.info("Rejection reason: {} (ID: {})", reason.getName(), reason.getId()));
@@ -289,31 +322,14 @@ public class FineractClientService {
                 log.error("No rejection reasons found for code 'ClientRejectReason'. Please add rejection reasons in the system.");
                 throw new IllegalStateException("No rejection reasons found in the system. Please add rejection reasons first.");
             }
-        }), "retrieve rejection reasons", "ClientRejectReason");
+        }), "retrieve rejection reasons", REJECTION_REASON_CODE);
     }
 
     public Observable<CodeValueData> createRejectionReason(String name, String description) {
         log.info("Creating rejection reason with name: {}", name);
 
-        return handleError(clientsApi.retrieveCodes().subscribeOn(Schedulers.io()).flatMap(codes -> {
-            Long rejectionCodeId = codes.stream().filter(code -> "ClientRejectReason".equals(code.getName())).findFirst().map(code -> code.getId()).orElse(null);
-
-            if (rejectionCodeId == null) {
-                log.error("Code 'ClientRejectReason' not found in the system. Available codes: {}", codes.stream().map(CodeDataDTO::getName).collect(Collectors.joining(", ")));
-                return Observable.error(new IllegalStateException("Client rejection reason code not found in the system"));
-            }
-
-            log.info("Found client rejection reason code ID: {}", rejectionCodeId);
-
-            CodeValueCreateRequestDTO codeValueRequest = CodeValueCreateRequestDTO.builder()
-                    .name(name)
-                    .description(description)
-                    .position(1)
-                    .isActive(true)
-                    .build();
-
-            return clientsApi.createCodeValue(rejectionCodeId, codeValueRequest.toMap());
-        }).doOnNext(response -> {
+        return handleError(findCodeId(REJECTION_REASON_CODE, "Client rejection reason code not found in the system")
+                .flatMap(rejectionCodeId -> createCodeValue(rejectionCodeId, name, description)).doOnNext(response -> {
             if (response != null) {
                 log.info("Created rejection reason successfully with ID: {}", response.getId());
             } else {
@@ -325,20 +341,8 @@ public class FineractClientService {
     public Observable<List<CodeValueData>> retrieveClientClosureReasons() {
         log.info("Retrieving client closure reasons");
 
-        return handleError(clientsApi.retrieveCodes().subscribeOn(Schedulers.io()).doOnNext(codes -> {
-            log.info("Retrieved {} codes from the system", codes.size());
-            codes.forEach(code -> log.info("Found code: {} (ID: {})", code.getName(), code.getId()));
-        }).flatMap(codes -> {
-            Long closureCodeId = codes.stream().filter(code -> "ClientClosureReason".equals(code.getName())).findFirst().map(code -> code.getId()).orElse(null);
-
-            if (closureCodeId == null) {
-                log.error("Code 'ClientClosureReason' not found in the system. Available codes: {}", codes.stream().map(CodeDataDTO::getName).collect(Collectors.joining(", ")));
-                return Observable.error(new IllegalStateException("Client closure reason code not found in the system"));
-            }
-
-            log.info("Found client closure reason code ID: {}", closureCodeId);
-            return clientsApi.retrieveAllCodeValues(closureCodeId);
-        }).doOnNext(response -> {
+        return handleError(findCodeId(CLOSURE_REASON_CODE, "Client closure reason code not found in the system")
+                .flatMap(this::retrieveCodeValues).doOnNext(response -> {
             if (response != null && !response.isEmpty()) {
                 log.info("Retrieved {} closure reasons successfully", response.size());
                 response.forEach(reason -> log.info("Closure reason: {} (ID: {})", reason.getName(), reason.getId()));
@@ -346,32 +350,14 @@ public class FineractClientService {
                 log.error("No closure reasons found for code 'ClientClosureReason'. Please add closure reasons in the system.");
                 throw new IllegalStateException("No closure reasons found in the system. Please add closure reasons first.");
             }
-        }), "retrieve closure reasons", "ClientClosureReason");
+        }), "retrieve closure reasons", CLOSURE_REASON_CODE);
     }
 
     public Observable<CodeValueData> createClosureReason(String name, String description) {
         log.info("Creating closure reason with name: {}", name);
 
-        return handleError(clientsApi.retrieveCodes().subscribeOn(Schedulers.io()).flatMap(codes -> {
-
-            Long closureCodeId = codes.stream().filter(code -> "ClientClosureReason".equals(code.getName())).findFirst().map(code -> code.getId()).orElse(null);
-
-            if (closureCodeId == null) {
-                log.error("Code 'ClientClosureReason' not found in the system. Available codes: {}", codes.stream().map(CodeDataDTO::getName).collect(Collectors.joining(", ")));
-                return Observable.error(new IllegalStateException("Client closure reason code not found in the system"));
-            }
-
-            log.info("Found client closure reason code ID: {}", closureCodeId);
-
-            CodeValueCreateRequestDTO codeValueRequest = CodeValueCreateRequestDTO.builder()
-                    .name(name)
-                    .description(description)
-                    .position(1)
-                    .isActive(true)
-                    .build();
-
-            return clientsApi.createCodeValue(closureCodeId, codeValueRequest.toMap());
-        }).doOnNext(response -> {
+        return handleError(findCodeId(CLOSURE_REASON_CODE, "Client closure reason code not found in the system")
+                .flatMap(closureCodeId -> createCodeValue(closureCodeId, name, description)).doOnNext(response -> {
             if (response != null) {
                 log.info("Created closure reason successfully with ID: {}", response.getId());
             } else {
@@ -380,6 +366,42 @@ public class FineractClientService {
         }), "create closure reason", name);
     }
 
+    /**
+     * Looks up the id of a code by name in the cached code list.
+     */
+    private Observable<Long> findCodeId(String codeName, String notFoundMessage) {
+        return referenceDataCache.get(CODES_REGION, null, () -> clientsApi.retrieveCodes().doOnNext(codes -> {
+            log.info("Retrieved {} codes from the system", codes.size());
+            codes.forEach(code -> log.info("Found code: {} (ID: {})", code.getName(), code.getId()));
+        })).flatMap(codes -> {
+            Long codeId = codes.stream().filter(code -> codeName.equals(code.getName())).findFirst().map(CodeDataDTO::getId).orElse(null);
+
+            if (codeId == null) {
+                log.error("Code '{}' not found in the system. Available codes: {}", codeName, codes.stream().map(CodeDataDTO::getName).collect(Collectors.joining(", ")));
+                return Observable.error(new IllegalStateException(notFoundMessage));
+            }
+
+            log.info("Found code '{}' with ID: {}", codeName, codeId);
+            return Observable.just(codeId);
+        });
+    }
+
+    private Observable<List<CodeValueData>> retrieveCodeValues(Long codeId) {
+        return referenceDataCache.get(CODE_VALUES_REGION, codeId.toString(), () -> clientsApi.retrieveAllCodeValues(codeId));
+    }
+
+    private Observable<CodeValueData> createCodeValue(Long codeId, String name, String description) {
+        CodeValueCreateRequestDTO codeValueRequest = CodeValueCreateRequestDTO.builder()
+                .name(name)
+                .description(description)
+                .position(1)
+                .isActive(true)
+                .build();
+
+        return clientsApi.createCodeValue(codeId, codeValueRequest.toMap())
+                .doFinally(() -> referenceDataCache.evict(CODE_VALUES_REGION, codeId.toString()));
+    }
+
     public Observable<PostClientsClientIdResponse> withdrawClient(@NotNull Long clientId, @NotNull String command, @Valid @NotNull ClientWithdrawRequestDTO withdrawRequest) {
         requireNotNull(clientId, "clientId");
         requireNotNull(command, "command");
@@ -516,4 +538,29 @@ public class FineractClientService {
     }
 
 
-}
\ No newline at end of file
+
+    private Optional<Long> findClientIdByExternalId(String externalId) {
+        try {
+            return Optional.ofNullable(handleError(clientsApi.retrieveClientByExternalId(externalId), "client retrieval by external ID", externalId).blockingFirst().getId());
+        } catch (FineractApiException e) {
+            if (e.isNotFound()) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private static PostClientsResponse createdClient(Long clientId) {
+        PostClientsResponse response = new PostClientsResponse();
+        response.setClientId(clientId);
+        response.setResourceId(clientId);
+        return response;
+    }
+
+    private static PostClientsClientIdResponse changedClient(Long clientId) {
+        PostClientsClientIdResponse response = new PostClientsClientIdResponse();
+        response.setClientId(clientId);
+        response.setResourceId(clientId);
+        return response;
+    }
+}
@@ -0,0 +1,122 @@
+package org.mifos.workflow.service.fineract.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Observable;
+import lombok.extern.slf4j.Slf4j;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for Fineract reference data such as offices, staff, codes and code values,
+ * which rarely change. Entries live for {@code ttl} milliseconds and the least recently used ones
+ * are dropped beyond {@code max-entries}. Failed and empty loads are not cached, so data added in
+ * Fineract shows up on the next call; writes through this service evict the entries they change.
+ * Lookups are counted under {@code fineract.referencedata.cache} by region and hit or miss.
+ */
+@Component
+@Slf4j
+public class FineractReferenceDataCache {
+
+    private final WorkflowConfig.ReferenceDataCache settings;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public FineractReferenceDataCache(WorkflowConfig properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    FineractReferenceDataCache(WorkflowConfig properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.settings = properties.getFineract().getReferenceDataCache();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        int maxEntries = settings.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Emits the cached value for the key, or subscribes to the loader on a miss and caches what it
+     * emits.
+     *
+     * @param region the kind of data, used as the metric tag, e.g. {@code offices}
+     * @param key    the entry key within the region, or null if the region holds a single value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Observable<T> get(String region, String key, Supplier<Observable<T>> loader) {
+        if (!settings.isEnabled()) {
+            return Observable.defer(loader::get);
+        }
+        String entryKey = entryKey(region, key);
+        return Observable.defer(() -> {
+            Entry entry = lookup(entryKey);
+            if (entry != null) {
+                count(region, "hit");
+                return Observable.just((T) entry.value());
+            }
+            count(region, "miss");
+            return loader.get().doOnNext(value -> put(entryKey, value));
+        });
+    }
+
+    /**
+     * Drops the entry so the next lookup loads it from Fineract again.
+     */
+    public void evict(String region, String key) {
+        synchronized (entries) {
+            entries.remove(entryKey(region, key));
+        }
+        log.debug("Evicted Fineract reference data {}", entryKey(region, key));
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Entry lookup(String entryKey) {
+        synchronized (entries) {
+            Entry entry = entries.get(entryKey);
+            if (entry != null && clock.getAsLong() >= entry.expiresAt()) {
+                entries.remove(entryKey);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void put(String entryKey, Object value) {
+        if (value == null || value instanceof Collection<?> collection && collection.isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(entryKey, new Entry(value, clock.getAsLong() + settings.getTtl()));
+        }
+    }
+
+    private void count(String region, String result) {
+        Counter.builder("fineract.referencedata.cache").description("Fineract reference data lookups by cache result")
+                .tag("region", region).tag("result", result).register(meterRegistry).increment();
+    }
+
+    private static String entryKey(String region, String key) {
+        return key == null ? region : region + ":" + key;
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
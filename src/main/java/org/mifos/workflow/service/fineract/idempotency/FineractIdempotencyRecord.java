@@ -0,0 +1,64 @@
+package org.mifos.workflow.service.fineract.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Row of the local dedup table: the outcome of one mutating Fineract call, keyed by the
+ * idempotency key of the workflow step that made it.
+ */
+@Entity
+@Table(name = "WF_FINERACT_IDEMPOTENCY")
+@Getter
+@Setter
+@NoArgsConstructor
+public class FineractIdempotencyRecord {
+
+    public enum Status {
+        /**
+         * The call was sent but its outcome was never recorded, so it may or may not have taken effect.
+         */
+        PENDING,
+        /**
+         * The call took effect in Fineract.
+         */
+        COMPLETED
+    }
+
+    @Id
+    @Column(name = "IDEMPOTENCY_KEY", length = 191)
+    private String idempotencyKey;
+
+    @Column(name = "OPERATION", length = 64, nullable = false)
+    private String operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 16, nullable = false)
+    private Status status;
+
+    @Column(name = "RESOURCE_ID")
+    private Long resourceId;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private Instant updatedAt;
+
+    public FineractIdempotencyRecord(String idempotencyKey, String operation, Instant now) {
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.status = Status.PENDING;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+}
@@ -0,0 +1,31 @@
+package org.mifos.workflow.service.fineract.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Dedup table access. Every method runs in its own transaction so a record survives the rollback
+ * of the engine transaction that applies the Fineract call, which is exactly when a retry needs it.
+ * On async Fineract tasks the call, and so this access, runs after the job has committed, on a
+ * thread that holds no other connection; on sync tasks it runs inside the caller's transaction and
+ * takes a second connection for the length of each method.
+ */
+@Repository
+public interface FineractIdempotencyRepository extends JpaRepository<FineractIdempotencyRecord, String> {
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    Optional<FineractIdempotencyRecord> findById(String idempotencyKey);
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends FineractIdempotencyRecord> S save(S record);
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    void deleteById(String idempotencyKey);
+}
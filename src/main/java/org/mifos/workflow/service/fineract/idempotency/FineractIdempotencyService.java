@@ -0,0 +1,126 @@
+package org.mifos.workflow.service.fineract.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.exception.FineractApiException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Makes mutating Fineract calls at most once per idempotency key, so a workflow step retried after
+ * a timeout or a rolled back job does not create a second loan or disburse twice.
+ * <p>
+ * Before a keyed call is sent a pending record is written to the dedup table. A successful call
+ * completes the record with the id of the resource it created or changed; a call Fineract rejected,
+ * or that was throttled before being sent, removes it since nothing took effect. When the key comes
+ * round again:
+ * <ul>
+ *     <li>a completed record is replayed as the response without calling Fineract;</li>
+ *     <li>a pending record means the earlier attempt's outcome is unknown, so Fineract is asked
+ *     whether it took effect, e.g. by looking the resource up by external id, and the call is only
+ *     sent again if it did not.</li>
+ * </ul>
+ * Records are written through {@link FineractIdempotencyRepository} in transactions of their own,
+ * so the service must not be called while a job holds its connection; on async Fineract tasks
+ * {@code FineractCallJobHandler} makes the call after the job has committed.
+ * Outcomes are counted under {@code fineract.idempotency} by operation and outcome.
+ */
+@Component
+@Slf4j
+public class FineractIdempotencyService {
+
+    private final WorkflowConfig.Idempotency settings;
+    private final FineractIdempotencyRepository repository;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+
+    @Autowired
+    public FineractIdempotencyService(WorkflowConfig properties, FineractIdempotencyRepository repository, MeterRegistry meterRegistry) {
+        this(properties, repository, meterRegistry, System::currentTimeMillis);
+    }
+
+    FineractIdempotencyService(WorkflowConfig properties, FineractIdempotencyRepository repository, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.settings = properties.getFineract().getIdempotency();
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Makes the call unless the key shows it already took effect.
+     *
+     * @param idempotencyKey the key of the workflow step making the call, or null to just make it
+     * @param operation      the kind of call, used in logs and as the metric tag, e.g. {@code loan creation}
+     * @param call           sends the call to Fineract
+     * @param resourceIdOf   extracts the id of the created or changed resource from the response
+     * @param responseFor    rebuilds a response from a recorded or looked up resource id
+     * @param findApplied    asks Fineract whether an earlier attempt took effect, returning the
+     *                       resource id if it did
+     */
+    public <T> T execute(String idempotencyKey, String operation, Supplier<T> call, Function<T, Long> resourceIdOf,
+                         Function<Long, T> responseFor, Supplier<Optional<Long>> findApplied) {
+        if (idempotencyKey == null || !settings.isEnabled()) {
+            return call.get();
+        }
+
+        FineractIdempotencyRecord record = repository.findById(idempotencyKey).orElse(null);
+        if (record != null && record.getStatus() == FineractIdempotencyRecord.Status.COMPLETED) {
+            log.info("Fineract {} with key {} already completed for resource {}, not sent again", operation, idempotencyKey, record.getResourceId());
+            count(operation, "replayed");
+            return responseFor.apply(record.getResourceId());
+        }
+        if (record != null) {
+            Optional<Long> applied = findApplied.get();
+            if (applied.isPresent()) {
+                log.info("Earlier Fineract {} with key {} took effect for resource {}, not sent again", operation, idempotencyKey, applied.get());
+                complete(record, applied.get());
+                count(operation, "recovered");
+                return responseFor.apply(applied.get());
+            }
+            log.info("Earlier Fineract {} with key {} did not take effect, sending it again", operation, idempotencyKey);
+        } else {
+            record = repository.save(new FineractIdempotencyRecord(idempotencyKey, operation, now()));
+        }
+
+        T response;
+        try {
+            response = call.get();
+        } catch (FineractApiException e) {
+            // Rejected and throttled calls changed nothing, so the next attempt need not look anything up
+            if (!e.isTransient() || e.isRetryable()) {
+                repository.deleteById(idempotencyKey);
+            }
+            throw e;
+        }
+        complete(record, resourceIdOf.apply(response));
+        count(operation, "sent");
+        return response;
+    }
+
+    private void complete(FineractIdempotencyRecord record, Long resourceId) {
+        record.setStatus(FineractIdempotencyRecord.Status.COMPLETED);
+        record.setResourceId(resourceId);
+        record.setUpdatedAt(now());
+        repository.save(record);
+    }
+
+    private Instant now() {
+        return Instant.ofEpochMilli(clock.getAsLong());
+    }
+
+    private void count(String operation, String outcome) {
+        Counter.builder("fineract.idempotency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -17,11 +17,15 @@ import org.mifos.fineract.client.models.PostLoansResponse;
 import org.mifos.fineract.client.models.PutLoansLoanIdResponse;
 import org.mifos.workflow.api.loan.LoansApi;
 import org.mifos.workflow.config.FineractApiConfig;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyService;
 import org.mifos.workflow.util.FineractErrorHandler;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service for handling loan-related operations with the Fineract API.
@@ -32,8 +36,20 @@ import java.util.Map;
 @Slf4j
 public class FineractLoanService {
 
+    private static final String CALCULATE_SCHEDULE_COMMAND = "calculateLoanSchedule";
+
+    /**
+     * Loan status a state transition command leaves the loan in, used to tell whether an earlier
+     * attempt of the command took effect.
+     */
+    private static final Map<String, String> STATUS_AFTER_COMMAND = Map.of(
+            "approve", "loanStatusType.approved",
+            "disburse", "loanStatusType.active",
+            "reject", "loanStatusType.rejected");
+
     private final LoansApi loansApi;
     private final FineractApiConfig fineractApiConfig;
+    private final FineractIdempotencyService idempotencyService;
 
     @PostConstruct
     public void init() {
@@ -52,6 +68,27 @@ public class FineractLoanService {
     }
 
 
+    /**
+     * Submits a loan application at most once per idempotency key. The key becomes the loan's
+     * external id unless the request has one, so a retry whose earlier attempt's outcome is unknown
+     * finds the loan by external id instead of creating a second one.
+     */
+    public PostLoansResponse createLoan(Map<String, Object> request, String command, String idempotencyKey) {
+        if (idempotencyKey == null || CALCULATE_SCHEDULE_COMMAND.equals(command)) {
+            return createLoan(request, command);
+        }
+        Map<String, Object> keyedRequest = new HashMap<>(request);
+        keyedRequest.putIfAbsent("externalId", idempotencyKey);
+        String externalId = keyedRequest.get("externalId").toString();
+
+        return idempotencyService.execute(idempotencyKey, "loan creation",
+                () -> createLoan(keyedRequest, command),
+                PostLoansResponse::getResourceId,
+                FineractLoanService::createdLoan,
+                () -> findLoanIdByExternalId(externalId));
+    }
+
+
     public GetLoansLoanIdResponse getLoan(Long loanId, Boolean staffInSelectedOfficeOnly, String associations, String exclude, String fields) {
         log.info("Retrieving loan with ID: {}", loanId);
 
@@ -73,6 +110,26 @@ public class FineractLoanService {
     }
 
 
+    /**
+     * Performs a state transition at most once per idempotency key. For approve, disburse and
+     * reject, a retry whose earlier attempt's outcome is unknown checks whether the loan already has
+     * the status the command leads to before posting the command again; the response rebuilt for
+     * such an attempt carries the loan id as resource id.
+     */
+    public PostLoansLoanIdResponse performStateTransition(Long loanId, Map<String, Object> request, String command, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return performStateTransition(loanId, request, command);
+        }
+        String appliedStatus = STATUS_AFTER_COMMAND.get(command);
+
+        return idempotencyService.execute(idempotencyKey, "loan " + command,
+                () -> performStateTransition(loanId, request, command),
+                PostLoansLoanIdResponse::getResourceId,
+                FineractLoanService::transitionedLoan,
+                () -> appliedStatus != null && appliedStatus.equals(getLoanStatusCode(loanId)) ? Optional.of(loanId) : Optional.empty());
+    }
+
+
     public PostLoansLoanIdResponse performStateTransitionByExternalId(String loanExternalId, Map<String, Object> request, String command) {
         log.info("Performing state transition for loan with external ID {} with command: {}", loanExternalId, command);
 
@@ -205,4 +262,33 @@ public class FineractLoanService {
 
         return handleError(loansApi.createLoanDelinquencyAction(loanId, request), "delinquency action creation", loanId.toString()).blockingFirst();
     }
+
+    private Optional<Long> findLoanIdByExternalId(String loanExternalId) {
+        try {
+            return Optional.ofNullable(getLoanByExternalIdWithFields(loanExternalId, "id").getId());
+        } catch (FineractApiException e) {
+            if (e.isNotFound()) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private String getLoanStatusCode(Long loanId) {
+        GetLoansLoanIdResponse loan = getLoanWithFields(loanId, "id,status");
+        return loan.getStatus() != null ? loan.getStatus().getCode() : null;
+    }
+
+    private static PostLoansResponse createdLoan(Long loanId) {
+        PostLoansResponse response = new PostLoansResponse();
+        response.setResourceId(loanId);
+        response.setLoanId(loanId);
+        return response;
+    }
+
+    private static PostLoansLoanIdResponse transitionedLoan(Long resourceId) {
+        PostLoansLoanIdResponse response = new PostLoansLoanIdResponse();
+        response.setResourceId(resourceId);
+        return response;
+    }
 }
@@ -0,0 +1,39 @@
+package org.mifos.workflow.util;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared {@link DateTimeFormatter}s by pattern. Building a formatter parses the pattern each time,
+ * so request DTOs and delegates that format dates for Fineract on every call use these instead.
+ * Patterns come from a handful of process variables and configuration values; past
+ * {@value #MAX_PATTERNS} distinct patterns new ones are built without being cached.
+ */
+public final class DateFormatters {
+
+    public static final String FINERACT_DATE_FORMAT = "dd MMMM yyyy";
+
+    private static final int MAX_PATTERNS = 64;
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private DateFormatters() {
+    }
+
+    /**
+     * Returns the formatter for the pattern, as {@link DateTimeFormatter#ofPattern(String)} would.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static DateTimeFormatter forPattern(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter != null) {
+            return formatter;
+        }
+        formatter = DateTimeFormatter.ofPattern(pattern);
+        if (FORMATTERS.size() < MAX_PATTERNS) {
+            FORMATTERS.putIfAbsent(pattern, formatter);
+        }
+        return formatter;
+    }
+}
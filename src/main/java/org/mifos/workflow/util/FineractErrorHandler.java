@@ -2,6 +2,7 @@ package org.mifos.workflow.util;
 
 import lombok.extern.slf4j.Slf4j;
 import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.exception.FineractThrottledException;
 import retrofit2.HttpException;
 
 /**
@@ -30,7 +31,9 @@ public class FineractErrorHandler {
 
 
     public static void logDetailedError(String operation, String resourceId, Throwable error) {
-        if (error instanceof HttpException httpError) {
+        if (error instanceof FineractThrottledException) {
+            log.warn("Fineract call for {}{} not sent, retry later: {}", operation, resourceId != null ? " of resource " + resourceId : "", error.getMessage());
+        } else if (error instanceof HttpException httpError) {
             if (resourceId != null) {
                 log.error("Fineract API error during {} for resource {}: HTTP {} - {}", operation, resourceId, httpError.code(), httpError.message());
             } else {
@@ -49,6 +52,10 @@ public class FineractErrorHandler {
         if (error instanceof HttpException httpError) {
             String errorBody = extractErrorBody(httpError);
             return createException(operation, error, resourceId, errorBody);
+        } else if (error instanceof FineractThrottledException throttled) {
+            String message = resourceId != null ? String.format("Failed to %s for resource %s: %s", operation, resourceId, throttled.getMessage()) : String.format("Failed to %s: %s", operation, throttled.getMessage());
+
+            return new FineractApiException(message, error, operation, resourceId);
         } else {
             String message = resourceId != null ? String.format("Failed to %s for resource %s", operation, resourceId) : String.format("Failed to %s", operation);
 
@@ -62,6 +69,10 @@ public class FineractErrorHandler {
 
             log.debug("Creating FineractApiException with errorBody: {}", errorBody);
             return new FineractApiException(message, httpError, operation, resourceId, errorBody);
+        } else if (error instanceof FineractThrottledException throttled) {
+            String message = resourceId != null ? String.format("Failed to %s for resource %s: %s", operation, resourceId, throttled.getMessage()) : String.format("Failed to %s: %s", operation, throttled.getMessage());
+
+            return new FineractApiException(message, error, operation, resourceId);
         } else {
             String message = resourceId != null ? String.format("Failed to %s for resource %s", operation, resourceId) : String.format("Failed to %s", operation);
 
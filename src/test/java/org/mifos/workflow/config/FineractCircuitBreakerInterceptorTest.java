@@ -0,0 +1,148 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.FineractCircuitBreakerInterceptor.CircuitBreaker.State;
+import org.mifos.workflow.exception.FineractCircuitOpenException;
+import org.mifos.workflow.exception.FineractThrottledException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FineractCircuitBreakerInterceptorTest {
+
+    private static final String BASE_URL = "https://fineract.example/fineract-provider/api/v1/";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private FineractCircuitBreakerInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        WorkflowConfig workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().setBaseUrl(BASE_URL);
+        workflowConfig.getFineract().getCircuitBreaker().setSlidingWindowSize(4);
+        workflowConfig.getFineract().getCircuitBreaker().setMinimumCalls(4);
+        workflowConfig.getFineract().getCircuitBreaker().setFailureRateThreshold(50);
+        workflowConfig.getFineract().getCircuitBreaker().setOpenDuration(10_000);
+        workflowConfig.getFineract().getCircuitBreaker().setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new FineractCircuitBreakerInterceptor(workflowConfig, meterRegistry, now::get);
+    }
+
+    @Test
+    void intercept_FailureRateReached_OpensAndFailsFastPerEndpoint() throws Exception {
+        // Given
+        interceptor.intercept(chain("loans/1", 200)).close();
+        interceptor.intercept(chain("loans/2", 200)).close();
+        interceptor.intercept(chain("loans/3", 503)).close();
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(timeoutChain("loans/4")));
+
+        // When
+        now.addAndGet(4_000);
+        Interceptor.Chain rejected = chain("loans/5", 200);
+        FineractCircuitOpenException exception = assertThrows(FineractCircuitOpenException.class, () -> interceptor.intercept(rejected));
+
+        // Then
+        assertEquals(State.OPEN, interceptor.state("loans"));
+        assertEquals("loans", exception.getEndpoint());
+        assertEquals(6_000, exception.getRetryAfterMillis());
+        verify(rejected, never()).proceed(any());
+        interceptor.intercept(chain("clients", 200)).close();
+        assertEquals(State.CLOSED, interceptor.state("clients"));
+        assertEquals(1.0, meterRegistry.get("fineract.circuitbreaker.state").tag("endpoint", "loans").gauge().value());
+        assertEquals(1.0, meterRegistry.get("fineract.circuitbreaker.calls").tag("endpoint", "loans").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void intercept_HalfOpenProbesSucceed_Closes() throws Exception {
+        // Given
+        openLoansCircuit();
+        now.addAndGet(10_000);
+
+        // When
+        interceptor.intercept(chain("loans/1", 200)).close();
+        interceptor.intercept(chain("loans/2", 200)).close();
+
+        // Then
+        assertEquals(State.CLOSED, interceptor.state("loans"));
+        interceptor.intercept(chain("loans/3", 200)).close();
+    }
+
+    @Test
+    void intercept_HalfOpenProbeFails_ReopensAndLimitsProbes() throws Exception {
+        // Given
+        openLoansCircuit();
+        now.addAndGet(10_000);
+
+        // When
+        interceptor.intercept(chain("loans/1", 504)).close();
+
+        // Then
+        assertEquals(State.OPEN, interceptor.state("loans"));
+        assertEquals(10_000, assertThrows(FineractCircuitOpenException.class, () -> interceptor.intercept(chain("loans/2", 200))).getRetryAfterMillis());
+    }
+
+    @Test
+    void intercept_ClientErrorsAndThrottledCalls_AreNotFailures() throws Exception {
+        // Given
+        Interceptor.Chain throttled = chain("loans", 200);
+        when(throttled.proceed(any())).thenThrow(new FineractThrottledException("loans", FineractThrottledException.REASON_RATE_LIMIT));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain("loans/" + i, 404)).close();
+            assertThrows(FineractThrottledException.class, () -> interceptor.intercept(throttled));
+        }
+
+        // Then
+        assertEquals(State.CLOSED, interceptor.state("loans"));
+        assertEquals(4.0, meterRegistry.get("fineract.circuitbreaker.calls").tag("endpoint", "loans").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    void intercept_InternalServerErrors_AreNotFailures() throws Exception {
+        // When
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain("loans/" + i, 500)).close();
+        }
+
+        // Then
+        assertEquals(State.CLOSED, interceptor.state("loans"));
+        interceptor.intercept(chain("loans/5", 200)).close();
+        assertEquals(5.0, meterRegistry.get("fineract.circuitbreaker.calls").tag("endpoint", "loans").tag("outcome", "success").counter().count());
+    }
+
+    private void openLoansCircuit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain("loans/" + i, 502)).close();
+        }
+        assertEquals(State.OPEN, interceptor.state("loans"));
+    }
+
+    private static Interceptor.Chain chain(String path, int code) throws Exception {
+        Request request = new Request.Builder().url(BASE_URL + path).build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(code).message("status " + code)
+                .body(ResponseBody.create("{}", MediaType.get("application/json"))).build());
+        return chain;
+    }
+
+    private static Interceptor.Chain timeoutChain(String path) throws Exception {
+        Interceptor.Chain chain = chain(path, 200);
+        when(chain.proceed(any())).thenThrow(new SocketTimeoutException("timeout"));
+        return chain;
+    }
+}
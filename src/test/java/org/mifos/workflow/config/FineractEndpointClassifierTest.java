@@ -0,0 +1,31 @@
+package org.mifos.workflow.config;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FineractEndpointClassifierTest {
+
+    private static final String BASE_URL = "https://fineract.example/fineract-provider/api/v1/";
+
+    @Test
+    void classify_UsesFirstSegmentAfterBaseUrl() {
+        // Given
+        FineractEndpointClassifier classifier = new FineractEndpointClassifier(BASE_URL);
+
+        // Then
+        assertEquals("loans", classifier.classify(HttpUrl.get(BASE_URL + "loans/42?command=disburse")));
+        assertEquals("clients", classifier.classify(HttpUrl.get(BASE_URL + "clients")));
+        assertEquals(FineractEndpointClassifier.DEFAULT_ENDPOINT, classifier.classify(HttpUrl.get(BASE_URL)));
+    }
+
+    @Test
+    void classify_BaseUrlWithoutTrailingSlash_UsesFirstSegmentAfterBaseUrl() {
+        // Given
+        FineractEndpointClassifier classifier = new FineractEndpointClassifier("https://fineract.example/fineract-provider/api/v1");
+
+        // Then
+        assertEquals("authentication", classifier.classify(HttpUrl.get(BASE_URL + "authentication")));
+    }
+}
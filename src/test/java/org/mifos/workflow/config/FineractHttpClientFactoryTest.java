@@ -0,0 +1,162 @@
+package org.mifos.workflow.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Credentials;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.service.fineract.auth.FineractAuthService;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FineractHttpClientFactoryTest {
+
+    private WorkflowConfig workflowConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private FineractHttpClientFactory fineractHttpClientFactory;
+    private FineractAuthService authService;
+    private HttpServer server;
+    private final AtomicReference<String> receivedTenant = new AtomicReference<>();
+    private final List<String> receivedAuthorizations = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().setUsername("mifos");
+        workflowConfig.getFineract().setPassword("password");
+        workflowConfig.getFineract().setConnectionTimeout(1500);
+        workflowConfig.getFineract().setReadTimeout(2500);
+        workflowConfig.getFineract().setMaxRequestsPerHost(12);
+        meterRegistry = new SimpleMeterRegistry();
+        authService = mock(FineractAuthService.class);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<FineractAuthService> authServiceProvider = mock(ObjectProvider.class);
+        when(authServiceProvider.getIfAvailable()).thenReturn(authService);
+        fineractHttpClientFactory = new FineractHttpClientFactory(workflowConfig, meterRegistry, new FineractWireLoggingInterceptor(workflowConfig),
+                new FineractRateLimitInterceptor(workflowConfig, meterRegistry), new FineractCircuitBreakerInterceptor(workflowConfig, meterRegistry),
+                new FineractRequestCoalescer(workflowConfig, meterRegistry), authServiceProvider);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedTenant.set(exchange.getRequestHeaders().getFirst("Fineract-Platform-TenantId"));
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            receivedAuthorizations.add(authorization);
+            if (exchange.getRequestURI().getPath().equals("/secured") && !"Basic service-key".equals(authorization)) {
+                exchange.sendResponseHeaders(401, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("{}".getBytes());
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void forTenant_CreatesOneConfiguredClientPerTenant() {
+        // When
+        OkHttpClient defaultClient = fineractHttpClientFactory.forTenant("default");
+        OkHttpClient otherClient = fineractHttpClientFactory.forTenant("other");
+
+        // Then
+        assertSame(defaultClient, fineractHttpClientFactory.forTenant("default"));
+        assertNotSame(defaultClient.connectionPool(), otherClient.connectionPool());
+        assertNotSame(defaultClient.dispatcher(), otherClient.dispatcher());
+        assertEquals(1500, defaultClient.connectTimeoutMillis());
+        assertEquals(2500, defaultClient.readTimeoutMillis());
+        assertEquals(12, defaultClient.dispatcher().getMaxRequestsPerHost());
+        assertEquals(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), defaultClient.protocols());
+    }
+
+    @Test
+    void forTenant_Http2Disabled_UsesHttp11Only() {
+        // Given
+        workflowConfig.getFineract().setHttp2Enabled(false);
+
+        // When
+        OkHttpClient client = fineractHttpClientFactory.forTenant("default");
+
+        // Then
+        assertEquals(List.of(Protocol.HTTP_1_1), client.protocols());
+    }
+
+    @Test
+    void forTenant_VirtualThreads_UsesHttp11Only() {
+        // Given
+        workflowConfig.getEngine().setExecutionMode(WorkflowConfig.ExecutionMode.VIRTUAL_THREADS);
+
+        // When
+        OkHttpClient client = fineractHttpClientFactory.forTenant("default");
+
+        // Then
+        assertEquals(List.of(Protocol.HTTP_1_1), client.protocols());
+    }
+
+    @Test
+    void forTenant_SendsTenantHeaderAndPublishesPoolMetrics() throws Exception {
+        // Given
+        OkHttpClient client = fineractHttpClientFactory.forTenant("branch-7");
+
+        // When
+        try (Response response = client.newCall(new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/clients").build()).execute()) {
+            assertEquals(200, response.code());
+        }
+
+        // Then
+        assertEquals("branch-7", receivedTenant.get());
+        assertEquals(1.0, meterRegistry.get("fineract.http.connections").tag("tenant", "branch-7").tag("state", "idle").gauge().value());
+        assertEquals(0.0, meterRegistry.get("fineract.http.calls").tag("tenant", "branch-7").tag("state", "queued").gauge().value());
+    }
+
+    @Test
+    void forTenant_Unauthorized_ReauthenticatesAndRetriesOnce() throws Exception {
+        // Given
+        when(authService.reauthenticate(eq("default"), anyLong())).thenReturn("service-key");
+        OkHttpClient client = fineractHttpClientFactory.forTenant("default");
+
+        // When
+        try (Response response = client.newCall(new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/secured").build()).execute()) {
+
+            // Then
+            assertEquals(200, response.code());
+        }
+        assertEquals(List.of(Credentials.basic("mifos", "password"), "Basic service-key"), receivedAuthorizations);
+        verify(authService).reauthenticate(eq("default"), anyLong());
+    }
+
+    @Test
+    void forTenant_StillUnauthorizedAfterRetry_ReturnsUnauthorized() throws Exception {
+        // Given
+        when(authService.reauthenticate(eq("default"), anyLong())).thenReturn("rejected-key");
+        OkHttpClient client = fineractHttpClientFactory.forTenant("default");
+
+        // When
+        try (Response response = client.newCall(new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/secured").build()).execute()) {
+
+            // Then
+            assertEquals(401, response.code());
+        }
+        assertEquals(2, receivedAuthorizations.size());
+        verify(authService, times(1)).reauthenticate(eq("default"), anyLong());
+    }
+}
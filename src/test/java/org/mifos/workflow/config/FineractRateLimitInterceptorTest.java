@@ -0,0 +1,172 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.exception.FineractThrottledException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FineractRateLimitInterceptorTest {
+
+    private static final String BASE_URL = "https://fineract.example/fineract-provider/api/v1/";
+
+    private WorkflowConfig workflowConfig;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().setBaseUrl(BASE_URL);
+        workflowConfig.getFineract().getRateLimit().setPermitsPerSecond(100);
+        workflowConfig.getFineract().getRateLimit().setMaxWait(0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void intercept_EndpointRateExhausted_RejectsOnlyThatEndpoint() throws Exception {
+        // Given
+        workflowConfig.getFineract().getRateLimit().getEndpointPermitsPerSecond().put("loans", 2.0);
+        FineractRateLimitInterceptor interceptor = new FineractRateLimitInterceptor(workflowConfig, meterRegistry);
+
+        // When
+        interceptor.intercept(chain("loans/1")).close();
+        interceptor.intercept(chain("loans/2")).close();
+        FineractThrottledException exception = assertThrows(FineractThrottledException.class, () -> interceptor.intercept(chain("loans/3")));
+        interceptor.intercept(chain("clients/1")).close();
+
+        // Then
+        assertEquals("loans", exception.getEndpoint());
+        assertEquals(FineractThrottledException.REASON_RATE_LIMIT, exception.getReason());
+        assertEquals(2.0, meterRegistry.get("fineract.ratelimit.permits").tag("endpoint", "loans").counter().count());
+        assertEquals(1.0, meterRegistry.get("fineract.ratelimit.permits").tag("endpoint", "clients").counter().count());
+        assertEquals(1.0, meterRegistry.get("fineract.ratelimit.rejections").tag("endpoint", "loans").tag("reason", "rate-limit").counter().count());
+    }
+
+    @Test
+    void intercept_RateExhausted_WaitsForNextPermitWithinMaxWait() throws Exception {
+        // Given
+        workflowConfig.getFineract().getRateLimit().setPermitsPerSecond(5);
+        workflowConfig.getFineract().getRateLimit().setMaxWait(1000);
+        FineractRateLimitInterceptor interceptor = new FineractRateLimitInterceptor(workflowConfig, meterRegistry);
+        Interceptor.Chain chain = chain("clients");
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            interceptor.intercept(chain).close();
+        }
+
+        // When
+        interceptor.intercept(chain).close();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertTrue(elapsedMillis >= 150, "elapsed " + elapsedMillis + " ms");
+        assertEquals(6, meterRegistry.get("fineract.ratelimit.wait").tag("endpoint", "clients").timer().count());
+    }
+
+    @Test
+    void intercept_BulkheadFull_RejectsAndReleasesSlotAfterCall() throws Exception {
+        // Given
+        workflowConfig.getFineract().getRateLimit().setMaxConcurrentCalls(1);
+        FineractRateLimitInterceptor interceptor = new FineractRateLimitInterceptor(workflowConfig, meterRegistry);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Interceptor.Chain slowChain = chain("loans/1");
+        doAnswer(invocation -> {
+            inFlight.countDown();
+            release.await();
+            return response(invocation.getArgument(0));
+        }).when(slowChain).proceed(any());
+
+        // When
+        CompletableFuture<Response> slowCall = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.intercept(slowChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+        FineractThrottledException exception = assertThrows(FineractThrottledException.class, () -> interceptor.intercept(chain("clients")));
+        release.countDown();
+        slowCall.get(5, TimeUnit.SECONDS).close();
+
+        // Then
+        assertEquals(FineractThrottledException.REASON_BULKHEAD, exception.getReason());
+        assertEquals(1.0, meterRegistry.get("fineract.ratelimit.bulkhead.available").gauge().value());
+        interceptor.intercept(chain("clients")).close();
+    }
+
+    @Test
+    void intercept_BulkheadFull_RefundsRatePermit() throws Exception {
+        // Given
+        workflowConfig.getFineract().getRateLimit().setMaxConcurrentCalls(1);
+        workflowConfig.getFineract().getRateLimit().getEndpointPermitsPerSecond().put("clients", 1.0);
+        FineractRateLimitInterceptor interceptor = new FineractRateLimitInterceptor(workflowConfig, meterRegistry);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Interceptor.Chain slowChain = chain("loans/1");
+        doAnswer(invocation -> {
+            inFlight.countDown();
+            release.await();
+            return response(invocation.getArgument(0));
+        }).when(slowChain).proceed(any());
+        CompletableFuture<Response> slowCall = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.intercept(slowChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+        assertThrows(FineractThrottledException.class, () -> interceptor.intercept(chain("clients")));
+        release.countDown();
+        slowCall.get(5, TimeUnit.SECONDS).close();
+
+        // When
+        interceptor.intercept(chain("clients")).close();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("fineract.ratelimit.permits").tag("endpoint", "clients").counter().count());
+        assertTrue(meterRegistry.find("fineract.ratelimit.rejections").tag("reason", "rate-limit").counters().isEmpty());
+    }
+
+    @Test
+    void intercept_Disabled_PassesThrough() throws Exception {
+        // Given
+        workflowConfig.getFineract().getRateLimit().setEnabled(false);
+        workflowConfig.getFineract().getRateLimit().setPermitsPerSecond(1);
+        FineractRateLimitInterceptor interceptor = new FineractRateLimitInterceptor(workflowConfig, meterRegistry);
+
+        // When / Then
+        for (int i = 0; i < 5; i++) {
+            interceptor.intercept(chain("loans")).close();
+        }
+        assertTrue(meterRegistry.find("fineract.ratelimit.permits").counters().isEmpty());
+    }
+
+    private static Interceptor.Chain chain(String path) throws Exception {
+        Request request = new Request.Builder().url(BASE_URL + path).build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+        return chain;
+    }
+
+    private static Response response(Request request) {
+        return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .body(ResponseBody.create("{}", MediaType.get("application/json"))).build();
+    }
+}
@@ -0,0 +1,205 @@
+package org.mifos.workflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FineractRequestCoalescerTest {
+
+    private static final String BASE_URL = "https://fineract.example/fineract-provider/api/v1/";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private WorkflowConfig workflowConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private Interceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().setBaseUrl(BASE_URL);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new FineractRequestCoalescer(workflowConfig, meterRegistry, now::get).forTenant("default");
+    }
+
+    @Test
+    void intercept_ConcurrentIdenticalGets_ShareOneCall() throws Exception {
+        // Given
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Interceptor.Chain leader = chain("GET", "loans/7?associations=all", 200);
+        doAnswer(invocation -> {
+            sent.countDown();
+            release.await();
+            return response(invocation.getArgument(0), 200);
+        }).when(leader).proceed(any());
+        List<Interceptor.Chain> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(chain("GET", "loans/7?associations=all", 200));
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+
+        // When
+        List<Future<String>> bodies = new ArrayList<>();
+        try {
+            bodies.add(callers.submit(() -> body(interceptor.intercept(leader))));
+            assertTrue(sent.await(5, TimeUnit.SECONDS));
+            for (Interceptor.Chain follower : followers) {
+                bodies.add(callers.submit(() -> body(interceptor.intercept(follower))));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (outcomes("loans", "joined") < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            for (Future<String> body : bodies) {
+                assertEquals("{\"status\":200}", body.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(leader, times(1)).proceed(any());
+        for (Interceptor.Chain follower : followers) {
+            verify(follower, never()).proceed(any());
+        }
+        assertEquals(1.0, outcomes("loans", "sent"));
+        assertEquals(5.0, outcomes("loans", "joined"));
+    }
+
+    @Test
+    void intercept_WritesDifferentUrlsAndTenants_AreNotCoalesced() throws Exception {
+        // Given
+        Interceptor otherTenant = new FineractRequestCoalescer(workflowConfig, meterRegistry, now::get).forTenant("other");
+        workflowConfig.getFineract().getCoalescing().setResultTtl(60_000);
+        Interceptor.Chain post = chain("POST", "loans/7?command=disburse", 200);
+        Interceptor.Chain get = chain("GET", "loans/7", 200);
+        Interceptor.Chain otherQuery = chain("GET", "loans/7?associations=all", 200);
+        Interceptor.Chain otherTenantGet = chain("GET", "loans/7", 200);
+
+        // When
+        interceptor.intercept(post).close();
+        interceptor.intercept(post).close();
+        interceptor.intercept(get).close();
+        interceptor.intercept(otherQuery).close();
+        otherTenant.intercept(otherTenantGet).close();
+
+        // Then
+        verify(post, times(2)).proceed(any());
+        verify(get).proceed(any());
+        verify(otherQuery).proceed(any());
+        verify(otherTenantGet).proceed(any());
+    }
+
+    @Test
+    void intercept_EndpointResultTtl_ReusesSuccessfulResponsesUntilExpiry() throws Exception {
+        // Given
+        workflowConfig.getFineract().getCoalescing().getEndpointResultTtls().put("clients", 500L);
+        Interceptor.Chain first = chain("GET", "clients/3", 200);
+        Interceptor.Chain cached = chain("GET", "clients/3", 200);
+        Interceptor.Chain expired = chain("GET", "clients/3", 200);
+        Interceptor.Chain missing = chain("GET", "clients/4", 404);
+        Interceptor.Chain missingAgain = chain("GET", "clients/4", 404);
+
+        // When
+        interceptor.intercept(first).close();
+        now.addAndGet(499);
+        try (Response response = interceptor.intercept(cached)) {
+            assertEquals(200, response.code());
+            assertEquals("{\"status\":200}", response.body().string());
+        }
+        now.addAndGet(1);
+        interceptor.intercept(expired).close();
+        interceptor.intercept(missing).close();
+        interceptor.intercept(missingAgain).close();
+
+        // Then
+        verify(cached, never()).proceed(any());
+        verify(expired).proceed(any());
+        verify(missingAgain).proceed(any());
+        assertEquals(1.0, outcomes("clients", "cached"));
+    }
+
+    @Test
+    void intercept_ExcludedEndpointOrDisabled_AlwaysSends() throws Exception {
+        // Given
+        workflowConfig.getFineract().getCoalescing().setResultTtl(60_000);
+        workflowConfig.getFineract().getCoalescing().getExcludedEndpoints().add("loans");
+        Interceptor.Chain loans = chain("GET", "loans/7", 200);
+        Interceptor.Chain clients = chain("GET", "clients/3", 200);
+
+        // When
+        interceptor.intercept(loans).close();
+        interceptor.intercept(loans).close();
+        workflowConfig.getFineract().getCoalescing().setEnabled(false);
+        interceptor.intercept(clients).close();
+        interceptor.intercept(clients).close();
+
+        // Then
+        verify(loans, times(2)).proceed(any());
+        verify(clients, times(2)).proceed(any());
+    }
+
+    @Test
+    void intercept_FailedCall_IsNotReused() throws Exception {
+        // Given
+        workflowConfig.getFineract().getCoalescing().setResultTtl(60_000);
+        Interceptor.Chain failing = chain("GET", "loans/7", 200);
+        doThrow(new SocketTimeoutException("timeout")).when(failing).proceed(any());
+        Interceptor.Chain retry = chain("GET", "loans/7", 200);
+
+        // When
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(failing));
+        interceptor.intercept(retry).close();
+
+        // Then
+        verify(retry).proceed(any());
+    }
+
+    private double outcomes(String endpoint, String outcome) {
+        return meterRegistry.find("fineract.coalescing.calls").tag("endpoint", endpoint).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static String body(Response response) throws IOException {
+        try (response) {
+            return response.body().string();
+        }
+    }
+
+    private static Interceptor.Chain chain(String method, String path, int code) throws Exception {
+        RequestBody body = "GET".equals(method) ? null : RequestBody.create("{}", MediaType.get("application/json"));
+        Request request = new Request.Builder().url(BASE_URL + path).method(method, body).build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> response(invocation.getArgument(0), code));
+        return chain;
+    }
+
+    private static Response response(Request request, int code) {
+        return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(code).message("status " + code)
+                .body(ResponseBody.create("{\"status\":" + code + "}", MediaType.get("application/json"))).build();
+    }
+}
@@ -0,0 +1,146 @@
+package org.mifos.workflow.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.dto.fineract.address.AddressDTO;
+import org.mifos.workflow.dto.fineract.client.ClientActivationRequestDTO;
+import org.mifos.workflow.dto.fineract.client.ClientCreateRequestDTO;
+import org.mifos.workflow.util.DateFormatters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares Fineract request serialization before and after the shared date formatters, the
+ * streaming LocalDate adapter and the client request adapters: output must be identical, and time
+ * and allocated bytes per request are logged by the {@code benchmark} run. The "before" side
+ * rebuilds the previous tree-based Gson setup with a formatter per date, and serializes client
+ * requests through their {@code toMap()}.
+ */
+class FineractSerializationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(FineractSerializationBenchmarkTest.class);
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+    private static final TypeToken<Map<String, LocalDate>> DATES = new TypeToken<>() {
+    };
+
+    private final Gson legacyGson = new GsonBuilder()
+            .setLenient()
+            .registerTypeAdapter(LocalDate.class, (JsonSerializer<LocalDate>) (src, typeOfSrc, context) -> new JsonPrimitive(src.format(DateTimeFormatter.ofPattern("dd MMMM yyyy"))))
+            .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>) (json, typeOfT, context) -> LocalDate.parse(json.getAsString(), DateTimeFormatter.ofPattern("dd MMMM yyyy")))
+            .create();
+    private final Gson gson = new FineractApiConfig(new WorkflowConfig()).gson();
+    private static int sink;
+
+    private final Map<String, LocalDate> dates = Map.of("submittedOnDate", LocalDate.of(2024, 3, 1), "expectedDisbursementDate", LocalDate.of(2024, 3, 15),
+            "repaymentsStartingFromDate", LocalDate.of(2024, 4, 15));
+
+    @Test
+    void localDateAdapter_MatchesPreviousOutput() {
+        // When
+        String json = gson.toJson(dates, DATES.getType());
+
+        // Then
+        assertEquals(legacyGson.toJson(dates, DATES.getType()), json);
+        assertEquals(dates, gson.fromJson(json, DATES.getType()));
+        assertEquals("null", gson.toJson(null, LocalDate.class));
+    }
+
+    @Test
+    void clientCreateAdapter_MatchesMapOutput() {
+        // Given
+        ClientCreateRequestDTO withAddressFields = clientCreateRequest().toBuilder().address(null).externalId("ext-1").clientClassificationId(3L)
+                .addressLine1("1 Main Street").city("Nairobi").stateProvinceId("4").countryId("5").build();
+        ClientCreateRequestDTO withoutDateFormat = clientCreateRequest().toBuilder().dateFormat(null).address(List.of()).build();
+
+        // When / Then
+        for (ClientCreateRequestDTO request : List.of(clientCreateRequest(), withAddressFields, withoutDateFormat)) {
+            assertEquals(JsonParser.parseString(gson.toJson(request.toMap())), JsonParser.parseString(gson.toJson(request)));
+        }
+    }
+
+    @Test
+    void clientActivationAdapter_MatchesMapOutput() {
+        // Given
+        ClientActivationRequestDTO request = clientActivationRequest();
+        ClientActivationRequestDTO withoutDate = ClientActivationRequestDTO.builder().dateFormat("dd MMMM yyyy").locale("en").build();
+
+        // When / Then
+        assertEquals(JsonParser.parseString(gson.toJson(request.toMap(request.getDateFormat()))), JsonParser.parseString(gson.toJson(request)));
+        assertEquals(JsonParser.parseString(gson.toJson(withoutDate.toMap(request.getDateFormat()))), JsonParser.parseString(gson.toJson(withoutDate)));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void serialization_Benchmark() {
+        ClientCreateRequestDTO request = clientCreateRequest();
+        ClientActivationRequestDTO activation = clientActivationRequest();
+
+        Result legacyDates = measure(() -> legacyGson.toJson(dates, DATES.getType()));
+        Result streamedDates = measure(() -> gson.toJson(dates, DATES.getType()));
+        Result legacyFormat = measure(() -> request.getDateOfBirth().format(DateTimeFormatter.ofPattern(request.getDateFormat())));
+        Result cachedFormat = measure(() -> request.getDateOfBirth().format(DateFormatters.forPattern(request.getDateFormat())));
+        Result clientCreateMap = measure(() -> gson.toJson(request.toMap()));
+        Result clientCreateStreamed = measure(() -> gson.toJson(request));
+        Result activationMap = measure(() -> gson.toJson(activation.toMap(activation.getDateFormat())));
+        Result activationStreamed = measure(() -> gson.toJson(activation));
+
+        logger.info("LocalDate body with 3 dates: tree adapter {}, streaming adapter {}", legacyDates, streamedDates);
+        logger.info("Request date formatting: new formatter {}, shared formatter {}", legacyFormat, cachedFormat);
+        logger.info("Client create request body: through toMap() {}, streaming adapter {}", clientCreateMap, clientCreateStreamed);
+        logger.info("Client activation request body: through toMap() {}, streaming adapter {}", activationMap, activationStreamed);
+    }
+
+    private static ClientCreateRequestDTO clientCreateRequest() {
+        return ClientCreateRequestDTO.builder().firstName("Jane").lastName("Doe").officeId(1L).dateFormat("dd MMMM yyyy").locale("en")
+                .active(false).legalFormId(1L).mobileNo("0712345678").dateOfBirth(LocalDate.of(1990, 5, 17)).submissionDate(LocalDate.of(2024, 3, 1))
+                .address(List.of(AddressDTO.builder().addressTypeId(1L).addressLine1("1 Main Street").city("Nairobi").build())).build();
+    }
+
+    private static ClientActivationRequestDTO clientActivationRequest() {
+        return ClientActivationRequestDTO.builder().dateFormat("dd MMMM yyyy").locale("en").activationDate(LocalDate.of(2024, 3, 1)).build();
+    }
+
+    private static Result measure(Supplier<String> operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int length = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            length += operation.get().length();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            length += operation.get().length();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        // Consumed so the JIT cannot drop the loops
+        sink += length;
+        return new Result(nanos / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private record Result(long nanosPerOp, long bytesPerOp) {
+
+        @Override
+        public String toString() {
+            return nanosPerOp + " ns and " + bytesPerOp + " B per request";
+        }
+    }
+}
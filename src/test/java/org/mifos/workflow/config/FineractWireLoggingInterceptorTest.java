@@ -0,0 +1,149 @@
+package org.mifos.workflow.config;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FineractWireLoggingInterceptorTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Mock
+    private Interceptor.Chain chain;
+
+    private WorkflowConfig workflowConfig;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+    }
+
+    @Test
+    void redact_MasksCredentialAndPiiFieldsOnly() {
+        // Given
+        FineractWireLoggingInterceptor interceptor = new FineractWireLoggingInterceptor(workflowConfig);
+
+        // When
+        String body = interceptor.redact("{\"username\":\"mifos\",\"password\":\"p\\\"ss\",\"client\":{\"mobileNo\": 255700, \"officeId\":1}}");
+        String url = interceptor.redact(HttpUrl.get("https://fineract/api/v1/authentication?password=secret&externalId=false"));
+
+        // Then
+        assertEquals("{\"username\":\"mifos\",\"password\":\"***\",\"client\":{\"mobileNo\": \"***\", \"officeId\":1}}", body);
+        assertEquals("https://fineract/api/v1/authentication?password=***&externalId=false", url);
+    }
+
+    @Test
+    void isSampled_UsesEndpointRateBeforeDefault() {
+        // Given
+        workflowConfig.getFineract().getWireLogging().setSampleRate(1.0);
+        workflowConfig.getFineract().getWireLogging().getEndpointSampleRates().put("loans", 0.0);
+        FineractWireLoggingInterceptor interceptor = new FineractWireLoggingInterceptor(workflowConfig);
+
+        // Then
+        assertFalse(interceptor.isSampled(HttpUrl.get("https://fineract/api/v1/loans/12?associations=all")));
+        assertTrue(interceptor.isSampled(HttpUrl.get("https://fineract/api/v1/clients/7")));
+    }
+
+    @Test
+    void intercept_BasicLevel_NeverTouchesBodies() throws Exception {
+        // Given
+        FineractWireLoggingInterceptor interceptor = new FineractWireLoggingInterceptor(workflowConfig);
+        AtomicInteger responseReads = new AtomicInteger();
+        Request request = new Request.Builder().url("https://fineract/api/v1/loans").post(new FailingRequestBody()).build();
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response(request, responseReads));
+
+        // When
+        Response response = interceptor.intercept(chain);
+
+        // Then
+        assertEquals(200, response.code());
+        assertEquals(0, responseReads.get());
+    }
+
+    @Test
+    void intercept_BodyLevel_PeeksResponseWithoutConsumingIt() throws Exception {
+        // Given
+        workflowConfig.getFineract().getWireLogging().setLevel(FineractWireLoggingInterceptor.Level.BODY);
+        workflowConfig.getFineract().getWireLogging().setMaxBodyBytes(8);
+        FineractWireLoggingInterceptor interceptor = new FineractWireLoggingInterceptor(workflowConfig);
+        AtomicInteger responseReads = new AtomicInteger();
+        Request request = new Request.Builder().url("https://fineract/api/v1/clients").post(RequestBody.create("{\"mobileNo\":\"255700\"}", JSON)).build();
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenReturn(response(request, responseReads));
+
+        // When
+        Response response = interceptor.intercept(chain);
+
+        // Then
+        assertTrue(responseReads.get() > 0);
+        assertEquals("{\"resourceId\":42}", response.body().string());
+    }
+
+    @Test
+    void intercept_LevelNone_PassesThrough() throws Exception {
+        // Given
+        workflowConfig.getFineract().getWireLogging().setLevel(FineractWireLoggingInterceptor.Level.NONE);
+        FineractWireLoggingInterceptor interceptor = new FineractWireLoggingInterceptor(workflowConfig);
+        Request request = new Request.Builder().url("https://fineract/api/v1/loans").build();
+        Response expected = response(request, new AtomicInteger());
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(request)).thenReturn(expected);
+
+        // When / Then
+        assertSame(expected, interceptor.intercept(chain));
+    }
+
+    private Response response(Request request, AtomicInteger reads) {
+        Buffer content = new Buffer().writeUtf8("{\"resourceId\":42}");
+        ResponseBody body = new ResponseBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
+            }
+
+            @Override
+            public long contentLength() {
+                return content.size();
+            }
+
+            @Override
+            public BufferedSource source() {
+                reads.incrementAndGet();
+                return content;
+            }
+        };
+        return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(200).message("OK").body(body).build();
+    }
+
+    private static class FailingRequestBody extends RequestBody {
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public void writeTo(okio.BufferedSink sink) {
+            fail("Request body must not be read below BODY level");
+        }
+    }
+}
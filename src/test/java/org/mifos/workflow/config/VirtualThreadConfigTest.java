@@ -0,0 +1,261 @@
+package org.mifos.workflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.workflow.api.loan.LoansApi;
+import org.mifos.workflow.core.engine.delegates.LoanDisbursementDelegate;
+import org.mifos.workflow.engine.flowable.InMemoryProcessEngines;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyRepository;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyService;
+import org.mifos.workflow.service.fineract.idempotency.JpaIdempotencyRepositories;
+import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfigTest.class);
+
+    private static final String PROCESS = "<process id='disburse'><startEvent id='start'/><sequenceFlow id='toDisburse' sourceRef='start' targetRef='disburseLoan'/>"
+            + "<serviceTask id='disburseLoan' flowable:async='true' flowable:triggerable='true' flowable:delegateExpression='${loanDisbursementDelegate}'/>"
+            + "<sequenceFlow id='toEnd' sourceRef='disburseLoan' targetRef='end'/><endEvent id='end'/></process>";
+
+    private static final int DISBURSEMENTS = 10_000;
+    private static final int DB_POOL_SIZE = 20;
+    private static final long ALL_IN_FLIGHT_TIMEOUT_SECONDS = 120;
+
+    private WorkflowConfig workflowConfig;
+    private VirtualThreadConfig virtualThreadConfig;
+    private SpringProcessEngineConfiguration engineConfiguration;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getEngine().setExecutionMode(WorkflowConfig.ExecutionMode.VIRTUAL_THREADS);
+        virtualThreadConfig = new VirtualThreadConfig(workflowConfig);
+        engineConfiguration = new SpringProcessEngineConfiguration();
+        virtualThreadConfig.virtualThreadEngineConfigurer().configure(engineConfiguration);
+        virtualThreadConfig.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        virtualThreadConfig.destroy();
+    }
+
+    @Test
+    void configure_RunsJobsCallsAndIoSchedulerOnVirtualThreads() throws Exception {
+        // When
+        boolean jobThreadVirtual = engineConfiguration.getAsyncTaskExecutor().submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+        boolean callThreadVirtual = engineConfiguration.getAsyncTaskInvokerTaskExecutor().submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+        String ioThreadName = Observable.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(Schedulers.io()).blockingFirst();
+
+        // Then
+        assertTrue(virtualThreadConfig.isRunning());
+        assertTrue(jobThreadVirtual);
+        assertTrue(callThreadVirtual);
+        assertTrue(ioThreadName.startsWith("fineract-io-"), ioThreadName);
+    }
+
+    @Test
+    void configure_JobsOverConcurrencyCap_WaitWithoutBlockingSubmitter() throws Exception {
+        // Given
+        workflowConfig.getEngine().setVirtualThreadJobConcurrency(1);
+        VirtualThreadConfig capped = new VirtualThreadConfig(workflowConfig);
+        SpringProcessEngineConfiguration cappedConfiguration = new SpringProcessEngineConfiguration();
+        capped.virtualThreadEngineConfigurer().configure(cappedConfiguration);
+        CountDownLatch firstJobRunning = new CountDownLatch(1);
+        CountDownLatch releaseFirstJob = new CountDownLatch(1);
+        CountDownLatch secondJobRan = new CountDownLatch(1);
+        try {
+            cappedConfiguration.getAsyncTaskExecutor().execute(() -> {
+                firstJobRunning.countDown();
+                try {
+                    releaseFirstJob.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(firstJobRunning.await(5, TimeUnit.SECONDS));
+
+            // When
+            long start = System.nanoTime();
+            cappedConfiguration.getAsyncTaskExecutor().execute(secondJobRan::countDown);
+            long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Then
+            assertTrue(submitMillis < 1000, "submitting took " + submitMillis + " ms");
+            assertFalse(secondJobRan.await(200, TimeUnit.MILLISECONDS));
+            releaseFirstJob.countDown();
+            assertTrue(secondJobRan.await(5, TimeUnit.SECONDS));
+        } finally {
+            releaseFirstJob.countDown();
+            capped.destroy();
+        }
+    }
+
+    @Test
+    void construction_LeavesIoSchedulerAloneUntilStarted() {
+        // Given
+        virtualThreadConfig.stop();
+
+        // When
+        VirtualThreadConfig notStarted = new VirtualThreadConfig(workflowConfig);
+        boolean ioThreadVirtual = Observable.fromCallable(() -> Thread.currentThread().isVirtual()).subscribeOn(Schedulers.io()).blockingFirst();
+        notStarted.destroy();
+
+        // Then
+        assertFalse(notStarted.isRunning());
+        assertFalse(ioThreadVirtual);
+    }
+
+    @Test
+    void stop_RestoresPreviousIoSchedulerHandler() {
+        // Given
+        virtualThreadConfig.stop();
+        Scheduler previousScheduler = Schedulers.single();
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> previousScheduler);
+        try {
+            virtualThreadConfig.start();
+
+            // When
+            virtualThreadConfig.stop();
+
+            // Then
+            assertFalse(virtualThreadConfig.isRunning());
+            assertSame(previousScheduler, Schedulers.io());
+        } finally {
+            RxJavaPlugins.setIoSchedulerHandler(null);
+        }
+    }
+
+    @Test
+    void destroy_RestoresPlatformIoScheduler() {
+        // When
+        virtualThreadConfig.destroy();
+        boolean ioThreadVirtual = Observable.fromCallable(() -> Thread.currentThread().isVirtual()).subscribeOn(Schedulers.io()).blockingFirst();
+
+        // Then
+        assertFalse(ioThreadVirtual);
+    }
+
+    /**
+     * Runs disbursements on triggerable async tasks of an H2 engine whose job executor is the
+     * virtual-thread one, with idempotency on and a real dedup table on the engine's connection
+     * pool, against a Fineract stub that holds every call until all of them are in flight. Jobs
+     * commit before their call is made, so the calls in flight are bounded by the virtual threads,
+     * not by the connection pool.
+     */
+    @Test
+    @Tag("benchmark")
+    void disbursementJobs_Benchmark() throws Exception {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        AtomicInteger platformThreadCalls = new AtomicInteger();
+        CountDownLatch allInFlight = new CountDownLatch(DISBURSEMENTS);
+        PostLoansLoanIdResponse response = new PostLoansLoanIdResponse();
+        response.setResourceId(1L);
+        Observable<PostLoansLoanIdResponse> fineractCall = Observable.fromCallable(() -> {
+            if (!Thread.currentThread().isVirtual()) {
+                platformThreadCalls.incrementAndGet();
+            }
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            allInFlight.countDown();
+            try {
+                allInFlight.await(ALL_IN_FLIGHT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return response;
+        });
+        LoansApi loansApi = mock(LoansApi.class, withSettings().stubOnly());
+        when(loansApi.stateTransitions(anyLong(), anyMap(), eq("disburse"))).thenReturn(fineractCall);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:virtual-thread-jobs;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(DB_POOL_SIZE);
+        // Short bookkeeping transactions of thousands of calls queue for the connections at once
+        dataSource.setConnectionTimeout(TimeUnit.MINUTES.toMillis(5));
+        AnnotationConfigApplicationContext jpaContext = JpaIdempotencyRepositories.open(dataSource);
+        FineractIdempotencyRepository repository = jpaContext.getBean(FineractIdempotencyRepository.class);
+        FineractIdempotencyService idempotencyService = new FineractIdempotencyService(workflowConfig, repository, new SimpleMeterRegistry());
+        LoanDisbursementDelegate delegate = new LoanDisbursementDelegate(new FineractLoanService(loansApi, null, idempotencyService));
+
+        SpringProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration(dataSource, jpaContext.getBean(PlatformTransactionManager.class));
+        // As in the application; database id blocks would make each job take a second connection
+        configuration.setIdGenerator(new StrongUuidGenerator());
+        configuration.setBeans(Map.of("loanDisbursementDelegate", delegate));
+        configuration.setAsyncTaskExecutor(engineConfiguration.getAsyncTaskExecutor());
+        configuration.setAsyncTaskInvokerTaskExecutor(engineConfiguration.getAsyncTaskInvokerTaskExecutor());
+        configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(DISBURSEMENTS);
+        configuration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(50);
+        ProcessEngine processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "disburse", PROCESS);
+        try {
+            for (int i = 0; i < DISBURSEMENTS; i++) {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("loanId", 1000L + i);
+                variables.put("actualDisbursementDate", LocalDate.of(2025, 1, 15));
+                variables.put("transactionAmount", new BigDecimal("5000"));
+                processEngine.getRuntimeService().startProcessInstanceByKey("disburse", variables);
+            }
+
+            // When
+            long start = System.nanoTime();
+            configuration.getAsyncExecutor().start();
+            awaitNoJobs(processEngine, TimeUnit.SECONDS.toNanos(300));
+            long nanos = System.nanoTime() - start;
+            configuration.getAsyncExecutor().shutdown();
+
+            // Then
+            logger.info("Ran {} disbursements in {} ms ({} /s) with {} DB connections, job concurrency cap {}, idempotency on; peak {} calls in flight",
+                    DISBURSEMENTS, nanos / 1_000_000, DISBURSEMENTS * 1_000_000_000L / nanos, DB_POOL_SIZE,
+                    workflowConfig.getEngine().getVirtualThreadJobConcurrency(), peakInFlight.get());
+            assertEquals(DISBURSEMENTS, peakInFlight.get(), "calls in flight at once, with " + DB_POOL_SIZE + " DB connections");
+            assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().count());
+            assertEquals(0, processEngine.getManagementService().createDeadLetterJobQuery().count());
+            assertEquals(DISBURSEMENTS, repository.count());
+            assertEquals(0, platformThreadCalls.get());
+        } finally {
+            processEngine.close();
+            jpaContext.close();
+            dataSource.close();
+        }
+    }
+
+    private static void awaitNoJobs(ProcessEngine processEngine, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (processEngine.getManagementService().createJobQuery().count() + processEngine.getManagementService().createTimerJobQuery().count() > 0) {
+            if (System.nanoTime() > deadline) {
+                fail("Async jobs still pending after " + TimeUnit.NANOSECONDS.toSeconds(timeoutNanos) + " s");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
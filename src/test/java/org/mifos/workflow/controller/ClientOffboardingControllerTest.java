@@ -7,6 +7,7 @@ import org.mifos.workflow.core.model.ActiveProcess;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
@@ -15,15 +16,22 @@ import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.ProcessVariables;
 import org.mifos.workflow.core.model.TaskInfo;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.dto.fineract.client.ClientCloseRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.mifos.workflow.util.ApiResponse;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.*;
 import java.time.LocalDate;
@@ -38,6 +46,9 @@ class ClientOffboardingControllerTest {
     @Mock
     private WorkflowService workflowService;
 
+    @Mock
+    private ProcessHistoryExportService processHistoryExportService;
+
     @InjectMocks
     private ClientOffboardingController clientOffboardingController;
 
@@ -93,17 +104,17 @@ class ClientOffboardingControllerTest {
     @Test
     void getClientOffboardingTasks_Success() {
         // Given
-        when(workflowService.getPendingTasks("system")).thenReturn(taskInfos);
+        when(workflowService.getPendingTasks(any(PageQuery.class))).thenReturn(CursorPage.<TaskInfo>builder().items(taskInfos).build());
 
         // When
-        ResponseEntity<List<TaskInfo>> response = clientOffboardingController.getClientOffboardingTasks();
+        ResponseEntity<CursorPage<TaskInfo>> response = clientOffboardingController.getClientOffboardingTasks(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getPendingTasks("system");
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getPendingTasks(argThat((PageQuery query) -> "system".equals(query.getAssignee())));
     }
 
     @Test
@@ -146,17 +157,17 @@ class ClientOffboardingControllerTest {
     void getActiveProcesses_Success() {
         // Given
         List<ActiveProcess> activeProcesses = Arrays.asList(ActiveProcess.builder().processInstanceId("process-1").processDefinitionKey("client-offboarding").build(), ActiveProcess.builder().processInstanceId("process-2").processDefinitionKey("client-offboarding").build());
-        when(workflowService.getActiveProcesses()).thenReturn(activeProcesses);
+        when(workflowService.getActiveProcesses(any(PageQuery.class))).thenReturn(CursorPage.<ActiveProcess>builder().items(activeProcesses).build());
 
         // When
-        ResponseEntity<List<ActiveProcess>> response = clientOffboardingController.getActiveProcesses();
+        ResponseEntity<CursorPage<ActiveProcess>> response = clientOffboardingController.getActiveProcesses(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getActiveProcesses();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getActiveProcesses(any(PageQuery.class));
     }
 
     @Test
@@ -180,29 +191,29 @@ class ClientOffboardingControllerTest {
     void getProcessHistory_Success() {
         // Given
         List<ProcessHistoryInfo> processHistory = Arrays.asList(ProcessHistoryInfo.builder().historicProcessInstanceId("hist-1").processInstanceId("process-1").build(), ProcessHistoryInfo.builder().historicProcessInstanceId("hist-2").processInstanceId("process-2").build());
-        when(workflowService.getProcessHistoryInfo()).thenReturn(processHistory);
+        when(workflowService.getProcessHistoryInfo(any(PageQuery.class))).thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(processHistory).build());
 
         // When
-        ResponseEntity<List<ProcessHistoryInfo>> response = clientOffboardingController.getProcessHistory();
+        ResponseEntity<CursorPage<ProcessHistoryInfo>> response = clientOffboardingController.getProcessHistory(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getProcessHistoryInfo();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getProcessHistoryInfo(any(PageQuery.class));
     }
 
     @Test
     void getProcessHistory_Exception_ThrowsException() {
         // Given
-        when(workflowService.getProcessHistoryInfo()).thenThrow(new RuntimeException("Database error"));
+        when(workflowService.getProcessHistoryInfo(any(PageQuery.class))).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
         assertThrows(RuntimeException.class, () -> {
-            clientOffboardingController.getProcessHistory();
+            clientOffboardingController.getProcessHistory(new PageQuery());
         });
-        verify(workflowService).getProcessHistoryInfo();
+        verify(workflowService).getProcessHistoryInfo(any(PageQuery.class));
     }
 
     @Test
@@ -281,17 +292,17 @@ class ClientOffboardingControllerTest {
     void getProcessStatus_Success() {
         // Given
         ProcessStatus processStatus = ProcessStatus.builder().processInstanceId("process-123").processDefinitionKey("client-offboarding").status("ACTIVE").build();
-        when(workflowService.getProcessStatus("process-123")).thenReturn(processStatus);
+        when(workflowService.getProcessStatus("process-123", null)).thenReturn(processStatus);
 
         // When
-        ResponseEntity<ProcessStatus> response = clientOffboardingController.getProcessStatus("process-123");
+        ResponseEntity<ProcessStatus> response = clientOffboardingController.getProcessStatus("process-123", null);
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals("ACTIVE", response.getBody().getStatus());
-        verify(workflowService).getProcessStatus("process-123");
+        verify(workflowService).getProcessStatus("process-123", null);
     }
 
     @Test
@@ -315,17 +326,17 @@ class ClientOffboardingControllerTest {
     void getDeployments_Success() {
         // Given
         List<DeploymentInfo> deployments = Arrays.asList(DeploymentInfo.builder().id("deploy-1").name("Client Offboarding").build(), DeploymentInfo.builder().id("deploy-2").name("Client Transfer").build());
-        when(workflowService.getDeployments()).thenReturn(deployments);
+        when(workflowService.getDeployments(any(PageQuery.class))).thenReturn(CursorPage.<DeploymentInfo>builder().items(deployments).build());
 
         // When
-        ResponseEntity<List<DeploymentInfo>> response = clientOffboardingController.getDeployments();
+        ResponseEntity<CursorPage<DeploymentInfo>> response = clientOffboardingController.getDeployments(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getDeployments();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getDeployments(any(PageQuery.class));
     }
 
     @Test
@@ -363,20 +374,24 @@ class ClientOffboardingControllerTest {
     }
 
     @Test
-    void getDeploymentResource_Success() {
+    void getDeploymentResource_Success() throws Exception {
         // Given
         byte[] resourceBytes = "process content".getBytes();
-        when(workflowService.getDeploymentResource("deploy-123", "process.bpmn")).thenReturn(resourceBytes);
+        DeploymentResource resource = DeploymentResource.builder().name("process.bpmn").resourceType("application/xml").resourceSize((long) resourceBytes.length).build();
+        when(workflowService.openDeploymentResource("deploy-123", "process.bpmn")).thenReturn(DeploymentResourceContent.builder().resource(resource).content(new ByteArrayInputStream(resourceBytes)).build());
 
         // When
-        ResponseEntity<byte[]> response = clientOffboardingController.getDeploymentResource("deploy-123", "process.bpmn");
+        ResponseEntity<StreamingResponseBody> response = clientOffboardingController.getDeploymentResource("deploy-123", "process.bpmn");
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertNotNull(response.getBody());
-        assertArrayEquals(resourceBytes, response.getBody());
-        verify(workflowService).getDeploymentResource("deploy-123", "process.bpmn");
+        assertEquals(MediaType.APPLICATION_XML, response.getHeaders().getContentType());
+        assertEquals(resourceBytes.length, response.getHeaders().getContentLength());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        assertArrayEquals(resourceBytes, outputStream.toByteArray());
+        verify(workflowService).openDeploymentResource("deploy-123", "process.bpmn");
     }
 
     @Test
@@ -425,4 +440,19 @@ class ClientOffboardingControllerTest {
             clientOffboardingController.deployProcess(file);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportProcessHistory_StreamsFromExportService() throws Exception {
+        // Given
+        PageQuery pageQuery = PageQuery.builder().processDefinitionKey("loan-disbursement").build();
+        java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = clientOffboardingController.exportProcessHistory(pageQuery);
+        response.getBody().writeTo(outputStream);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verify(processHistoryExportService).exportProcessHistory(pageQuery, outputStream);
+    }
+}
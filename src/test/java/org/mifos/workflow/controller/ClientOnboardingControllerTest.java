@@ -7,6 +7,7 @@ import org.mifos.workflow.core.model.ActiveProcess;
 import org.mifos.workflow.core.model.DeploymentInfo;
 import org.mifos.workflow.core.model.DeploymentInfoEnhanced;
 import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
 import org.mifos.workflow.core.model.ProcessCompletionStatus;
 import org.mifos.workflow.core.model.ProcessDefinitionInfo;
@@ -14,17 +15,25 @@ import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.ProcessVariables;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.TaskInfo;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.dto.fineract.client.ClientCreateRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
 import org.mifos.workflow.util.ApiResponse;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.mock.web.MockMultipartFile;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.*;
 import java.time.LocalDate;
@@ -40,6 +49,9 @@ class ClientOnboardingControllerTest {
     @Mock
     private WorkflowService workflowService;
 
+    @Mock
+    private ProcessHistoryExportService processHistoryExportService;
+
     @InjectMocks
     private ClientOnboardingController clientOnboardingController;
 
@@ -76,20 +88,36 @@ class ClientOnboardingControllerTest {
         verify(workflowService).startProcess(eq("client-onboarding"), any(Map.class));
     }
 
+    @Test
+    void startClientOnboardings_StartsAllRequestsInOneBulkCall() {
+        // Given
+        List<StartResult> results = List.of(StartResult.builder().index(0).processInstanceId("process-1").success(true).build(), StartResult.builder().index(1).success(false).error("failed").build());
+        when(workflowService.startProcesses(anyList())).thenReturn(results);
+
+        // When
+        ResponseEntity<List<StartResult>> response = clientOnboardingController.startClientOnboardings(List.of(clientRequest, clientRequest));
+
+        // Then
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(results, response.getBody());
+        verify(workflowService).startProcesses(argThat(commands -> commands.size() == 2 && commands.stream().allMatch(command -> "client-onboarding".equals(command.getProcessDefinitionKey()) && clientRequest.getFirstName().equals(command.getVariables().get("firstName")))));
+        verify(workflowService, never()).startProcess(anyString(), any());
+    }
+
     @Test
     void getClientOnboardingTasks_Success() {
         // Given
-        when(workflowService.getPendingTasks("system")).thenReturn(taskInfos);
+        when(workflowService.getPendingTasks(any(PageQuery.class))).thenReturn(CursorPage.<TaskInfo>builder().items(taskInfos).build());
 
         // When
-        ResponseEntity<List<TaskInfo>> response = clientOnboardingController.getClientOnboardingTasks();
+        ResponseEntity<CursorPage<TaskInfo>> response = clientOnboardingController.getClientOnboardingTasks(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getPendingTasks("system");
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getPendingTasks(argThat((PageQuery query) -> "system".equals(query.getAssignee())));
     }
 
     @Test
@@ -144,17 +172,17 @@ class ClientOnboardingControllerTest {
     void getActiveProcesses_Success() {
         // Given
         List<ActiveProcess> activeProcesses = Arrays.asList(ActiveProcess.builder().processInstanceId("process-1").processDefinitionKey("client-onboarding").build(), ActiveProcess.builder().processInstanceId("process-2").processDefinitionKey("client-onboarding").build());
-        when(workflowService.getActiveProcesses()).thenReturn(activeProcesses);
+        when(workflowService.getActiveProcesses(any(PageQuery.class))).thenReturn(CursorPage.<ActiveProcess>builder().items(activeProcesses).build());
 
         // When
-        ResponseEntity<List<ActiveProcess>> response = clientOnboardingController.getActiveProcesses();
+        ResponseEntity<CursorPage<ActiveProcess>> response = clientOnboardingController.getActiveProcesses(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getActiveProcesses();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getActiveProcesses(any(PageQuery.class));
     }
 
     @Test
@@ -178,17 +206,17 @@ class ClientOnboardingControllerTest {
     void getProcessHistory_Success() {
         // Given
         List<ProcessHistoryInfo> processHistory = Arrays.asList(ProcessHistoryInfo.builder().historicProcessInstanceId("hist-1").processInstanceId("process-1").build(), ProcessHistoryInfo.builder().historicProcessInstanceId("hist-2").processInstanceId("process-2").build());
-        when(workflowService.getProcessHistoryInfo()).thenReturn(processHistory);
+        when(workflowService.getProcessHistoryInfo(any(PageQuery.class))).thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(processHistory).build());
 
         // When
-        ResponseEntity<List<ProcessHistoryInfo>> response = clientOnboardingController.getProcessHistory();
+        ResponseEntity<CursorPage<ProcessHistoryInfo>> response = clientOnboardingController.getProcessHistory(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getProcessHistoryInfo();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getProcessHistoryInfo(any(PageQuery.class));
     }
 
     @Test
@@ -267,17 +295,17 @@ class ClientOnboardingControllerTest {
     void getProcessStatus_Success() {
         // Given
         ProcessStatus processStatus = ProcessStatus.builder().processInstanceId("process-123").processDefinitionKey("client-onboarding").status("ACTIVE").build();
-        when(workflowService.getProcessStatus("process-123")).thenReturn(processStatus);
+        when(workflowService.getProcessStatus("process-123", null)).thenReturn(processStatus);
 
         // When
-        ResponseEntity<ProcessStatus> response = clientOnboardingController.getProcessStatus("process-123");
+        ResponseEntity<ProcessStatus> response = clientOnboardingController.getProcessStatus("process-123", null);
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals("ACTIVE", response.getBody().getStatus());
-        verify(workflowService).getProcessStatus("process-123");
+        verify(workflowService).getProcessStatus("process-123", null);
     }
 
     @Test
@@ -301,17 +329,17 @@ class ClientOnboardingControllerTest {
     void getDeployments_Success() {
         // Given
         List<DeploymentInfo> deployments = Arrays.asList(DeploymentInfo.builder().id("deploy-1").name("Client Onboarding").build(), DeploymentInfo.builder().id("deploy-2").name("Client Transfer").build());
-        when(workflowService.getDeployments()).thenReturn(deployments);
+        when(workflowService.getDeployments(any(PageQuery.class))).thenReturn(CursorPage.<DeploymentInfo>builder().items(deployments).build());
 
         // When
-        ResponseEntity<List<DeploymentInfo>> response = clientOnboardingController.getDeployments();
+        ResponseEntity<CursorPage<DeploymentInfo>> response = clientOnboardingController.getDeployments(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getDeployments();
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getDeployments(any(PageQuery.class));
     }
 
     @Test
@@ -349,20 +377,24 @@ class ClientOnboardingControllerTest {
     }
 
     @Test
-    void getDeploymentResource_Success() {
+    void getDeploymentResource_Success() throws Exception {
         // Given
         byte[] resourceBytes = "process content".getBytes();
-        when(workflowService.getDeploymentResource("deploy-123", "process.bpmn")).thenReturn(resourceBytes);
+        DeploymentResource resource = DeploymentResource.builder().name("process.bpmn").resourceType("application/xml").resourceSize((long) resourceBytes.length).build();
+        when(workflowService.openDeploymentResource("deploy-123", "process.bpmn")).thenReturn(DeploymentResourceContent.builder().resource(resource).content(new ByteArrayInputStream(resourceBytes)).build());
 
         // When
-        ResponseEntity<byte[]> response = clientOnboardingController.getDeploymentResource("deploy-123", "process.bpmn");
+        ResponseEntity<StreamingResponseBody> response = clientOnboardingController.getDeploymentResource("deploy-123", "process.bpmn");
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertNotNull(response.getBody());
-        assertArrayEquals(resourceBytes, response.getBody());
-        verify(workflowService).getDeploymentResource("deploy-123", "process.bpmn");
+        assertEquals(MediaType.APPLICATION_XML, response.getHeaders().getContentType());
+        assertEquals(resourceBytes.length, response.getHeaders().getContentLength());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        assertArrayEquals(resourceBytes, outputStream.toByteArray());
+        verify(workflowService).openDeploymentResource("deploy-123", "process.bpmn");
     }
 
     @Test
@@ -398,4 +430,19 @@ class ClientOnboardingControllerTest {
         assertEquals("deploy-123", response.getBody().getDeploymentId());
         verify(workflowService).deployProcess(any(InputStream.class), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportProcessHistory_StreamsFromExportService() throws Exception {
+        // Given
+        PageQuery pageQuery = PageQuery.builder().processDefinitionKey("loan-disbursement").build();
+        java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = clientOnboardingController.exportProcessHistory(pageQuery);
+        response.getBody().writeTo(outputStream);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verify(processHistoryExportService).exportProcessHistory(pageQuery, outputStream);
+    }
+}
@@ -0,0 +1,45 @@
+package org.mifos.workflow.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.engine.WorkflowEngineFactory;
+import org.mifos.workflow.service.ProcessHistoryExportService;
+import org.mifos.workflow.service.WorkflowService;
+import org.mifos.workflow.service.fineract.auth.FineractAuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ClientOnboardingController.class)
+@Import({WorkflowService.class, WorkflowConfig.class})
+@TestPropertySource(properties = "workflow.authentication.enabled=false")
+class ClientOnboardingControllerValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WorkflowEngineFactory workflowEngineFactory;
+
+    @MockitoBean
+    private FineractAuthService fineractAuthService;
+
+    @MockitoBean
+    private ProcessHistoryExportService processHistoryExportService;
+
+    @Test
+    void shouldReturnBadRequestWhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/api/v1/workflow/client-onboarding/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_FAILED"));
+
+        verifyNoInteractions(workflowEngineFactory);
+    }
+}
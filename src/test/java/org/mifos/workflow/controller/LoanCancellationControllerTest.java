@@ -194,11 +194,11 @@ class LoanCancellationControllerTest {
     void getProcessStatus_Success() {
         // Given
         String processInstanceId = "process-123";
-        when(workflowService.getProcessStatus(processInstanceId))
+        when(workflowService.getProcessStatus(processInstanceId, null))
                 .thenReturn(mockProcessStatus);
 
         // When
-        ResponseEntity<ProcessStatus> response = loanCancellationController.getProcessStatus(processInstanceId);
+        ResponseEntity<ProcessStatus> response = loanCancellationController.getProcessStatus(processInstanceId, null);
 
         // Then
         assertNotNull(response);
@@ -206,7 +206,7 @@ class LoanCancellationControllerTest {
         assertNotNull(response.getBody());
         assertEquals("process-123", response.getBody().getProcessInstanceId());
         assertEquals("ACTIVE", response.getBody().getStatus());
-        verify(workflowService).getProcessStatus(processInstanceId);
+        verify(workflowService).getProcessStatus(processInstanceId, null);
     }
 
     @Test
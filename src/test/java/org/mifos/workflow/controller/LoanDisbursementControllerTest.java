@@ -5,16 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
+import org.mifos.workflow.core.model.StartResult;
 import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.core.model.TaskInfo;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.dto.fineract.loan.LoanDisbursementRequestDTO;
+import org.mifos.workflow.service.ProcessHistoryExportService;
 import org.mifos.workflow.service.WorkflowService;
 import org.mifos.workflow.util.ApiResponse;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -30,6 +36,9 @@ class LoanDisbursementControllerTest {
     @Mock
     private WorkflowService workflowService;
 
+    @Mock
+    private ProcessHistoryExportService processHistoryExportService;
+
     @InjectMocks
     private LoanDisbursementController loanDisbursementController;
 
@@ -127,6 +136,21 @@ class LoanDisbursementControllerTest {
         verify(workflowService).startProcess(eq("loan-disbursement"), any());
     }
 
+    @Test
+    void startLoanDisbursements_StartsAllRequestsInOneBulkCall() {
+        // Given
+        List<StartResult> results = List.of(StartResult.builder().index(0).processInstanceId("process-1").success(true).build());
+        when(workflowService.startProcesses(anyList())).thenReturn(results);
+
+        // When
+        ResponseEntity<List<StartResult>> response = loanDisbursementController.startLoanDisbursements(List.of(validDisbursementRequest));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(results, response.getBody());
+        verify(workflowService).startProcesses(argThat(commands -> commands.size() == 1 && "loan-disbursement".equals(commands.get(0).getProcessDefinitionKey()) && validDisbursementRequest.getLoanId().equals(commands.get(0).getVariables().get("loanId"))));
+    }
+
     @Test
     void startLoanDisbursement_WithDisbursementData_Success() {
         // Given
@@ -222,11 +246,11 @@ class LoanDisbursementControllerTest {
     void getProcessStatus_Success() {
         // Given
         String processInstanceId = "process-123";
-        when(workflowService.getProcessStatus(processInstanceId))
+        when(workflowService.getProcessStatus(processInstanceId, null))
                 .thenReturn(mockProcessStatus);
 
         // When
-        ResponseEntity<ProcessStatus> response = loanDisbursementController.getProcessStatus(processInstanceId);
+        ResponseEntity<ProcessStatus> response = loanDisbursementController.getProcessStatus(processInstanceId, null);
 
         // Then
         assertNotNull(response);
@@ -234,7 +258,7 @@ class LoanDisbursementControllerTest {
         assertNotNull(response.getBody());
         assertEquals("process-123", response.getBody().getProcessInstanceId());
         assertEquals("ACTIVE", response.getBody().getStatus());
-        verify(workflowService).getProcessStatus(processInstanceId);
+        verify(workflowService).getProcessStatus(processInstanceId, null);
     }
 
     @Test
@@ -277,18 +301,18 @@ class LoanDisbursementControllerTest {
     void getPendingTasks_Success() {
         // Given
         String assignee = "system";
-        when(workflowService.getPendingTasks(assignee))
-                .thenReturn(mockTasks);
+        when(workflowService.getPendingTasks(any(PageQuery.class)))
+                .thenReturn(CursorPage.<TaskInfo>builder().items(mockTasks).build());
 
         // When
-        ResponseEntity<List<TaskInfo>> response = loanDisbursementController.getTasksByRole(assignee);
+        ResponseEntity<CursorPage<TaskInfo>> response = loanDisbursementController.getTasksByRole(assignee, new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(3, response.getBody().size());
-        verify(workflowService).getPendingTasks(assignee);
+        assertEquals(3, response.getBody().getItems().size());
+        verify(workflowService).getPendingTasks(argThat((PageQuery query) -> assignee.equals(query.getAssignee())));
     }
 
     @Test
@@ -425,4 +449,19 @@ class LoanDisbursementControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(workflowService).startProcess(eq("loan-disbursement"), any());
     }
+
+    @Test
+    void exportProcessHistory_StreamsFromExportService() throws Exception {
+        // Given
+        PageQuery pageQuery = PageQuery.builder().processDefinitionKey("loan-disbursement").build();
+        java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = loanDisbursementController.exportProcessHistory(pageQuery);
+        response.getBody().writeTo(outputStream);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verify(processHistoryExportService).exportProcessHistory(pageQuery, outputStream);
+    }
 }
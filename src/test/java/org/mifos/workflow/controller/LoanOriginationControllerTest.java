@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.workflow.core.model.ProcessInstance;
 import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.TaskInfo;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.CursorPage;
 import org.mifos.workflow.dto.fineract.loan.LoanApprovalRequestDTO;
 import org.mifos.workflow.dto.fineract.loan.LoanCreateRequestDTO;
 import org.mifos.workflow.dto.fineract.loan.LoanRejectionRequestDTO;
@@ -213,11 +215,11 @@ class LoanOriginationControllerTest {
     void getProcessStatus_Success() {
         // Given
         String processInstanceId = "process-123";
-        when(workflowService.getProcessStatus(processInstanceId))
+        when(workflowService.getProcessStatus(processInstanceId, null))
                 .thenReturn(mockProcessStatus);
 
         // When
-        ResponseEntity<ProcessStatus> response = loanOriginationController.getProcessStatus(processInstanceId);
+        ResponseEntity<ProcessStatus> response = loanOriginationController.getProcessStatus(processInstanceId, null);
 
         // Then
         assertNotNull(response);
@@ -225,7 +227,7 @@ class LoanOriginationControllerTest {
         assertNotNull(response.getBody());
         assertEquals("process-123", response.getBody().getProcessInstanceId());
         assertEquals("ACTIVE", response.getBody().getStatus());
-        verify(workflowService).getProcessStatus(processInstanceId);
+        verify(workflowService).getProcessStatus(processInstanceId, null);
     }
 
     @Test
@@ -252,18 +254,18 @@ class LoanOriginationControllerTest {
     @Test
     void getPendingTasks_Success() {
         // Given
-        when(workflowService.getPendingTasks("system"))
-                .thenReturn(mockTasks);
+        when(workflowService.getPendingTasks(any(PageQuery.class)))
+                .thenReturn(CursorPage.<TaskInfo>builder().items(mockTasks).build());
 
         // When
-        ResponseEntity<List<TaskInfo>> response = loanOriginationController.getLoanOriginationTasks();
+        ResponseEntity<CursorPage<TaskInfo>> response = loanOriginationController.getLoanOriginationTasks(new PageQuery());
 
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        verify(workflowService).getPendingTasks("system");
+        assertEquals(2, response.getBody().getItems().size());
+        verify(workflowService).getPendingTasks(argThat((PageQuery query) -> "system".equals(query.getAssignee())));
     }
 
     @Test
@@ -6,8 +6,10 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.engine.flowable.BulkStartExecutor;
 import org.mifos.workflow.engine.flowable.FlowableMapper;
 import org.mifos.workflow.engine.flowable.FlowableWorkflowEngine;
+import org.mifos.workflow.engine.flowable.ProcessDefinitionCache;
 import org.mifos.workflow.core.engine.enums.EngineType;
 import org.mifos.workflow.util.WorkflowErrorHandler;
 
@@ -26,6 +28,12 @@ class WorkflowEngineTest {
     @Mock
     private org.flowable.engine.ProcessEngine processEngine;
 
+    @Mock
+    private ProcessDefinitionCache processDefinitionCache;
+
+    @Mock
+    private BulkStartExecutor bulkStartExecutor;
+
     @Test
     void flowableWorkflowEngine_ImplementsWorkflowEngineInterface() {
         // Given
@@ -35,7 +43,7 @@ class WorkflowEngineTest {
         when(processEngine.getHistoryService()).thenReturn(mock(org.flowable.engine.HistoryService.class));
 
         // When
-        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper);
+        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper, processDefinitionCache, bulkStartExecutor);
 
         // Then
         assertTrue(flowableEngine instanceof WorkflowEngine, "FlowableWorkflowEngine should implement WorkflowEngine interface");
@@ -49,7 +57,7 @@ class WorkflowEngineTest {
         when(processEngine.getTaskService()).thenReturn(mock(org.flowable.engine.TaskService.class));
         when(processEngine.getHistoryService()).thenReturn(mock(org.flowable.engine.HistoryService.class));
 
-        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper);
+        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper, processDefinitionCache, bulkStartExecutor);
 
         // When
         EngineType engineType = flowableEngine.getEngineType();
@@ -110,7 +118,7 @@ class WorkflowEngineTest {
         when(historicProcessInstanceQuery.desc()).thenReturn(historicProcessInstanceQuery);
         when(historicProcessInstanceQuery.list()).thenReturn(java.util.Collections.emptyList());
 
-        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper);
+        FlowableWorkflowEngine flowableEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper, processDefinitionCache, bulkStartExecutor);
 
         // Mock WorkflowErrorHandler for all method calls
         MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
@@ -125,8 +133,8 @@ class WorkflowEngineTest {
         try {
             // Verify that all interface methods are accessible
             assertDoesNotThrow(flowableEngine::getProcessDefinitions);
-            assertDoesNotThrow(flowableEngine::getDeployments);
-            assertDoesNotThrow(flowableEngine::getProcessInstances);
+            assertDoesNotThrow(() -> flowableEngine.getDeployments());
+            assertDoesNotThrow(() -> flowableEngine.getProcessInstances());
             assertDoesNotThrow(() -> flowableEngine.getPendingTasks("testUser"));
             assertDoesNotThrow(() -> flowableEngine.getPendingTasksForProcess("testProcess"));
             assertDoesNotThrow(flowableEngine::getHistoricProcesses);
@@ -147,7 +155,7 @@ class WorkflowEngineTest {
         when(processEngine.getHistoryService()).thenReturn(mock(org.flowable.engine.HistoryService.class));
 
         // When - Using the interface type
-        WorkflowEngine engine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper);
+        WorkflowEngine engine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper, processDefinitionCache, bulkStartExecutor);
 
         // Then
         assertNotNull(engine, "Should be able to assign FlowableWorkflowEngine to WorkflowEngine interface");
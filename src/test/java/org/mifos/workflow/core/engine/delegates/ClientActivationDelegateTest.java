@@ -38,7 +38,7 @@ class ClientActivationDelegateTest {
 
         PostClientsClientIdResponse response = mock(PostClientsClientIdResponse.class);
         when(response.getResourceId()).thenReturn(clientId);
-        when(fineractClientService.activateClient(eq(clientId), any(LocalDate.class), anyString(), anyString()))
+        when(fineractClientService.activateClient(eq(clientId), any(LocalDate.class), anyString(), anyString(), any()))
                 .thenReturn(io.reactivex.rxjava3.core.Observable.just(response));
 
         delegate.execute(execution);
@@ -56,7 +56,7 @@ class ClientActivationDelegateTest {
         when(execution.getVariable("activationDate")).thenReturn(LocalDate.now());
 
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "activate client", clientId.toString());
-        when(fineractClientService.activateClient(eq(clientId), any(LocalDate.class), anyString(), anyString()))
+        when(fineractClientService.activateClient(eq(clientId), any(LocalDate.class), anyString(), anyString(), any()))
                 .thenReturn(io.reactivex.rxjava3.core.Observable.error(apiEx));
 
         assertThrows(FineractApiException.class, () -> delegate.execute(execution));
@@ -48,12 +48,12 @@ class ClientCreationDelegateTest {
 
         PostClientsResponse resp = mock(PostClientsResponse.class);
         when(resp.getClientId()).thenReturn(123L);
-        when(fineractClientService.createClient(any(ClientCreateRequestDTO.class), anyString(), anyString(), anyLong()))
+        when(fineractClientService.createClient(any(ClientCreateRequestDTO.class), anyString(), anyString(), anyLong(), any()))
             .thenReturn(io.reactivex.rxjava3.core.Observable.just(resp));
 
         delegate.execute(execution);
 
-        verify(fineractClientService).createClient(any(ClientCreateRequestDTO.class), eq("yyyy-MM-dd"), eq("en"), eq(1L));
+        verify(fineractClientService).createClient(any(ClientCreateRequestDTO.class), eq("yyyy-MM-dd"), eq("en"), eq(1L), isNull());
         verify(execution).setVariable(eq("clientId"), eq(123L));
         verify(execution).setVariable(eq("clientCreated"), eq(true));
         verify(execution).setVariable(eq("clientStatus"), eq("PENDING"));
@@ -76,7 +76,7 @@ class ClientCreationDelegateTest {
         when(execution.getVariable("addressJson")).thenReturn(null);
 
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "create client", "1");
-        when(fineractClientService.createClient(any(ClientCreateRequestDTO.class), anyString(), anyString(), anyLong()))
+        when(fineractClientService.createClient(any(ClientCreateRequestDTO.class), anyString(), anyString(), anyLong(), any()))
             .thenReturn(io.reactivex.rxjava3.core.Observable.error(apiEx));
 
         assertThrows(FineractApiException.class, () -> delegate.execute(execution));
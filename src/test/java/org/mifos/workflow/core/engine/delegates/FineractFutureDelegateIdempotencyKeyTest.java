@@ -0,0 +1,109 @@
+package org.mifos.workflow.core.engine.delegates;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.engine.flowable.InMemoryProcessEngines;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a keyed delegate on a triggerable async task of an in-memory H2 engine to check that its
+ * idempotency key survives retries of the job applying the call but changes when the process
+ * loops back to the same task.
+ */
+class FineractFutureDelegateIdempotencyKeyTest {
+
+    private static final String PROCESS = "<process id='disburse'><startEvent id='start'/><sequenceFlow id='toDisburse' sourceRef='start' targetRef='disburseLoan'/>"
+            + "<serviceTask id='disburseLoan' flowable:async='true' flowable:triggerable='true' flowable:delegateExpression='${keyedDelegate}'/>"
+            + "<sequenceFlow id='toReview' sourceRef='disburseLoan' targetRef='review'/><userTask id='review'/>"
+            + "<sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/><endEvent id='end'/></process>";
+
+    private static final List<String> keys = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean failNextCall = new AtomicBoolean();
+
+    private static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void setUp() {
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("fineract-idempotency-key");
+        configuration.setBeans(Map.of("keyedDelegate", new KeyedDelegate()));
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "disburse", PROCESS);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void idempotencyKey_SameAcrossJobRetriesAndNewPerVisit() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("disburse").getId();
+        failNextCall.set(true);
+
+        // When
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        String outcomeJobId = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId).getId();
+        assertThrows(FlowableException.class, () -> processEngine.getManagementService().executeJob(outcomeJobId));
+        Job retry = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        processEngine.getManagementService().moveTimerToExecutableJob(retry.getId());
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        processEngine.getManagementService().executeJob(InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId).getId());
+
+        // Then
+        assertEquals(List.of(processInstanceId + ":disburseLoan:1", processInstanceId + ":disburseLoan:1"), keys);
+
+        // When
+        String executionId = processEngine.getRuntimeService().createExecutionQuery().processInstanceId(processInstanceId).activityId("review").singleResult().getId();
+        processEngine.getRuntimeService().createChangeActivityStateBuilder()
+                .moveExecutionToActivityId(executionId, "disburseLoan")
+                .changeState();
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        processEngine.getManagementService().executeJob(InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId).getId());
+
+        // Then
+        assertEquals(processInstanceId + ":disburseLoan:2", keys.get(2));
+    }
+
+    private static Job job(String processInstanceId) {
+        return processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+    }
+
+    private static class KeyedDelegate extends FineractFutureDelegate<String, String> {
+
+        @Override
+        protected String prepare(DelegateExecution execution) {
+            String key = idempotencyKey(execution);
+            keys.add(key);
+            return key;
+        }
+
+        @Override
+        protected String call(String key) {
+            if (failNextCall.getAndSet(false)) {
+                throw new IllegalStateException("Fineract unavailable");
+            }
+            return key;
+        }
+
+        @Override
+        protected void apply(DelegateExecution execution, String key, String output) {
+        }
+
+        @Override
+        protected void handleFailure(DelegateExecution execution, String key, Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.mifos.workflow.core.engine.delegates;
+
+import org.flowable.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers the phases on a task that is not triggerable, where they run in the caller's
+ * transaction; the triggerable path is covered with an engine by {@code FineractCallJobHandlerTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+class FineractFutureDelegateTest {
+
+    @Mock
+    private DelegateExecution execution;
+
+    @Test
+    void execute_NotTriggerable_CallsAndAppliesOnCallerThread() {
+        // Given
+        when(execution.getVariable("clientId")).thenReturn(7L);
+        RecordingDelegate delegate = new RecordingDelegate(null);
+
+        // When
+        delegate.execute(execution);
+
+        // Then
+        assertEquals(Thread.currentThread().getName(), delegate.callThread);
+        verify(execution).setVariable("result", "client-7");
+    }
+
+    @Test
+    void execute_CallFails_HandlesFailure() {
+        // Given
+        when(execution.getVariable("clientId")).thenReturn(7L);
+        IllegalStateException failure = new IllegalStateException("Fineract unavailable");
+        RecordingDelegate delegate = new RecordingDelegate(failure);
+
+        // When
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> delegate.execute(execution));
+
+        // Then
+        assertSame(failure, thrown);
+        verify(execution).setVariable("errorMessage", "Fineract unavailable");
+        verify(execution, never()).setVariable(eq("result"), any());
+    }
+
+    @Test
+    void execute_PrepareFails_HandlesFailureWithoutCalling() {
+        // Given
+        RecordingDelegate delegate = new RecordingDelegate(null);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> delegate.execute(execution));
+        verify(execution).setVariable("errorMessage", "clientId is missing");
+        assertNull(delegate.callThread);
+    }
+
+    private static class RecordingDelegate extends FineractFutureDelegate<Long, String> {
+
+        private final RuntimeException failure;
+        private String callThread;
+
+        RecordingDelegate(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        protected Long prepare(DelegateExecution execution) {
+            Long clientId = (Long) execution.getVariable("clientId");
+            if (clientId == null) {
+                throw new IllegalArgumentException("clientId is missing");
+            }
+            return clientId;
+        }
+
+        @Override
+        protected String call(Long clientId) {
+            callThread = Thread.currentThread().getName();
+            if (failure != null) {
+                throw failure;
+            }
+            return "client-" + clientId;
+        }
+
+        @Override
+        protected void apply(DelegateExecution execution, Long clientId, String output) {
+            execution.setVariable("result", output);
+        }
+
+        @Override
+        protected void handleFailure(DelegateExecution execution, Long clientId, Exception e) {
+            execution.setVariable("errorMessage", e.getMessage());
+            throw (RuntimeException) e;
+        }
+    }
+}
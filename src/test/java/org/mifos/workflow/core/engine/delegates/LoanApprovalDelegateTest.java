@@ -40,7 +40,7 @@ class LoanApprovalDelegateTest {
         when(execution.hasVariable("note")).thenReturn(false);
 
         PostLoansLoanIdResponse resp = mock(PostLoansLoanIdResponse.class);
-        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve")))
+        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve"), any()))
             .thenReturn(resp);
         delegate.execute(execution);
 
@@ -60,7 +60,7 @@ class LoanApprovalDelegateTest {
         when(execution.hasVariable("note")).thenReturn(false);
         
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "approve", "7");
-        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve")))
+        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve"), any()))
             .thenThrow(apiEx);
         assertThrows(FineractApiException.class, () -> delegate.execute(execution));
     }
@@ -75,7 +75,7 @@ class LoanApprovalDelegateTest {
         when(execution.hasVariable("approvedByUsername")).thenReturn(false);
         when(execution.hasVariable("note")).thenReturn(false);
         
-        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve")))
+        when(fineractLoanService.performStateTransition(eq(7L), any(Map.class), eq("approve"), any()))
             .thenThrow(new RuntimeException("x"));
         assertThrows(WorkflowException.class, () -> delegate.execute(execution));
     }
@@ -51,7 +51,7 @@ class LoanCreationDelegateTest {
         when(execution.getVariable("loanType")).thenReturn("INDIVIDUAL");
 
         PostLoansResponse resp = new PostLoansResponse();
-        when(fineractLoanService.createLoan(any(Map.class), anyString())).thenReturn(resp);
+        when(fineractLoanService.createLoan(any(Map.class), anyString(), any())).thenReturn(resp);
 
         delegate.execute(execution);
 
@@ -82,7 +82,7 @@ class LoanCreationDelegateTest {
         when(execution.getVariable("loanType")).thenReturn("INDIVIDUAL");
 
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "create loan", "1");
-        when(fineractLoanService.createLoan(any(Map.class), anyString())).thenThrow(apiEx);
+        when(fineractLoanService.createLoan(any(Map.class), anyString(), any())).thenThrow(apiEx);
 
         assertThrows(FineractApiException.class, () -> delegate.execute(execution));
     }
@@ -1,17 +1,23 @@
 package org.mifos.workflow.core.engine.delegates;
 
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.delegate.TriggerableJavaDelegate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.workflow.core.model.ResultRecord;
+import org.mifos.workflow.engine.flowable.FineractCallJobHandler;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.net.SocketTimeoutException;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -39,8 +45,6 @@ class LoanDisbursementDelegateTest {
         lenient().when(execution.getVariable("dateFormat")).thenReturn("yyyy-MM-dd");
         lenient().when(execution.getVariable("locale")).thenReturn("en");
         lenient().when(execution.getVariable("retryAttempt")).thenReturn(0);
-        lenient().when(execution.getVariable("maxRetryAttempts")).thenReturn(3);
-        lenient().when(execution.getVariable("autoRetryOnFailure")).thenReturn(true);
         lenient().when(execution.getVariable("disbursementOfficer")).thenReturn("officer1");
         lenient().when(execution.getVariable("transactionAmount")).thenReturn(1000.0);
 
@@ -59,7 +63,7 @@ class LoanDisbursementDelegateTest {
 
         PostLoansLoanIdResponse response = mock(PostLoansLoanIdResponse.class);
         when(response.getResourceId()).thenReturn(123L);
-        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse")))
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse"), any()))
                 .thenReturn(response);
 
         // Execute
@@ -67,28 +71,92 @@ class LoanDisbursementDelegateTest {
 
         // Verify
         verify(execution).setVariable("loanDisbursementSuccess", true);
-        verify(execution).setVariable("loanDisbursementMessage", "Loan disbursed successfully");
-        verify(execution).setVariable("loanStatus", "DISBURSED");
-        verify(execution).setVariable("disbursementTransactionId", 123L);
-        verify(execution).setVariable("disbursementCompletedBy", "officer1");
-        verify(execution).setVariable("actualDisbursementAmount", 1000.0);
+        ResultRecord result = capturedResult();
+        assertEquals("Loan disbursed successfully", result.get("loanDisbursementMessage"));
+        assertEquals("DISBURSED", result.get("loanStatus"));
+        assertEquals(123L, result.get("disbursementTransactionId"));
+        assertEquals("officer1", result.get("disbursementCompletedBy"));
+        assertEquals(BigDecimal.valueOf(1000.0), result.get("actualDisbursementAmount"));
+        verify(execution, never()).setVariable(eq("retryAttempt"), any());
+        verify(execution, never()).setVariable(eq("escalated"), any());
+    }
+
+    @Test
+    void execute_SuccessAfterEscalatedRetry_ResetsRetryState() {
+        // Given
+        when(execution.getProcessInstanceId()).thenReturn("p-ld");
+        when(execution.getVariable("loanId")).thenReturn(1L);
+        when(execution.getVariable("actualDisbursementDate")).thenReturn(LocalDate.parse("2024-01-10"));
+        when(execution.getVariable("retryAttempt")).thenReturn(2);
+        when(execution.getVariable("escalated")).thenReturn(true);
+
+        PostLoansLoanIdResponse response = mock(PostLoansLoanIdResponse.class);
+        when(response.getResourceId()).thenReturn(123L);
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse"), any()))
+                .thenReturn(response);
+
+        // When
+        delegate.execute(execution);
+
+        // Then
         verify(execution).setVariable("retryAttempt", 0);
-        verify(execution).setVariable("lastError", null);
         verify(execution).setVariable("escalated", false);
     }
 
     @Test
-    void execute_FineractError_Propagates() {
+    void execute_FatalFineractError_RecordsFailureForFailureTask() {
         when(execution.getProcessInstanceId()).thenReturn("p-ld");
         when(execution.getVariable("loanId")).thenReturn(1L);
         when(execution.getVariable("actualDisbursementDate")).thenReturn(LocalDate.now());
 
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "disburse", "1");
-        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse")))
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse"), any()))
+                .thenThrow(apiEx);
+
+        assertDoesNotThrow(() -> delegate.execute(execution));
+        verify(execution).setVariable("loanDisbursementSuccess", false);
+        verify(execution, never()).setVariable(eq("retryAttempt"), any());
+        ResultRecord result = capturedResult();
+        assertEquals("bad", result.get("lastError"));
+        assertEquals("Fineract API Error", result.get("errorType"));
+        assertTrue(result.isTrue("escalationRequired"));
+    }
+
+    @Test
+    void execute_TransientFineractError_PropagatesWithoutWritingVariables() {
+        when(execution.getProcessInstanceId()).thenReturn("p-ld");
+        when(execution.getVariable("loanId")).thenReturn(1L);
+        when(execution.getVariable("actualDisbursementDate")).thenReturn(LocalDate.now());
+
+        FineractApiException apiEx = new FineractApiException("timeout", new SocketTimeoutException("timeout"), "disburse", "1");
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("disburse"), any()))
                 .thenThrow(apiEx);
 
         FineractApiException thrown = assertThrows(FineractApiException.class, () -> delegate.execute(execution));
-        assertEquals("bad", thrown.getMessage());
+        assertSame(apiEx, thrown);
+        verify(execution, never()).setVariable(anyString(), any());
+    }
+
+    @Test
+    void trigger_TransientFineractErrorWithRetriesLeft_PropagatesWithoutWritingVariables() {
+        FineractApiException apiEx = new FineractApiException("timeout", new SocketTimeoutException("timeout"), "disburse", "1");
+        TriggerableJavaDelegate.Context context = failedCallContext(apiEx, 2);
+
+        FineractApiException thrown = assertThrows(FineractApiException.class, () -> delegate.trigger(context));
+        assertSame(apiEx, thrown);
+        verify(execution, never()).setVariable(anyString(), any());
+    }
+
+    @Test
+    void trigger_TransientFineractErrorOnLastAttempt_RecordsFailureForFailureTask() {
+        FineractApiException apiEx = new FineractApiException("timeout", new SocketTimeoutException("timeout"), "disburse", "1");
+        TriggerableJavaDelegate.Context context = failedCallContext(apiEx, 1);
+
+        assertDoesNotThrow(() -> delegate.trigger(context));
+        verify(execution).setVariable("loanDisbursementSuccess", false);
+        ResultRecord result = capturedResult();
+        assertEquals("timeout", result.get("lastError"));
+        assertTrue(result.isTrue("escalationRequired"));
     }
 
     @Test
@@ -114,6 +182,19 @@ class LoanDisbursementDelegateTest {
         assertTrue(ex.getCause() instanceof IllegalArgumentException);
         assertTrue(ex.getCause().getMessage().contains("Disbursement date is required"));
     }
-}
 
+    private TriggerableJavaDelegate.Context failedCallContext(Exception failure, int jobRetries) {
+        LoanDisbursementDelegate.StateTransition transition = new LoanDisbursementDelegate.StateTransition(1L, Map.of("transactionAmount", 1000.0), "p-ld:disburseLoan:1");
+        when(execution.getTransientVariableLocal(FineractCallJobHandler.OUTCOME_VARIABLE)).thenReturn(FineractFutureDelegate.Outcome.failed(transition, failure));
+        when(execution.getTransientVariableLocal(FineractCallJobHandler.RETRIES_VARIABLE)).thenReturn(jobRetries);
+        TriggerableJavaDelegate.Context context = mock(TriggerableJavaDelegate.Context.class);
+        when(context.getExecution()).thenReturn(execution);
+        return context;
+    }
 
+    private ResultRecord capturedResult() {
+        ArgumentCaptor<ResultRecord> captor = ArgumentCaptor.forClass(ResultRecord.class);
+        verify(execution).setVariable(eq(LoanDisbursementDelegate.RESULT_VARIABLE), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -50,7 +50,7 @@ class LoanRejectionDelegateTest {
         when(execution.getVariable("loanId")).thenReturn(1L);
 
         PostLoansLoanIdResponse resp = mock(PostLoansLoanIdResponse.class);
-        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject")))
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject"), any()))
                 .thenReturn(resp);
 
         delegate.execute(execution);
@@ -66,7 +66,7 @@ class LoanRejectionDelegateTest {
         when(execution.getVariable("loanId")).thenReturn(1L);
 
         FineractApiException apiEx = new FineractApiException("bad", new RuntimeException("bad"), "reject", "1");
-        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject")))
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject"), any()))
                 .thenThrow(apiEx);
 
         assertThrows(FineractApiException.class, () -> delegate.execute(execution));
@@ -77,7 +77,7 @@ class LoanRejectionDelegateTest {
         when(execution.getProcessInstanceId()).thenReturn("p-lr");
         when(execution.getVariable("loanId")).thenReturn(1L);
 
-        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject")))
+        when(fineractLoanService.performStateTransition(eq(1L), any(Map.class), eq("reject"), any()))
                 .thenThrow(new RuntimeException("x"));
 
         assertThrows(WorkflowException.class, () -> delegate.execute(execution));
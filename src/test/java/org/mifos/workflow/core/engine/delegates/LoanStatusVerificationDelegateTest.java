@@ -7,9 +7,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.fineract.client.models.GetLoansLoanIdResponse;
 import org.mifos.fineract.client.models.GetLoansLoanIdStatus;
 import org.mifos.fineract.client.models.GetLoansLoanIdCurrency;
+import org.mifos.workflow.core.model.ResultRecord;
 import org.mifos.workflow.exception.FineractApiException;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,6 +21,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,23 +75,24 @@ class LoanStatusVerificationDelegateTest {
         // Capture the verification date to handle potential timezone edge cases
         String expectedDate = LocalDate.now().toString();
         
-        verify(execution).setVariable("loanStatusVerified", true);
+        ResultRecord result = capturedResult();
+        assertTrue(result.isTrue("loanStatusVerified"));
         verify(execution).setVariable("loanReadyForDisbursement", true);
-        verify(execution).setVariable("verificationDate", expectedDate);
-        verify(execution).setVariable("loanStatus", "APPROVED");
-        verify(execution).setVariable("loanStatusMessage", "Loan is approved and ready for disbursement");
-        verify(execution).setVariable("loanAccountNo", "LOAN001");
-        verify(execution).setVariable("loanPrincipal", BigDecimal.valueOf(10000.0)); // Actual implementation uses BigDecimal
-        verify(execution).setVariable("loanProductId", 1L);
-        verify(execution).setVariable("loanClientId", 100L);
-        verify(execution).setVariable("loanTermFrequency", 12);
-        verify(execution).setVariable("loanInterestRate", BigDecimal.valueOf(10.5)); // Actual implementation uses BigDecimal
-        verify(execution).setVariable("hasVerificationIssues", false);
-        verify(execution).setVariable("issueCount", 0);
-        verify(execution).setVariable("loanCurrencyCode", "USD");
-        verify(execution).setVariable("riskLevel", "LOW");
-        verify(execution).setVariable("complianceCheckRequired", false);
-        verify(execution).setVariable("approvalLevel", "OFFICER");
+        assertEquals(expectedDate, result.get("verificationDate"));
+        assertEquals("APPROVED", result.get("loanStatus"));
+        assertEquals("Loan is approved and ready for disbursement", result.get("loanStatusMessage"));
+        assertEquals("LOAN001", result.get("loanAccountNo"));
+        assertEquals(BigDecimal.valueOf(10000.0), result.get("loanPrincipal")); // Actual implementation uses BigDecimal
+        assertEquals(1L, result.get("loanProductId"));
+        assertEquals(100L, result.get("loanClientId"));
+        assertEquals(12L, result.get("loanTermFrequency"));
+        assertEquals(BigDecimal.valueOf(10.5), result.get("loanInterestRate")); // Actual implementation uses BigDecimal
+        assertEquals(Boolean.FALSE, result.getBoolean("hasVerificationIssues"));
+        assertEquals(0L, result.get("issueCount"));
+        assertEquals("USD", result.get("loanCurrencyCode"));
+        assertEquals("LOW", result.get("riskLevel"));
+        assertEquals(Boolean.FALSE, result.getBoolean("complianceCheckRequired"));
+        assertEquals("OFFICER", result.get("approvalLevel"));
     }
 
     @Test
@@ -119,14 +123,15 @@ class LoanStatusVerificationDelegateTest {
 
         delegate.execute(execution);
 
-        verify(execution).setVariable("loanStatusVerified", true);
+        ResultRecord result = capturedResult();
+        assertTrue(result.isTrue("loanStatusVerified"));
         verify(execution).setVariable("loanReadyForDisbursement", false);
-        verify(execution).setVariable("loanStatus", "DISBURSED");
-        verify(execution).setVariable("loanStatusMessage", "Loan is already disbursed");
-        verify(execution).setVariable("hasVerificationIssues", true);
-        verify(execution).setVariable("issueCount", 1);
-        verify(execution).setVariable("loanStatusError", "Loan is already disbursed");
-        verify(execution).setVariable("blockingIssues", List.of("Loan has already been disbursed"));
+        assertEquals("DISBURSED", result.get("loanStatus"));
+        assertEquals("Loan is already disbursed", result.get("loanStatusMessage"));
+        assertTrue(result.isTrue("hasVerificationIssues"));
+        assertEquals(1L, result.get("issueCount"));
+        assertEquals("Loan is already disbursed", result.get("loanStatusError"));
+        assertEquals(List.of("Loan has already been disbursed"), result.get("blockingIssues"));
     }
 
     @Test
@@ -157,14 +162,15 @@ class LoanStatusVerificationDelegateTest {
 
         delegate.execute(execution);
 
-        verify(execution).setVariable("loanStatusVerified", true);
+        ResultRecord result = capturedResult();
+        assertTrue(result.isTrue("loanStatusVerified"));
         verify(execution).setVariable("loanReadyForDisbursement", false);
-        verify(execution).setVariable("loanStatus", "REJECTED");
-        verify(execution).setVariable("loanStatusMessage", "Loan is not approved. Current status: REJECTED");
-        verify(execution).setVariable("hasVerificationIssues", true);
-        verify(execution).setVariable("issueCount", 1);
-        verify(execution).setVariable("loanStatusError", "Loan is not approved. Current status: REJECTED");
-        verify(execution).setVariable("blockingIssues", List.of("Loan is not in approved status"));
+        assertEquals("REJECTED", result.get("loanStatus"));
+        assertEquals("Loan is not approved. Current status: REJECTED", result.get("loanStatusMessage"));
+        assertTrue(result.isTrue("hasVerificationIssues"));
+        assertEquals(1L, result.get("issueCount"));
+        assertEquals("Loan is not approved. Current status: REJECTED", result.get("loanStatusError"));
+        assertEquals(List.of("Loan is not in approved status"), result.get("blockingIssues"));
     }
 
     @Test
@@ -195,11 +201,12 @@ class LoanStatusVerificationDelegateTest {
 
         delegate.execute(execution);
 
-        verify(execution).setVariable("loanStatusVerified", true);
+        ResultRecord result = capturedResult();
+        assertTrue(result.isTrue("loanStatusVerified"));
         verify(execution).setVariable("loanReadyForDisbursement", true);
-        verify(execution).setVariable("riskLevel", "HIGH");
-        verify(execution).setVariable("complianceCheckRequired", true);
-        verify(execution).setVariable("approvalLevel", "MANAGER"); // 600k is MANAGER level, not SENIOR_MANAGER
+        assertEquals("HIGH", result.get("riskLevel"));
+        assertTrue(result.isTrue("complianceCheckRequired"));
+        assertEquals("MANAGER", result.get("approvalLevel")); // 600k is MANAGER level, not SENIOR_MANAGER
     }
 
     @Test
@@ -212,10 +219,11 @@ class LoanStatusVerificationDelegateTest {
             delegate.execute(execution);
         });
 
-        verify(execution).setVariable("loanStatusVerified", false);
-        verify(execution).setVariable("loanStatusError", "Loan ID is required for status verification");
+        ResultRecord result = capturedResult();
+        assertEquals(Boolean.FALSE, result.getBoolean("loanStatusVerified"));
+        assertEquals("Loan ID is required for status verification", result.get("loanStatusError"));
         verify(execution).setVariable("loanReadyForDisbursement", false);
-        verify(execution).setVariable("verificationFailed", true);
+        assertTrue(result.isTrue("verificationFailed"));
     }
 
     @Test
@@ -232,11 +240,12 @@ class LoanStatusVerificationDelegateTest {
             delegate.execute(execution);
         });
 
-        verify(execution).setVariable("loanStatusVerified", false);
-        verify(execution).setVariable("loanStatusError", "API Error");
+        ResultRecord result = capturedResult();
+        assertEquals(Boolean.FALSE, result.getBoolean("loanStatusVerified"));
+        assertEquals("API Error", result.get("loanStatusError"));
         verify(execution).setVariable("loanReadyForDisbursement", false);
-        verify(execution).setVariable("errorType", "Fineract API Error");
-        verify(execution).setVariable("verificationFailed", true);
+        assertEquals("Fineract API Error", result.get("errorType"));
+        assertTrue(result.isTrue("verificationFailed"));
     }
 
     @Test
@@ -267,11 +276,16 @@ class LoanStatusVerificationDelegateTest {
 
         delegate.execute(execution);
 
-        verify(execution).setVariable("loanStatusVerified", true);
+        ResultRecord result = capturedResult();
+        assertTrue(result.isTrue("loanStatusVerified"));
         verify(execution).setVariable("loanReadyForDisbursement", true);
-        verify(execution).setVariable("hasVerificationIssues", false); // Empty list doesn't trigger issues
-        verify(execution).setVariable("issueCount", 0);
+        assertEquals(Boolean.FALSE, result.getBoolean("hasVerificationIssues")); // Empty list doesn't trigger issues
+        assertEquals(0L, result.get("issueCount"));
     }
-}
-
 
+    private ResultRecord capturedResult() {
+        ArgumentCaptor<ResultRecord> captor = ArgumentCaptor.forClass(ResultRecord.class);
+        verify(execution).setVariable(eq(LoanStatusVerificationDelegate.RESULT_VARIABLE), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,124 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.model.ProcessVariables;
+import org.mifos.workflow.core.model.StartCommand;
+import org.mifos.workflow.core.model.StartResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs bulk starts against an in-memory H2 engine: every command gets its own result and a
+ * failing command does not fail the rest of its chunk. The run comparing bulk with one-by-one
+ * throughput is tagged {@code benchmark} and only runs with the benchmark task.
+ */
+class BulkStartBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkStartBenchmarkTest.class);
+    private static final int INSTANCES = 500;
+    private static final String PROCESS = "<process id='bulk-start' name='Bulk Start'>"
+            + "<startEvent id='start'/><sequenceFlow id='toReview' sourceRef='start' targetRef='review'/>"
+            + "<userTask id='review' name='Review'/><sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/>"
+            + "<endEvent id='end'/></process>";
+
+    private static ProcessEngine processEngine;
+    private static FlowableWorkflowEngine workflowEngine;
+
+    @BeforeAll
+    static void setUp() {
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("bulk-start");
+        configuration.setHistory("full");
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "bulk-start", PROCESS);
+
+        WorkflowConfig workflowConfig = new WorkflowConfig();
+        workflowConfig.getProcess().setBulkStartChunkSize(50);
+        workflowConfig.getProcess().setBulkStartParallelism(4);
+        workflowConfig.getEngine().getFlowable().getProcessFineractTaskContinuations().put("sync-onboarding", WorkflowConfig.ContinuationMode.SYNC);
+        workflowEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, new FlowableMapper(), new ProcessDefinitionCache(processEngine.getRepositoryService(), 16), new BulkStartExecutor(workflowConfig));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void startProcesses_ReportsEveryCommandAndIsolatesFailures() {
+        // Given
+        List<StartCommand> commands = commands("isolation", 120);
+        commands.set(3, StartCommand.builder().businessKey("no-key").build());
+        commands.set(57, StartCommand.builder().processDefinitionKey("missing-definition").businessKey("missing").build());
+
+        // When
+        List<StartResult> results = workflowEngine.startProcesses(commands);
+
+        // Then
+        assertEquals(120, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertFalse(results.get(3).isSuccess());
+        assertFalse(results.get(57).isSuccess());
+        assertNotNull(results.get(57).getError());
+        Set<String> startedIds = results.stream().filter(StartResult::isSuccess).map(StartResult::getProcessInstanceId).collect(Collectors.toSet());
+        assertEquals(118, startedIds.size());
+        assertEquals(118, processEngine.getRuntimeService().createProcessInstanceQuery().variableValueEquals("batch", "isolation").count());
+        assertEquals("isolation-58", processEngine.getRuntimeService().createProcessInstanceQuery().processInstanceId(results.get(58).getProcessInstanceId()).singleResult().getBusinessKey());
+    }
+
+    @Test
+    void startProcesses_SyncFineractContinuation_RefusedWithoutStarting() {
+        // Given
+        List<StartCommand> commands = commands("sync", 3);
+        commands.set(1, StartCommand.builder().processDefinitionKey("sync-onboarding").businessKey("sync-1").variables(Map.of("batch", "sync")).build());
+
+        // When
+        List<StartResult> results = workflowEngine.startProcesses(commands);
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getError().contains("async Fineract task continuation"));
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, processEngine.getRuntimeService().createProcessInstanceQuery().variableValueEquals("batch", "sync").count());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void startProcesses_Benchmark() {
+        List<StartCommand> singleCommands = commands("single", INSTANCES);
+        long start = System.nanoTime();
+        for (StartCommand command : singleCommands) {
+            workflowEngine.startProcess(command.getProcessDefinitionKey(), new ProcessVariables(command.getVariables()));
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        workflowEngine.startProcesses(commands("bulk", INSTANCES));
+        long bulkNanos = System.nanoTime() - start;
+
+        logger.info("Starting {} process instances: one by one {} ms, bulk {} ms", INSTANCES, singleNanos / 1_000_000, bulkNanos / 1_000_000);
+    }
+
+    private List<StartCommand> commands(String batch, int count) {
+        List<StartCommand> commands = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            commands.add(StartCommand.builder().processDefinitionKey("bulk-start").businessKey(batch + "-" + i).variables(Map.of("batch", batch, "loanId", (long) i)).build());
+        }
+        return commands;
+    }
+}
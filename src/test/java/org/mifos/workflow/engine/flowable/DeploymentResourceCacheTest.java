@@ -0,0 +1,97 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.repository.EngineResource;
+import org.flowable.engine.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentResourceCacheTest {
+
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private RepositoryService repositoryService;
+
+    private DeploymentResourceCache deploymentResourceCache;
+
+    @BeforeEach
+    void setUp() {
+        deploymentResourceCache = new DeploymentResourceCache(repositoryService, 1);
+    }
+
+    @Test
+    void get_StreamsEachResourceOnceAndCachesMetadata() {
+        // Given
+        when(repositoryService.getDeploymentResourceNames("deployment-1")).thenReturn(List.of("loan.bpmn20.xml", "loan.png"));
+        when(repositoryService.getResourceAsStream("deployment-1", "loan.bpmn20.xml")).thenReturn(new ByteArrayInputStream("hello".getBytes()));
+        when(repositoryService.getResourceAsStream("deployment-1", "loan.png")).thenReturn(new ByteArrayInputStream(new byte[10_000]));
+
+        // When
+        Map<String, DeploymentResourceCache.ResourceMetadata> first = deploymentResourceCache.get("deployment-1");
+        Map<String, DeploymentResourceCache.ResourceMetadata> second = deploymentResourceCache.get("deployment-1");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(List.of("loan.bpmn20.xml", "loan.png"), List.copyOf(first.keySet()));
+        assertEquals(5, first.get("loan.bpmn20.xml").getSize());
+        assertEquals(HELLO_SHA256, first.get("loan.bpmn20.xml").getSha256());
+        assertEquals("application/xml", first.get("loan.bpmn20.xml").getContentType());
+        assertEquals(10_000, first.get("loan.png").getSize());
+        assertEquals("image/png", first.get("loan.png").getContentType());
+        verify(repositoryService, times(1)).getDeploymentResourceNames("deployment-1");
+    }
+
+    @Test
+    void put_UsesDeployedResourcesWithoutReadingTheRepository() {
+        // Given
+        EngineResource resource = mock(EngineResource.class);
+        when(resource.getName()).thenReturn("loan.bpmn");
+        when(resource.getBytes()).thenReturn("hello".getBytes());
+
+        // When
+        deploymentResourceCache.put("deployment-1", List.of(resource));
+        DeploymentResourceCache.ResourceMetadata metadata = deploymentResourceCache.get("deployment-1").get("loan.bpmn");
+
+        // Then
+        assertEquals(5, metadata.getSize());
+        assertEquals(HELLO_SHA256, metadata.getSha256());
+        assertEquals("application/xml", metadata.getContentType());
+        verifyNoInteractions(repositoryService);
+    }
+
+    @Test
+    void evict_AndCapacity_ReloadFromRepository() {
+        // Given
+        when(repositoryService.getDeploymentResourceNames(anyString())).thenReturn(List.of());
+        deploymentResourceCache.get("deployment-1");
+
+        // When
+        deploymentResourceCache.get("deployment-2");
+        deploymentResourceCache.get("deployment-2");
+        deploymentResourceCache.evict("deployment-2");
+        deploymentResourceCache.get("deployment-2");
+        deploymentResourceCache.get("deployment-1");
+
+        // Then
+        verify(repositoryService, times(2)).getDeploymentResourceNames("deployment-1");
+        verify(repositoryService, times(2)).getDeploymentResourceNames("deployment-2");
+    }
+
+    @Test
+    void contentType_FallsBackToOctetStream() {
+        assertEquals("image/svg+xml", DeploymentResourceCache.contentType("diagram.svg"));
+        assertEquals("application/octet-stream", DeploymentResourceCache.contentType("rules.unknown"));
+    }
+}
@@ -0,0 +1,263 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.async.AsyncTaskInvoker;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.core.engine.delegates.FineractFutureDelegate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a Fineract delegate on a triggerable async service task of an in-memory H2 engine whose
+ * async executor is off, so each job, including the one that applies the call's outcome, is run
+ * by the test.
+ */
+class FineractCallJobHandlerTest {
+
+    private static final String PROCESS = "<process id='onboarding'><startEvent id='start'/><sequenceFlow id='toCreate' sourceRef='start' targetRef='createClient'/>"
+            + "<serviceTask id='createClient' flowable:async='true' flowable:triggerable='true' flowable:delegateExpression='${clientCreationDelegate}'/>"
+            + "<sequenceFlow id='toReview' sourceRef='createClient' targetRef='review'/><userTask id='review'/>"
+            + "<sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/><endEvent id='end'/></process>";
+
+    private static final AtomicInteger calls = new AtomicInteger();
+    private static final AtomicLong committedJobsSeenByCall = new AtomicLong();
+    private static final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private static final AtomicReference<CountDownLatch> callGate = new AtomicReference<>();
+    private static final AtomicBoolean callerRuns = new AtomicBoolean();
+    private static final List<CompletableFuture<?>> submittedCalls = new CopyOnWriteArrayList<>();
+    private static final ExecutorService callPool = Executors.newCachedThreadPool();
+
+    private static ProcessEngine processEngine;
+    private static FineractCallJobHandler jobHandler;
+    private static int jobRetries;
+
+    @BeforeAll
+    static void setUp() {
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("fineract-call-job");
+        configuration.setBeans(Map.of("clientCreationDelegate", new ClientCreation()));
+        configuration.setAsyncTaskInvoker(new AsyncTaskInvoker() {
+            @Override
+            public <T> CompletableFuture<T> submit(Callable<T> task) {
+                if (callerRuns.get()) {
+                    // As a full pool with the caller-runs policy does
+                    try {
+                        return CompletableFuture.completedFuture(task.call());
+                    } catch (Exception e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                }
+                CompletableFuture<T> call = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return task.call();
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, callPool);
+                submittedCalls.add(call);
+                return call;
+            }
+        });
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "onboarding", PROCESS);
+        jobHandler = FineractCallJobHandler.of(configuration);
+        jobRetries = configuration.getAsyncExecutorNumberOfRetries();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+        callPool.shutdownNow();
+    }
+
+    @BeforeEach
+    void reset() {
+        calls.set(0);
+        committedJobsSeenByCall.set(-1);
+        failure.set(null);
+        callGate.set(null);
+        callerRuns.set(false);
+        submittedCalls.clear();
+    }
+
+    @Test
+    void execute_CallsFineractAfterCommitAndAppliesInOwnJob() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("onboarding").getId();
+
+        // When
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(1, committedJobsSeenByCall.get());
+        assertTrue(outcomeJob.isExclusive());
+        assertEquals(jobRetries, outcomeJob.getRetries());
+        assertNull(processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+
+        // When
+        processEngine.getManagementService().executeJob(outcomeJob.getId());
+
+        // Then
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+        assertEquals("review", processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult().getTaskDefinitionKey());
+        assertEquals(0, processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(0, jobHandler.pendingOutcomes());
+    }
+
+    @Test
+    void execute_CallFails_RetriesOutcomeJobAndCallsAgain() {
+        // Given
+        failure.set(new IllegalStateException("Fineract unavailable"));
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("onboarding").getId();
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // When
+        assertThrows(FlowableException.class, () -> processEngine.getManagementService().executeJob(outcomeJob.getId()));
+
+        // Then
+        Job retry = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals(outcomeJob.getRetries() - 1, retry.getRetries());
+        assertEquals("Fineract unavailable", retry.getExceptionMessage());
+
+        // When
+        failure.set(null);
+        processEngine.getManagementService().moveTimerToExecutableJob(retry.getId());
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        Job secondOutcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // Then
+        assertEquals(2, calls.get());
+        assertEquals(retry.getRetries(), secondOutcomeJob.getRetries());
+
+        // When
+        processEngine.getManagementService().executeJob(secondOutcomeJob.getId());
+
+        // Then
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+    }
+
+    @Test
+    void execute_JobDueBeforeCallReturns_CallsAgainAndDropsLateOutcome() throws Exception {
+        // Given
+        CountDownLatch gate = new CountDownLatch(1);
+        callGate.set(gate);
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("onboarding").getId();
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        Job recovery = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+
+        // When
+        processEngine.getManagementService().moveTimerToExecutableJob(recovery.getId());
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+        gate.countDown();
+        awaitSubmittedCalls();
+        processEngine.getManagementService().executeJob(outcomeJob.getId());
+
+        // Then
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+        assertEquals("review", processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult().getTaskDefinitionKey());
+        assertEquals(0, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(0, processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(0, jobHandler.pendingOutcomes());
+    }
+
+    @Test
+    void execute_CallPoolRunsTaskOnCommittingThread_LeavesCallToRecoveryJob() {
+        // Given
+        callerRuns.set(true);
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("onboarding").getId();
+
+        // When
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+
+        // Then
+        assertEquals(0, calls.get());
+        assertNull(job(processInstanceId));
+        Job recovery = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals(FineractCallJobHandler.TYPE, recovery.getJobHandlerType());
+
+        // When
+        callerRuns.set(false);
+        processEngine.getManagementService().moveTimerToExecutableJob(recovery.getId());
+        processEngine.getManagementService().executeJob(job(processInstanceId).getId());
+        processEngine.getManagementService().executeJob(InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId).getId());
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+    }
+
+    @Test
+    void of_NotRegistered_Throws() {
+        // When / Then
+        assertThrows(FlowableException.class, () -> FineractCallJobHandler.of(new StandaloneInMemProcessEngineConfiguration()));
+    }
+
+    private static Job job(String processInstanceId) {
+        return processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+    }
+
+    private static void awaitSubmittedCalls() throws Exception {
+        CompletableFuture.allOf(submittedCalls.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static class ClientCreation extends FineractFutureDelegate<String, Long> {
+
+        @Override
+        protected String prepare(DelegateExecution execution) {
+            return execution.getProcessInstanceId();
+        }
+
+        @Override
+        protected Long call(String processInstanceId) {
+            CountDownLatch gate = callGate.getAndSet(null);
+            calls.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // Seen from another connection only once the dispatching job has committed
+            committedJobsSeenByCall.set(processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).count());
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return 7L;
+        }
+
+        @Override
+        protected void apply(DelegateExecution execution, String processInstanceId, Long clientId) {
+            execution.setVariable("clientId", clientId);
+        }
+
+        @Override
+        protected void handleFailure(DelegateExecution execution, String processInstanceId, Exception e) {
+            throw (RuntimeException) e;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.exception.WorkflowException;
+
+import java.net.ConnectException;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the handler against async jobs of an in-memory H2 engine whose async executor is off and
+ * whose clock is fixed, with no jitter drawn, so due dates are exact.
+ */
+class FineractJobRetryHandlerTest {
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final Date NOW = new Date(1_700_000_000_000L);
+    private static final String PROCESS = "<process id='disburse'><startEvent id='start'/><sequenceFlow id='toCall' sourceRef='start' targetRef='call'/>"
+            + "<serviceTask id='call' flowable:async='true' flowable:expression='${true}'/><sequenceFlow id='toEnd' sourceRef='call' targetRef='end'/>"
+            + "<endEvent id='end'/></process>";
+
+    private static ProcessEngine processEngine;
+    private static JobServiceConfiguration jobServiceConfiguration;
+    private static WorkflowConfig.JobRetry settings;
+    private final FineractJobRetryHandler handler = new FineractJobRetryHandler(settings, () -> 0.5);
+
+    @BeforeAll
+    static void setUp() {
+        settings = new WorkflowConfig.JobRetry();
+        settings.setMaxAttempts(MAX_ATTEMPTS);
+        settings.setInitialBackoff(5_000);
+        settings.setMultiplier(2.0);
+        settings.setMaxBackoff(15_000);
+
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("fineract-job-retry");
+        configuration.setAsyncExecutorNumberOfRetries(MAX_ATTEMPTS);
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "disburse", PROCESS);
+        processEngine.getProcessEngineConfiguration().getClock().setCurrentTime(NOW);
+        jobServiceConfiguration = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getJobServiceConfiguration();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        // The default clock's fixed time is static and would leak into other engines
+        processEngine.getProcessEngineConfiguration().getClock().reset();
+        processEngine.close();
+    }
+
+    @Test
+    void handleException_TransientFailures_BackOffExponentiallyUntilDeadLetter() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("disburse").getId();
+        FineractApiException exception = new FineractApiException("Failed to disburseLoan", new ConnectException("Connection refused"), "disburseLoan", "1");
+        assertEquals(MAX_ATTEMPTS, job(processInstanceId).getRetries());
+
+        // When / Then
+        long[] expectedDelays = {5_000, 10_000, 15_000};
+        for (int attempt = 0; attempt < expectedDelays.length; attempt++) {
+            assertTrue(handler.handleException(jobServiceConfiguration, job(processInstanceId), new WorkflowException("Loan disbursement failed", exception, "loan disbursement", WorkflowException.ERROR_LOAN_DISBURSEMENT_FAILED)));
+            Job timerJob = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+            assertEquals(MAX_ATTEMPTS - 1 - attempt, timerJob.getRetries());
+            assertEquals(NOW.getTime() + expectedDelays[attempt], timerJob.getDuedate().getTime());
+            assertEquals("Loan disbursement failed", timerJob.getExceptionMessage());
+            assertTrue(processEngine.getManagementService().getTimerJobExceptionStacktrace(timerJob.getId()).contains("Connection refused"));
+            processEngine.getManagementService().moveTimerToExecutableJob(timerJob.getId());
+        }
+
+        assertTrue(handler.handleException(jobServiceConfiguration, job(processInstanceId), exception));
+        assertEquals(0, processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(1, processEngine.getManagementService().createDeadLetterJobQuery().processInstanceId(processInstanceId).count());
+    }
+
+    @Test
+    void handleException_FatalFailure_MovesJobToDeadLetterAtOnce() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("disburse").getId();
+
+        // When
+        boolean handled = handler.handleException(jobServiceConfiguration, job(processInstanceId), new FineractApiException("Failed to disburseLoan", new IllegalArgumentException("bad request"), "disburseLoan", "1"));
+
+        // Then
+        assertTrue(handled);
+        assertEquals(0, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+        Job deadLetterJob = processEngine.getManagementService().createDeadLetterJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("Failed to disburseLoan", deadLetterJob.getExceptionMessage());
+    }
+
+    @Test
+    void handleException_OtherFailure_LeavesJobToDefaultHandling() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("disburse").getId();
+
+        // When
+        boolean handled = handler.handleException(jobServiceConfiguration, job(processInstanceId), new IllegalStateException("boom"));
+
+        // Then
+        assertFalse(handled);
+        assertEquals(1, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+    }
+
+    @Test
+    void backoffMillis_SpreadsDelayByJitter() {
+        // Given
+        WorkflowConfig.JobRetry jittered = new WorkflowConfig.JobRetry();
+
+        // Then
+        assertEquals(4_000, new FineractJobRetryHandler(jittered, () -> 0.0).backoffMillis(1));
+        assertEquals(6_000, new FineractJobRetryHandler(jittered, () -> 1.0).backoffMillis(1));
+        assertEquals(80_000, new FineractJobRetryHandler(jittered, () -> 0.5).backoffMillis(5));
+        assertEquals(300_000, new FineractJobRetryHandler(jittered, () -> 0.5).backoffMillis(10));
+    }
+
+    private Job job(String processInstanceId) {
+        return processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+    }
+}
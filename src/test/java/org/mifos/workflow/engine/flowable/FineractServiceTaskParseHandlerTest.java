@@ -0,0 +1,191 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.engine.delegates.FineractFutureDelegate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FineractServiceTaskParseHandlerTest {
+
+    private static final AtomicInteger fineractCalls = new AtomicInteger();
+    private static final AtomicInteger localCalls = new AtomicInteger();
+    private static final AtomicReference<RuntimeException> fineractFailure = new AtomicReference<>();
+
+    private static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void setUp() {
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("clientCreationDelegate", new ClientCreation());
+        beans.put("auditDelegate", (JavaDelegate) execution -> localCalls.incrementAndGet());
+
+        WorkflowConfig.Flowable settings = new WorkflowConfig.Flowable();
+        settings.getProcessFineractTaskContinuations().put("sync-onboarding", WorkflowConfig.ContinuationMode.SYNC);
+        settings.getProcessExclusiveJobs().put("parallel-onboarding", false);
+
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("fineract-async");
+        configuration.setBeans(beans);
+        configuration.setPreBpmnParseHandlers(List.of(new FineractServiceTaskParseHandler(Set.of("clientCreationDelegate"), settings)));
+        processEngine = configuration.buildProcessEngine();
+
+        for (String processKey : List.of("async-onboarding", "sync-onboarding", "parallel-onboarding")) {
+            deploy(processKey, "");
+        }
+        deploy("bpmn-async-onboarding", " flowable:async=\"true\" flowable:exclusive=\"false\"");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        fineractCalls.set(0);
+        localCalls.set(0);
+        fineractFailure.set(null);
+    }
+
+    @Test
+    void fineractTask_Async_StartReturnsBeforeFineractCall() {
+        // When
+        String processInstanceId = start("async-onboarding");
+
+        // Then
+        assertEquals(0, fineractCalls.get());
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertNotNull(job);
+        assertTrue(job.isExclusive());
+
+        // When
+        processEngine.getManagementService().executeJob(job.getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // Then
+        assertEquals(1, fineractCalls.get());
+        assertEquals(0, localCalls.get());
+        assertTrue(outcomeJob.isExclusive());
+
+        // When
+        processEngine.getManagementService().executeJob(outcomeJob.getId());
+
+        // Then
+        assertEquals(1, localCalls.get());
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+        assertEquals("review", processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult().getTaskDefinitionKey());
+    }
+
+    @Test
+    void fineractTask_SyncForProcess_RunsInCallerTransaction() {
+        // When
+        String processInstanceId = start("sync-onboarding");
+
+        // Then
+        assertEquals(1, fineractCalls.get());
+        assertEquals(0, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(7L, processEngine.getRuntimeService().getVariable(processInstanceId, "clientId"));
+    }
+
+    @Test
+    void fineractTask_NonExclusiveProcess_CreatesNonExclusiveJob() {
+        // When
+        String processInstanceId = start("parallel-onboarding");
+
+        // Then
+        assertFalse(processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult().isExclusive());
+    }
+
+    @Test
+    void fineractTask_AlreadyAsyncInBpmn_KeepsBpmnSettingsAndCompletesByTrigger() {
+        // When
+        String processInstanceId = start("bpmn-async-onboarding");
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+        processEngine.getManagementService().executeJob(job.getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // Then
+        assertFalse(job.isExclusive());
+        assertFalse(outcomeJob.isExclusive());
+    }
+
+    @Test
+    void fineractTask_Failure_RetriesAsJob() {
+        // Given
+        fineractFailure.set(new IllegalStateException("Fineract unavailable"));
+        String processInstanceId = start("async-onboarding");
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+
+        processEngine.getManagementService().executeJob(job.getId());
+        Job outcomeJob = InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId);
+
+        // When
+        assertThrows(FlowableException.class, () -> processEngine.getManagementService().executeJob(outcomeJob.getId()));
+
+        // Then
+        Job retry = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertNotNull(retry);
+        assertEquals(outcomeJob.getRetries() - 1, retry.getRetries());
+        assertEquals("Fineract unavailable", retry.getExceptionMessage());
+        assertEquals(0, processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).count());
+    }
+
+    private static void deploy(String processKey, String asyncAttributes) {
+        String process = "<process id='" + processKey + "'>"
+                + "<startEvent id='start'/><sequenceFlow id='toCreate' sourceRef='start' targetRef='createClient'/>"
+                + "<serviceTask id='createClient' flowable:delegateExpression='${clientCreationDelegate}'" + asyncAttributes + "/>"
+                + "<sequenceFlow id='toAudit' sourceRef='createClient' targetRef='audit'/>"
+                + "<serviceTask id='audit' flowable:delegateExpression='${auditDelegate}'/>"
+                + "<sequenceFlow id='toReview' sourceRef='audit' targetRef='review'/>"
+                + "<userTask id='review'/><sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/>"
+                + "<endEvent id='end'/></process>";
+        InMemoryProcessEngines.deploy(processEngine, processKey, InMemoryProcessEngines.definitions(process));
+    }
+
+    private String start(String processKey) {
+        return processEngine.getRuntimeService().startProcessInstanceByKey(processKey).getId();
+    }
+
+    private static class ClientCreation extends FineractFutureDelegate<Void, Long> {
+
+        @Override
+        protected Void prepare(DelegateExecution execution) {
+            return null;
+        }
+
+        @Override
+        protected Long call(Void input) {
+            fineractCalls.incrementAndGet();
+            if (fineractFailure.get() != null) {
+                throw fineractFailure.get();
+            }
+            return 7L;
+        }
+
+        @Override
+        protected void apply(DelegateExecution execution, Void input, Long clientId) {
+            execution.setVariable("clientId", clientId);
+        }
+
+        @Override
+        protected void handleFailure(DelegateExecution execution, Void input, Exception e) {
+            throw (RuntimeException) e;
+        }
+    }
+}
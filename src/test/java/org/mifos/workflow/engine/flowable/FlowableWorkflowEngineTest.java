@@ -5,17 +5,29 @@ import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
 import org.flowable.engine.TaskService;
 import org.flowable.engine.HistoryService;
+import org.flowable.engine.ManagementService;
 import org.flowable.engine.repository.Deployment;
 import org.flowable.engine.repository.DeploymentBuilder;
 import org.flowable.engine.repository.ProcessDefinitionQuery;
+import org.flowable.engine.runtime.NativeExecutionQuery;
 import org.flowable.engine.runtime.ProcessInstanceQuery;
 
+import org.flowable.task.api.NativeTaskQuery;
 import org.flowable.task.api.TaskQuery;
+import org.flowable.variable.api.runtime.NativeVariableInstanceQuery;
 import org.flowable.engine.history.HistoricProcessInstanceQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
+import org.mifos.workflow.core.model.DeploymentResource;
+import org.mifos.workflow.core.model.DeploymentResourceContent;
 import org.mifos.workflow.core.model.DeploymentResult;
+import org.mifos.workflow.core.model.PageCursor;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.ProcessDefinitionInfo;
+import org.mifos.workflow.core.model.ProcessStatus;
 import org.mifos.workflow.core.model.ProcessVariables;
 
 import org.mifos.workflow.util.WorkflowErrorHandler;
@@ -45,6 +57,9 @@ class FlowableWorkflowEngineTest {
     @Mock
     private FlowableMapper flowableMapper;
 
+    @Mock
+    private BulkStartExecutor bulkStartExecutor;
+
     @Mock
     private ProcessEngine processEngine;
 
@@ -66,6 +81,18 @@ class FlowableWorkflowEngineTest {
     @Mock
     private ProcessInstanceQuery processInstanceQuery;
 
+    @Mock
+    private ManagementService managementService;
+
+    @Mock
+    private NativeExecutionQuery nativeExecutionQuery;
+
+    @Mock
+    private NativeTaskQuery nativeTaskQuery;
+
+    @Mock
+    private NativeVariableInstanceQuery nativeVariableInstanceQuery;
+
     @Mock
     private TaskQuery taskQuery;
 
@@ -99,8 +126,9 @@ class FlowableWorkflowEngineTest {
         when(processEngine.getRuntimeService()).thenReturn(runtimeService);
         when(processEngine.getTaskService()).thenReturn(taskService);
         when(processEngine.getHistoryService()).thenReturn(historyService);
+        when(processEngine.getManagementService()).thenReturn(managementService);
 
-        flowableWorkflowEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper);
+        flowableWorkflowEngine = new FlowableWorkflowEngine(workflowConfig, processEngine, flowableMapper, new ProcessDefinitionCache(repositoryService, 16), bulkStartExecutor);
     }
 
     @Test
@@ -465,6 +493,319 @@ class FlowableWorkflowEngineTest {
         }
     }
 
+    @Test
+    void getActiveProcesses_BatchesEnrichmentQueries() {
+        // Given
+        org.flowable.engine.runtime.ProcessInstance secondInstance = mock(org.flowable.engine.runtime.ProcessInstance.class);
+        java.util.Date startTime = new java.util.Date();
+        when(flowableProcessInstance.getId()).thenReturn("pi-1");
+        when(flowableProcessInstance.getProcessDefinitionId()).thenReturn("def-1");
+        when(flowableProcessInstance.getStartTime()).thenReturn(startTime);
+        when(secondInstance.getId()).thenReturn("pi-2");
+        when(secondInstance.getProcessDefinitionId()).thenReturn("def-1");
+        when(secondInstance.getStartTime()).thenReturn(startTime);
+
+        when(runtimeService.createProcessInstanceQuery()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.active()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.orderByProcessInstanceId()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.asc()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.listPage(0, 500)).thenReturn(Arrays.asList(flowableProcessInstance, secondInstance));
+
+        when(repositoryService.createProcessDefinitionQuery()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.processDefinitionIds(anySet())).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(List.of(flowableProcessDefinition));
+        when(flowableProcessDefinition.getId()).thenReturn("def-1");
+        when(flowableProcessDefinition.getKey()).thenReturn("loan-disbursement");
+
+        org.flowable.engine.runtime.Execution execution = mock(org.flowable.engine.runtime.Execution.class);
+        when(execution.getProcessInstanceId()).thenReturn("pi-1");
+        when(execution.getActivityId()).thenReturn("review");
+        when(managementService.getTableName(any())).thenReturn("ACT_RU_EXECUTION");
+        when(runtimeService.createNativeExecutionQuery()).thenReturn(nativeExecutionQuery);
+        when(nativeExecutionQuery.sql(anyString())).thenReturn(nativeExecutionQuery);
+        when(nativeExecutionQuery.list()).thenReturn(List.of(execution));
+
+        org.flowable.bpmn.model.UserTask reviewTask = new org.flowable.bpmn.model.UserTask();
+        reviewTask.setId("review");
+        reviewTask.setName("Review");
+        org.flowable.bpmn.model.Process process = new org.flowable.bpmn.model.Process();
+        process.addFlowElement(reviewTask);
+        org.flowable.bpmn.model.BpmnModel bpmnModel = new org.flowable.bpmn.model.BpmnModel();
+        bpmnModel.addProcess(process);
+        when(repositoryService.getBpmnModel("def-1")).thenReturn(bpmnModel);
+
+        when(taskService.createTaskQuery()).thenReturn(taskQuery);
+        when(taskQuery.processInstanceIdIn(anyCollection())).thenReturn(taskQuery);
+        when(taskQuery.list()).thenReturn(List.of(flowableTask));
+        when(flowableTask.getProcessInstanceId()).thenReturn("pi-2");
+        when(flowableTask.getAssignee()).thenReturn("officer");
+
+        org.flowable.variable.api.persistence.entity.VariableInstance variable = mock(org.flowable.variable.api.persistence.entity.VariableInstance.class);
+        when(variable.getExecutionId()).thenReturn("pi-1");
+        when(variable.getName()).thenReturn("loanId");
+        when(variable.getValue()).thenReturn(42L);
+        when(runtimeService.createNativeVariableInstanceQuery()).thenReturn(nativeVariableInstanceQuery);
+        when(nativeVariableInstanceQuery.sql(anyString())).thenReturn(nativeVariableInstanceQuery);
+        when(nativeVariableInstanceQuery.list()).thenReturn(List.of(variable));
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            List<ActiveProcess> result = flowableWorkflowEngine.getActiveProcesses();
+            flowableWorkflowEngine.getActiveProcesses();
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals("loan-disbursement", result.get(0).getProcessDefinitionKey());
+            assertEquals("Review", result.get(0).getCurrentActivityName());
+            assertEquals(Map.of("loanId", 42L), result.get(0).getVariables());
+            assertNull(result.get(0).getAssignee());
+            assertEquals("officer", result.get(1).getAssignee());
+            assertTrue(result.get(1).getVariables().isEmpty());
+            verify(processDefinitionQuery, times(1)).list();
+            verify(repositoryService, times(1)).getBpmnModel("def-1");
+            verify(nativeExecutionQuery, times(2)).list();
+            verify(taskQuery, times(2)).list();
+            verify(nativeVariableInstanceQuery, times(2)).list();
+            verify(runtimeService, never()).getVariables(anyString());
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void getPendingTasksPage_ReturnsKeysetCursor() {
+        // Given
+        java.util.Date createTime = new java.util.Date(1_700_000_000_000L);
+        org.flowable.task.api.Task secondTask = mock(org.flowable.task.api.Task.class);
+        org.flowable.task.api.Task lookAheadTask = mock(org.flowable.task.api.Task.class);
+        when(secondTask.getId()).thenReturn("task-2");
+        when(secondTask.getCreateTime()).thenReturn(createTime);
+
+        when(managementService.getTableName(any())).thenReturn("ACT_RU_TASK");
+        when(taskService.createNativeTaskQuery()).thenReturn(nativeTaskQuery);
+        when(nativeTaskQuery.listPage(0, 3)).thenReturn(Arrays.asList(flowableTask, secondTask, lookAheadTask));
+        when(flowableMapper.mapToTaskInfo(any())).thenReturn(org.mifos.workflow.core.model.TaskInfo.builder().taskId("mapped").build());
+
+        String cursor = new PageCursor(java.time.Instant.ofEpochMilli(1_800_000_000_000L), "task-0").encode();
+        PageQuery pageQuery = PageQuery.builder().size(2).assignee("system").cursor(cursor).build();
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            CursorPage<org.mifos.workflow.core.model.TaskInfo> result = flowableWorkflowEngine.getPendingTasks(pageQuery);
+
+            // Then
+            assertEquals(2, result.getItems().size());
+            assertTrue(result.isHasMore());
+            PageCursor nextCursor = PageCursor.decode(result.getNextCursor());
+            assertEquals("task-2", nextCursor.getId());
+            assertEquals(createTime.toInstant(), nextCursor.getTimestamp());
+            verify(nativeTaskQuery).sql(argThat(sql -> sql.contains("RES.ASSIGNEE_ = #{assignee}") && sql.contains("RES.ID_ < #{cursorId}") && sql.endsWith("ORDER BY RES.CREATE_TIME_ DESC, RES.ID_ DESC")));
+            verify(nativeTaskQuery).parameter("assignee", "system");
+            verify(nativeTaskQuery).parameter("cursorId", "task-0");
+            verify(flowableMapper, never()).mapToTaskInfo(lookAheadTask);
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void getProcessStatus_CompletedInstance_UsesSingleProjectionQuery() {
+        // Given
+        String processInstanceId = "process-instance-123";
+        ProcessStatusRow row = new ProcessStatusRow();
+        row.setProcessInstanceId(processInstanceId);
+        row.setProcessDefinitionId("def-1");
+        row.setProcessDefinitionKey("loan-disbursement");
+        row.setProcessDefinitionName("Loan Disbursement");
+        row.setStartTime(new java.util.Date(1_000L));
+        row.setEndTime(new java.util.Date(61_000L));
+        row.setDuration(60_000L);
+        when(managementService.executeCustomSql(any())).thenReturn(List.of(row));
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            ProcessStatus result = flowableWorkflowEngine.getProcessStatus(processInstanceId);
+
+            // Then
+            assertEquals("COMPLETED", result.getStatus());
+            assertEquals("loan-disbursement", result.getProcessDefinitionKey());
+            assertEquals(60_000L, result.getDuration());
+            assertTrue(result.getEnded());
+            verify(managementService, times(1)).executeCustomSql(any());
+            verifyNoInteractions(runtimeService, historyService, taskService, repositoryService);
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void getProcessStatus_ActiveInstance_ReadsOnlyRequestedVariables() {
+        // Given
+        String processInstanceId = "process-instance-123";
+        ProcessStatusRow row = new ProcessStatusRow();
+        row.setProcessInstanceId(processInstanceId);
+        row.setProcessDefinitionId("def-1");
+        row.setStartTime(new java.util.Date());
+        row.setRuntimeInstanceId(processInstanceId);
+        row.setSuspensionState(1);
+        row.setAssignee("officer");
+        when(managementService.executeCustomSql(any())).thenReturn(List.of(row));
+        when(runtimeService.getVariables(processInstanceId, List.of("loanId"))).thenReturn(Map.of("loanId", 42L));
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            ProcessStatus filtered = flowableWorkflowEngine.getProcessStatus(processInstanceId, List.of("loanId"));
+            ProcessStatus withoutVariables = flowableWorkflowEngine.getProcessStatus(processInstanceId, List.of());
+
+            // Then
+            assertEquals("ACTIVE", filtered.getStatus());
+            assertEquals("officer", filtered.getAssignee());
+            assertFalse(filtered.getSuspended());
+            assertEquals(Map.of("loanId", 42L), filtered.getVariables());
+            assertTrue(withoutVariables.getVariables().isEmpty());
+            verify(runtimeService, times(1)).getVariables(anyString(), anyCollection());
+            verify(runtimeService, never()).getVariables(anyString());
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void getProcessStatus_NoProjectionRow_FallsBackToEngineQueries() {
+        // Given
+        String processInstanceId = "process-instance-123";
+        when(managementService.executeCustomSql(any())).thenReturn(List.of());
+        when(runtimeService.createProcessInstanceQuery()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.processInstanceId(processInstanceId)).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.singleResult()).thenReturn(null);
+        when(historyService.createHistoricProcessInstanceQuery()).thenReturn(historicProcessInstanceQuery);
+        when(historicProcessInstanceQuery.processInstanceId(processInstanceId)).thenReturn(historicProcessInstanceQuery);
+        when(historicProcessInstanceQuery.singleResult()).thenReturn(null);
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            // Then
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> flowableWorkflowEngine.getProcessStatus(processInstanceId));
+            assertEquals("Process instance not found: " + processInstanceId, exception.getMessage());
+            verify(runtimeService).createProcessInstanceQuery();
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void getProcessDefinitionsInfo_UsesGroupedCountsAndSingleDeploymentQuery() {
+        // Given
+        org.flowable.engine.repository.ProcessDefinition secondVersion = mock(org.flowable.engine.repository.ProcessDefinition.class);
+        when(flowableProcessDefinition.getId()).thenReturn("def-1");
+        when(flowableProcessDefinition.getDeploymentId()).thenReturn("deployment-1");
+        when(secondVersion.getId()).thenReturn("def-2");
+        when(secondVersion.getDeploymentId()).thenReturn("deployment-1");
+        when(repositoryService.createProcessDefinitionQuery()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.active()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.orderByProcessDefinitionKey()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.asc()).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(Arrays.asList(flowableProcessDefinition, secondVersion));
+
+        org.flowable.engine.repository.DeploymentQuery deploymentQuery = mock(org.flowable.engine.repository.DeploymentQuery.class);
+        when(repositoryService.createDeploymentQuery()).thenReturn(deploymentQuery);
+        when(deploymentQuery.deploymentIds(List.of("deployment-1"))).thenReturn(deploymentQuery);
+        when(deploymentQuery.list()).thenReturn(List.of(deployment));
+        when(deployment.getId()).thenReturn("deployment-1");
+        when(deployment.getName()).thenReturn("loans.bpmn20.xml");
+        when(deployment.getDeploymentTime()).thenReturn(new java.util.Date());
+
+        ProcessDefinitionCountRow activeCount = new ProcessDefinitionCountRow();
+        activeCount.setProcessDefinitionId("def-2");
+        activeCount.setInstanceCount(3L);
+        ProcessDefinitionCountRow firstTotal = new ProcessDefinitionCountRow();
+        firstTotal.setProcessDefinitionId("def-1");
+        firstTotal.setInstanceCount(7L);
+        ProcessDefinitionCountRow secondTotal = new ProcessDefinitionCountRow();
+        secondTotal.setProcessDefinitionId("def-2");
+        secondTotal.setInstanceCount(4L);
+        when(managementService.executeCustomSql(any())).thenReturn(List.of(activeCount), List.of(firstTotal, secondTotal));
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            List<ProcessDefinitionInfo> result = flowableWorkflowEngine.getProcessDefinitionsInfo();
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals(0, result.get(0).getActiveInstances());
+            assertEquals(7, result.get(0).getTotalInstances());
+            assertEquals(3, result.get(1).getActiveInstances());
+            assertEquals(4, result.get(1).getTotalInstances());
+            assertEquals("loans.bpmn20.xml", result.get(1).getDeploymentName());
+            verify(deploymentQuery, times(1)).list();
+            verify(managementService, times(2)).executeCustomSql(any());
+            verifyNoInteractions(runtimeService, historyService);
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
+    @Test
+    void openDeploymentResource_ListsOnceAndStreamsContent() throws Exception {
+        // Given
+        byte[] content = "<definitions/>".getBytes();
+        when(repositoryService.getDeploymentResourceNames("deployment-123")).thenReturn(List.of("loan.bpmn20.xml"));
+        when(repositoryService.getResourceAsStream("deployment-123", "loan.bpmn20.xml")).thenReturn(new ByteArrayInputStream(content), new ByteArrayInputStream(content));
+
+        // When
+        MockedStatic<WorkflowErrorHandler> mockedWorkflowErrorHandler = mockStatic(WorkflowErrorHandler.class);
+        mockedWorkflowErrorHandler.when(() -> WorkflowErrorHandler.executeWithExceptionHandling(anyString(), anyString(), any(java.util.function.Supplier.class))).thenAnswer(invocation -> {
+            return invocation.getArgument(2, java.util.function.Supplier.class).get();
+        });
+
+        try {
+            List<DeploymentResource> resources = flowableWorkflowEngine.getDeploymentResources("deployment-123");
+            DeploymentResourceContent resource = flowableWorkflowEngine.openDeploymentResource("deployment-123", "loan.bpmn20.xml");
+
+            // Then
+            assertEquals(1, resources.size());
+            assertEquals("application/xml", resources.get(0).getResourceType());
+            assertEquals(content.length, resources.get(0).getResourceSize());
+            assertEquals(64, resources.get(0).getChecksum().length());
+            assertEquals(resources.get(0).getChecksum(), resource.getResource().getChecksum());
+            assertArrayEquals(content, resource.getContent().readAllBytes());
+            verify(repositoryService, times(1)).getDeploymentResourceNames("deployment-123");
+            verify(repositoryService, times(2)).getResourceAsStream("deployment-123", "loan.bpmn20.xml");
+        } finally {
+            mockedWorkflowErrorHandler.close();
+        }
+    }
+
     @Test
     void terminateProcess_Success() {
         // Given
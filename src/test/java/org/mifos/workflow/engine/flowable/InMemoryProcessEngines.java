@@ -0,0 +1,99 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Builds in-memory H2 process engines for engine-level tests. Each engine gets its own named
+ * database whose schema is created on build, stores ResultRecords and completes triggerable
+ * Fineract tasks as the application does, and leaves its async executor off, so tests run or move
+ * jobs themselves.
+ */
+public final class InMemoryProcessEngines {
+
+    private static final String DEFINITIONS_START = "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL'"
+            + " xmlns:flowable='http://flowable.org/bpmn' targetNamespace='mifos'>";
+
+    private InMemoryProcessEngines() {
+    }
+
+    /**
+     * Returns a configuration for the named database, to be customized before building.
+     */
+    public static StandaloneInMemProcessEngineConfiguration configuration(String databaseName) {
+        StandaloneInMemProcessEngineConfiguration configuration = new StandaloneInMemProcessEngineConfiguration();
+        configuration.setJdbcUrl("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=1000");
+        configuration.setDatabaseSchemaUpdate("true");
+        configuration.setCustomPreVariableTypes(List.of(new ResultRecordVariableType()));
+        configuration.setCustomJobHandlers(List.of(new FineractCallJobHandler(new WorkflowConfig.Flowable().getFineractCallRecoveryDelay())));
+        configuration.setAsyncExecutorActivate(false);
+        return configuration;
+    }
+
+    /**
+     * Returns a configuration whose transactions are Spring transactions on the given data source,
+     * as in the application, to be customized before building.
+     */
+    public static SpringProcessEngineConfiguration configuration(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        SpringProcessEngineConfiguration configuration = new SpringProcessEngineConfiguration();
+        configuration.setDataSource(dataSource);
+        configuration.setTransactionManager(transactionManager);
+        configuration.setDatabaseSchemaUpdate("true");
+        configuration.setCustomPreVariableTypes(List.of(new ResultRecordVariableType()));
+        configuration.setCustomJobHandlers(List.of(new FineractCallJobHandler(new WorkflowConfig.Flowable().getFineractCallRecoveryDelay())));
+        configuration.setAsyncExecutorActivate(false);
+        return configuration;
+    }
+
+    /**
+     * Builds the engine and deploys one process, given as the {@code <process>} element.
+     */
+    public static ProcessEngine buildWithProcess(ProcessEngineConfigurationImpl configuration, String processKey, String process) {
+        ProcessEngine processEngine = configuration.buildProcessEngine();
+        deploy(processEngine, processKey, definitions(process));
+        return processEngine;
+    }
+
+    /**
+     * Deploys a complete BPMN document under the resource name the process key implies.
+     */
+    public static void deploy(ProcessEngine processEngine, String processKey, String bpmn) {
+        processEngine.getRepositoryService().createDeployment().addString(processKey + ".bpmn20.xml", bpmn).deploy();
+    }
+
+    /**
+     * Waits for the Fineract call dispatched by the process instance's triggerable task to return
+     * and move its {@link FineractCallJobHandler} job to the executable jobs, and returns that job.
+     */
+    public static Job awaitFineractCallJob(ProcessEngine processEngine, String processInstanceId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Job job = processEngine.getManagementService().createJobQuery()
+                    .processInstanceId(processInstanceId)
+                    .handlerType(FineractCallJobHandler.TYPE)
+                    .singleResult();
+            if (job != null) {
+                return job;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        throw new AssertionError("No " + FineractCallJobHandler.TYPE + " job for process instance " + processInstanceId);
+    }
+
+    /**
+     * Wraps process elements in BPMN definitions that declare the Flowable namespace.
+     */
+    public static String definitions(String process) {
+        return DEFINITIONS_START + process + "</definitions>";
+    }
+}
@@ -0,0 +1,149 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.SubProcess;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.engine.RepositoryService;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.repository.ProcessDefinitionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessDefinitionCacheTest {
+
+    @Mock
+    private RepositoryService repositoryService;
+
+    @Mock
+    private ProcessDefinitionQuery processDefinitionQuery;
+
+    private ProcessDefinitionCache processDefinitionCache;
+
+    @BeforeEach
+    void setUp() {
+        processDefinitionCache = new ProcessDefinitionCache(repositoryService, 2);
+        when(repositoryService.createProcessDefinitionQuery()).thenReturn(processDefinitionQuery);
+    }
+
+    @Test
+    void get_LoadsOnceAndResolvesNestedActivityNames() {
+        // Given
+        ProcessDefinition definition = definition("def-1", "deployment-1");
+        when(processDefinitionQuery.processDefinitionIds(Set.of("def-1"))).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(List.of(definition));
+        when(repositoryService.getBpmnModel("def-1")).thenReturn(bpmnModel());
+
+        // When
+        CachedProcessDefinition first = processDefinitionCache.get("def-1");
+        CachedProcessDefinition second = processDefinitionCache.get("def-1");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("key-def-1", first.getKey());
+        assertEquals(3, first.getVersion());
+        assertEquals("Review", first.getActivityName("review"));
+        assertEquals("Approve", first.getActivityName("approve"));
+        assertNull(first.getActivityName(null));
+        verify(processDefinitionQuery, times(1)).list();
+        verify(repositoryService, times(1)).getBpmnModel("def-1");
+    }
+
+    @Test
+    void getAll_LoadsOnlyMissingDefinitionsInOneQuery() {
+        // Given
+        ProcessDefinition first = definition("def-1", "deployment-1");
+        ProcessDefinition second = definition("def-2", "deployment-1");
+        when(processDefinitionQuery.processDefinitionIds(anySet())).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(List.of(first), List.of(second));
+        when(repositoryService.getBpmnModel(anyString())).thenReturn(new BpmnModel());
+        processDefinitionCache.get("def-1");
+
+        // When
+        Map<String, CachedProcessDefinition> result = processDefinitionCache.getAll(List.of("def-1", "def-2", "missing"));
+
+        // Then
+        assertEquals(Set.of("def-1", "def-2"), result.keySet());
+        verify(processDefinitionQuery).processDefinitionIds(Set.of("def-2", "missing"));
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedWhenFull() {
+        // Given
+        ProcessDefinition first = definition("def-1", "deployment-1");
+        ProcessDefinition second = definition("def-2", "deployment-1");
+        ProcessDefinition third = definition("def-3", "deployment-1");
+        when(processDefinitionQuery.processDefinitionIds(anySet())).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(List.of(first), List.of(second), List.of(third), List.of(second));
+        when(repositoryService.getBpmnModel(anyString())).thenReturn(new BpmnModel());
+        processDefinitionCache.get("def-1");
+        processDefinitionCache.get("def-2");
+        processDefinitionCache.get("def-1");
+
+        // When
+        processDefinitionCache.get("def-3");
+        processDefinitionCache.get("def-1");
+        processDefinitionCache.get("def-2");
+
+        // Then
+        verify(processDefinitionQuery, times(4)).list();
+    }
+
+    @Test
+    void evictDeployment_DropsOnlyThatDeploymentsDefinitions() {
+        // Given
+        ProcessDefinition first = definition("def-1", "deployment-1");
+        ProcessDefinition second = definition("def-2", "deployment-2");
+        when(processDefinitionQuery.processDefinitionIds(anySet())).thenReturn(processDefinitionQuery);
+        when(processDefinitionQuery.list()).thenReturn(List.of(first, second), List.of(first));
+        when(repositoryService.getBpmnModel(anyString())).thenReturn(new BpmnModel());
+        processDefinitionCache.getAll(List.of("def-1", "def-2"));
+
+        // When
+        processDefinitionCache.evictDeployment("deployment-1");
+        processDefinitionCache.get("def-2");
+        processDefinitionCache.get("def-1");
+
+        // Then
+        verify(processDefinitionQuery, times(2)).list();
+        verify(processDefinitionQuery).processDefinitionIds(Set.of("def-1"));
+    }
+
+    private ProcessDefinition definition(String id, String deploymentId) {
+        ProcessDefinition definition = mock(ProcessDefinition.class);
+        when(definition.getId()).thenReturn(id);
+        lenient().when(definition.getKey()).thenReturn("key-" + id);
+        lenient().when(definition.getVersion()).thenReturn(3);
+        lenient().when(definition.getDeploymentId()).thenReturn(deploymentId);
+        return definition;
+    }
+
+    private BpmnModel bpmnModel() {
+        UserTask review = new UserTask();
+        review.setId("review");
+        review.setName("Review");
+        UserTask approve = new UserTask();
+        approve.setId("approve");
+        approve.setName("Approve");
+        SubProcess subProcess = new SubProcess();
+        subProcess.setId("approval");
+        subProcess.addFlowElement(approve);
+        org.flowable.bpmn.model.Process process = new org.flowable.bpmn.model.Process();
+        process.addFlowElement(review);
+        process.addFlowElement(subProcess);
+        BpmnModel bpmnModel = new BpmnModel();
+        bpmnModel.addProcess(process);
+        return bpmnModel;
+    }
+}
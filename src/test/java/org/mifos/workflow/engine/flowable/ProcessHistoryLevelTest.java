@@ -0,0 +1,186 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.fineract.client.models.PostLoansResponse;
+import org.mifos.workflow.core.engine.delegates.LoanApprovalDelegate;
+import org.mifos.workflow.core.engine.delegates.LoanCreationDelegate;
+import org.mifos.workflow.core.engine.delegates.LoanRejectionDelegate;
+import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs loan-origination instances to completion against an in-memory H2 engine whose default
+ * history level is full, with copies of the definition set to other levels by configuration or
+ * by BPMN extension, and logs the history rows each completed instance writes per level.
+ */
+class ProcessHistoryLevelTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessHistoryLevelTest.class);
+    private static final String[] LEVELS = {"none", "activity", "audit", "full"};
+
+    private static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        FineractLoanService loanService = mock(FineractLoanService.class);
+        PostLoansResponse created = mock(PostLoansResponse.class);
+        when(created.getResourceId()).thenReturn(42L);
+        when(loanService.createLoan(anyMap(), anyString(), any())).thenReturn(created);
+        when(loanService.performStateTransition(anyLong(), anyMap(), anyString(), any())).thenReturn(mock(PostLoansLoanIdResponse.class));
+
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("loanCreationDelegate", new LoanCreationDelegate(loanService));
+        beans.put("loanApprovalDelegate", new LoanApprovalDelegate(loanService));
+        beans.put("loanRejectionDelegate", new LoanRejectionDelegate(loanService));
+
+        Map<String, String> levelsByKey = new HashMap<>();
+        for (String level : LEVELS) {
+            levelsByKey.put("loan-origination-" + level, level);
+        }
+
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("history-level");
+        configuration.setHistory("full");
+        configuration.setBeans(beans);
+        configuration.setHistoryConfigurationSettings(new ProcessHistoryLevelSettings(configuration, levelsByKey));
+        processEngine = configuration.buildProcessEngine();
+
+        String bpmn;
+        try (InputStream in = ProcessHistoryLevelTest.class.getResourceAsStream("/processes/loan-origination.bpmn20.xml")) {
+            bpmn = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        for (String level : LEVELS) {
+            deploy(bpmn, "loan-origination-" + level, "");
+        }
+        deploy(bpmn, "loan-origination-bpmn-audit", "<extensionElements><flowable:historyLevel>audit</flowable:historyLevel></extensionElements>");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void completedLoanOrigination_HistoryRowsPerLevel() {
+        // When
+        Map<String, Map<String, Long>> rowsByLevel = new LinkedHashMap<>();
+        for (String level : LEVELS) {
+            rowsByLevel.put(level, runToCompletion("loan-origination-" + level));
+        }
+        Map<String, Long> bpmnAudit = runToCompletion("loan-origination-bpmn-audit");
+
+        // Then
+        rowsByLevel.forEach((level, rows) -> logger.info("History level {}: {} rows per completed loan-origination instance {}", level, total(rows), rows));
+        assertEquals(0, total(rowsByLevel.get("none")));
+        assertEquals(0, rowsByLevel.get("audit").getOrDefault("ACT_HI_DETAIL", 0L));
+        assertTrue(rowsByLevel.get("full").getOrDefault("ACT_HI_DETAIL", 0L) > 0);
+        assertTrue(total(rowsByLevel.get("activity")) < total(rowsByLevel.get("audit")));
+        assertTrue(total(rowsByLevel.get("audit")) < total(rowsByLevel.get("full")));
+        assertEquals(rowsByLevel.get("audit"), bpmnAudit);
+    }
+
+    @Test
+    void auditLevel_KeepsInstanceActivityAndTaskHistory() {
+        // When
+        String processInstanceId = start("loan-origination-audit");
+        completeToEnd(processInstanceId);
+
+        // Then
+        assertNotNull(processEngine.getHistoryService().createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).finished().singleResult());
+        assertTrue(processEngine.getHistoryService().createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count() > 0);
+        assertEquals(5, processEngine.getHistoryService().createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+        assertEquals(42L, processEngine.getHistoryService().createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).variableName("loanId").singleResult().getValue());
+        assertEquals(0, processEngine.getHistoryService().createHistoricDetailQuery().processInstanceId(processInstanceId).count());
+    }
+
+    private static void deploy(String bpmn, String processKey, String extensionElements) {
+        String definition = bpmn.replace("<process id=\"loan-origination\" name=\"Loan Origination Process\" isExecutable=\"true\">",
+                "<process id=\"" + processKey + "\" name=\"Loan Origination Process\" isExecutable=\"true\">" + extensionElements);
+        InMemoryProcessEngines.deploy(processEngine, processKey, definition);
+    }
+
+    private Map<String, Long> runToCompletion(String processKey) {
+        Map<String, Long> before = historyTableCounts();
+        completeToEnd(start(processKey));
+        Map<String, Long> rows = new LinkedHashMap<>();
+        historyTableCounts().forEach((table, count) -> {
+            long written = count - before.getOrDefault(table, 0L);
+            if (written != 0) {
+                rows.put(table, written);
+            }
+        });
+        return rows;
+    }
+
+    private String start(String processKey) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("loanOfficer", "officer1");
+        variables.put("assignee", "reviewer1");
+        variables.put("approver", "manager1");
+        variables.put("clientId", 1L);
+        variables.put("productId", 1L);
+        variables.put("principal", 10000.0);
+        variables.put("loanTermFrequency", 12);
+        variables.put("loanTermFrequencyType", 2);
+        variables.put("loanType", "individual");
+        variables.put("loanPurposeId", 1);
+        variables.put("interestRatePerPeriod", 10.5);
+        variables.put("interestRateFrequencyType", 3);
+        variables.put("amortizationType", 1);
+        variables.put("interestType", 0);
+        variables.put("interestCalculationPeriodType", 1);
+        variables.put("transactionProcessingStrategyCode", "mifos-standard-strategy");
+        variables.put("numberOfRepayments", 12);
+        variables.put("repaymentEvery", 1);
+        variables.put("repaymentFrequencyType", 2);
+        variables.put("expectedDisbursementDate", "2024-01-15");
+        variables.put("submittedOnDate", "2024-01-10");
+        return processEngine.getRuntimeService().startProcessInstanceByKey(processKey, variables).getId();
+    }
+
+    private void completeToEnd(String processInstanceId) {
+        complete(processInstanceId, "submitLoanApplication", Map.of());
+        complete(processInstanceId, "reviewLoanApplication", Map.of("approved", true, "reviewNotes", "Complete application"));
+        complete(processInstanceId, "creditAssessment", Map.of("creditScore", 710L, "riskLevel", "LOW"));
+        complete(processInstanceId, "loanApproval", Map.of("approved", true, "approvedOnDate", "2024-01-12"));
+        complete(processInstanceId, "notifyClientApproval", Map.of("notificationMethod", "SMS", "notificationSent", true));
+        assertEquals(0, processEngine.getRuntimeService().createProcessInstanceQuery().processInstanceId(processInstanceId).count());
+    }
+
+    private void complete(String processInstanceId, String taskKey, Map<String, Object> variables) {
+        Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals(taskKey, task.getTaskDefinitionKey());
+        processEngine.getTaskService().complete(task.getId(), variables);
+    }
+
+    private Map<String, Long> historyTableCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        processEngine.getManagementService().getTableCount().forEach((table, count) -> {
+            if (table.startsWith("ACT_HI_") || table.equals("ACT_GE_BYTEARRAY")) {
+                counts.put(table, count);
+            }
+        });
+        return counts;
+    }
+
+    private static long total(Map<String, Long> rows) {
+        return rows.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
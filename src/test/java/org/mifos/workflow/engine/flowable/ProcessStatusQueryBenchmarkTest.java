@@ -0,0 +1,110 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.model.ProcessStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the single-query status projection with the multi-query engine path on an
+ * in-memory H2 engine: both must return the same status. The timing run is tagged
+ * {@code benchmark} and only runs with the benchmark task.
+ */
+class ProcessStatusQueryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessStatusQueryBenchmarkTest.class);
+    private static final int INSTANCES = 200;
+    private static final int ROUNDS = 5;
+    private static final String PROCESS = "<process id='status-benchmark' name='Status Benchmark'>"
+            + "<startEvent id='start'/><sequenceFlow id='toReview' sourceRef='start' targetRef='review'/>"
+            + "<userTask id='review' name='Review Application'/><sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/>"
+            + "<endEvent id='end'/></process>";
+
+    private static ProcessEngine processEngine;
+    private static FlowableWorkflowEngine workflowEngine;
+    private static final List<String> processInstanceIds = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() {
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("status-benchmark");
+        configuration.setHistory("full");
+        configuration.setCustomMybatisMappers(Set.of(ProcessStatusMapper.class));
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "status-benchmark", PROCESS);
+
+        for (int i = 0; i < INSTANCES; i++) {
+            String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("status-benchmark", "loan-" + i, Map.of("loanId", (long) i)).getId();
+            processInstanceIds.add(processInstanceId);
+            Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            if (i % 4 == 0) {
+                processEngine.getTaskService().complete(task.getId());
+            } else if (i % 4 == 1) {
+                processEngine.getTaskService().setAssignee(task.getId(), "officer-" + i);
+            } else if (i % 4 == 2) {
+                processEngine.getRuntimeService().suspendProcessInstanceById(processInstanceId);
+            }
+        }
+
+        workflowEngine = new FlowableWorkflowEngine(new WorkflowConfig(), processEngine, new FlowableMapper(), new ProcessDefinitionCache(processEngine.getRepositoryService(), 16), new BulkStartExecutor(new WorkflowConfig()));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void queryProcessStatus_MatchesEngineQueries() {
+        for (String processInstanceId : processInstanceIds) {
+            ProcessStatus expected = workflowEngine.loadProcessStatus(processInstanceId, null);
+            ProcessStatus actual = workflowEngine.queryProcessStatus(processInstanceId, null);
+
+            assertNotNull(actual);
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getProcessDefinitionKey(), actual.getProcessDefinitionKey());
+            assertEquals(expected.getProcessDefinitionName(), actual.getProcessDefinitionName());
+            assertEquals(expected.getCurrentActivityId(), actual.getCurrentActivityId());
+            assertEquals(expected.getCurrentActivityName(), actual.getCurrentActivityName());
+            assertEquals(expected.getAssignee(), actual.getAssignee());
+            assertEquals(expected.getBusinessKey(), actual.getBusinessKey());
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getVariables(), actual.getVariables());
+            assertEquals(expected.getSuspended(), actual.getSuspended());
+            assertEquals(expected.getEnded(), actual.getEnded());
+        }
+        assertNull(workflowEngine.queryProcessStatus("unknown", null));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void queryProcessStatus_Benchmark() {
+        long engineQueriesNanos = time(processInstanceId -> workflowEngine.loadProcessStatus(processInstanceId, null));
+        long projectionNanos = time(processInstanceId -> workflowEngine.queryProcessStatus(processInstanceId, null));
+
+        logger.info("Process status for {} instances x {} rounds: engine queries {} ms, single-query projection {} ms", INSTANCES, ROUNDS, engineQueriesNanos / 1_000_000, projectionNanos / 1_000_000);
+    }
+
+    private long time(Function<String, ProcessStatus> statusLookup) {
+        processInstanceIds.forEach(statusLookup::apply);
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            processInstanceIds.forEach(statusLookup::apply);
+        }
+        return System.nanoTime() - start;
+    }
+}
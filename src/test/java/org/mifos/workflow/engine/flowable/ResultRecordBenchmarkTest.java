@@ -0,0 +1,144 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.fineract.client.models.GetLoansLoanIdCurrency;
+import org.mifos.fineract.client.models.GetLoansLoanIdResponse;
+import org.mifos.fineract.client.models.GetLoansLoanIdStatus;
+import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.workflow.core.engine.delegates.LoanDisbursementDelegate;
+import org.mifos.workflow.core.engine.delegates.LoanStatusVerificationDelegate;
+import org.mifos.workflow.core.model.ResultRecord;
+import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the loan-disbursement process against an in-memory H2 engine with full history and counts
+ * the variable writes of the verification and disbursement steps, which store their results as
+ * one {@link ResultRecord} next to the flag their gateway reads. The timed run over many instances
+ * belongs to the {@code benchmark} task.
+ */
+class ResultRecordBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultRecordBenchmarkTest.class);
+    private static final int INSTANCES = 50;
+
+    private static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void setUp() {
+        FineractLoanService loanService = mock(FineractLoanService.class);
+        GetLoansLoanIdResponse loan = mock(GetLoansLoanIdResponse.class);
+        GetLoansLoanIdStatus status = mock(GetLoansLoanIdStatus.class);
+        GetLoansLoanIdCurrency currency = mock(GetLoansLoanIdCurrency.class);
+        when(status.toString()).thenReturn("APPROVED");
+        when(status.getActive()).thenReturn(true);
+        when(currency.getCode()).thenReturn("USD");
+        when(loan.getStatus()).thenReturn(status);
+        when(loan.getCurrency()).thenReturn(currency);
+        when(loan.getAccountNo()).thenReturn("000000042");
+        when(loan.getPrincipal()).thenReturn(10000.0);
+        when(loan.getLoanProductId()).thenReturn(1L);
+        when(loan.getClientId()).thenReturn(100L);
+        when(loan.getTermFrequency()).thenReturn(12);
+        when(loan.getInterestRatePerPeriod()).thenReturn(10.5);
+        when(loanService.getLoan(anyLong(), any(), any(), any(), any())).thenReturn(loan);
+        PostLoansLoanIdResponse disbursement = mock(PostLoansLoanIdResponse.class);
+        when(disbursement.getResourceId()).thenReturn(99L);
+        when(loanService.performStateTransition(anyLong(), anyMap(), eq("disburse"), any())).thenReturn(disbursement);
+
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("loanStatusVerificationDelegate", new LoanStatusVerificationDelegate(loanService));
+        beans.put("loanDisbursementDelegate", new LoanDisbursementDelegate(loanService));
+
+        StandaloneInMemProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration("result-record");
+        configuration.setHistory("full");
+        configuration.setBeans(beans);
+        processEngine = configuration.buildProcessEngine();
+        processEngine.getRepositoryService().createDeployment().addClasspathResource("processes/loan-disbursement.bpmn20.xml").deploy();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void loanDisbursement_WritesOneRecordPerServiceTask() {
+        // Given
+        String processInstanceId = start(1L);
+
+        // When
+        long verificationWrites = completeAndCountWrites(processInstanceId, "initiateDisbursementRequest", Map.of());
+        completeAndCountWrites(processInstanceId, "managerReview", Map.of("managerApproved", true));
+        long disbursementWrites = completeAndCountWrites(processInstanceId, "prepareDisbursementDocuments", Map.of());
+
+        // Then
+        ResultRecord verification = (ResultRecord) processEngine.getRuntimeService().getVariable(processInstanceId, LoanStatusVerificationDelegate.RESULT_VARIABLE);
+        ResultRecord disbursement = (ResultRecord) processEngine.getRuntimeService().getVariable(processInstanceId, LoanDisbursementDelegate.RESULT_VARIABLE);
+        logger.info("Verify Loan Status wrote {} variables for {} result fields; Execute Disbursement wrote {} variables for {} result fields",
+                verificationWrites, verification.size() + 1, disbursementWrites, disbursement.size() + 1);
+        assertEquals(2, verificationWrites);
+        assertEquals(2, disbursementWrites);
+        assertEquals("verifyDisbursement", currentTask(processInstanceId).getTaskDefinitionKey());
+        assertEquals("APPROVED", verification.getString("loanStatus"));
+        assertEquals(new BigDecimal("10000.0"), verification.getBigDecimal("loanPrincipal"));
+        assertEquals(12L, verification.getLong("loanTermFrequency"));
+        assertEquals(99L, disbursement.getLong("disbursementTransactionId"));
+        assertEquals(verification, processEngine.getHistoryService().createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId).variableName(LoanStatusVerificationDelegate.RESULT_VARIABLE).singleResult().getValue());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void loanStatusVerification_Benchmark() {
+        long writes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < INSTANCES; i++) {
+            writes += completeAndCountWrites(start(1000L + i), "initiateDisbursementRequest", Map.of());
+        }
+        long nanos = System.nanoTime() - start;
+
+        logger.info("Verified {} loans in {} ms with {} variable writes", INSTANCES, nanos / 1_000_000, writes);
+    }
+
+    private String start(long loanId) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("loanId", loanId);
+        variables.put("disbursementOfficer", "officer1");
+        variables.put("manager", "manager1");
+        variables.put("actualDisbursementDate", "2024-01-10");
+        variables.put("transactionAmount", new BigDecimal("1000"));
+        return processEngine.getRuntimeService().startProcessInstanceByKey("loan-disbursement", variables).getId();
+    }
+
+    private long completeAndCountWrites(String processInstanceId, String taskKey, Map<String, Object> taskVariables) {
+        Task task = currentTask(processInstanceId);
+        assertEquals(taskKey, task.getTaskDefinitionKey());
+        long before = variableUpdates(processInstanceId);
+        processEngine.getTaskService().complete(task.getId(), taskVariables);
+        return variableUpdates(processInstanceId) - before - taskVariables.size();
+    }
+
+    private long variableUpdates(String processInstanceId) {
+        return processEngine.getHistoryService().createHistoricDetailQuery().processInstanceId(processInstanceId).variableUpdates().count();
+    }
+
+    private Task currentTask(String processInstanceId) {
+        return processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    }
+}
@@ -0,0 +1,115 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.core.model.ResultRecord;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ResultRecordVariableTypeTest {
+
+    private final ResultRecordVariableType variableType = new ResultRecordVariableType();
+
+    @Test
+    void builder_NormalizesValues() {
+        // When
+        ResultRecord record = ResultRecord.builder()
+                .put("count", 3)
+                .put("principal", 10000.0)
+                .put("issues", List.of("a", "b"))
+                .put("status", StatusFixture.APPROVED)
+                .put("missing", null)
+                .build();
+
+        // Then
+        assertEquals(3L, record.get("count"));
+        assertEquals(new BigDecimal("10000.0"), record.getBigDecimal("principal"));
+        assertEquals(List.of("a", "b"), record.getStringList("issues"));
+        assertEquals("APPROVED", record.getString("status"));
+        assertFalse(record.containsKey("missing"));
+        assertThrows(UnsupportedOperationException.class, () -> record.put("count", 4L));
+    }
+
+    @Test
+    void encodeDecode_RoundTripsEveryValueType() {
+        // Given
+        ResultRecord record = ResultRecord.builder()
+                .put("loanStatus", "APPROVED")
+                .put("loanReady", true)
+                .put("loanClientId", 100L)
+                .put("loanPrincipal", new BigDecimal("600000"))
+                .put("loanInterestRate", new BigDecimal("10.50"))
+                .put("blockingIssues", List.of("Loan has overdue payments"))
+                .build();
+
+        // When
+        String json = ResultRecordVariableType.encode(record);
+        ResultRecord decoded = ResultRecordVariableType.decode(json);
+
+        // Then
+        assertEquals(record, decoded);
+        assertEquals(new BigDecimal("600000"), decoded.getBigDecimal("loanPrincipal"));
+        assertEquals(2, decoded.getBigDecimal("loanInterestRate").scale());
+        assertTrue(decoded.isTrue("loanReady"));
+        assertTrue(json.startsWith("{\"v\":1,"));
+    }
+
+    @Test
+    void setValue_SmallRecord_StoresInlineText() {
+        // Given
+        ValueFields valueFields = mock(ValueFields.class);
+        ResultRecord record = ResultRecord.builder().put("loanStatus", "DISBURSED").build();
+
+        // When
+        variableType.setValue(record, valueFields);
+
+        // Then
+        verify(valueFields).setTextValue(ResultRecordVariableType.encode(record));
+        verify(valueFields).setBytes(null);
+    }
+
+    @Test
+    void setValue_LargeRecord_StoresBytes() {
+        // Given
+        ValueFields valueFields = mock(ValueFields.class);
+        ResultRecord record = ResultRecord.builder().put("note", "x".repeat(ResultRecordVariableType.MAX_TEXT_LENGTH)).build();
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        variableType.setValue(record, valueFields);
+
+        // Then
+        verify(valueFields).setTextValue(null);
+        verify(valueFields).setBytes(bytes.capture());
+        when(valueFields.getBytes()).thenReturn(bytes.getValue());
+        assertEquals(record, variableType.getValue(valueFields));
+    }
+
+    @Test
+    void getValue_UnknownVersion_Throws() {
+        // Given
+        ValueFields valueFields = mock(ValueFields.class);
+        when(valueFields.getTextValue()).thenReturn("{\"v\":2,\"f\":{}}");
+
+        // When / Then
+        assertThrows(FlowableException.class, () -> variableType.getValue(valueFields));
+    }
+
+    @Test
+    void isAbleToStore_OnlyResultRecords() {
+        assertTrue(variableType.isAbleToStore(ResultRecord.builder().build()));
+        assertFalse(variableType.isAbleToStore(Map.of("a", "b")));
+        assertFalse(variableType.isAbleToStore("{}"));
+    }
+
+    private enum StatusFixture {
+        APPROVED
+    }
+}
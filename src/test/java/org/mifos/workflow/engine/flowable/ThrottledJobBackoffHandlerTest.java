@@ -0,0 +1,93 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.exception.FineractCircuitOpenException;
+import org.mifos.workflow.exception.FineractThrottledException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the handler against async jobs of an in-memory H2 engine whose async executor is off,
+ * so the jobs stay put until the handler moves them.
+ */
+class ThrottledJobBackoffHandlerTest {
+
+    private static final long BACKOFF_MILLIS = 30_000;
+    private static final String PROCESS = "<process id='throttled'><startEvent id='start'/><sequenceFlow id='toCall' sourceRef='start' targetRef='call'/>"
+            + "<serviceTask id='call' flowable:async='true' flowable:expression='${true}'/><sequenceFlow id='toEnd' sourceRef='call' targetRef='end'/>"
+            + "<endEvent id='end'/></process>";
+
+    private static ProcessEngine processEngine;
+    private static JobServiceConfiguration jobServiceConfiguration;
+    private final ThrottledJobBackoffHandler handler = new ThrottledJobBackoffHandler(BACKOFF_MILLIS);
+
+    @BeforeAll
+    static void setUp() {
+        processEngine = InMemoryProcessEngines.buildWithProcess(InMemoryProcessEngines.configuration("throttled-job-backoff"), "throttled", PROCESS);
+        jobServiceConfiguration = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getJobServiceConfiguration();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+    }
+
+    @Test
+    void handleException_Throttled_MovesJobToTimerKeepingRetries() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("throttled").getId();
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+        FineractApiException exception = new FineractApiException("Fineract API call failed", new FineractThrottledException("loans", FineractThrottledException.REASON_RATE_LIMIT), "disburseLoan");
+        long before = System.currentTimeMillis();
+
+        // When
+        boolean handled = handler.handleException(jobServiceConfiguration, job, exception);
+
+        // Then
+        assertTrue(handled);
+        assertEquals(0, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+        Job timerJob = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertNotNull(timerJob);
+        assertEquals(job.getRetries(), timerJob.getRetries());
+        assertTrue(timerJob.getDuedate().getTime() >= before + BACKOFF_MILLIS);
+        assertEquals(exception.getMessage(), timerJob.getExceptionMessage());
+    }
+
+    @Test
+    void handleException_CircuitOpen_ReschedulesWhenCircuitAllowsProbe() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("throttled").getId();
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+        long before = System.currentTimeMillis();
+
+        // When
+        boolean handled = handler.handleException(jobServiceConfiguration, job, new FineractApiException("Fineract API call failed", new FineractCircuitOpenException("loans", 4 * BACKOFF_MILLIS), "disburseLoan"));
+
+        // Then
+        assertTrue(handled);
+        Job timerJob = processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+        assertTrue(timerJob.getDuedate().getTime() >= before + 4 * BACKOFF_MILLIS);
+    }
+
+    @Test
+    void handleException_OtherFailure_LeavesJobToDefaultHandling() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("throttled").getId();
+        Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+
+        // When
+        boolean handled = handler.handleException(jobServiceConfiguration, job, new FineractApiException("Fineract API call failed", new IllegalStateException("boom"), "disburseLoan"));
+
+        // Then
+        assertFalse(handled);
+        assertEquals(1, processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).count());
+        assertEquals(0, processEngine.getManagementService().createTimerJobQuery().processInstanceId(processInstanceId).count());
+    }
+}
@@ -0,0 +1,127 @@
+package org.mifos.workflow.engine.flowable;
+
+import org.flowable.engine.HistoryService;
+import org.flowable.engine.ManagementService;
+import org.flowable.engine.RuntimeService;
+import org.flowable.variable.api.history.HistoricVariableInstance;
+import org.flowable.variable.api.history.NativeHistoricVariableInstanceQuery;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.api.runtime.NativeVariableInstanceQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VariableLoaderTest {
+
+    @Mock
+    private RuntimeService runtimeService;
+
+    @Mock
+    private HistoryService historyService;
+
+    @Mock
+    private ManagementService managementService;
+
+    @Mock
+    private NativeHistoricVariableInstanceQuery nativeQuery;
+
+    @Mock
+    private NativeVariableInstanceQuery nativeRuntimeQuery;
+
+    private VariableLoader variableLoader;
+
+    @BeforeEach
+    void setUp() {
+        variableLoader = new VariableLoader(runtimeService, historyService, managementService);
+    }
+
+    @Test
+    void loadHistoric_GroupsVariablesByInstanceWithWhitelist() {
+        // Given
+        HistoricVariableInstance loanId = variable("pi-1", "loanId", 42L);
+        when(managementService.getTableName(any())).thenReturn("ACT_HI_VARINST");
+        when(historyService.createNativeHistoricVariableInstanceQuery()).thenReturn(nativeQuery);
+        when(nativeQuery.sql(anyString())).thenReturn(nativeQuery);
+        when(nativeQuery.list()).thenReturn(List.of(loanId));
+
+        // When
+        Map<String, Map<String, Object>> result = variableLoader.loadHistoric(List.of("pi-1", "pi-2"), List.of("loanId"));
+
+        // Then
+        assertEquals(Map.of("loanId", 42L), result.get("pi-1"));
+        assertTrue(result.get("pi-2").isEmpty());
+        verify(nativeQuery).sql("SELECT RES.* FROM ACT_HI_VARINST RES WHERE RES.PROC_INST_ID_ IN (#{processInstanceId0}, #{processInstanceId1}) AND RES.NAME_ IN (#{variableName0}) ORDER BY RES.ID_");
+        verify(nativeQuery).parameter("processInstanceId1", "pi-2");
+        verify(nativeQuery).parameter("variableName0", "loanId");
+    }
+
+    @Test
+    void loadHistoric_SplitsLargeIdSetsIntoBatches() {
+        // Given
+        List<String> processInstanceIds = IntStream.range(0, 1001).mapToObj(i -> "pi-" + i).collect(Collectors.toList());
+        when(managementService.getTableName(any())).thenReturn("ACT_HI_VARINST");
+        when(historyService.createNativeHistoricVariableInstanceQuery()).thenReturn(nativeQuery);
+        when(nativeQuery.sql(anyString())).thenReturn(nativeQuery);
+        when(nativeQuery.list()).thenReturn(List.of());
+
+        // When
+        Map<String, Map<String, Object>> result = variableLoader.loadHistoric(processInstanceIds, null);
+
+        // Then
+        assertEquals(1001, result.size());
+        verify(nativeQuery, times(3)).list();
+    }
+
+    @Test
+    void loadRuntime_ReadsOnlyProcessScopedWhitelistedVariables() {
+        // Given
+        VariableInstance status = mock(VariableInstance.class);
+        when(status.getExecutionId()).thenReturn("pi-1");
+        when(status.getName()).thenReturn("status");
+        when(status.getValue()).thenReturn("APPROVED");
+        when(managementService.getTableName(any())).thenReturn("ACT_RU_VARIABLE");
+        when(runtimeService.createNativeVariableInstanceQuery()).thenReturn(nativeRuntimeQuery);
+        when(nativeRuntimeQuery.sql(anyString())).thenReturn(nativeRuntimeQuery);
+        when(nativeRuntimeQuery.list()).thenReturn(List.of(status));
+
+        // When
+        Map<String, Map<String, Object>> result = variableLoader.loadRuntime(List.of("pi-1"), List.of("status", "assignee"));
+
+        // Then
+        assertEquals(Map.of("status", "APPROVED"), result.get("pi-1"));
+        verify(nativeRuntimeQuery).sql("SELECT RES.* FROM ACT_RU_VARIABLE RES WHERE RES.TASK_ID_ IS NULL AND RES.EXECUTION_ID_ IN (#{processInstanceId0}) AND RES.NAME_ IN (#{variableName0}, #{variableName1}) ORDER BY RES.ID_");
+        verifyNoInteractions(historyService);
+    }
+
+    @Test
+    void load_EmptyWhitelist_SkipsQuery() {
+        // When
+        Map<String, Map<String, Object>> historic = variableLoader.loadHistoric(List.of("pi-1"), List.of());
+        Map<String, Map<String, Object>> runtime = variableLoader.loadRuntime(List.of("pi-1"), List.of());
+
+        // Then
+        assertTrue(historic.get("pi-1").isEmpty());
+        assertTrue(runtime.get("pi-1").isEmpty());
+        verifyNoInteractions(runtimeService, historyService, managementService);
+    }
+
+    private HistoricVariableInstance variable(String processInstanceId, String name, Object value) {
+        HistoricVariableInstance variable = mock(HistoricVariableInstance.class);
+        when(variable.getProcessInstanceId()).thenReturn(processInstanceId);
+        when(variable.getVariableName()).thenReturn(name);
+        when(variable.getValue()).thenReturn(value);
+        return variable;
+    }
+}
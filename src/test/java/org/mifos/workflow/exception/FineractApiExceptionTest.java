@@ -6,6 +6,8 @@ import retrofit2.Response;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 
+import java.net.SocketTimeoutException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class FineractApiExceptionTest {
@@ -92,6 +94,30 @@ class FineractApiExceptionTest {
         assertTrue(result.contains("789"));
     }
 
+    @Test
+    void isTransient_ClassifiesFailures() {
+        // Then
+        for (int status : new int[]{408, 429, 502, 503, 504}) {
+            assertTrue(new FineractApiException("failed", createHttpException(status, "{}"), "disburseLoan", "1", "{}").isTransient(), "HTTP " + status);
+        }
+        for (int status : new int[]{400, 403, 404, 409, 500}) {
+            assertFalse(new FineractApiException("failed", createHttpException(status, "{}"), "disburseLoan", "1", "{}").isTransient(), "HTTP " + status);
+        }
+        assertTrue(new FineractApiException("failed", new SocketTimeoutException("timeout"), "disburseLoan", "1").isTransient());
+        assertTrue(new FineractApiException("failed", new FineractThrottledException("loans", FineractThrottledException.REASON_BULKHEAD), "disburseLoan", "1").isTransient());
+        assertFalse(new FineractApiException("failed", new IllegalArgumentException("bad mapping"), "disburseLoan", "1").isTransient());
+    }
+
+    @Test
+    void findIn_ReturnsWrappedFineractFailure() {
+        // Given
+        FineractApiException exception = new FineractApiException("failed", new SocketTimeoutException("timeout"), "disburseLoan");
+
+        // Then
+        assertSame(exception, FineractApiException.findIn(new WorkflowException("Loan disbursement failed", exception, "loan disbursement", WorkflowException.ERROR_LOAN_DISBURSEMENT_FAILED)));
+        assertNull(FineractApiException.findIn(new IllegalStateException("boom")));
+    }
+
     private HttpException createHttpException(int statusCode, String body) {
         ResponseBody responseBody = ResponseBody.create(MediaType.parse("application/json"), body);
         Response<?> response = Response.error(statusCode, responseBody);
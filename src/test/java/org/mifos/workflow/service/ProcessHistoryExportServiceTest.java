@@ -0,0 +1,76 @@
+package org.mifos.workflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.model.CursorPage;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.ProcessHistoryInfo;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessHistoryExportServiceTest {
+
+    @Mock
+    private WorkflowService workflowService;
+
+    private ProcessHistoryExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        WorkflowConfig workflowConfig = new WorkflowConfig();
+        workflowConfig.getPagination().setMaxPageSize(2);
+        when(workflowService.getWorkflowConfig()).thenReturn(workflowConfig);
+        exportService = new ProcessHistoryExportService(workflowService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void exportProcessHistory_WritesOneLinePerInstanceAcrossPages() throws Exception {
+        // Given
+        ProcessHistoryInfo first = ProcessHistoryInfo.builder().processInstanceId("p-1").endTime(LocalDateTime.of(2024, 1, 2, 3, 4)).build();
+        ProcessHistoryInfo second = ProcessHistoryInfo.builder().processInstanceId("p-2").build();
+        ProcessHistoryInfo third = ProcessHistoryInfo.builder().processInstanceId("p-3").build();
+        when(workflowService.getProcessHistoryInfo(argThat((PageQuery query) -> query != null && query.getCursor() == null)))
+                .thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(List.of(first, second)).nextCursor("next").hasMore(true).build());
+        when(workflowService.getProcessHistoryInfo(argThat((PageQuery query) -> query != null && "next".equals(query.getCursor()))))
+                .thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(List.of(third)).hasMore(false).build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.exportProcessHistory(PageQuery.builder().processDefinitionKey("loan-disbursement").size(10).build(), outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"processInstanceId\":\"p-1\""));
+        assertTrue(lines[2].contains("\"processInstanceId\":\"p-3\""));
+        verify(workflowService, times(2)).getProcessHistoryInfo(argThat((PageQuery query) -> query != null && query.getSize() == 2 && "loan-disbursement".equals(query.getProcessDefinitionKey())));
+    }
+
+    @Test
+    void exportProcessHistory_EmptyHistory_WritesNothing() throws Exception {
+        // Given
+        when(workflowService.getProcessHistoryInfo(any(PageQuery.class)))
+                .thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(List.of()).hasMore(false).build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.exportProcessHistory(null, outputStream);
+
+        // Then
+        assertEquals(0, exported);
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -6,11 +6,17 @@ import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.core.engine.WorkflowEngine;
 import org.mifos.workflow.core.engine.WorkflowEngineFactory;
 import org.mifos.workflow.core.engine.enums.EngineType;
+import org.mifos.workflow.core.model.ActiveProcess;
+import org.mifos.workflow.core.model.CursorPage;
+import org.mifos.workflow.core.model.PageQuery;
+import org.mifos.workflow.core.model.ProcessHistoryInfo;
 import org.mifos.workflow.exception.WorkflowException;
 import org.mifos.workflow.service.fineract.auth.FineractAuthService;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -103,4 +109,42 @@ class WorkflowServiceTest {
         assertNotNull(result);
         assertEquals(workflowConfig, result);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetActiveProcessesPage_AppliesDefaultPageSize() {
+        // Given
+        WorkflowConfig.Authentication authentication = new WorkflowConfig.Authentication();
+        authentication.setEnabled(false);
+        when(workflowConfig.getAuthentication()).thenReturn(authentication);
+        when(workflowConfig.getPagination()).thenReturn(new WorkflowConfig.Pagination());
+        when(workflowEngineFactory.getWorkflowEngine()).thenReturn(workflowEngine);
+        when(workflowEngine.getActiveProcesses(any(PageQuery.class))).thenReturn(CursorPage.<ActiveProcess>builder().items(List.of()).build());
+        WorkflowService workflowService = new WorkflowService(workflowEngineFactory, fineractAuthService, workflowConfig);
+
+        // When
+        workflowService.getActiveProcesses(PageQuery.builder().businessKey("loan-42").build());
+
+        // Then
+        verify(workflowEngine).getActiveProcesses(argThat(query -> query.getSize() == 50 && "loan-42".equals(query.getBusinessKey())));
+    }
+
+    @Test
+    void testGetProcessHistoryInfoPage_CapsPageSize() {
+        // Given
+        WorkflowConfig.Authentication authentication = new WorkflowConfig.Authentication();
+        authentication.setEnabled(false);
+        when(workflowConfig.getAuthentication()).thenReturn(authentication);
+        when(workflowConfig.getPagination()).thenReturn(new WorkflowConfig.Pagination());
+        when(workflowEngineFactory.getWorkflowEngine()).thenReturn(workflowEngine);
+        when(workflowEngine.getProcessHistoryInfo(any(PageQuery.class))).thenReturn(CursorPage.<ProcessHistoryInfo>builder().items(List.of()).build());
+        WorkflowService workflowService = new WorkflowService(workflowEngineFactory, fineractAuthService, workflowConfig);
+        PageQuery pageQuery = PageQuery.builder().size(10_000).build();
+
+        // When
+        workflowService.getProcessHistoryInfo(pageQuery);
+
+        // Then
+        verify(workflowEngine).getProcessHistoryInfo(argThat(query -> query.getSize() == 500));
+        assertEquals(10_000, pageQuery.getSize());
+    }
+}
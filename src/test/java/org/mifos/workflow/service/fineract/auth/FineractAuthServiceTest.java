@@ -8,10 +8,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.fineract.client.models.PostAuthenticationRequest;
 import org.mifos.fineract.client.models.PostAuthenticationResponse;
 import org.mifos.workflow.api.auth.AuthenticationApi;
+import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.dto.fineract.auth.AuthenticationRequest;
 import org.mifos.workflow.dto.fineract.auth.AuthenticationResponse;
 import org.mifos.workflow.exception.FineractApiException;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import retrofit2.HttpException;
@@ -19,7 +19,14 @@ import retrofit2.Response;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,7 +40,8 @@ class FineractAuthServiceTest {
     @Mock
     private AuthenticationApi authenticationApi;
 
-    @InjectMocks
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private WorkflowConfig workflowConfig;
     private FineractAuthService authService;
 
     private AuthenticationRequest validRequest;
@@ -41,6 +49,12 @@ class FineractAuthServiceTest {
 
     @BeforeEach
     void setUp() {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().setUsername("mifos");
+        workflowConfig.getFineract().setPassword("password");
+        workflowConfig.getFineract().setTenantId("default");
+        workflowConfig.getAuthentication().setTokenRefreshInterval(60);
+        authService = new FineractAuthService(authenticationApi, workflowConfig, now::get);
         validRequest = AuthenticationRequest.builder()
                 .username("testuser")
                 .password("testpass")
@@ -137,4 +151,122 @@ class FineractAuthServiceTest {
         assertNotNull(response2);
         assertEquals(response1.getBase64EncodedAuthenticationKey(), response2.getBase64EncodedAuthenticationKey());
     }
+
+    @Test
+    void reauthenticate_ConcurrentCallers_ShareOneLogin() throws Exception {
+        // Given
+        CountDownLatch loginStarted = new CountDownLatch(1);
+        CountDownLatch releaseLogin = new CountDownLatch(1);
+        PostAuthenticationResponse serviceResponse = authenticatedResponse("service-key");
+        when(authenticationApi.authenticate(any(PostAuthenticationRequest.class), anyBoolean())).thenReturn(Observable.fromCallable(() -> {
+            loginStarted.countDown();
+            releaseLogin.await();
+            return serviceResponse;
+        }));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            results.add(callers.submit(() -> authService.reauthenticate("default", now.get())));
+            assertTrue(loginStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(callers.submit(() -> authService.reauthenticate("default", now.get())));
+            }
+            releaseLogin.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("service-key", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(authenticationApi, times(1)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+        assertEquals("service-key", authService.getServiceAuthKey("default"));
+        assertNull(authService.getServiceAuthKey("other"));
+    }
+
+    @Test
+    void reauthenticate_CredentialIssuedAfterRejectedRequest_ReusesIt() {
+        // Given
+        PostAuthenticationResponse serviceResponse = authenticatedResponse("service-key");
+        when(authenticationApi.authenticate(any(PostAuthenticationRequest.class), anyBoolean())).thenReturn(Observable.just(serviceResponse));
+        long rejectedRequestSentAt = now.get();
+        authService.reauthenticate("default", rejectedRequestSentAt);
+
+        // When
+        String authKey = authService.reauthenticate("default", rejectedRequestSentAt);
+
+        // Then
+        assertEquals("service-key", authKey);
+        verify(authenticationApi, times(1)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+    }
+
+    @Test
+    void getServiceAuthKey_PastRefreshInterval_ReturnsNull() {
+        // Given
+        PostAuthenticationResponse serviceResponse = authenticatedResponse("service-key");
+        when(authenticationApi.authenticate(any(PostAuthenticationRequest.class), anyBoolean())).thenReturn(Observable.just(serviceResponse));
+        authService.reauthenticate("default", now.get());
+
+        // When
+        now.addAndGet(60_000);
+
+        // Then
+        assertNull(authService.getServiceAuthKey("default"));
+    }
+
+    @Test
+    void init_AutoRefresh_LogsInAndRefreshesBeforeExpiry() {
+        // Given
+        workflowConfig.getAuthentication().setTokenRefreshInterval(1);
+        PostAuthenticationResponse serviceResponse = authenticatedResponse("service-key");
+        when(authenticationApi.authenticate(any(PostAuthenticationRequest.class), anyBoolean())).thenReturn(Observable.just(serviceResponse));
+        FineractAuthService refreshingService = new FineractAuthService(authenticationApi, workflowConfig);
+
+        // When
+        refreshingService.init();
+
+        // Then
+        try {
+            verify(authenticationApi, timeout(5000).atLeast(2)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+            assertEquals("service-key", refreshingService.getServiceAuthKey("default"));
+        } finally {
+            refreshingService.shutdown();
+        }
+    }
+
+    @Test
+    void reauthenticate_AutoRefresh_ReplacesPendingRefresh() throws Exception {
+        // Given
+        workflowConfig.getAuthentication().setTokenRefreshInterval(2);
+        PostAuthenticationResponse serviceResponse = authenticatedResponse("service-key");
+        when(authenticationApi.authenticate(any(PostAuthenticationRequest.class), anyBoolean())).thenReturn(Observable.just(serviceResponse));
+        FineractAuthService refreshingService = new FineractAuthService(authenticationApi, workflowConfig);
+        refreshingService.init();
+
+        try {
+            verify(authenticationApi, timeout(5000).times(1)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+
+            // When
+            for (int i = 0; i < 4; i++) {
+                refreshingService.reauthenticate("default", Long.MAX_VALUE);
+            }
+
+            // Then
+            verify(authenticationApi, timeout(5000).times(6)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+            Thread.sleep(600);
+            verify(authenticationApi, times(6)).authenticate(any(PostAuthenticationRequest.class), anyBoolean());
+        } finally {
+            refreshingService.shutdown();
+        }
+    }
+
+    private static PostAuthenticationResponse authenticatedResponse(String authKey) {
+        PostAuthenticationResponse response = mock(PostAuthenticationResponse.class);
+        when(response.getBase64EncodedAuthenticationKey()).thenReturn(authKey);
+        when(response.getAuthenticated()).thenReturn(true);
+        return response;
+    }
 }
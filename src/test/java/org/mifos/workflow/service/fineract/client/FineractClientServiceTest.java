@@ -7,9 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mifos.fineract.client.models.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mifos.workflow.api.client.ClientsApi;
+import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.dto.fineract.client.*;
 import org.mifos.workflow.dto.fineract.code.CodeDataDTO;
 import org.mifos.workflow.service.fineract.auth.FineractAuthService;
@@ -36,6 +39,9 @@ class FineractClientServiceTest {
     @Mock
     private FineractAuthService authService;
 
+    @Spy
+    private FineractReferenceDataCache referenceDataCache = new FineractReferenceDataCache(new WorkflowConfig(), new SimpleMeterRegistry());
+
     @InjectMocks
     private FineractClientService clientService;
 
@@ -72,7 +78,7 @@ class FineractClientServiceTest {
         // Arrange
         PostClientsResponse response = mock(PostClientsResponse.class);
         when(response.getClientId()).thenReturn(123L);
-        when(clientsApi.createClient(anyMap())).thenReturn(Observable.just(response));
+        when(clientsApi.createClient(any(ClientCreateRequestDTO.class))).thenReturn(Observable.just(response));
 
         // Act
         TestObserver<PostClientsResponse> testObserver = clientService.createClient(createRequest, DATE_FORMAT, LOCALE, ADDRESS_TYPE_ID)
@@ -83,13 +89,13 @@ class FineractClientServiceTest {
         testObserver.assertValue(r -> r.getClientId().equals(123L));
         testObserver.assertComplete();
 
-        verify(clientsApi).createClient(argThat(map ->
-                map.get("firstname").equals("John") &&
-                        map.get("lastname").equals("Doe") &&
-                        map.get("officeId").equals(1L) &&
-                        map.get("legalFormId").equals(LEGAL_FORM_ID) &&
-                        map.get("dateFormat").equals(DATE_FORMAT) &&
-                        map.get("locale").equals(LOCALE)
+        verify(clientsApi).createClient(argThat((ClientCreateRequestDTO request) ->
+                request.getFirstName().equals("John") &&
+                        request.getLastName().equals("Doe") &&
+                        request.getOfficeId().equals(1L) &&
+                        request.getLegalFormId().equals(LEGAL_FORM_ID) &&
+                        request.getDateFormat().equals(DATE_FORMAT) &&
+                        request.getLocale().equals(LOCALE)
         ));
     }
 
@@ -116,7 +122,7 @@ class FineractClientServiceTest {
         testObserver.assertValue(r -> r.getClientId().equals(123L));
         testObserver.assertComplete();
 
-        verify(clientsApi).createClient(argThat(map ->
+        verify(clientsApi).createClient(argThat((Map<String, Object> map) ->
                 map.get("firstname").equals("John") &&
                         map.get("lastname").equals("Doe") &&
                         map.get("mobileNo").equals("1234567890") &&
@@ -139,7 +145,7 @@ class FineractClientServiceTest {
         // Arrange
         PostClientsClientIdResponse response = mock(PostClientsClientIdResponse.class);
         when(response.getClientId()).thenReturn(123L);
-        when(clientsApi.activateClient(anyLong(), eq("activate"), anyMap()))
+        when(clientsApi.activateClient(anyLong(), eq("activate"), any(ClientActivationRequestDTO.class)))
                 .thenReturn(Observable.just(response));
 
         // Act
@@ -151,10 +157,10 @@ class FineractClientServiceTest {
         testObserver.assertValue(r -> r.getClientId().equals(123L));
         testObserver.assertComplete();
 
-        verify(clientsApi).activateClient(eq(123L), eq("activate"), argThat(map ->
-                map.get("dateFormat").equals(DATE_FORMAT) &&
-                        map.get("locale").equals(LOCALE) &&
-                        map.containsKey("activationDate")
+        verify(clientsApi).activateClient(eq(123L), eq("activate"), argThat((ClientActivationRequestDTO request) ->
+                request.getDateFormat().equals(DATE_FORMAT) &&
+                        request.getLocale().equals(LOCALE) &&
+                        request.getActivationDate() != null
         ));
     }
 
@@ -164,7 +170,7 @@ class FineractClientServiceTest {
         LocalDate activationDate = LocalDate.of(2023, 1, 1);
         PostClientsClientIdResponse response = mock(PostClientsClientIdResponse.class);
         when(response.getClientId()).thenReturn(123L);
-        when(clientsApi.activateClient(anyLong(), eq("activate"), anyMap()))
+        when(clientsApi.activateClient(anyLong(), eq("activate"), any(ClientActivationRequestDTO.class)))
                 .thenReturn(Observable.just(response));
 
         // Act
@@ -176,10 +182,10 @@ class FineractClientServiceTest {
         testObserver.assertValue(r -> r.getClientId().equals(123L));
         testObserver.assertComplete();
 
-        verify(clientsApi).activateClient(eq(123L), eq("activate"), argThat(map ->
-                map.get("activationDate").equals(activationDate.format(DateTimeFormatter.ofPattern(DATE_FORMAT))) &&
-                        map.get("dateFormat").equals(DATE_FORMAT) &&
-                        map.get("locale").equals(LOCALE)
+        verify(clientsApi).activateClient(eq(123L), eq("activate"), argThat((ClientActivationRequestDTO request) ->
+                request.getActivationDate().equals(activationDate) &&
+                        request.getDateFormat().equals(DATE_FORMAT) &&
+                        request.getLocale().equals(LOCALE)
         ));
     }
 
@@ -487,6 +493,36 @@ class FineractClientServiceTest {
         verify(clientsApi).retrieveAllCodeValues(1L);
     }
 
+    @Test
+    void retrieveClientRejectionReasons_RepeatedCalls_ServedFromCacheUntilReasonCreated() {
+        // Arrange
+        List<CodeDataDTO> codes = new ArrayList<>();
+        CodeDataDTO rejectionCode = new CodeDataDTO();
+        rejectionCode.setId(1L);
+        rejectionCode.setName("ClientRejectReason");
+        codes.add(rejectionCode);
+
+        CodeValueData reason = mock(CodeValueData.class);
+        List<CodeValueData> rejectionReasons = List.of(reason);
+        CodeValueData createdReason = mock(CodeValueData.class);
+
+        when(clientsApi.retrieveCodes()).thenReturn(Observable.just(codes));
+        when(clientsApi.retrieveAllCodeValues(1L)).thenReturn(Observable.just(rejectionReasons));
+        when(clientsApi.createCodeValue(eq(1L), anyMap())).thenReturn(Observable.just(createdReason));
+
+        // Act
+        clientService.retrieveClientRejectionReasons().blockingFirst();
+        List<CodeValueData> cached = clientService.retrieveClientRejectionReasons().blockingFirst();
+        clientService.createRejectionReason("New Reason", "Description").blockingFirst();
+        clientService.retrieveClientRejectionReasons().blockingFirst();
+
+        // Assert
+        assertEquals(rejectionReasons, cached);
+        verify(clientsApi, times(1)).retrieveCodes();
+        verify(clientsApi, times(2)).retrieveAllCodeValues(1L);
+        verify(referenceDataCache).evict("codevalues", "1");
+    }
+
     @Test
     void retrieveClientRejectionReasons_CodeNotFound_ReturnsError() {
         // Arrange
@@ -1414,7 +1450,7 @@ class FineractClientServiceTest {
     @Test
     void createClient_ApiError_ThrowsException() {
         // Arrange
-        when(clientsApi.createClient(anyMap())).thenReturn(Observable.error(new RuntimeException("Network error")));
+        when(clientsApi.createClient(any(ClientCreateRequestDTO.class))).thenReturn(Observable.error(new RuntimeException("Network error")));
 
         // Act
         TestObserver<PostClientsResponse> testObserver = clientService.createClient(createRequest, DATE_FORMAT, LOCALE, ADDRESS_TYPE_ID).test();
@@ -0,0 +1,97 @@
+package org.mifos.workflow.service.fineract.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FineractReferenceDataCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private WorkflowConfig workflowConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private FineractReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+        workflowConfig.getFineract().getReferenceDataCache().setTtl(60_000);
+        workflowConfig.getFineract().getReferenceDataCache().setMaxEntries(2);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new FineractReferenceDataCache(workflowConfig, meterRegistry, now::get);
+    }
+
+    @Test
+    void get_WithinTtl_LoadsOnceAndCountsHits() {
+        // When
+        List<String> first = cache.get("offices", null, () -> load("Head Office")).blockingFirst();
+        List<String> second = cache.get("offices", null, () -> load("Head Office")).blockingFirst();
+
+        // Then
+        assertEquals(List.of("Head Office"), first);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("fineract.referencedata.cache").tag("region", "offices").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("fineract.referencedata.cache").tag("region", "offices").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void get_AfterTtlOrEviction_LoadsAgain() {
+        // Given
+        cache.get("codevalues", "1", () -> load("Fraud")).blockingFirst();
+
+        // When
+        now.addAndGet(60_000);
+        cache.get("codevalues", "1", () -> load("Fraud")).blockingFirst();
+        cache.evict("codevalues", "1");
+        cache.get("codevalues", "1", () -> load("Fraud")).blockingFirst();
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_EmptyOrFailedLoadsAndFullCache_AreNotKept() {
+        // Given
+        cache.get("staff", null, () -> load()).blockingFirst();
+        assertThrows(IllegalStateException.class, () -> cache.get("codes", null, () -> Observable.<List<String>>error(new IllegalStateException("down"))).blockingFirst());
+
+        // When
+        cache.get("staff", null, () -> load("Loan Officer")).blockingFirst();
+        cache.get("codevalues", "1", () -> load("Fraud")).blockingFirst();
+        cache.get("codevalues", "2", () -> load("Deceased")).blockingFirst();
+        cache.get("staff", null, () -> load("Loan Officer")).blockingFirst();
+
+        // Then
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void get_Disabled_AlwaysLoads() {
+        // Given
+        workflowConfig.getFineract().getReferenceDataCache().setEnabled(false);
+        cache = new FineractReferenceDataCache(workflowConfig, meterRegistry, now::get);
+
+        // When
+        cache.get("offices", null, () -> load("Head Office")).blockingFirst();
+        cache.get("offices", null, () -> load("Head Office")).blockingFirst();
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    private Observable<List<String>> load(String... values) {
+        return Observable.fromCallable(() -> {
+            loads.incrementAndGet();
+            return List.of(values);
+        });
+    }
+}
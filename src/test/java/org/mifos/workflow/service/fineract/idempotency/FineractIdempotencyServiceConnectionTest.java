@@ -0,0 +1,107 @@
+package org.mifos.workflow.service.fineract.idempotency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Observable;
+import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mifos.fineract.client.models.PostLoansLoanIdResponse;
+import org.mifos.workflow.api.loan.LoansApi;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.core.engine.delegates.LoanDisbursementDelegate;
+import org.mifos.workflow.engine.flowable.InMemoryProcessEngines;
+import org.mifos.workflow.service.fineract.loan.FineractLoanService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs keyed disbursements against a real dedup table and an engine that share a pool of one
+ * database connection and, as in the application, one Spring transaction manager, so any
+ * idempotency bookkeeping done while a job holds its connection fails on the pool's connection
+ * timeout instead of passing unnoticed.
+ */
+class FineractIdempotencyServiceConnectionTest {
+
+    private static final String PROCESS = "<process id='disburse'><startEvent id='start'/><sequenceFlow id='toDisburse' sourceRef='start' targetRef='disburseLoan'/>"
+            + "<serviceTask id='disburseLoan' flowable:async='true' flowable:triggerable='true' flowable:delegateExpression='${loanDisbursementDelegate}'/>"
+            + "<sequenceFlow id='toReview' sourceRef='disburseLoan' targetRef='review'/><userTask id='review'/>"
+            + "<sequenceFlow id='toEnd' sourceRef='review' targetRef='end'/><endEvent id='end'/></process>";
+
+    private static HikariDataSource dataSource;
+    private static AnnotationConfigApplicationContext jpaContext;
+    private static FineractIdempotencyRepository repository;
+    private static FineractIdempotencyService idempotencyService;
+    private static ProcessEngine processEngine;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:idempotency-connection;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setConnectionTimeout(500);
+        jpaContext = JpaIdempotencyRepositories.open(dataSource);
+        repository = jpaContext.getBean(FineractIdempotencyRepository.class);
+        idempotencyService = new FineractIdempotencyService(new WorkflowConfig(), repository, new SimpleMeterRegistry());
+
+        PostLoansLoanIdResponse response = new PostLoansLoanIdResponse();
+        response.setResourceId(1000L);
+        LoansApi loansApi = mock(LoansApi.class);
+        when(loansApi.stateTransitions(anyLong(), anyMap(), eq("disburse"))).thenReturn(Observable.just(response));
+        LoanDisbursementDelegate delegate = new LoanDisbursementDelegate(new FineractLoanService(loansApi, null, idempotencyService));
+
+        SpringProcessEngineConfiguration configuration = InMemoryProcessEngines.configuration(dataSource, jpaContext.getBean(PlatformTransactionManager.class));
+        // Database id blocks are fetched on a connection of their own
+        configuration.setIdGenerator(new StrongUuidGenerator());
+        configuration.setBeans(Map.of("loanDisbursementDelegate", delegate));
+        processEngine = InMemoryProcessEngines.buildWithProcess(configuration, "disburse", PROCESS);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        processEngine.close();
+        jpaContext.close();
+        dataSource.close();
+    }
+
+    @Test
+    void execute_KeyedCallOfTriggerableTask_NeedsNoSecondConnection() {
+        // Given
+        String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("disburse", Map.of(
+                "loanId", 1000L,
+                "actualDisbursementDate", LocalDate.of(2025, 1, 15),
+                "transactionAmount", new BigDecimal("5000"))).getId();
+
+        // When
+        processEngine.getManagementService().executeJob(processEngine.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult().getId());
+        processEngine.getManagementService().executeJob(InMemoryProcessEngines.awaitFineractCallJob(processEngine, processInstanceId).getId());
+
+        // Then
+        assertEquals(true, processEngine.getRuntimeService().getVariable(processInstanceId, "loanDisbursementSuccess"));
+        FineractIdempotencyRecord record = repository.findById(processInstanceId + ":disburseLoan:1").orElseThrow();
+        assertEquals(FineractIdempotencyRecord.Status.COMPLETED, record.getStatus());
+        assertEquals(1000L, record.getResourceId());
+    }
+
+    @Test
+    void execute_WhileCommandHoldsConnection_TimesOutOnPool() {
+        // When / Then
+        assertThrows(CannotCreateTransactionException.class, () -> processEngine.getManagementService().executeCommand(commandContext -> {
+            processEngine.getRuntimeService().createProcessInstanceQuery().count();
+            return idempotencyService.execute("held:disburseLoan:1", "loan disburse", () -> 1L, id -> id, id -> id, Optional::empty);
+        }));
+    }
+}
@@ -0,0 +1,174 @@
+package org.mifos.workflow.service.fineract.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.workflow.config.WorkflowConfig;
+import org.mifos.workflow.exception.FineractApiException;
+import org.mockito.ArgumentCaptor;
+
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FineractIdempotencyServiceTest {
+
+    private static final String KEY = "42:disburseLoan:1";
+    private static final Instant NOW = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    private final FineractIdempotencyRepository repository = mock(FineractIdempotencyRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private WorkflowConfig workflowConfig;
+    private FineractIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        workflowConfig = new WorkflowConfig();
+        service = new FineractIdempotencyService(workflowConfig, repository, meterRegistry, NOW::toEpochMilli);
+        when(repository.save(any(FineractIdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void execute_NoKey_CallsWithoutRecord() {
+        // When
+        Long result = execute(null, () -> 7L, Optional::empty);
+
+        // Then
+        assertEquals(7L, result);
+        assertEquals(1, calls.get());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_Disabled_CallsWithoutRecord() {
+        // Given
+        workflowConfig.getFineract().getIdempotency().setEnabled(false);
+
+        // When
+        Long result = execute(KEY, () -> 7L, Optional::empty);
+
+        // Then
+        assertEquals(7L, result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_FirstAttempt_RecordsPendingThenCompleted() {
+        // Given
+        when(repository.findById(KEY)).thenReturn(Optional.empty());
+
+        // When
+        Long result = execute(KEY, () -> 7L, Optional::empty);
+
+        // Then
+        assertEquals(7L, result);
+        assertEquals(1, calls.get());
+        FineractIdempotencyRecord record = savedRecord(2);
+        assertEquals(KEY, record.getIdempotencyKey());
+        assertEquals(FineractIdempotencyRecord.Status.COMPLETED, record.getStatus());
+        assertEquals(7L, record.getResourceId());
+        assertEquals(NOW, record.getUpdatedAt());
+        assertEquals(1.0, counter("sent"));
+    }
+
+    @Test
+    void execute_CompletedRecord_ReplaysWithoutCalling() {
+        // Given
+        FineractIdempotencyRecord record = new FineractIdempotencyRecord(KEY, "loan disburse", NOW);
+        record.setStatus(FineractIdempotencyRecord.Status.COMPLETED);
+        record.setResourceId(7L);
+        when(repository.findById(KEY)).thenReturn(Optional.of(record));
+
+        // When
+        Long result = execute(KEY, () -> 8L, Optional::empty);
+
+        // Then
+        assertEquals(7L, result);
+        assertEquals(0, calls.get());
+        verify(repository, never()).save(any());
+        assertEquals(1.0, counter("replayed"));
+    }
+
+    @Test
+    void execute_PendingRecordThatTookEffect_CompletesWithoutCalling() {
+        // Given
+        when(repository.findById(KEY)).thenReturn(Optional.of(new FineractIdempotencyRecord(KEY, "loan disburse", NOW)));
+
+        // When
+        Long result = execute(KEY, () -> 8L, () -> Optional.of(7L));
+
+        // Then
+        assertEquals(7L, result);
+        assertEquals(0, calls.get());
+        FineractIdempotencyRecord record = savedRecord(1);
+        assertEquals(FineractIdempotencyRecord.Status.COMPLETED, record.getStatus());
+        assertEquals(7L, record.getResourceId());
+        assertEquals(1.0, counter("recovered"));
+    }
+
+    @Test
+    void execute_PendingRecordThatDidNotTakeEffect_CallsAgain() {
+        // Given
+        when(repository.findById(KEY)).thenReturn(Optional.of(new FineractIdempotencyRecord(KEY, "loan disburse", NOW)));
+
+        // When
+        Long result = execute(KEY, () -> 8L, Optional::empty);
+
+        // Then
+        assertEquals(8L, result);
+        assertEquals(1, calls.get());
+        assertEquals(8L, savedRecord(1).getResourceId());
+        assertEquals(1.0, counter("sent"));
+    }
+
+    @Test
+    void execute_FatalFailure_RemovesRecord() {
+        // Given
+        when(repository.findById(KEY)).thenReturn(Optional.empty());
+        FineractApiException rejected = new FineractApiException("Failed to disburseLoan", new IllegalArgumentException("bad request"), "disburseLoan");
+
+        // When
+        assertThrows(FineractApiException.class, () -> execute(KEY, () -> { throw rejected; }, Optional::empty));
+
+        // Then
+        verify(repository).deleteById(KEY);
+    }
+
+    @Test
+    void execute_TimedOutCall_KeepsPendingRecord() {
+        // Given
+        when(repository.findById(KEY)).thenReturn(Optional.empty());
+        FineractApiException timedOut = new FineractApiException("Failed to disburseLoan", new SocketTimeoutException("timeout"), "disburseLoan");
+
+        // When
+        assertThrows(FineractApiException.class, () -> execute(KEY, () -> { throw timedOut; }, Optional::empty));
+
+        // Then
+        verify(repository, never()).deleteById(any());
+        assertEquals(FineractIdempotencyRecord.Status.PENDING, savedRecord(1).getStatus());
+    }
+
+    private Long execute(String key, Supplier<Long> call, Supplier<Optional<Long>> findApplied) {
+        return service.execute(key, "loan disburse", () -> {
+            calls.incrementAndGet();
+            return call.get();
+        }, resourceId -> resourceId, resourceId -> resourceId, findApplied);
+    }
+
+    private FineractIdempotencyRecord savedRecord(int times) {
+        ArgumentCaptor<FineractIdempotencyRecord> captor = ArgumentCaptor.forClass(FineractIdempotencyRecord.class);
+        verify(repository, times(times)).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("fineract.idempotency").tag("operation", "loan disburse").tag("outcome", outcome).counter().count();
+    }
+}
@@ -1,5 +1,6 @@
 package org.mifos.workflow.service.fineract.loan;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.reactivex.rxjava3.core.Observable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,7 +8,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.fineract.client.models.*;
 import org.mifos.workflow.api.loan.LoansApi;
 import org.mifos.workflow.config.FineractApiConfig;
+import org.mifos.workflow.config.WorkflowConfig;
 import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyRecord;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyRepository;
+import org.mifos.workflow.service.fineract.idempotency.FineractIdempotencyService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,8 +21,10 @@ import retrofit2.Response;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -330,6 +337,77 @@ class FineractLoanServiceTest {
         }
     }
 
+    @Test
+    void createLoan_WithIdempotencyKey_UsesKeyAsExternalId() {
+        // Given
+        String idempotencyKey = "42:createLoan:1";
+        validLoanRequest.remove("externalId");
+        mockCreateResponse.setResourceId(5L);
+        FineractLoanService keyedService = keyedService(Optional.empty());
+        when(loansApi.calculateLoanScheduleOrSubmitLoanApplication(anyMap(), eq("submitLoanApplication")))
+            .thenReturn(Observable.just(mockCreateResponse));
+
+        // When
+        PostLoansResponse response = keyedService.createLoan(validLoanRequest, "submitLoanApplication", idempotencyKey);
+
+        // Then
+        assertEquals(5L, response.getResourceId());
+        verify(loansApi).calculateLoanScheduleOrSubmitLoanApplication(argThat(request -> idempotencyKey.equals(request.get("externalId"))), eq("submitLoanApplication"));
+        assertFalse(validLoanRequest.containsKey("externalId"));
+    }
+
+    @Test
+    void createLoan_RetryOfAppliedAttempt_FindsLoanByExternalIdInsteadOfPosting() {
+        // Given
+        String idempotencyKey = "42:createLoan:1";
+        FineractLoanService keyedService = keyedService(Optional.of(new FineractIdempotencyRecord(idempotencyKey, "loan creation", Instant.now())));
+        mockLoanResponse.setId(5L);
+        when(loansApi.retrieveLoanByExternalId("EXT-001", null, null, null, "id")).thenReturn(Observable.just(mockLoanResponse));
+
+        // When
+        PostLoansResponse response = keyedService.createLoan(validLoanRequest, "submitLoanApplication", idempotencyKey);
+
+        // Then
+        assertEquals(5L, response.getLoanId());
+        verify(loansApi, never()).calculateLoanScheduleOrSubmitLoanApplication(anyMap(), anyString());
+    }
+
+    @Test
+    void performStateTransition_RetryOfAppliedAttempt_ChecksStatusInsteadOfPosting() {
+        // Given
+        String idempotencyKey = "42:approveLoan:1";
+        FineractLoanService keyedService = keyedService(Optional.of(new FineractIdempotencyRecord(idempotencyKey, "loan approve", Instant.now())));
+        GetLoansLoanIdStatus status = new GetLoansLoanIdStatus();
+        status.setCode("loanStatusType.approved");
+        mockLoanResponse.setStatus(status);
+        when(loansApi.retrieveLoan(1L, null, null, null, "id,status")).thenReturn(Observable.just(mockLoanResponse));
+
+        // When
+        PostLoansLoanIdResponse response = keyedService.performStateTransition(1L, new HashMap<>(), "approve", idempotencyKey);
+
+        // Then
+        assertEquals(1L, response.getResourceId());
+        verify(loansApi, never()).stateTransitions(anyLong(), anyMap(), anyString());
+    }
+
+    @Test
+    void performStateTransition_RetryOfUnappliedAttempt_PostsAgain() {
+        // Given
+        String idempotencyKey = "42:approveLoan:1";
+        FineractLoanService keyedService = keyedService(Optional.of(new FineractIdempotencyRecord(idempotencyKey, "loan approve", Instant.now())));
+        GetLoansLoanIdStatus status = new GetLoansLoanIdStatus();
+        status.setCode("loanStatusType.submitted.and.pending.approval");
+        mockLoanResponse.setStatus(status);
+        when(loansApi.retrieveLoan(1L, null, null, null, "id,status")).thenReturn(Observable.just(mockLoanResponse));
+        when(loansApi.stateTransitions(eq(1L), anyMap(), eq("approve"))).thenReturn(Observable.just(mockStateTransitionResponse));
+
+        // When
+        keyedService.performStateTransition(1L, new HashMap<>(), "approve", idempotencyKey);
+
+        // Then
+        verify(loansApi).stateTransitions(eq(1L), anyMap(), eq("approve"));
+    }
+
     @Test
     void modifyLoan_WithNullCommand_Success() {
         // Given
@@ -365,4 +443,12 @@ class FineractLoanServiceTest {
         assertNotNull(response);
         verify(loansApi).retrieveLoan(loanId, null, null, null, null);
     }
+
+    private FineractLoanService keyedService(Optional<FineractIdempotencyRecord> existingRecord) {
+        FineractIdempotencyRepository repository = mock(FineractIdempotencyRepository.class);
+        when(repository.findById(anyString())).thenReturn(existingRecord);
+        when(repository.save(any(FineractIdempotencyRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        FineractIdempotencyService idempotencyService = new FineractIdempotencyService(new WorkflowConfig(), repository, new SimpleMeterRegistry());
+        return new FineractLoanService(loansApi, fineractApiConfig, idempotencyService);
+    }
 }
@@ -5,6 +5,7 @@ import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mifos.workflow.exception.FineractApiException;
+import org.mifos.workflow.exception.FineractCircuitOpenException;
 import org.mockito.junit.jupiter.MockitoExtension;
 import retrofit2.HttpException;
 import retrofit2.Response;
@@ -257,6 +258,32 @@ class FineractErrorHandlerTest {
         assertEquals(-1, result.getHttpStatus());
     }
 
+    @Test
+    void handleError_CircuitOpen_ReturnsRetryableException() {
+        // Given
+        String operation = "loan state transition";
+        String resourceId = "42:disburse";
+        FineractCircuitOpenException circuitOpen = new FineractCircuitOpenException("loans", 5000);
+
+        // When
+        FineractApiException result = FineractErrorHandler.handleError(operation, circuitOpen, resourceId);
+
+        // Then
+        assertEquals("Failed to loan state transition for resource 42:disburse: " + circuitOpen.getMessage(), result.getMessage());
+        assertTrue(result.isRetryable());
+        assertSame(circuitOpen, result.getCause());
+        assertEquals(-1, result.getHttpStatus());
+    }
+
+    @Test
+    void handleError_NetworkError_ReturnsNonRetryableException() {
+        // When
+        FineractApiException result = FineractErrorHandler.handleError("GET_CLIENT", new RuntimeException("Network error"), null);
+
+        // Then
+        assertFalse(result.isRetryable());
+    }
+
     @Test
     void handleError_WithoutResourceId_ReturnsCorrectException() {
         // Given